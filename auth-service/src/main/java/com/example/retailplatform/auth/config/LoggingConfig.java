@@ -0,0 +1,15 @@
+package com.example.retailplatform.auth.config;
+
+import com.example.retailplatform.logging.AsyncLogAppenderMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LoggingConfig {
+
+    // Queue depth and lost events of the async appenders declared in logback-spring.xml
+    @Bean
+    public AsyncLogAppenderMetrics asyncLogAppenderMetrics() {
+        return new AsyncLogAppenderMetrics();
+    }
+}
@@ -0,0 +1,105 @@
+#!/usr/bin/env python3
+"""
+Compare two JMH JSON result files and flag regressions.
+
+Usage:
+    mvn -B package -pl benchmarks -am -DskipTests
+    java -jar benchmarks/target/benchmarks.jar -rf json -rff baseline.json      # on the base branch
+    java -jar benchmarks/target/benchmarks.jar -rf json -rff current.json       # on the PR branch
+    python3 benchmarks/compare-baseline.py baseline.json current.json [--threshold 10] [--markdown]
+
+A benchmark regresses when it is more than --threshold percent worse than the baseline AND the difference is
+larger than the combined error margins (so noise alone does not fail a PR). "Worse" means lower for
+throughput modes and higher for time modes. Exit code 1 when at least one benchmark regressed.
+"""
+import argparse
+import json
+import sys
+
+HIGHER_IS_BETTER = {"thrpt"}
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = {}
+        for run in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted((run.get("params") or {}).items()))
+            key = run["benchmark"].rsplit(".", 2)[-2] + "." + run["benchmark"].rsplit(".", 1)[-1]
+            if params:
+                key += f"[{params}]"
+            metric = run["primaryMetric"]
+            error = metric.get("scoreError")
+            results[key] = {
+                "mode": run["mode"],
+                "score": metric["score"],
+                "error": error if isinstance(error, (int, float)) else 0.0,
+                "unit": metric["scoreUnit"],
+            }
+        return results
+
+
+def compare(baseline, current, threshold):
+    rows, regressions = [], []
+    for key in sorted(set(baseline) | set(current)):
+        base, cur = baseline.get(key), current.get(key)
+        if base is None or cur is None:
+            rows.append((key, base, cur, None, "new" if base is None else "removed"))
+            continue
+
+        change = (cur["score"] - base["score"]) / base["score"] * 100 if base["score"] else 0.0
+        worse = -change if base["mode"] in HIGHER_IS_BETTER else change
+        significant = abs(cur["score"] - base["score"]) > base["error"] + cur["error"]
+
+        if worse > threshold and significant:
+            verdict = "REGRESSION"
+            regressions.append(key)
+        elif -worse > threshold and significant:
+            verdict = "improved"
+        else:
+            verdict = "ok"
+        rows.append((key, base, cur, change, verdict))
+    return rows, regressions
+
+
+def fmt(result):
+    if result is None:
+        return "-"
+    return f"{result['score']:.3f} ± {result['error']:.3f} {result['unit']}"
+
+
+def print_table(rows, markdown):
+    header = ("Benchmark", "Baseline", "Current", "Change", "Verdict")
+    lines = [(key, fmt(base), fmt(cur), "-" if change is None else f"{change:+.1f}%", verdict)
+             for key, base, cur, change, verdict in rows]
+    if markdown:
+        print("| " + " | ".join(header) + " |")
+        print("|" + "|".join("---" for _ in header) + "|")
+        for line in lines:
+            print("| " + " | ".join(line) + " |")
+        return
+
+    widths = [max(len(str(col)) for col in column) for column in zip(header, *lines)]
+    for line in [header] + lines:
+        print("  ".join(str(col).ljust(width) for col, width in zip(line, widths)))
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Compare JMH results against a baseline")
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0, help="allowed slowdown in percent (default 10)")
+    parser.add_argument("--markdown", action="store_true", help="print a Markdown table (for PR comments)")
+    args = parser.parse_args()
+
+    rows, regressions = compare(load(args.baseline), load(args.current), args.threshold)
+    print_table(rows, args.markdown)
+
+    if regressions:
+        print(f"\n{len(regressions)} benchmark(s) regressed by more than {args.threshold:g}%: "
+              + ", ".join(regressions), file=sys.stderr)
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
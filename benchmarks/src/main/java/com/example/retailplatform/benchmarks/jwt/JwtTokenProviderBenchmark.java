@@ -0,0 +1,47 @@
+package com.example.retailplatform.benchmarks.jwt;
+
+import com.example.retailplatform.auth.jwt.security.JwtTokenProvider;
+import com.example.retailplatform.auth.jwt.security.SigningKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification in jwt-service.
+ * <p>
+ * {@code verifiedCacheSize=0} disables the verified-token cache, so every {@code validateToken} call runs the full
+ * ES256 signature check; with a non-zero size the same token is answered from the cache after the first call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    @Param({"0", "10000"})
+    public long verifiedCacheSize;
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(new SigningKeys("", Duration.ofMinutes(1), Duration.ZERO, true), "",
+                3_600_000L, verifiedCacheSize, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        token = tokenProvider.generateToken("42", "alice.smith", "USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken("42", "alice.smith", "USER");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.retailplatform.benchmarks.load;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-model HTTP load test that compares user-service instances running in different threading modes.
+ * <p>
+ * Start one instance per mode, e.g. {@code USER_SERVICE_PORT=9083} as is and {@code USER_SERVICE_PORT=9084}
+ * with {@code USER_VIRTUAL_THREADS_ENABLED=true}, then:
+ * <pre>
+ * mvn -B verify -pl benchmarks -am -Ploadtest -DskipTests \
+ *     -Dloadtest.targets=platform=http://localhost:9083,virtual=http://localhost:9084
+ * </pre>
+ * Each target gets {@code loadtest.concurrency} clients issuing GETs over {@code loadtest.paths} back to back,
+ * first for {@code loadtest.warmup} (not measured), then for {@code loadtest.duration}. Targets run one after the
+ * other, and the report shows throughput, latency percentiles and non-2xx responses per mode; shed requests
+ * (429/503) show up there rather than as latency.
+ */
+public final class UserServiceLoadTest {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private UserServiceLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> targets = parseTargets(System.getProperty("loadtest.targets", "default=http://localhost:9083"));
+        List<String> paths = List.of(System.getProperty("loadtest.paths", "/api/users?size=20,/api/users/1").split(","));
+        int concurrency = Integer.getInteger("loadtest.concurrency", 200);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        String authorization = "Basic " + Base64.getEncoder().encodeToString(
+                (System.getProperty("loadtest.user", "admin") + ":" + System.getProperty("loadtest.password", "admin123"))
+                        .getBytes(StandardCharsets.UTF_8));
+
+        System.out.printf("concurrency=%d warmup=%s duration=%s paths=%s%n", concurrency, warmup, duration, paths);
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            Run run = new Run(target.getValue(), paths, authorization, concurrency);
+            run.drive(warmup);
+            results.add(new Result(target.getKey(), run.drive(duration), duration));
+        }
+        report(results);
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private static Map<String, String> parseTargets(String spec) {
+        Map<String, String> targets = new LinkedHashMap<>();
+        for (String target : spec.split(",")) {
+            String[] nameAndUrl = target.split("=", 2);
+            if (nameAndUrl.length != 2) {
+                throw new IllegalArgumentException("Expected name=url in loadtest.targets, got " + target);
+            }
+            targets.put(nameAndUrl[0].trim(), nameAndUrl[1].trim());
+        }
+        return targets;
+    }
+
+    private static void report(List<Result> results) {
+        System.out.printf("%n%-10s %10s %10s %9s %9s %9s %9s  %s%n",
+                "mode", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "non-2xx");
+        for (Result result : results) {
+            HistogramSnapshot snapshot = result.stats().latency().takeSnapshot();
+            ValueAtPercentile[] percentiles = snapshot.percentileValues();
+            System.out.printf("%-10s %10d %10.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    result.name(),
+                    snapshot.count(),
+                    snapshot.count() / (double) result.duration().toMillis() * 1000,
+                    percentiles[0].value(TimeUnit.MILLISECONDS),
+                    percentiles[1].value(TimeUnit.MILLISECONDS),
+                    percentiles[2].value(TimeUnit.MILLISECONDS),
+                    snapshot.max(TimeUnit.MILLISECONDS),
+                    result.stats().failures());
+        }
+    }
+
+    private record Result(String name, Stats stats, Duration duration) {
+    }
+
+    private record Stats(Timer latency, Map<String, LongAdder> failures) {
+    }
+
+    /** One target: a shared client plus {@code concurrency} threads looping over the paths. */
+    private static final class Run {
+
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final List<HttpRequest> requests;
+        private final int concurrency;
+
+        Run(String baseUrl, List<String> paths, String authorization, int concurrency) {
+            this.concurrency = concurrency;
+            this.requests = paths.stream()
+                    .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path.trim()))
+                            .header("Authorization", authorization)
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build())
+                    .toList();
+        }
+
+        Stats drive(Duration duration) throws InterruptedException {
+            Timer latency = Timer.builder("loadtest.latency")
+                    .publishPercentiles(PERCENTILES)
+                    .distributionStatisticExpiry(duration.plusMinutes(1))
+                    .register(new SimpleMeterRegistry());
+            Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+            long deadline = System.nanoTime() + duration.toNanos();
+
+            ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+            for (int c = 0; c < concurrency; c++) {
+                int offset = c;
+                clients.execute(() -> {
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        send(requests.get(i % requests.size()), latency, failures);
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+            return new Stats(latency, failures);
+        }
+
+        private void send(HttpRequest request, Timer latency, Map<String, LongAdder> failures) {
+            long start = System.nanoTime();
+            String failure;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                failure = response.statusCode() / 100 == 2 ? null : String.valueOf(response.statusCode());
+            } catch (Exception e) {
+                failure = e.getClass().getSimpleName();
+            }
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (failure != null) {
+                failures.computeIfAbsent(failure, k -> new LongAdder()).increment();
+            }
+        }
+    }
+}
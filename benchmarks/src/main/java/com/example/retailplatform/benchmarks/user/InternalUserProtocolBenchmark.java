@@ -0,0 +1,146 @@
+package com.example.retailplatform.benchmarks.user;
+
+import com.example.retailplatform.user.adapter.in.web.UserController;
+import com.example.retailplatform.user.adapter.in.web.UserModelAssembler;
+import com.example.retailplatform.user.adapter.in.web.dto.UserResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * One user-service → jwt-service answer end to end, minus the network: user-service encodes a search / batch-get
+ * result, jwt-service decodes it into its own {@code UserResponse}.
+ * <ul>
+ *   <li>{@code halJson}: the public endpoints → link building, HAL, JSON</li>
+ *   <li>{@code plainJson}: the {@code application/vnd.retailplatform.user+json} variants → no links, JSON</li>
+ *   <li>{@code smile}: {@code /internal/users} → no links, Smile</li>
+ * </ul>
+ * The time per operation is the CPU one request costs both services. Body sizes are reported as the
+ * {@code wireBytes} and {@code requests} counters; bytes per request is their quotient.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InternalUserProtocolBenchmark {
+
+    @Param({"1", "20", "100"})
+    public int pageSize;
+
+    /** Bytes put on the wire by the measured invocations, and how many invocations that was. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Wire {
+        public long wireBytes;
+        public long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+            requests = 0;
+        }
+
+        void sent(byte[] body) {
+            wireBytes += body.length;
+            requests++;
+        }
+    }
+
+    private final UserModelAssembler assembler = new UserModelAssembler();
+    private MockHttpServletRequest request;
+    private ObjectMapper halMapper;
+    private ObjectMapper jsonMapper;
+    private ObjectMapper smileMapper;
+    private List<UserResponse> users;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("POST", "/api/users/search");
+        request.setServerName("user-service");
+        request.setServerPort(9083);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        halMapper = new ObjectMapper();
+        halMapper.registerModule(new Jackson2HalModule());
+        halMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DelegatingLinkRelationProvider(new AnnotationLinkRelationProvider(), new DefaultLinkRelationProvider()),
+                CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        // jwt-service reads with Spring's codecs → unknown properties are ignored, as here
+        jsonMapper = JsonMapper.builder().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build();
+        smileMapper = SmileMapper.builder().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build();
+
+        users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            users.add(UserResponse.builder()
+                    .id(String.valueOf(i + 1))
+                    .firstName("Alice")
+                    .lastName("Smith")
+                    .username("alice.smith" + i)
+                    .email("alice" + i + "@example.com")
+                    .phoneNumber("1234567890")
+                    .status("ACTIVE")
+                    .role("USER")
+                    .active(true)
+                    .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public JsonNode halJson(Wire wire) throws IOException {
+        request.clearAttributes();
+        List<EntityModel<UserResponse>> models = new ArrayList<>(users.size());
+        for (UserResponse user : users) {
+            models.add(assembler.toModel(user));
+        }
+        byte[] body = halMapper.writeValueAsBytes(CollectionModel.of(models,
+                linkTo(methodOn(UserController.class).search(null)).withSelfRel()));
+        wire.sent(body);
+        // A HAL client has to dig the users out of _embedded
+        return jsonMapper.readTree(body).path("_embedded").path("userList");
+    }
+
+    @Benchmark
+    public com.example.retailplatform.auth.jwt.adapter.in.web.dto.UserResponse[] plainJson(Wire wire)
+            throws IOException {
+        byte[] body = jsonMapper.writeValueAsBytes(users);
+        wire.sent(body);
+        return jsonMapper.readValue(body, com.example.retailplatform.auth.jwt.adapter.in.web.dto.UserResponse[].class);
+    }
+
+    @Benchmark
+    public com.example.retailplatform.auth.jwt.adapter.in.web.dto.UserResponse[] smile(Wire wire)
+            throws IOException {
+        byte[] body = smileMapper.writeValueAsBytes(users);
+        wire.sent(body);
+        return smileMapper.readValue(body, com.example.retailplatform.auth.jwt.adapter.in.web.dto.UserResponse[].class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.retailplatform.benchmarks.user;
+
+import com.example.retailplatform.user.adapter.in.web.ObservabilityFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@link ObservabilityFilter} on a small JSON request, compared with the bare servlet.
+ * <p>
+ * {@code status=200, bodySampleRate=0.0} is the common path (request body teed, nothing logged); {@code status=404} or
+ * {@code bodySampleRate=1.0} captures and logs the exchange. Log events reach the logger but no appender (see
+ * {@code logback.xml}), so the numbers cover everything the filter does except I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObservabilityFilterBenchmark {
+
+    private static final byte[] REQUEST_BODY =
+            "{\"username\":\"alice.smith\",\"email\":\"alice@example.com\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESPONSE_BODY =
+            "{\"id\":\"42\",\"username\":\"alice.smith\",\"email\":\"alice@example.com\",\"status\":\"ACTIVE\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"200", "404"})
+    public int status;
+
+    @Param({"0.0", "1.0"})
+    public double bodySampleRate;
+
+    private ObservabilityFilter filter;
+    private Servlet servlet;
+
+    @Setup
+    public void setUp() {
+        filter = new ObservabilityFilter(new SimpleMeterRegistry(), bodySampleRate, 2000);
+        servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                request.getInputStream().readAllBytes();
+                response.setStatus(status);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getOutputStream().write(RESPONSE_BODY);
+            }
+        };
+    }
+
+    @Benchmark
+    public MockHttpServletResponse withoutFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(servlet).doFilter(request(), response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse withFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(servlet, filter).doFilter(request(), response);
+        return response;
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/search");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.addHeader("Accept", MediaType.APPLICATION_JSON_VALUE);
+        request.addHeader("X-Correlation-ID", "benchmark");
+        request.setContent(REQUEST_BODY);
+        return request;
+    }
+}
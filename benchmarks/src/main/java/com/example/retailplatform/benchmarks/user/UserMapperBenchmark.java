@@ -0,0 +1,81 @@
+package com.example.retailplatform.benchmarks.user;
+
+import com.example.retailplatform.user.adapter.in.web.dto.UserDtoMapper;
+import com.example.retailplatform.user.adapter.in.web.dto.UserRequest;
+import com.example.retailplatform.user.adapter.in.web.dto.UserResponse;
+import com.example.retailplatform.user.adapter.out.persistence.UserEntity;
+import com.example.retailplatform.user.adapter.out.persistence.UserEntityMapper;
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
+import com.example.retailplatform.user.domain.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user mapping cost between the persistence entity, the domain model and the web DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private final UserEntityMapper entityMapper = new UserEntityMapper();
+    private final UserDtoMapper dtoMapper = new UserDtoMapper();
+
+    private UserEntity entity;
+    private User user;
+    private UserRequest request;
+
+    @Setup
+    public void setUp() {
+        entity = UserEntity.builder()
+                .id(42L)
+                .firstName("Alice")
+                .lastName("Smith")
+                .username("alice.smith")
+                .email("alice@example.com")
+                .phoneNumber("1234567890")
+                .status(Status.ACTIVE)
+                .role(Role.USER)
+                .active(true)
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWXzP0Ycc5XpnXyG5D1N5D0bV5xe")
+                .passwordChangeRequired(false)
+                .build();
+        user = entityMapper.toModel(entity);
+
+        request = new UserRequest();
+        request.setFirstName("Alice");
+        request.setLastName("Smith");
+        request.setUsername("alice.smith");
+        request.setEmail("alice@example.com");
+        request.setPhoneNumber("1234567890");
+        request.setStatus(Status.ACTIVE);
+        request.setRole(Role.USER);
+        request.setActive(true);
+        request.setPasswordChangeRequired(false);
+    }
+
+    @Benchmark
+    public User entityToModel() {
+        return entityMapper.toModel(entity);
+    }
+
+    @Benchmark
+    public UserEntity modelToEntity() {
+        return entityMapper.toEntity(user);
+    }
+
+    @Benchmark
+    public User requestToModel() {
+        return dtoMapper.toModel(request);
+    }
+
+    @Benchmark
+    public UserResponse modelToResponse() {
+        return dtoMapper.toResponse(user);
+    }
+}
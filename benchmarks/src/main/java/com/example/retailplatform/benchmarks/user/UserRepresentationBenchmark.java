@@ -0,0 +1,115 @@
+package com.example.retailplatform.benchmarks.user;
+
+import com.example.retailplatform.user.adapter.in.web.UserController;
+import com.example.retailplatform.user.adapter.in.web.UserModelAssembler;
+import com.example.retailplatform.user.adapter.in.web.dto.UserResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Cost of turning a page of users into the HAL response: link building in {@link UserModelAssembler} and
+ * Jackson serialization of {@code CollectionModel<EntityModel<UserResponse>>}.
+ * <p>
+ * Scope.Thread because link building reads the current request from a thread-local. The assembler caches the
+ * resolved base URI on the request, so the assemble benchmarks clear request attributes first: each invocation
+ * pays for one resolution, as one HTTP request does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserRepresentationBenchmark {
+
+    @Param({"1", "20", "100"})
+    public int pageSize;
+
+    private final UserModelAssembler assembler = new UserModelAssembler();
+    private MockHttpServletRequest request;
+    private ObjectMapper halObjectMapper;
+    private List<UserResponse> users;
+    private CollectionModel<EntityModel<UserResponse>> page;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/users");
+        request.setServerName("user-service");
+        request.setServerPort(9083);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        halObjectMapper = new ObjectMapper();
+        halObjectMapper.registerModule(new Jackson2HalModule());
+        halObjectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                // @Relation on UserResponse → "userList", as in the running service
+                new DelegatingLinkRelationProvider(new AnnotationLinkRelationProvider(), new DefaultLinkRelationProvider()),
+                CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            users.add(UserResponse.builder()
+                    .id(String.valueOf(i + 1))
+                    .firstName("Alice")
+                    .lastName("Smith")
+                    .username("alice.smith" + i)
+                    .email("alice" + i + "@example.com")
+                    .phoneNumber("1234567890")
+                    .status("ACTIVE")
+                    .role("USER")
+                    .active(true)
+                    .build());
+        }
+        page = toPage();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public EntityModel<UserResponse> assembleOne() {
+        request.clearAttributes();
+        return assembler.toModel(users.get(0));
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<UserResponse>> assemblePage() {
+        request.clearAttributes();
+        return toPage();
+    }
+
+    @Benchmark
+    public String serializePage() throws JsonProcessingException {
+        return halObjectMapper.writeValueAsString(page);
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private CollectionModel<EntityModel<UserResponse>> toPage() {
+        List<EntityModel<UserResponse>> models = new ArrayList<>(users.size());
+        for (UserResponse user : users) {
+            models.add(assembler.toModel(user));
+        }
+        return CollectionModel.of(models, linkTo(methodOn(UserController.class).all(null, pageSize)).withSelfRel());
+    }
+}
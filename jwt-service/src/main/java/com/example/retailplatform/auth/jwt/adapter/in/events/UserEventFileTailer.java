@@ -0,0 +1,217 @@
+package com.example.retailplatform.auth.jwt.adapter.in.events;
+
+import com.example.retailplatform.auth.jwt.adapter.in.events.dto.UserChangeMessage;
+import com.example.retailplatform.auth.jwt.application.usecase.UserEventUseCase;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails the user change events user-service appends to {@code user-events-YYYY-MM-DD.ndjson} segments in a shared
+ * directory, and hands each one to the {@link UserEventUseCase}.
+ * <p>
+ * Only complete lines are consumed. The position after the last applied line is kept in {@code offset-file}, so a
+ * restart resumes there; without one, every retained segment is read from the start. If applying an event fails
+ * (e.g. Redis is down), the poll stops before it and the next poll retries it → at-least-once, in file order.
+ * <p>
+ * Every instance tails on its own: the work is idempotent, and each instance also keeps its near-cache current.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.user-events.enabled", havingValue = "true", matchIfMissing = true)
+public class UserEventFileTailer implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEventFileTailer.class);
+
+    static final String SEGMENT_GLOB = "user-events-*.ndjson";
+    private static final int READ_CHUNK = 64 * 1024;
+
+    // Segment file name, and the byte position after the last consumed line in it
+    record Offset(String segment, long position) {
+        static final Offset START = new Offset("", 0);
+    }
+
+    private final UserEventUseCase userEvents;
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final Path directory;
+    private final Path offsetFile;
+    private final Duration pollInterval;
+    private volatile Offset offset = Offset.START;
+    private ScheduledExecutorService poller;
+
+    public UserEventFileTailer(UserEventUseCase userEvents,
+                               @Value("${jwt.user-events.directory:./user-events}") Path directory,
+                               @Value("${jwt.user-events.offset-file:./user-events.offset}") Path offsetFile,
+                               @Value("${jwt.user-events.poll-interval:PT1S}") Duration pollInterval) {
+        this.userEvents = userEvents;
+        this.directory = directory;
+        this.offsetFile = offsetFile;
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        offset = readOffset();
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-event-tailer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::pollQuietly, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Tailing user events in {} from {}", directory, offset);
+    }
+
+    @Override
+    public void destroy() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    /** Applies every complete line after the current offset; returns how many events were applied. */
+    int poll() throws IOException {
+        List<Path> segments = segments();
+        Offset start = offset;
+        int applied = 0;
+        try {
+            for (int i = 0; i < segments.size(); i++) {
+                String name = segments.get(i).getFileName().toString();
+                int order = name.compareTo(offset.segment());
+                if (order < 0) continue;
+
+                long position = order == 0 ? offset.position() : 0;
+                applied += consume(segments.get(i), position);
+
+                // user-service only appends to the newest segment → whatever is left in an older one is a torn line
+                if (i < segments.size() - 1) {
+                    offset = new Offset(segments.get(i + 1).getFileName().toString(), 0);
+                }
+            }
+        } finally {
+            if (!offset.equals(start)) writeOffset();
+        }
+        return applied;
+    }
+
+    Offset offset() {
+        return offset;
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (IOException | RuntimeException e) {
+            log.warn("User event poll failed at {}, retrying in {}: {}", offset, pollInterval, e.getMessage());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        if (!Files.isDirectory(directory)) return List.of();
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_GLOB)) {
+            stream.forEach(segments::add);
+        }
+        // user-events-YYYY-MM-DD → name order is time order
+        segments.sort(Path::compareTo);
+        return segments;
+    }
+
+    private int consume(Path segment, long from) throws IOException {
+        String name = segment.getFileName().toString();
+        int applied = 0;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            channel.position(from);
+            ByteBuffer buffer = ByteBuffer.allocate(READ_CHUNK);
+            ByteArrayOutputStream line = new ByteArrayOutputStream(512);
+            long position = from;
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    position++;
+                    if (b != '\n') {
+                        line.write(b);
+                        continue;
+                    }
+                    if (apply(line.toString(StandardCharsets.UTF_8))) applied++;
+                    line.reset();
+                    offset = new Offset(name, position);
+                }
+                buffer.clear();
+            }
+        } catch (NoSuchFileException e) {
+            // Expired and deleted by user-service between listing and reading
+            log.warn("User event segment {} disappeared before it was read", name);
+        }
+        if (!name.equals(offset.segment())) {
+            offset = new Offset(name, from);
+        }
+        return applied;
+    }
+
+    private boolean apply(String line) {
+        if (line.isBlank()) return false;
+        UserChangeMessage event;
+        try {
+            event = objectMapper.readValue(line, UserChangeMessage.class);
+        } catch (JsonProcessingException e) {
+            // A torn write; user-service writes its batch again on the next line
+            log.warn("Skipping unreadable user event line at {}: {}", offset, e.getOriginalMessage());
+            return false;
+        }
+        userEvents.apply(event);
+        return true;
+    }
+
+    private Offset readOffset() {
+        try {
+            if (!Files.exists(offsetFile)) return Offset.START;
+            String[] parts = Files.readString(offsetFile).strip().split(":", 2);
+            return new Offset(parts[0], Long.parseLong(parts[1]));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable user event offset {}: {}", offsetFile, e.getMessage());
+            return Offset.START;
+        }
+    }
+
+    // Written beside the target, then renamed → a crash never leaves a half-written offset
+    private void writeOffset() {
+        Offset current = offset;
+        try {
+            Path parent = offsetFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "user-events", ".offset");
+            Files.writeString(temp, current.segment() + ":" + current.position());
+            Files.move(temp, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot save user event offset to " + offsetFile, e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.retailplatform.auth.jwt.adapter.in.events.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.Instant;
+
+/**
+ * A user change event as user-service writes it (one JSON object per line). Unknown fields are ignored → user-service
+ * can add fields without breaking this reader.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UserChangeMessage(long eventId,
+                                Type type,
+                                String userId,
+                                boolean revokeSessions,
+                                Instant occurredAt,
+                                Snapshot user) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /** The user after the change. */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Snapshot(String id,
+                           String username,
+                           String firstName,
+                           String lastName,
+                           String role,
+                           boolean active,
+                           boolean passwordChangeRequired) {
+    }
+}
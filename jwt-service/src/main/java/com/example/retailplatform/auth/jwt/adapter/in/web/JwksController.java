@@ -0,0 +1,44 @@
+package com.example.retailplatform.auth.jwt.adapter.in.web;
+
+import com.example.retailplatform.auth.jwt.security.SigningKeys;
+import com.example.retailplatform.auth.jwt.verifier.EcJwk;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    private final SigningKeys signingKeys;
+    private final CacheControl cacheControl;
+
+    public JwksController(SigningKeys signingKeys,
+                          @Value("${jwt.jwks.max-age:PT5M}") Duration maxAge) {
+        this.signingKeys = signingKeys;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    @Operation(summary = "Public keys that verify the tokens this service issues (JWKS, RFC 7517)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Current and still-valid previous keys")
+    })
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        List<Map<String, Object>> keys = signingKeys.published().entrySet().stream()
+                .map(key -> EcJwk.toJwk(key.getKey(), key.getValue()))
+                .toList();
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(Map.of("keys", keys));
+    }
+}
@@ -5,6 +5,7 @@ import com.example.retailplatform.auth.jwt.adapter.in.web.dto.LoginResponse;
 import com.example.retailplatform.auth.jwt.adapter.in.web.dto.RefreshTokenRequest;
 import com.example.retailplatform.auth.jwt.application.usecase.JwtUseCase;
 import com.example.retailplatform.auth.jwt.exception.InvalidCredentialsException;
+import com.example.retailplatform.auth.jwt.exception.UserServiceUnavailableException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -27,7 +28,8 @@ public class JwtController {
     @Operation(summary = "Authenticate user and return a JWT token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login successful"),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "503", description = "User service unavailable or overloaded")
     })
     @PostMapping("/login")
     public Mono<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
@@ -38,6 +40,9 @@ public class JwtController {
                     if (e instanceof InvalidCredentialsException) {
                         return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
                     }
+                    if (e instanceof UserServiceUnavailableException) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+                    }
                     return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
                 });
     }
@@ -0,0 +1,112 @@
+package com.example.retailplatform.auth.jwt.adapter.out.client;
+
+import com.example.retailplatform.auth.jwt.adapter.in.web.dto.UserResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * DataLoader-style batching of single-user lookups: ids asked for within {@code window} of the first one go to
+ * user-service together, as one batch call. A batch that reaches {@code maxBatchSize} leaves at once.
+ * <p>
+ * Every id gets its own future. An id missing from the answer completes with {@code null}; a failed call fails
+ * every lookup in its batch. user-service rejects the whole batch if one id is not a numeric long, so such an id
+ * never joins a batch: its lookup alone fails with an {@link IllegalArgumentException}.
+ */
+final class UserBatchLoader {
+
+    private static final Pattern NUMERIC_ID = Pattern.compile("\\d+");
+
+    private final Function<List<String>, Mono<List<UserResponse>>> fetch;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Scheduler scheduler;
+
+    // Batch still taking ids, null between batches; guarded by this
+    private Batch open;
+
+    UserBatchLoader(Function<List<String>, Mono<List<UserResponse>>> fetch,
+                    Duration window,
+                    int maxBatchSize,
+                    Scheduler scheduler) {
+        this.fetch = fetch;
+        this.window = window;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.scheduler = scheduler;
+    }
+
+    CompletableFuture<UserResponse> load(String userId) {
+        if (!isValidId(userId)) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Invalid user ID: " + userId));
+        }
+
+        CompletableFuture<UserResponse> result;
+        Batch full = null;
+        synchronized (this) {
+            if (open == null) {
+                Batch batch = new Batch();
+                open = batch;
+                scheduler.schedule(() -> dispatch(batch), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            result = open.waiting.computeIfAbsent(userId, id -> new CompletableFuture<>());
+            if (open.waiting.size() >= maxBatchSize) {
+                full = open;
+                open = null;
+            }
+        }
+        // Callers may hold a cache lock → the call itself always starts on the scheduler
+        if (full != null) {
+            Batch batch = full;
+            scheduler.schedule(() -> dispatch(batch));
+        }
+        return result;
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    static boolean isValidId(String userId) {
+        if (userId == null || !NUMERIC_ID.matcher(userId).matches()) return false;
+        try {
+            Long.parseLong(userId);
+            return true;
+        } catch (NumberFormatException e) {
+            return false; // more digits than a long holds
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        synchronized (this) {
+            // The window timer of a batch that already left because it was full
+            if (batch.dispatched) return;
+            batch.dispatched = true;
+            if (open == batch) open = null;
+        }
+
+        Mono.defer(() -> fetch.apply(List.copyOf(batch.waiting.keySet())))
+                .toFuture()
+                .whenComplete((users, error) -> {
+                    if (error != null) {
+                        batch.waiting.values().forEach(waiting -> waiting.completeExceptionally(error));
+                        return;
+                    }
+                    Map<String, UserResponse> byId = new HashMap<>();
+                    if (users != null) users.forEach(user -> byId.put(user.getId(), user));
+                    batch.waiting.forEach((id, waiting) -> waiting.complete(byId.get(id)));
+                });
+    }
+
+    // No longer changed once dispatched → read without the lock afterwards
+    private static final class Batch {
+        final Map<String, CompletableFuture<UserResponse>> waiting = new LinkedHashMap<>();
+        boolean dispatched;
+    }
+}
@@ -5,23 +5,75 @@ import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalAuthRespon
 import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalUserSearchRequest;
 import com.example.retailplatform.auth.jwt.adapter.in.web.dto.UserResponse;
 import com.example.retailplatform.auth.jwt.domain.port.UserClientPort;
-import lombok.RequiredArgsConstructor;
+import com.example.retailplatform.auth.jwt.exception.UserServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.netty.handler.timeout.ReadTimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 @Component
-@RequiredArgsConstructor
 public class UserClientAdapter implements UserClientPort {
 
     private static final Logger log = LoggerFactory.getLogger(UserClientAdapter.class);
+
+    // user-service's internal endpoints: Smile (binary JSON) both ways, no HAL _links, search comes back as an array
+    static final String INTERNAL_USERS = "/internal/users";
+    static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     private final WebClient userServiceWebClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Duration callTimeout;
+
+    // userId → in-flight or recently completed lookup
+    private final AsyncCache<String, UserResponse> usersById;
+    private final UserBatchLoader userBatchLoader;
+
+    public UserClientAdapter(WebClient userServiceWebClient,
+                             CircuitBreaker userServiceCircuitBreaker,
+                             Bulkhead userServiceBulkhead,
+                             MeterRegistry meterRegistry,
+                             @Value("${user.service.client.call-timeout:PT5S}") Duration callTimeout,
+                             @Value("${user.service.client.user-cache.maximum-size:10000}") long userCacheMaximumSize,
+                             @Value("${user.service.client.user-cache.ttl:PT5S}") Duration userCacheTtl,
+                             @Value("${user.service.client.batch.window:PT0.002S}") Duration batchWindow,
+                             @Value("${user.service.client.batch.max-size:100}") int batchMaxSize) {
+        this.userServiceWebClient = userServiceWebClient;
+        this.circuitBreaker = userServiceCircuitBreaker;
+        this.bulkhead = userServiceBulkhead;
+        this.callTimeout = callTimeout;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(userCacheMaximumSize)
+                .expireAfterWrite(userCacheTtl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "user-service.users-by-id");
+        this.userBatchLoader = new UserBatchLoader(this::fetchUsersByIds, batchWindow, batchMaxSize,
+                Schedulers.parallel());
+    }
 
     @Override
     public Mono<InternalAuthResponse> authenticate(String username, String password) {
@@ -31,71 +83,108 @@ public class UserClientAdapter implements UserClientPort {
                 .build();
 
         return userServiceWebClient.post()
-                .uri("/api/users/authenticate")
-                .contentType(MediaType.APPLICATION_JSON)
+                .uri(INTERNAL_USERS + "/authenticate")
+                .contentType(SMILE)
+                .accept(SMILE)
                 .bodyValue(request)
                 .retrieve()
                 .bodyToMono(InternalAuthResponse.class)
+                .transform(this::guarded)
                 .doOnError(e -> log.error("Error calling User Service authenticate: {}", e.getMessage()));
     }
 
     @Override
-    public Optional<UserResponse> getUser(InternalUserSearchRequest request) {
-        try {
-            UserResponse[] users = userServiceWebClient.post()
-                    .uri("/api/users/search")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(UserResponse[].class)
-                    .block();
-
-            if (users != null && users.length > 0) {
-                return Optional.of(users[0]);
-            }
-        } catch (WebClientResponseException e) {
-            log.error("Error searching user: {} - {}", e.getStatusCode().value(), e.getResponseBodyAsString(), e);
-        } catch (Exception e) {
-            log.error("Unexpected error searching user: {}", e.getMessage(), e);
-        }
-        return Optional.empty();
+    public Mono<UserResponse> getUser(InternalUserSearchRequest request) {
+        return userServiceWebClient.post()
+                .uri(INTERNAL_USERS + "/search")
+                .contentType(SMILE)
+                .accept(SMILE)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(UserResponse[].class)
+                .transform(this::guarded)
+                .flatMap(users -> users.length > 0 ? Mono.just(users[0]) : Mono.empty())
+                .doOnError(e -> log.error("Error searching user: {}", describe(e)));
     }
 
+    /**
+     * Concurrent calls for the same id share one lookup, and the answer is reused for {@code user-cache.ttl}.
+     * Lookups of different ids within {@code batch.window} of each other go to user-service as one batch-get.
+     * Unknown users and failures are not cached.
+     */
     @Override
-    public Optional<UserResponse> getUserById(String userId) {
-        try {
-            UserResponse user = userServiceWebClient.get()
-                    .uri("/api/users/{id}", userId)
-                    .retrieve()
-                    .bodyToMono(UserResponse.class)
-                    .block();
-
-            return Optional.ofNullable(user);
-        } catch (WebClientResponseException e) {
-            log.error("Error fetching user by ID {}: {} - {}", userId, e.getStatusCode().value(), e.getResponseBodyAsString(), e);
-        } catch (Exception e) {
-            log.error("Unexpected error fetching user by ID {}: {}", userId, e.getMessage(), e);
-        }
-        return Optional.empty();
+    public Mono<UserResponse> getUserById(String userId) {
+        return Mono.defer(() -> {
+            CompletableFuture<UserResponse> pending = usersById.get(userId, (id, executor) -> userBatchLoader.load(id));
+            // Caffeine drops an unknown user on its own, but possibly only after this caller resumed
+            return Mono.fromFuture(pending, true)
+                    .doOnSuccess(user -> {
+                        if (user == null) usersById.asMap().remove(userId, pending);
+                    });
+        });
     }
 
     @Override
-    public void updatePassword(String userId, String newPassword) {
-        try {
-            userServiceWebClient.put()
-                    .uri("/api/users/password-reset/update")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(new PasswordUpdateRequest(userId, newPassword))
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .block();
-        } catch (WebClientResponseException e) {
-            log.error("Error updating password: {} - {}", e.getStatusCode().value(), e.getResponseBodyAsString(), e);
-        } catch (Exception e) {
-            log.error("Unexpected error updating password: {}", e.getMessage(), e);
+    public Mono<Void> updatePassword(String userId, String newPassword) {
+        return userServiceWebClient.put()
+                .uri("/api/users/password-reset/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PasswordUpdateRequest(userId, newPassword))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .transform(this::guarded)
+                .doOnSuccess(ignored -> usersById.synchronous().invalidate(userId))
+                .doOnError(e -> log.error("Error updating password for user {}: {}", userId, describe(e)));
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    // Unknown ids are simply absent from the answer
+    private Mono<List<UserResponse>> fetchUsersByIds(List<String> userIds) {
+        return userServiceWebClient.post()
+                .uri(INTERNAL_USERS + "/batch-get")
+                .contentType(SMILE)
+                .accept(SMILE)
+                .bodyValue(new BatchGetRequest(userIds))
+                .retrieve()
+                .bodyToMono(UserResponse[].class)
+                .transform(this::guarded)
+                .map(Arrays::asList)
+                .doOnError(e -> log.error("Error fetching {} user(s) by ID: {}", userIds.size(), describe(e)));
+    }
+
+    /**
+     * Bulkhead → deadline → circuit breaker. The deadline covers pool acquisition and the whole exchange, and
+     * every way of user-service being unreachable or overloaded surfaces as {@link UserServiceUnavailableException}.
+     */
+    private <T> Mono<T> guarded(Mono<T> call) {
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .timeout(callTimeout)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(UserClientAdapter::isUnavailable, e -> {
+                    log.warn("User Service unavailable ({}): {}", circuitBreaker.getState(), e.toString());
+                    return new UserServiceUnavailableException();
+                });
+    }
+
+    private static String describe(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().value() + " - " + response.getResponseBodyAsString();
         }
+        return e.getMessage();
+    }
+
+    private static boolean isUnavailable(Throwable e) {
+        return e instanceof CallNotPermittedException
+                || e instanceof BulkheadFullException
+                || e instanceof TimeoutException
+                || e instanceof ReadTimeoutException
+                || e instanceof WebClientRequestException;
     }
 
     // Minimal DTO for password update
     private record PasswordUpdateRequest(String userId, String newPassword) {}
+
+    private record BatchGetRequest(List<String> ids) {}
 }
@@ -5,22 +5,38 @@ import com.example.retailplatform.auth.jwt.adapter.in.web.dto.LoginResponse;
 import com.example.retailplatform.auth.jwt.application.usecase.JwtUseCase;
 import com.example.retailplatform.auth.jwt.domain.port.UserClientPort;
 import com.example.retailplatform.auth.jwt.exception.InvalidCredentialsException;
+import com.example.retailplatform.auth.jwt.security.ActiveTokenCache;
 import com.example.retailplatform.auth.jwt.security.JwtTokenProvider;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class JwtService implements JwtUseCase {
 
+    static final String REFRESH_KEY_PREFIX = "jwt-refresh:";
+    static final String USER_KEY_PREFIX = "jwt-user:";
+
+    // Lua scripts → sent once, then executed by SHA (EVALSHA)
+    private static final RedisScript<Long> STORE_TOKENS =
+            RedisScript.of(new ClassPathResource("scripts/store_tokens.lua"), Long.class);
+    private static final RedisScript<String> READ_REFRESH_USER =
+            RedisScript.of(new ClassPathResource("scripts/read_refresh_user.lua"), String.class);
+    private static final RedisScript<Long> REPLACE_ACCESS_TOKEN =
+            RedisScript.of(new ClassPathResource("scripts/replace_access_token.lua"), Long.class);
+
     private final UserClientPort userClient;
     private final JwtTokenProvider jwtTokenProvider;
-    private final StringRedisTemplate redisTemplate;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ActiveTokenCache activeTokenCache;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
@@ -49,42 +65,67 @@ public class JwtService implements JwtUseCase {
 
     @Override
     public Mono<LoginResponse> refreshToken(String userId, String refreshToken) {
-        return Mono.fromCallable(() -> {
-            String storedRefreshToken = redisTemplate.opsForValue().get("jwt-refresh:" + userId);
-            if (storedRefreshToken == null || !storedRefreshToken.equals(refreshToken)) {
-                throw new InvalidCredentialsException();
-            }
-
-            String userJson = redisTemplate.opsForValue().get("jwt-user:" + userId);
-            if (userJson == null) throw new InvalidCredentialsException();
+        List<String> keys = List.of(REFRESH_KEY_PREFIX + userId, USER_KEY_PREFIX + userId);
 
-            InternalJwtUserResponse user = objectMapper.readValue(userJson, InternalJwtUserResponse.class);
-            String newAccessToken = jwtTokenProvider.generateToken(user.getId(), user.getUsername(), user.getRole());
-
-            redisTemplate.opsForValue().set(
-                    "jwt:" + userId, newAccessToken, jwtTokenProvider.getExpirationInMs(), TimeUnit.MILLISECONDS
-            );
+        // 1st round trip: compare the refresh token and fetch the user it belongs to
+        return redisTemplate.execute(READ_REFRESH_USER, keys, List.of(refreshToken))
+                .next()
+                .switchIfEmpty(Mono.error(InvalidCredentialsException::new))
+                .flatMap(userJson -> {
+                    InternalJwtUserResponse user;
+                    try {
+                        user = objectMapper.readValue(userJson, InternalJwtUserResponse.class);
+                    } catch (JsonProcessingException e) {
+                        return Mono.error(new InvalidCredentialsException());
+                    }
+                    String newAccessToken = jwtTokenProvider.generateToken(user.getId(), user.getUsername(), user.getRole());
 
-            return LoginResponse.builder()
-                    .accessToken(newAccessToken)
-                    .tokenType("Bearer")
-                    .refreshToken(refreshToken)
-                    .expiresIn(jwtTokenProvider.getExpirationInMs())
-                    .user(user)
-                    .build();
-        });
+                    // 2nd round trip: GET-compare-SET → a refresh token rotated in between cannot mint a token
+                    return redisTemplate.execute(REPLACE_ACCESS_TOKEN,
+                                    List.of(REFRESH_KEY_PREFIX + userId, ActiveTokenCache.KEY_PREFIX + userId),
+                                    List.of(refreshToken, newAccessToken, String.valueOf(jwtTokenProvider.getExpirationInMs()),
+                                            ActiveTokenCache.INVALIDATION_CHANNEL, userId))
+                            .next()
+                            .filter(stored -> stored == 1L)
+                            .switchIfEmpty(Mono.error(InvalidCredentialsException::new))
+                            .doOnNext(stored -> activeTokenCache.evictLocal(userId))
+                            .thenReturn(LoginResponse.builder()
+                                    .accessToken(newAccessToken)
+                                    .tokenType("Bearer")
+                                    .refreshToken(refreshToken)
+                                    .expiresIn(jwtTokenProvider.getExpirationInMs())
+                                    .user(user)
+                                    .build());
+                });
     }
 
+    // All three keys plus the near-cache invalidation in one scripted round trip, without blocking
     private Mono<Void> storeTokensInRedis(InternalJwtUserResponse user, String accessToken, String refreshToken) {
-        return Mono.fromRunnable(() -> {
-            try {
-                String userJson = objectMapper.writeValueAsString(user);
-                redisTemplate.opsForValue().set("jwt:" + user.getId(), accessToken, jwtTokenProvider.getExpirationInMs(), TimeUnit.MILLISECONDS);
-                redisTemplate.opsForValue().set("jwt-refresh:" + user.getId(), refreshToken, jwtTokenProvider.getRefreshExpirationInMs(), TimeUnit.MILLISECONDS);
-                redisTemplate.opsForValue().set("jwt-user:" + user.getId(), userJson, jwtTokenProvider.getRefreshExpirationInMs(), TimeUnit.MILLISECONDS);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to store tokens in Redis", e);
-            }
-        });
+        String userJson;
+        try {
+            userJson = objectMapper.writeValueAsString(user);
+        } catch (JsonProcessingException e) {
+            return Mono.error(new RuntimeException("Failed to store tokens in Redis", e));
+        }
+
+        List<String> keys = List.of(
+                ActiveTokenCache.KEY_PREFIX + user.getId(),
+                REFRESH_KEY_PREFIX + user.getId(),
+                USER_KEY_PREFIX + user.getId()
+        );
+        List<String> args = List.of(
+                accessToken,
+                refreshToken,
+                userJson,
+                String.valueOf(jwtTokenProvider.getExpirationInMs()),
+                String.valueOf(jwtTokenProvider.getRefreshExpirationInMs()),
+                ActiveTokenCache.INVALIDATION_CHANNEL,
+                user.getId()
+        );
+
+        return redisTemplate.execute(STORE_TOKENS, keys, args)
+                .then()
+                .doOnSuccess(done -> activeTokenCache.evictLocal(user.getId()))
+                .onErrorMap(e -> new RuntimeException("Failed to store tokens in Redis", e));
     }
 }
@@ -0,0 +1,118 @@
+package com.example.retailplatform.auth.jwt.application.service;
+
+import com.example.retailplatform.auth.jwt.adapter.in.events.dto.UserChangeMessage;
+import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalJwtUserResponse;
+import com.example.retailplatform.auth.jwt.application.usecase.UserEventUseCase;
+import com.example.retailplatform.auth.jwt.security.ActiveTokenCache;
+import com.example.retailplatform.auth.jwt.security.JwtTokenProvider;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Keeps sessions in line with user-service: a change that affects issued tokens (credentials, role, status,
+ * username, deactivation) ends the user's session; any other change refreshes the cached {@code jwt-user:} snapshot
+ * that token refreshes are served from.
+ * <p>
+ * A session that started after the change already carries the new state and is left alone, which makes replays
+ * harmless. Token iat has second precision → a token issued in the same second as the change cannot be ordered
+ * against it and counts as older: a revoking change ends it, at worst costing a login that raced the change.
+ * The password rehash user-service performs during a login arrives as a plain update (no revokeSessions).
+ */
+@Service
+public class UserEventService implements UserEventUseCase {
+
+    static final String ACTION_REVOKED = "revoked";
+    static final String ACTION_UPDATED = "updated";
+    static final String ACTION_SKIPPED = "skipped";
+
+    private static final RedisScript<Long> REVOKE_USER_SESSIONS =
+            RedisScript.of(new ClassPathResource("scripts/revoke_user_sessions.lua"), Long.class);
+    private static final RedisScript<Long> UPDATE_USER_SNAPSHOT =
+            RedisScript.of(new ClassPathResource("scripts/update_user_snapshot.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ActiveTokenCache activeTokenCache;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public UserEventService(StringRedisTemplate redisTemplate,
+                            JwtTokenProvider jwtTokenProvider,
+                            ActiveTokenCache activeTokenCache,
+                            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.activeTokenCache = activeTokenCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void apply(UserChangeMessage event) {
+        String userId = event.userId();
+        // No session yet → the next login reads the user from user-service anyway
+        if (event.type() == UserChangeMessage.Type.CREATED || !hasSessionOlderThan(userId, event.occurredAt())) {
+            count(ACTION_SKIPPED);
+            return;
+        }
+
+        if (event.revokeSessions() || event.type() == UserChangeMessage.Type.DELETED) {
+            redisTemplate.execute(REVOKE_USER_SESSIONS,
+                    List.of(ActiveTokenCache.KEY_PREFIX + userId,
+                            JwtService.REFRESH_KEY_PREFIX + userId,
+                            JwtService.USER_KEY_PREFIX + userId),
+                    ActiveTokenCache.INVALIDATION_CHANNEL, userId);
+            activeTokenCache.evictLocal(userId);
+            count(ACTION_REVOKED);
+        } else {
+            redisTemplate.execute(UPDATE_USER_SNAPSHOT,
+                    List.of(JwtService.USER_KEY_PREFIX + userId),
+                    toJson(event.user()));
+            count(ACTION_UPDATED);
+        }
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private boolean hasSessionOlderThan(String userId, Instant occurredAt) {
+        String refreshToken = redisTemplate.opsForValue().get(JwtService.REFRESH_KEY_PREFIX + userId);
+        if (refreshToken == null) return false;
+
+        Instant changedAt = occurredAt.truncatedTo(ChronoUnit.SECONDS);
+        // An unreadable token cannot prove it is newer → treat it as older
+        return jwtTokenProvider.parseToken(refreshToken)
+                .map(Claims::getIssuedAt)
+                .map(Date::toInstant)
+                .map(issuedAt -> !issuedAt.isAfter(changedAt))
+                .orElse(true);
+    }
+
+    private String toJson(UserChangeMessage.Snapshot user) {
+        try {
+            return objectMapper.writeValueAsString(InternalJwtUserResponse.builder()
+                    .id(user.id())
+                    .username(user.username())
+                    .firstName(user.firstName())
+                    .lastName(user.lastName())
+                    .role(user.role())
+                    .passwordChangeRequired(user.passwordChangeRequired())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize user " + user.id(), e);
+        }
+    }
+
+    private void count(String action) {
+        meterRegistry.counter("jwt.user-events.processed", "action", action).increment();
+    }
+}
@@ -3,8 +3,9 @@ package com.example.retailplatform.auth.jwt.application.usecase;
 import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalPasswordResetRequest;
 import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalUpdatePasswordRequest;
 import com.example.retailplatform.auth.jwt.adapter.in.web.dto.PasswordResetTokenResponse;
+import reactor.core.publisher.Mono;
 
 public interface PasswordResetUseCase {
-    PasswordResetTokenResponse requestPasswordReset(InternalPasswordResetRequest request);
-    void resetPassword(InternalUpdatePasswordRequest request);
+    Mono<PasswordResetTokenResponse> requestPasswordReset(InternalPasswordResetRequest request);
+    Mono<Void> resetPassword(InternalUpdatePasswordRequest request);
 }
@@ -0,0 +1,9 @@
+package com.example.retailplatform.auth.jwt.application.usecase;
+
+import com.example.retailplatform.auth.jwt.adapter.in.events.dto.UserChangeMessage;
+
+public interface UserEventUseCase {
+
+    /** Applies one user change to the user's sessions. Idempotent → events may be delivered more than once. */
+    void apply(UserChangeMessage event);
+}
@@ -2,16 +2,34 @@ package com.example.retailplatform.auth.jwt.config;
 
 import com.example.retailplatform.auth.jwt.domain.model.PasswordResetToken;
 import com.example.retailplatform.auth.jwt.domain.model.RefreshToken;
+import com.example.retailplatform.auth.jwt.security.ActiveTokenCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
+
 @Configuration
 public class RedisConfig {
 
+    // Token writes on any instance evict the active-token near-cache everywhere
+    @Bean
+    public RedisMessageListenerContainer tokenInvalidationListenerContainer(RedisConnectionFactory factory,
+                                                                            ActiveTokenCache activeTokenCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(
+                (message, pattern) -> activeTokenCache.evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(ActiveTokenCache.INVALIDATION_CHANNEL)
+        );
+        return container;
+    }
+
     @Bean
     public RedisTemplate<String, RefreshToken> refreshTokenRedisTemplate(RedisConnectionFactory factory) {
         RedisTemplate<String, RefreshToken> template = new RedisTemplate<>();
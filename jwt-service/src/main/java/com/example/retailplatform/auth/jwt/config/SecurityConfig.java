@@ -34,6 +34,7 @@ public class SecurityConfig {
                         "/swagger-ui/**",
                         "/v3/api-docs/**",
                         "/error",
+                        "/.well-known/jwks.json",
                         "/api/auth/jwt/**"
                 ).permitAll()
                 .anyRequest().authenticated()
@@ -0,0 +1,83 @@
+package com.example.retailplatform.auth.jwt.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead around every call to user-service.
+ * <p>
+ * Only 5xx responses, timeouts and connection errors count as failures; a 4xx (e.g. wrong password) is a normal
+ * answer. While the breaker is open, or once {@code max-concurrent-calls} are in flight, calls fail at once.
+ * Metrics: {@code resilience4j.circuitbreaker.*} and {@code resilience4j.bulkhead.*} tagged {@code name=user-service}.
+ */
+@Configuration
+public class UserServiceResilienceConfig {
+
+    public static final String USER_SERVICE = "user-service";
+
+    @Bean
+    public CircuitBreaker userServiceCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${user.service.client.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${user.service.client.circuit-breaker.slow-call-duration-threshold:PT2S}") Duration slowCallDurationThreshold,
+            @Value("${user.service.client.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${user.service.client.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${user.service.client.circuit-breaker.wait-duration-in-open-state:PT10S}") Duration waitDurationInOpenState,
+            @Value("${user.service.client.circuit-breaker.permitted-calls-in-half-open-state:3}") int permittedCallsInHalfOpenState) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(100)
+                .slowCallDurationThreshold(slowCallDurationThreshold)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(UserServiceResilienceConfig::isFailure)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(USER_SERVICE);
+    }
+
+    @Bean
+    public Bulkhead userServiceBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${user.service.client.bulkhead.max-concurrent-calls:100}") int maxConcurrentCalls) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                // Never wait for a permit: on a reactive pipeline that would block the event loop
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(USER_SERVICE);
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    static boolean isFailure(Throwable throwable) {
+        if (throwable instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return true;
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.retailplatform.auth.jwt.config;
 
+import io.netty.channel.ChannelOption;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.beans.factory.annotation.Value;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Slf4j
 @Configuration
@@ -14,17 +21,58 @@ public class WebClientConfig {
     @Value("${user.service.url}")
     private String userServiceBaseUrl;
 
+    /**
+     * Bounded connection pool for user-service. Callers beyond {@code max-connections} wait for a connection,
+     * at most {@code pending-acquire-max-count} of them and for at most {@code pending-acquire-timeout};
+     * everyone else fails immediately instead of queueing without limit.
+     * <p>
+     * Pool gauges are published as {@code reactor.netty.connection.provider.*}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider userServiceConnectionProvider(
+            @Value("${user.service.client.pool.max-connections:50}") int maxConnections,
+            @Value("${user.service.client.pool.pending-acquire-max-count:100}") int pendingAcquireMaxCount,
+            @Value("${user.service.client.pool.pending-acquire-timeout:PT2S}") Duration pendingAcquireTimeout,
+            @Value("${user.service.client.pool.max-idle-time:PT30S}") Duration maxIdleTime,
+            @Value("${user.service.client.pool.max-life-time:PT5M}") Duration maxLifeTime,
+            @Value("${user.service.client.pool.evict-in-background:PT30S}") Duration evictInBackground) {
+        return ConnectionProvider.builder("user-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient userServiceWebClient() {
-        return WebClient.builder()
+    public WebClient userServiceWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider userServiceConnectionProvider,
+            @Value("${user.service.client.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${user.service.client.response-timeout:PT3S}") Duration responseTimeout,
+            // HTTP11 | H2C (prior knowledge, needs server.http2.enabled on user-service) | H2C,HTTP11 (upgrade)
+            @Value("${user.service.client.protocols:HTTP11}") HttpProtocol[] protocols) {
+        HttpClient httpClient = HttpClient.create(userServiceConnectionProvider)
+                .protocol(protocols)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(responseTimeout);
+
+        // Boot's builder → http.client.requests observations and the shared codecs
+        return webClientBuilder
                 .baseUrl(userServiceBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .filter(logRequest())
                 .build();
     }
 
     private ExchangeFilterFunction logRequest() {
         return (request, next) -> {
-            log.info("📡 Calling User Service: {} {}", request.method(), request.url());
+            log.debug("📡 Calling User Service: {} {}", request.method(), request.url());
             return next.exchange(request);
         };
     }
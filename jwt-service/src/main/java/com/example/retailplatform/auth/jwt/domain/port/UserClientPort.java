@@ -1,7 +1,5 @@
 package com.example.retailplatform.auth.jwt.domain.port;
 
-import java.util.Optional;
-
 import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalAuthResponse;
 import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalUserSearchRequest;
 import com.example.retailplatform.auth.jwt.adapter.in.web.dto.UserResponse;
@@ -10,7 +8,7 @@ import reactor.core.publisher.Mono;
 public interface UserClientPort {
 
     Mono<InternalAuthResponse> authenticate(String username, String password);
-    Optional<UserResponse> getUser(InternalUserSearchRequest request);
-    Optional<UserResponse> getUserById(String userId);
-    void updatePassword(String userId, String newPassword);
+    Mono<UserResponse> getUser(InternalUserSearchRequest request);
+    Mono<UserResponse> getUserById(String userId);
+    Mono<Void> updatePassword(String userId, String newPassword);
 }
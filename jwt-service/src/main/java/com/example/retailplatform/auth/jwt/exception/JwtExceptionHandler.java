@@ -40,6 +40,7 @@ public class JwtExceptionHandler {
             case "PasswordChangeRequiredException" -> HttpStatus.FORBIDDEN;
             case "InvalidRefreshTokenException" -> HttpStatus.BAD_REQUEST;
             case "UserNotFoundException" -> HttpStatus.NOT_FOUND;
+            case "UserServiceUnavailableException" -> HttpStatus.SERVICE_UNAVAILABLE;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
         return buildResponse(status, getLocalizedMessage(ex));
@@ -0,0 +1,5 @@
+package com.example.retailplatform.auth.jwt.exception;
+
+public class UserServiceUnavailableException extends I18nRuntimeException {
+    public UserServiceUnavailableException() { super("user.service.unavailable"); }
+}
@@ -0,0 +1,144 @@
+package com.example.retailplatform.auth.jwt.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Near-cache of the active access-token id (jti) per user, in front of the {@code jwt:<userId>} Redis keys.
+ * <p>
+ * A matching entry is trusted for {@code max-staleness}; after that, or on a mismatch, Redis is consulted again.
+ * Every write of a {@code jwt:} key is followed by a message on {@link #INVALIDATION_CHANNEL}, which evicts the
+ * entry on all instances, so a replaced token stops being accepted right away.
+ * <p>
+ * When Redis is unreachable the {@link FallbackMode} decides: keep using the last known entry (up to
+ * {@code fallback-max-staleness}), accept any signature-verified token, or reject.
+ */
+@Component
+public class ActiveTokenCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveTokenCache.class);
+
+    public static final String KEY_PREFIX = "jwt:";
+    public static final String INVALIDATION_CHANNEL = "jwt:invalidations";
+
+    public enum FallbackMode {
+        /** Serve the last known jti, reject users never seen before. */
+        LAST_KNOWN,
+        /** Like LAST_KNOWN, but accept unseen users on signature alone. */
+        ALLOW,
+        /** Reject every token until Redis is back. */
+        DENY
+    }
+
+    // jti == null → Redis had no active token for the user
+    private record ActiveToken(String jti, long loadedAtNanos) {
+        boolean isFresh(Duration maxStaleness) {
+            return System.nanoTime() - loadedAtNanos <= maxStaleness.toNanos();
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Cache<String, ActiveToken> activeTokens;
+    private final Duration maxStaleness;
+    private final FallbackMode fallbackMode;
+    private final Counter fallbacks;
+
+    public ActiveTokenCache(StringRedisTemplate redisTemplate,
+                            JwtTokenProvider jwtTokenProvider,
+                            MeterRegistry meterRegistry,
+                            @Value("${jwt.active-token-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${jwt.active-token-cache.max-staleness:PT10S}") Duration maxStaleness,
+                            @Value("${jwt.active-token-cache.fallback-max-staleness:PT5M}") Duration fallbackMaxStaleness,
+                            @Value("${jwt.active-token-cache.fallback-mode:LAST_KNOWN}") FallbackMode fallbackMode) {
+        this.redisTemplate = redisTemplate;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.maxStaleness = maxStaleness;
+        this.fallbackMode = fallbackMode;
+
+        // Entries outlive max-staleness only so they can be served while Redis is down
+        this.activeTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(fallbackMaxStaleness.compareTo(maxStaleness) > 0 ? fallbackMaxStaleness : maxStaleness)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, activeTokens, "jwt.active-tokens");
+        this.fallbacks = Counter.builder("jwt.active-tokens.fallbacks")
+                .description("Token checks answered without Redis because it was unreachable")
+                .tag("mode", fallbackMode.name())
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if {@code claims} (already signature-verified) belong to the user's current access token
+     */
+    public boolean isActive(String userId, Claims claims) {
+        ActiveToken cached = activeTokens.getIfPresent(userId);
+        // Only positive answers come from the cache → a token issued moments ago on another
+        // instance is confirmed against Redis instead of being rejected until the entry ages out
+        if (cached != null && cached.isFresh(maxStaleness) && matches(cached, claims)) {
+            return true;
+        }
+
+        ActiveToken loaded;
+        try {
+            loaded = load(userId);
+        } catch (DataAccessException e) {
+            fallbacks.increment();
+            log.warn("Redis unavailable for token check of user {} (fallback={}): {}", userId, fallbackMode, e.getMessage());
+            return fallback(cached, claims);
+        }
+        activeTokens.put(userId, loaded);
+        return matches(loaded, claims);
+    }
+
+    /** Evicts this instance's entry; called for messages on {@link #INVALIDATION_CHANNEL}. */
+    public void evictLocal(String userId) {
+        activeTokens.invalidate(userId);
+    }
+
+    /** Evicts the entry here and tells every other instance to do the same. Call after writing {@code jwt:<userId>}. */
+    public void invalidate(String userId) {
+        evictLocal(userId);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, userId);
+        } catch (DataAccessException e) {
+            // Other instances converge within max-staleness
+            log.warn("Could not publish token invalidation for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private ActiveToken load(String userId) {
+        String storedToken = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+        String jti = storedToken == null ? null
+                : jwtTokenProvider.parseToken(storedToken).map(Claims::getId).orElse(null);
+        return new ActiveToken(jti, System.nanoTime());
+    }
+
+    private boolean fallback(ActiveToken lastKnown, Claims claims) {
+        return switch (fallbackMode) {
+            case DENY -> false;
+            case LAST_KNOWN -> lastKnown != null && matches(lastKnown, claims);
+            case ALLOW -> lastKnown == null || matches(lastKnown, claims);
+        };
+    }
+
+    private static boolean matches(ActiveToken activeToken, Claims claims) {
+        return activeToken.jti() != null && Objects.equals(activeToken.jti(), claims.getId());
+    }
+}
@@ -1,12 +1,12 @@
 package com.example.retailplatform.auth.jwt.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -14,7 +14,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import java.util.concurrent.TimeUnit;
 
 import java.io.IOException;
 
@@ -25,7 +24,7 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final StringRedisTemplate redisTemplate;
+    private final ActiveTokenCache activeTokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -34,18 +33,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
-        String token = null;
+        Claims claims = null;
         String userId = null;
 
         if (header != null && header.startsWith("Bearer ")) {
-            token = header.substring(7);
-            if (jwtTokenProvider.validateToken(token)) {
-                userId = jwtTokenProvider.getUserIdFromToken(token);
+            String token = header.substring(7);
+            // Verified once per distinct token → claims reused below instead of re-parsing
+            claims = jwtTokenProvider.parseToken(token).orElse(null);
+            if (claims != null) {
+                userId = claims.getSubject();
 
-                // ✅ Check token in Redis
-                String redisKey = "jwt:" + userId;
-                String storedToken = redisTemplate.opsForValue().get(redisKey);
-                if (storedToken == null || !storedToken.equals(token)) {
+                // ✅ Check token is the user's current one (near-cache over Redis)
+                if (!activeTokenCache.isActive(userId, claims)) {
                     // Token not found or invalid → reject
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     return;
@@ -54,7 +53,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            String role = jwtTokenProvider.getRoleFromToken(token);
+            String role = claims.get("role", String.class);
             UsernamePasswordAuthenticationToken auth =
                     new UsernamePasswordAuthenticationToken(userId, null,
                             List.of(new SimpleGrantedAuthority(role != null ? role : "USER")));
@@ -1,43 +1,95 @@
 package com.example.retailplatform.auth.jwt.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.example.retailplatform.auth.jwt.verifier.JwksTokenVerifier;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Issues ES256 tokens with the current key of {@link SigningKeys}, its id in the {@code kid} header, and verifies
+ * them against every published key. Other services verify the same way from {@code /.well-known/jwks.json}.
+ * <p>
+ * HS256 tokens from before the switch are still accepted while {@code jwt.secret} is set; unset it once they have
+ * expired (refresh tokens live 7 days).
+ */
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${jwt.expiration-ms}")
-    private long jwtExpirationMs;
+    private final long jwtExpirationMs;
 
     // Refresh token expiry: 7 days
     private final long refreshTokenExpirationMs = 7 * 24 * 60 * 60 * 1000L;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Parser resolves the key per token (kid) → immutable and thread-safe
+    private final SigningKeys signingKeys;
+    private final Key legacyHmacKey;
+    private final JwtParser parser;
+
+    // SHA-256(token) → claims of a token whose signature was already verified
+    private final Cache<String, Claims> verifiedTokens;
+    private final Duration verifiedTokenTtl;
+
+    public JwtTokenProvider(SigningKeys signingKeys,
+                            @Value("${jwt.secret:}") String legacySecret,
+                            @Value("${jwt.expiration-ms}") long jwtExpirationMs,
+                            @Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheMaximumSize,
+                            @Value("${jwt.verified-cache.ttl:PT5M}") Duration verifiedTokenTtl,
+                            MeterRegistry meterRegistry) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.signingKeys = signingKeys;
+        this.legacyHmacKey = legacySecret == null || legacySecret.isBlank()
+                ? null
+                : Keys.hmacShaKeyFor(legacySecret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header);
+                    }
+                })
+                .build();
+
+        this.verifiedTokenTtl = verifiedTokenTtl;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfter(Expiry.creating((String digest, Claims claims) -> timeToLive(claims)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
     }
 
     // ---------------- Access Token ----------------
     public String generateToken(String userId, String username, String role) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
+        SigningKeys.SigningKey key = signingKeys.current();
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.id())
                 .setId(UUID.randomUUID().toString())
                 .setSubject(userId)
+                .claim(JwksTokenVerifier.TOKEN_USE_CLAIM, JwksTokenVerifier.ACCESS_TOKEN)
                 .claim("username", username)
                 .claim("role", role)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(key.privateKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
@@ -45,14 +97,17 @@ public class JwtTokenProvider {
     public String generateRefreshToken(String userId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshTokenExpirationMs);
+        SigningKeys.SigningKey key = signingKeys.current();
 
-        // Minimal refresh token: only userId subject
+        // Minimal refresh token: userId subject, marked so verifiers never take it for an access token
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.id())
                 .setId(UUID.randomUUID().toString())
                 .setSubject(userId)
+                .claim(JwksTokenVerifier.TOKEN_USE_CLAIM, JwksTokenVerifier.REFRESH_TOKEN)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(key.privateKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
@@ -66,18 +121,37 @@ public class JwtTokenProvider {
     }
 
     // ---------------- Validation ----------------
-    public boolean validateToken(String token) {
+
+    /**
+     * Verifies {@code token} once and returns its claims; empty if the signature is invalid or it has expired.
+     * <p>
+     * Repeat calls with the same token are answered from a bounded cache without re-running signature verification.
+     * Entries never outlive the token's own {@code exp}.
+     */
+    public Optional<Claims> parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(digest, claims);
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    public boolean validateToken(String token) {
+        return parseToken(token).isPresent();
+    }
+
     // ---------------- Claims extraction ----------------
     public String getUserIdFromToken(String token) {
         return getClaims(token).getSubject();
@@ -94,10 +168,46 @@ public class JwtTokenProvider {
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseToken(token)
+                .orElseGet(() -> parser.parseClaimsJws(token).getBody()); // rethrows the original JwtException
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    // The header alone picks the key → an HS256 token can never be checked against a public key, nor the reverse
+    private Key verificationKey(JwsHeader<?> header) {
+        String algorithm = header.getAlgorithm();
+        if (SignatureAlgorithm.ES256.getValue().equals(algorithm)) {
+            Key key = signingKeys.publicKey(header.getKeyId());
+            if (key == null) {
+                throw new UnsupportedJwtException("Unknown key id " + header.getKeyId());
+            }
+            return key;
+        }
+        if (SignatureAlgorithm.HS256.getValue().equals(algorithm) && legacyHmacKey != null) {
+            return legacyHmacKey;
+        }
+        throw new UnsupportedJwtException("Unsupported algorithm " + algorithm);
+    }
+
+    private Duration timeToLive(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return verifiedTokenTtl;
+        }
+        Duration untilExpiry = Duration.ofMillis(expiration.getTime() - System.currentTimeMillis());
+        if (untilExpiry.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilExpiry.compareTo(verifiedTokenTtl) < 0 ? untilExpiry : verifiedTokenTtl;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
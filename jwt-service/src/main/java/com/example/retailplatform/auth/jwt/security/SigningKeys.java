@@ -0,0 +1,266 @@
+package com.example.retailplatform.auth.jwt.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The ES256 (P-256) keys tokens are signed with, and the public keys published at {@code /.well-known/jwks.json}.
+ * <p>
+ * Keys live in {@code key-directory} as PEM files named after their key id: {@code <kid>.pub} (X.509, published)
+ * and {@code <kid>.key} (PKCS#8, may sign). Tokens are signed with the greatest kid that has both files and whose
+ * {@code .key} has been in place for {@code publish-ahead}, so verifiers learn a new key before they meet a token
+ * signed with it. The directory is re-read every {@code reload-interval}; rotating takes no restart:
+ * <ol>
+ *   <li>add {@code 2026-11.key} and {@code 2026-11.pub} → published now, signing after {@code publish-ahead}</li>
+ *   <li>delete {@code 2026-10.key} → still published, so its tokens verify until they expire</li>
+ *   <li>delete {@code 2026-10.pub} once the longest-lived token signed with it has expired</li>
+ * </ol>
+ * Without a directory, startup fails unless {@code allow-generated-key} is set; then a key pair is generated at
+ * startup. Its tokens die with the instance and no other instance accepts them → for local runs only.
+ */
+@Component
+public class SigningKeys implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeys.class);
+
+    private static final String PUBLIC_SUFFIX = ".pub";
+    private static final String PRIVATE_SUFFIX = ".key";
+    private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final int P256_FIELD_SIZE = 256;
+
+    record SigningKey(String id, PrivateKey privateKey) {}
+
+    // Swapped as a whole on reload → readers always see a consistent pair
+    private record KeyRing(SigningKey signing, Map<String, ECPublicKey> published) {}
+
+    private final Path directory;
+    private final Duration reloadInterval;
+    private final Duration publishAhead;
+    private volatile KeyRing ring;
+    private ScheduledExecutorService reloader;
+
+    public SigningKeys(@Value("${jwt.signing.key-directory:}") String directory,
+                       @Value("${jwt.signing.reload-interval:PT1M}") Duration reloadInterval,
+                       @Value("${jwt.signing.publish-ahead:PT10M}") Duration publishAhead,
+                       @Value("${jwt.signing.allow-generated-key:false}") boolean allowGeneratedKey) {
+        this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+        if (this.directory == null && !allowGeneratedKey) {
+            throw new IllegalStateException("jwt.signing.key-directory is not set; point it at the signing keys, "
+                    + "or set jwt.signing.allow-generated-key=true for a local run");
+        }
+        this.reloadInterval = reloadInterval;
+        this.publishAhead = publishAhead;
+        // Fail at startup rather than on the first login
+        this.ring = this.directory == null ? generated() : load();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (directory == null) {
+            log.warn("No jwt.signing.key-directory → signing with generated key {}; tokens do not survive a restart "
+                    + "and are not accepted by other instances", ring.signing().id());
+            return;
+        }
+        reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "signing-key-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloader.scheduleWithFixedDelay(this::reloadQuietly,
+                reloadInterval.toMillis(), reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Signing with key {} from {}, publishing {}", ring.signing().id(), directory,
+                ring.published().keySet());
+    }
+
+    @Override
+    public void destroy() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    SigningKey current() {
+        return ring.signing();
+    }
+
+    /** @return the published key with this id, or null */
+    public ECPublicKey publicKey(String keyId) {
+        return keyId == null ? null : ring.published().get(keyId);
+    }
+
+    /** Every key a valid token may be signed with, by key id. */
+    public Map<String, ECPublicKey> published() {
+        return ring.published();
+    }
+
+    void reloadQuietly() {
+        try {
+            KeyRing loaded = load();
+            if (!loaded.signing().id().equals(ring.signing().id())) {
+                log.info("Signing key rotated from {} to {}", ring.signing().id(), loaded.signing().id());
+            }
+            ring = loaded;
+        } catch (RuntimeException e) {
+            // A half-copied or broken file must not take signing down → keep the keys we have
+            log.warn("Signing key reload from {} failed, keeping key {}: {}", directory, ring.signing().id(),
+                    e.getMessage());
+        }
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private KeyRing load() {
+        Map<String, ECPublicKey> published = new TreeMap<>();
+        TreeMap<String, Path> privateKeys = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PUBLIC_SUFFIX) && isKeyId(name, PUBLIC_SUFFIX)) {
+                    published.put(keyId(name, PUBLIC_SUFFIX), readPublicKey(file));
+                } else if (name.endsWith(PRIVATE_SUFFIX) && isKeyId(name, PRIVATE_SUFFIX)) {
+                    privateKeys.put(keyId(name, PRIVATE_SUFFIX), file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read signing keys from " + directory, e);
+        }
+        privateKeys.keySet().retainAll(published.keySet());
+        if (privateKeys.isEmpty()) {
+            throw new IllegalStateException("No <kid>.key with a matching <kid>.pub in " + directory);
+        }
+
+        String signingId = signingKeyId(privateKeys);
+        SigningKey signing = new SigningKey(signingId, readPrivateKey(privateKeys.get(signingId)));
+        requireMatchingPair(signing, published.get(signingId));
+        return new KeyRing(signing, Collections.unmodifiableMap(published));
+    }
+
+    // Greatest kid that verifiers had time to learn; falls back to the greatest kid when all keys are new
+    private String signingKeyId(TreeMap<String, Path> privateKeys) {
+        Instant cutoff = Instant.now().minus(publishAhead);
+        String signingId = null;
+        for (Map.Entry<String, Path> entry : privateKeys.entrySet()) {
+            if (!lastModified(entry.getValue()).isAfter(cutoff)) {
+                signingId = entry.getKey();
+            }
+        }
+        return signingId != null ? signingId : privateKeys.lastKey();
+    }
+
+    private static KeyRing generated() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair pair = generator.generateKeyPair();
+            String keyId = "generated-" + UUID.randomUUID();
+            return new KeyRing(new SigningKey(keyId, pair.getPrivate()),
+                    Map.of(keyId, (ECPublicKey) pair.getPublic()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 not available", e);
+        }
+    }
+
+    // A .key next to someone else's .pub would issue tokens nobody can verify
+    private static void requireMatchingPair(SigningKey signing, ECPublicKey publicKey) {
+        try {
+            byte[] probe = signing.id().getBytes(StandardCharsets.UTF_8);
+            Signature signer = Signature.getInstance("SHA256withECDSA");
+            signer.initSign(signing.privateKey());
+            signer.update(probe);
+            byte[] signature = signer.sign();
+
+            Signature verifier = Signature.getInstance("SHA256withECDSA");
+            verifier.initVerify(publicKey);
+            verifier.update(probe);
+            if (verifier.verify(signature)) {
+                return;
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot check key pair " + signing.id(), e);
+        }
+        throw new IllegalStateException(signing.id() + ".key does not belong to " + signing.id() + ".pub");
+    }
+
+    private static ECPublicKey readPublicKey(Path file) {
+        try {
+            if (KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(pem(file)))
+                    instanceof ECPublicKey key && key.getParams().getCurve().getField().getFieldSize() == P256_FIELD_SIZE) {
+                return key;
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unreadable public key " + file, e);
+        }
+        throw new IllegalStateException(file + " is not a P-256 public key");
+    }
+
+    private static PrivateKey readPrivateKey(Path file) {
+        try {
+            if (KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(pem(file)))
+                    instanceof ECPrivateKey key && key.getParams().getCurve().getField().getFieldSize() == P256_FIELD_SIZE) {
+                return key;
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unreadable private key " + file, e);
+        }
+        throw new IllegalStateException(file + " is not a P-256 private key");
+    }
+
+    // DER body of a PEM file, whatever its BEGIN/END label
+    private static byte[] pem(Path file) {
+        try {
+            String base64 = Files.readString(file).replaceAll("-----[A-Z ]+-----", "");
+            return Base64.getMimeDecoder().decode(base64);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + file, e);
+        }
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + file, e);
+        }
+    }
+
+    private static boolean isKeyId(String fileName, String suffix) {
+        return KEY_ID.matcher(keyId(fileName, suffix)).matches();
+    }
+
+    private static String keyId(String fileName, String suffix) {
+        return fileName.substring(0, fileName.length() - suffix.length());
+    }
+}
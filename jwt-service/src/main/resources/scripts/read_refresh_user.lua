@@ -0,0 +1,6 @@
+-- Returns the cached user JSON if the presented refresh token is the current one, nil otherwise.
+-- KEYS[1] jwt-refresh:<userId>  KEYS[2] jwt-user:<userId>  ARGV[1] presented refresh token
+if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+    return false
+end
+return redis.call('GET', KEYS[2])
@@ -0,0 +1,10 @@
+-- GET-compare-SET: stores the new access token only while the refresh token is still the current one.
+-- KEYS[1] jwt-refresh:<userId>  KEYS[2] jwt:<userId>
+-- ARGV[1] presented refresh token  ARGV[2] new access token  ARGV[3] access TTL (ms)
+-- ARGV[4] invalidation channel     ARGV[5] userId
+if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+redis.call('PUBLISH', ARGV[4], ARGV[5])
+return 1
@@ -0,0 +1,6 @@
+-- Ends every session of a user: access token, refresh token and cached user snapshot.
+-- KEYS[1] jwt:<userId>  KEYS[2] jwt-refresh:<userId>  KEYS[3] jwt-user:<userId>
+-- ARGV[1] invalidation channel  ARGV[2] userId
+redis.call('DEL', KEYS[1], KEYS[2], KEYS[3])
+redis.call('PUBLISH', ARGV[1], ARGV[2])
+return 1
@@ -0,0 +1,9 @@
+-- Writes the token set of a login in one round trip.
+-- KEYS[1] jwt:<userId>          ARGV[1] access token   ARGV[4] access TTL (ms)
+-- KEYS[2] jwt-refresh:<userId>  ARGV[2] refresh token  ARGV[5] refresh TTL (ms)
+-- KEYS[3] jwt-user:<userId>     ARGV[3] user JSON      ARGV[6] invalidation channel, ARGV[7] userId
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[4])
+redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[5])
+redis.call('SET', KEYS[3], ARGV[3], 'PX', ARGV[5])
+redis.call('PUBLISH', ARGV[6], ARGV[7])
+return 1
@@ -0,0 +1,6 @@
+-- Replaces the cached user of a live session; never creates the key and keeps its TTL.
+-- KEYS[1] jwt-user:<userId>  ARGV[1] user JSON
+if redis.call('SET', KEYS[1], ARGV[1], 'XX', 'KEEPTTL') then
+    return 1
+end
+return 0
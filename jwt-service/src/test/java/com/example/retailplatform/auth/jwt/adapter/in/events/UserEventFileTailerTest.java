@@ -0,0 +1,122 @@
+package com.example.retailplatform.auth.jwt.adapter.in.events;
+
+import com.example.retailplatform.auth.jwt.adapter.in.events.dto.UserChangeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserEventFileTailerTest {
+
+    private static final String DAY_1 = "user-events-2026-01-01.ndjson";
+    private static final String DAY_2 = "user-events-2026-01-02.ndjson";
+
+    @TempDir
+    Path directory;
+
+    private final List<Long> applied = new CopyOnWriteArrayList<>();
+    private RuntimeException failure;
+    private Path offsetFile;
+
+    @BeforeEach
+    void setUp() {
+        offsetFile = directory.resolve("state").resolve("user-events.offset");
+    }
+
+    @Test
+    void poll_appliesCompleteLinesOnlyAndResumesAfterThem() throws Exception {
+        UserEventFileTailer tailer = tailer();
+        append(DAY_1, line(1) + line(2) + "{\"eventId\":3,");
+
+        assertEquals(2, tailer.poll());
+        assertEquals(List.of(1L, 2L), applied);
+
+        append(DAY_1, "\"type\":\"UPDATED\",\"userId\":\"7\",\"occurredAt\":\"2026-01-01T00:00:00Z\"}\n");
+
+        assertEquals(1, tailer.poll());
+        assertEquals(List.of(1L, 2L, 3L), applied);
+    }
+
+    @Test
+    void poll_movesToNextSegmentInNameOrder() throws Exception {
+        UserEventFileTailer tailer = tailer();
+        append(DAY_2, line(3));
+        append(DAY_1, line(1) + line(2));
+
+        assertEquals(3, tailer.poll());
+
+        assertEquals(List.of(1L, 2L, 3L), applied);
+        assertEquals(DAY_2, tailer.offset().segment());
+    }
+
+    @Test
+    void poll_skipsTornLines() throws Exception {
+        UserEventFileTailer tailer = tailer();
+        append(DAY_1, "{\"eventId\":1,\"ty\n" + line(1) + line(2));
+
+        assertEquals(2, tailer.poll());
+
+        assertEquals(List.of(1L, 2L), applied);
+    }
+
+    @Test
+    void poll_retriesEventThatFailedToApply() throws Exception {
+        UserEventFileTailer tailer = tailer();
+        append(DAY_1, line(1) + line(2));
+        failure = new IllegalStateException("Redis down");
+
+        assertThrows(IllegalStateException.class, tailer::poll);
+        failure = null;
+        tailer.poll();
+
+        assertEquals(List.of(1L, 2L), applied);
+    }
+
+    @Test
+    void restart_resumesFromSavedOffset() throws Exception {
+        append(DAY_1, line(1));
+        tailer().poll();
+        append(DAY_1, line(2));
+
+        // The scheduled first poll runs right away
+        UserEventFileTailer restarted = tailer();
+        restarted.afterPropertiesSet();
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (applied.size() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            restarted.destroy();
+        }
+
+        assertEquals(List.of(1L, 2L), applied);
+    }
+
+    private UserEventFileTailer tailer() {
+        return new UserEventFileTailer(event -> {
+            if (failure != null) throw failure;
+            applied.add(event.eventId());
+        }, directory, offsetFile, Duration.ofHours(1));
+    }
+
+    private void append(String segment, String text) throws Exception {
+        Files.writeString(directory.resolve(segment), text, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String line(long eventId) {
+        return "{\"eventId\":" + eventId + ",\"type\":\"" + UserChangeMessage.Type.UPDATED
+                + "\",\"userId\":\"7\",\"revokeSessions\":true,\"occurredAt\":\"2026-01-01T00:00:00Z\","
+                + "\"user\":{\"id\":\"7\",\"username\":\"alice\",\"role\":\"USER\",\"email\":\"a@b.c\"}}\n";
+    }
+}
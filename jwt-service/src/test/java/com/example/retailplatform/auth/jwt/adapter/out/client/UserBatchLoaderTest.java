@@ -0,0 +1,95 @@
+package com.example.retailplatform.auth.jwt.adapter.out.client;
+
+import com.example.retailplatform.auth.jwt.adapter.in.web.dto.UserResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserBatchLoaderTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void load_coalescesIdsWithinWindowIntoOneBatch() {
+        UserBatchLoader loader = loader(Duration.ofMillis(20), 100);
+
+        CompletableFuture<UserResponse> first = loader.load("1");
+        CompletableFuture<UserResponse> again = loader.load("1");
+        CompletableFuture<UserResponse> second = loader.load("2");
+
+        assertEquals("user-1", first.join().getUsername());
+        assertSame(first, again);
+        assertEquals("user-2", second.join().getUsername());
+        assertEquals(List.of(List.of("1", "2")), batches);
+    }
+
+    @Test
+    void load_dispatchesFullBatchWithoutWaitingForWindow() throws Exception {
+        UserBatchLoader loader = loader(Duration.ofHours(1), 2);
+
+        CompletableFuture<UserResponse> first = loader.load("1");
+        CompletableFuture<UserResponse> second = loader.load("2");
+        CompletableFuture<UserResponse> third = loader.load("3");
+
+        assertEquals("user-1", first.get(5, TimeUnit.SECONDS).getUsername());
+        assertEquals("user-2", second.get(5, TimeUnit.SECONDS).getUsername());
+        assertFalse(third.isDone());
+        assertEquals(List.of(List.of("1", "2")), batches);
+    }
+
+    @Test
+    void load_completesMissingIdsWithNull() {
+        UserBatchLoader loader = new UserBatchLoader(ids -> Mono.just(List.of()), Duration.ZERO, 100,
+                Schedulers.parallel());
+
+        assertNull(loader.load("404").join());
+    }
+
+    @Test
+    void load_failsEveryLookupOfAFailedBatch() {
+        IllegalStateException failure = new IllegalStateException("user-service down");
+        UserBatchLoader loader = new UserBatchLoader(ids -> Mono.error(failure), Duration.ofMillis(20), 100,
+                Schedulers.parallel());
+
+        CompletableFuture<UserResponse> first = loader.load("1");
+        CompletableFuture<UserResponse> second = loader.load("2");
+
+        assertSame(failure, assertThrows(Exception.class, first::join).getCause());
+        assertSame(failure, assertThrows(Exception.class, second::join).getCause());
+    }
+
+    @Test
+    void load_failsOnlyTheInvalidIdsOfAMixedBatch() {
+        UserBatchLoader loader = loader(Duration.ofMillis(20), 100);
+
+        CompletableFuture<UserResponse> first = loader.load("1");
+        CompletableFuture<UserResponse> notNumeric = loader.load("abc");
+        CompletableFuture<UserResponse> tooLong = loader.load("99999999999999999999");
+        CompletableFuture<UserResponse> second = loader.load("2");
+
+        assertInstanceOf(IllegalArgumentException.class, assertThrows(Exception.class, notNumeric::join).getCause());
+        assertInstanceOf(IllegalArgumentException.class, assertThrows(Exception.class, tooLong::join).getCause());
+        assertEquals("user-1", first.join().getUsername());
+        assertEquals("user-2", second.join().getUsername());
+        assertEquals(List.of(List.of("1", "2")), batches);
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private UserBatchLoader loader(Duration window, int maxBatchSize) {
+        return new UserBatchLoader(ids -> {
+            batches.add(ids);
+            return Mono.just(ids.stream()
+                    .map(id -> UserResponse.builder().id(id).username("user-" + id).build())
+                    .toList());
+        }, window, maxBatchSize, Schedulers.parallel());
+    }
+}
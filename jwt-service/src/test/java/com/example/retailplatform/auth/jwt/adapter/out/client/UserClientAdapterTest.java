@@ -0,0 +1,277 @@
+package com.example.retailplatform.auth.jwt.adapter.out.client;
+
+import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalAuthResponse;
+import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalJwtUserResponse;
+import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalUserSearchRequest;
+import com.example.retailplatform.auth.jwt.adapter.in.web.dto.UserResponse;
+import com.example.retailplatform.auth.jwt.config.UserServiceResilienceConfig;
+import com.example.retailplatform.auth.jwt.exception.UserServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserClientAdapterTest {
+
+    private static final Duration BATCH_WINDOW = Duration.ofMillis(20);
+    private static final SmileMapper SMILE_MAPPER = new SmileMapper();
+
+    private final AtomicInteger exchanges = new AtomicInteger();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new UserServiceResilienceConfig().userServiceCircuitBreaker(
+                new SimpleMeterRegistry(), 50, Duration.ofSeconds(2), 4, 4, Duration.ofMinutes(1), 1);
+    }
+
+    @Test
+    void authenticate_returnsUserServiceAnswer() {
+        UserClientAdapter adapter = adapter(respond(HttpStatus.OK, "{\"authenticated\":true}"), Duration.ofSeconds(30));
+
+        InternalAuthResponse response = adapter.authenticate("john", "secret").block();
+
+        assertNotNull(response);
+        assertTrue(response.isAuthenticated());
+    }
+
+    @Test
+    void clientErrors_doNotOpenCircuit() {
+        UserClientAdapter adapter = adapter(respond(HttpStatus.UNAUTHORIZED, "{}"), Duration.ofSeconds(30));
+
+        for (int i = 0; i < 6; i++) {
+            assertThrows(WebClientResponseException.Unauthorized.class,
+                    () -> adapter.authenticate("john", "wrong").block());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(6, exchanges.get());
+    }
+
+    @Test
+    void serverErrors_openCircuit_thenFailFastWithoutCalling() {
+        UserClientAdapter adapter = adapter(respond(HttpStatus.INTERNAL_SERVER_ERROR, "{}"), Duration.ofSeconds(30));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(WebClientResponseException.InternalServerError.class,
+                    () -> adapter.authenticate("john", "secret").block());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        assertThrows(UserServiceUnavailableException.class, () -> adapter.authenticate("john", "secret").block());
+        assertEquals(4, exchanges.get());
+    }
+
+    @Test
+    void slowUserService_hitsDeadline() {
+        ExchangeFunction hanging = request -> {
+            exchanges.incrementAndGet();
+            return Mono.never();
+        };
+        UserClientAdapter adapter = adapter(hanging, Duration.ofMillis(50));
+
+        assertThrows(UserServiceUnavailableException.class,
+                () -> adapter.authenticate("john", "secret").block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void bulkheadFull_rejectsImmediately() {
+        ExchangeFunction hanging = request -> {
+            exchanges.incrementAndGet();
+            return Mono.never();
+        };
+        Bulkhead bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        UserClientAdapter adapter = new UserClientAdapter(WebClient.builder().exchangeFunction(hanging).build(),
+                circuitBreaker, bulkhead, new SimpleMeterRegistry(), Duration.ofSeconds(30), 100, Duration.ofSeconds(5),
+                BATCH_WINDOW, 100);
+
+        adapter.authenticate("first", "secret").subscribe();
+
+        assertThrows(UserServiceUnavailableException.class,
+                () -> adapter.authenticate("second", "secret").block(Duration.ofSeconds(1)));
+        assertEquals(1, exchanges.get());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void getUserById_concurrentCallsShareOneRequest() {
+        Sinks.One<ClientResponse> response = Sinks.one();
+        ExchangeFunction delayed = request -> {
+            exchanges.incrementAndGet();
+            return response.asMono();
+        };
+        UserClientAdapter adapter = adapter(delayed, Duration.ofSeconds(30));
+
+        Mono<UserResponse> first = adapter.getUserById("42");
+        Mono<UserResponse> second = adapter.getUserById("42");
+        CompletableFuture<UserResponse> firstResult = first.toFuture();
+        CompletableFuture<UserResponse> secondResult = second.toFuture();
+        response.tryEmitValue(jsonResponse(HttpStatus.OK, "[{\"id\":\"42\",\"username\":\"john\"}]"));
+
+        assertEquals("john", firstResult.join().getUsername());
+        assertEquals("john", secondResult.join().getUsername());
+        assertEquals("john", adapter.getUserById("42").block().getUsername());
+        assertEquals(1, exchanges.get());
+    }
+
+    @Test
+    void getUserById_unknownUserIsEmptyAndNotCached() {
+        UserClientAdapter adapter = adapter(respond(HttpStatus.OK, "[]"), Duration.ofSeconds(30));
+
+        assertNull(adapter.getUserById("404").block());
+        assertNull(adapter.getUserById("404").block());
+        assertEquals(2, exchanges.get());
+    }
+
+    @Test
+    void getUserById_lookupsWithinWindowShareOneBatchGet() {
+        AtomicReference<String> path = new AtomicReference<>();
+        UserClientAdapter adapter = adapter(request -> {
+            exchanges.incrementAndGet();
+            path.set(request.url().getPath());
+            return Mono.just(jsonResponse(HttpStatus.OK,
+                    "[{\"id\":\"2\",\"username\":\"bob\"},{\"id\":\"1\",\"username\":\"john\"}]"));
+        }, Duration.ofSeconds(30));
+
+        CompletableFuture<UserResponse> john = adapter.getUserById("1").toFuture();
+        CompletableFuture<UserResponse> bob = adapter.getUserById("2").toFuture();
+        CompletableFuture<UserResponse> unknown = adapter.getUserById("3").toFuture();
+
+        assertEquals("john", john.join().getUsername());
+        assertEquals("bob", bob.join().getUsername());
+        assertNull(unknown.join());
+        assertEquals(1, exchanges.get());
+        assertEquals("/internal/users/batch-get", path.get());
+    }
+
+    @Test
+    void getUserById_failedBatchFailsEveryLookupInIt() {
+        UserClientAdapter adapter = adapter(respond(HttpStatus.INTERNAL_SERVER_ERROR, "{}"), Duration.ofSeconds(30));
+
+        Mono<UserResponse> first = adapter.getUserById("1");
+        Mono<UserResponse> second = adapter.getUserById("2");
+        CompletableFuture<UserResponse> firstResult = first.toFuture();
+        CompletableFuture<UserResponse> secondResult = second.toFuture();
+
+        assertThrows(Exception.class, firstResult::join);
+        assertThrows(Exception.class, secondResult::join);
+        assertEquals(1, exchanges.get());
+    }
+
+    @Test
+    void updatePassword_evictsCachedUser() {
+        UserClientAdapter adapter = adapter(request -> {
+            exchanges.incrementAndGet();
+            return Mono.just(request.method() == HttpMethod.PUT
+                    ? ClientResponse.create(HttpStatus.NO_CONTENT).build()
+                    : jsonResponse(HttpStatus.OK, "[{\"id\":\"42\"}]"));
+        }, Duration.ofSeconds(30));
+
+        adapter.getUserById("42").block();
+        adapter.updatePassword("42", "n3w-Passw0rd").block();
+        adapter.getUserById("42").block();
+
+        assertEquals(3, exchanges.get());
+    }
+
+    @Test
+    void getUser_speaksSmileToInternalEndpointAndReadsArray() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        UserClientAdapter adapter = adapter(request -> {
+            sent.set(request);
+            return Mono.just(smileResponse(List.of(UserResponse.builder().id("42").username("john").build())));
+        }, Duration.ofSeconds(30));
+
+        UserResponse user = adapter.getUser(InternalUserSearchRequest.builder().username("john").build()).block();
+
+        assertNotNull(user);
+        assertEquals("42", user.getId());
+        assertEquals("/internal/users/search", sent.get().url().getPath());
+        assertEquals(List.of(UserClientAdapter.SMILE), sent.get().headers().getAccept());
+        assertEquals(UserClientAdapter.SMILE, sent.get().headers().getContentType());
+    }
+
+    @Test
+    void authenticate_readsSmileAnswer() {
+        UserClientAdapter adapter = adapter(request -> Mono.just(
+                smileResponse(InternalAuthResponse.builder()
+                        .authenticated(true)
+                        .user(InternalJwtUserResponse.builder().id("42").username("john").build())
+                        .build())),
+                Duration.ofSeconds(30));
+
+        InternalAuthResponse response = adapter.authenticate("john", "secret").block();
+
+        assertNotNull(response);
+        assertTrue(response.isAuthenticated());
+        assertEquals("john", response.getUser().getUsername());
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private UserClientAdapter adapter(ExchangeFunction exchangeFunction, Duration callTimeout) {
+        Bulkhead bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(10)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        return new UserClientAdapter(WebClient.builder().exchangeFunction(exchangeFunction).build(),
+                circuitBreaker, bulkhead, new SimpleMeterRegistry(), callTimeout, 100, Duration.ofSeconds(5),
+                BATCH_WINDOW, 100);
+    }
+
+    private ExchangeFunction respond(HttpStatus status, String body) {
+        return request -> {
+            exchanges.incrementAndGet();
+            return Mono.just(jsonResponse(status, body));
+        };
+    }
+
+    private static ClientResponse smileResponse(Object body) {
+        byte[] bytes;
+        try {
+            bytes = SMILE_MAPPER.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, UserClientAdapter.SMILE.toString())
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes)))
+                .build();
+    }
+
+    private static ClientResponse jsonResponse(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.retailplatform.auth.jwt.application.service;
+
+import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalAuthResponse;
+import com.example.retailplatform.auth.jwt.adapter.in.web.dto.InternalJwtUserResponse;
+import com.example.retailplatform.auth.jwt.adapter.in.web.dto.LoginResponse;
+import com.example.retailplatform.auth.jwt.domain.port.UserClientPort;
+import com.example.retailplatform.auth.jwt.exception.InvalidCredentialsException;
+import com.example.retailplatform.auth.jwt.security.ActiveTokenCache;
+import com.example.retailplatform.auth.jwt.security.JwtTokenProvider;
+import com.example.retailplatform.auth.jwt.security.SigningKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JwtServiceTest {
+
+    private UserClientPort userClient;
+    private ReactiveStringRedisTemplate redisTemplate;
+    private ActiveTokenCache activeTokenCache;
+    private JwtService jwtService;
+
+    private final InternalJwtUserResponse user = InternalJwtUserResponse.builder()
+            .id("42").username("alice").role("USER").build();
+
+    @BeforeEach
+    void setUp() {
+        userClient = mock(UserClientPort.class);
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        activeTokenCache = mock(ActiveTokenCache.class);
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(
+                new SigningKeys("", Duration.ofMinutes(1), Duration.ZERO, true), "", 60_000, 100,
+                Duration.ofMinutes(5), new SimpleMeterRegistry());
+        jwtService = new JwtService(userClient, tokenProvider, redisTemplate, activeTokenCache);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void login_writesAllKeysWithOneScriptCall() {
+        when(userClient.authenticate("alice", "secret"))
+                .thenReturn(Mono.just(InternalAuthResponse.builder().authenticated(true).user(user).build()));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(1L));
+
+        LoginResponse response = jwtService.login("alice", "secret").block();
+
+        assertNotNull(response);
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), keys.capture(), args.capture());
+        assertEquals(List.of("jwt:42", "jwt-refresh:42", "jwt-user:42"), keys.getValue());
+        assertEquals(response.getAccessToken(), args.getValue().get(0));
+        assertEquals(response.getRefreshToken(), args.getValue().get(1));
+        verify(activeTokenCache).evictLocal("42");
+    }
+
+    @Test
+    void login_invalidCredentials_touchesNoRedis() {
+        when(userClient.authenticate("alice", "bad"))
+                .thenReturn(Mono.just(InternalAuthResponse.builder().authenticated(false).build()));
+
+        assertThrows(InvalidCredentialsException.class, () -> jwtService.login("alice", "bad").block());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshToken_issuesNewAccessTokenWhenRefreshTokenMatches() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("jwt-refresh:42", "jwt-user:42")), anyList()))
+                .thenReturn(Flux.just("{\"id\":\"42\",\"username\":\"alice\",\"role\":\"USER\"}"));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("jwt-refresh:42", "jwt:42")), anyList()))
+                .thenReturn(Flux.just(1L));
+
+        LoginResponse response = jwtService.refreshToken("42", "refresh").block();
+
+        assertNotNull(response);
+        assertEquals("refresh", response.getRefreshToken());
+        assertEquals("alice", response.getUser().getUsername());
+        verify(activeTokenCache).evictLocal("42");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshToken_unknownRefreshToken_fails() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.empty());
+
+        assertThrows(InvalidCredentialsException.class, () -> jwtService.refreshToken("42", "stale").block());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshToken_rotatedBetweenReadAndWrite_fails() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("jwt-refresh:42", "jwt-user:42")), anyList()))
+                .thenReturn(Flux.just("{\"id\":\"42\",\"username\":\"alice\",\"role\":\"USER\"}"));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("jwt-refresh:42", "jwt:42")), anyList()))
+                .thenReturn(Flux.just(0L));
+
+        assertThrows(InvalidCredentialsException.class, () -> jwtService.refreshToken("42", "refresh").block());
+        verify(activeTokenCache, never()).evictLocal(anyString());
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.retailplatform.auth.jwt.application.service;
+
+import com.example.retailplatform.auth.jwt.adapter.in.events.dto.UserChangeMessage;
+import com.example.retailplatform.auth.jwt.security.ActiveTokenCache;
+import com.example.retailplatform.auth.jwt.security.JwtTokenProvider;
+import com.example.retailplatform.auth.jwt.security.SigningKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserEventServiceTest {
+
+    private static final String USER_ID = "42";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private ActiveTokenCache activeTokenCache;
+    private JwtTokenProvider tokenProvider;
+    private UserEventService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        activeTokenCache = mock(ActiveTokenCache.class);
+        tokenProvider = new JwtTokenProvider(
+                new SigningKeys("", Duration.ofMinutes(1), Duration.ZERO, true), "", 60_000, 100,
+                Duration.ofMinutes(5), new SimpleMeterRegistry());
+        service = new UserEventService(redisTemplate, tokenProvider, activeTokenCache, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_revokingChangeEndsOlderSession() {
+        when(valueOps.get("jwt-refresh:" + USER_ID)).thenReturn(tokenProvider.generateRefreshToken(USER_ID));
+
+        service.apply(event(UserChangeMessage.Type.UPDATED, true, Instant.now().plusSeconds(5)));
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(),
+                eq(ActiveTokenCache.INVALIDATION_CHANNEL), eq(USER_ID));
+        assertEquals(List.of("jwt:42", "jwt-refresh:42", "jwt-user:42"), keys.getValue());
+        verify(activeTokenCache).evictLocal(USER_ID);
+        assertEquals(1.0, processed("revoked"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_deletionEndsSessionEvenWithoutRevokeFlag() {
+        when(valueOps.get("jwt-refresh:" + USER_ID)).thenReturn(tokenProvider.generateRefreshToken(USER_ID));
+
+        service.apply(event(UserChangeMessage.Type.DELETED, false, Instant.now().plusSeconds(5)));
+
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), any(), any());
+        verify(activeTokenCache).evictLocal(USER_ID);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_otherChangeRefreshesCachedUser() {
+        when(valueOps.get("jwt-refresh:" + USER_ID)).thenReturn(tokenProvider.generateRefreshToken(USER_ID));
+
+        service.apply(event(UserChangeMessage.Type.UPDATED, false, Instant.now().plusSeconds(5)));
+
+        ArgumentCaptor<Object> json = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("jwt-user:42")), json.capture());
+        String userJson = (String) json.getValue();
+        assertTrue(userJson.contains("\"firstName\":\"Alicia\""));
+        assertTrue(userJson.contains("\"role\":\"USER\""));
+        assertFalse(userJson.contains("email"));
+        verifyNoInteractions(activeTokenCache);
+        assertEquals(1.0, processed("updated"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_sessionStartedAfterTheChangeIsLeftAlone() {
+        // e.g. the password rehash user-service does during the login that created this session
+        when(valueOps.get("jwt-refresh:" + USER_ID)).thenReturn(tokenProvider.generateRefreshToken(USER_ID));
+
+        service.apply(event(UserChangeMessage.Type.UPDATED, true, Instant.now().minusSeconds(5)));
+
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(), any());
+        verifyNoInteractions(activeTokenCache);
+        assertEquals(1.0, processed("skipped"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_revokingChangeInTheSecondTheSessionStartedEndsIt() {
+        String refreshToken = tokenProvider.generateRefreshToken(USER_ID);
+        when(valueOps.get("jwt-refresh:" + USER_ID)).thenReturn(refreshToken);
+        Instant issuedAt = tokenProvider.parseToken(refreshToken).orElseThrow().getIssuedAt().toInstant();
+
+        // iat cannot tell whether the token was minted before or after the change → fail safe
+        service.apply(event(UserChangeMessage.Type.UPDATED, true, issuedAt.plusMillis(999)));
+
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), any(), any());
+        verify(activeTokenCache).evictLocal(USER_ID);
+        assertEquals(1.0, processed("revoked"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_userWithoutSessionNeedsNoRedisWrite() {
+        when(valueOps.get("jwt-refresh:" + USER_ID)).thenReturn(null);
+
+        service.apply(event(UserChangeMessage.Type.UPDATED, true, Instant.now()));
+        service.apply(event(UserChangeMessage.Type.CREATED, false, Instant.now()));
+
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(), any());
+        assertEquals(2.0, processed("skipped"));
+    }
+
+    private double processed(String action) {
+        return meterRegistry.counter("jwt.user-events.processed", "action", action).count();
+    }
+
+    private static UserChangeMessage event(UserChangeMessage.Type type, boolean revokeSessions, Instant occurredAt) {
+        return new UserChangeMessage(1L, type, USER_ID, revokeSessions, occurredAt,
+                new UserChangeMessage.Snapshot(USER_ID, "alice", "Alicia", "Smith", "USER", true, false));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.retailplatform.auth.jwt.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ActiveTokenCacheTest {
+
+    private static final String USER_ID = "42";
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        tokenProvider = new JwtTokenProvider(
+                new SigningKeys("", Duration.ofMinutes(1), Duration.ZERO, true), "", 60_000, 100,
+                Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void isActive_currentTokenIsServedFromCacheAfterFirstLookup() {
+        ActiveTokenCache cache = cache(ActiveTokenCache.FallbackMode.LAST_KNOWN);
+        String token = tokenProvider.generateToken(USER_ID, "alice", "USER");
+        when(valueOps.get("jwt:" + USER_ID)).thenReturn(token);
+
+        assertTrue(cache.isActive(USER_ID, claims(token)));
+        assertTrue(cache.isActive(USER_ID, claims(token)));
+
+        verify(valueOps, times(1)).get("jwt:" + USER_ID);
+    }
+
+    @Test
+    void isActive_mismatchIsRecheckedAgainstRedis() {
+        ActiveTokenCache cache = cache(ActiveTokenCache.FallbackMode.LAST_KNOWN);
+        String oldToken = tokenProvider.generateToken(USER_ID, "alice", "USER");
+        String newToken = tokenProvider.generateToken(USER_ID, "alice", "USER");
+        when(valueOps.get("jwt:" + USER_ID)).thenReturn(oldToken);
+        assertTrue(cache.isActive(USER_ID, claims(oldToken)));
+
+        // Another instance issued a new token; its invalidation has not arrived yet
+        when(valueOps.get("jwt:" + USER_ID)).thenReturn(newToken);
+
+        assertTrue(cache.isActive(USER_ID, claims(newToken)));
+        assertFalse(cache.isActive(USER_ID, claims(oldToken)));
+    }
+
+    @Test
+    void evictLocal_forcesNextCheckToRedis() {
+        ActiveTokenCache cache = cache(ActiveTokenCache.FallbackMode.LAST_KNOWN);
+        String token = tokenProvider.generateToken(USER_ID, "alice", "USER");
+        when(valueOps.get("jwt:" + USER_ID)).thenReturn(token);
+        cache.isActive(USER_ID, claims(token));
+
+        cache.evictLocal(USER_ID);
+        when(valueOps.get("jwt:" + USER_ID)).thenReturn(null);
+
+        assertFalse(cache.isActive(USER_ID, claims(token)));
+    }
+
+    @Test
+    void invalidate_publishesOnInvalidationChannel() {
+        cache(ActiveTokenCache.FallbackMode.LAST_KNOWN).invalidate(USER_ID);
+
+        verify(redisTemplate).convertAndSend(ActiveTokenCache.INVALIDATION_CHANNEL, USER_ID);
+    }
+
+    @Test
+    void redisDown_lastKnownServesStaleEntryOnly() throws InterruptedException {
+        ActiveTokenCache cache = new ActiveTokenCache(redisTemplate, tokenProvider, new SimpleMeterRegistry(),
+                100, Duration.ofMillis(1), Duration.ofMinutes(5), ActiveTokenCache.FallbackMode.LAST_KNOWN);
+        String token = tokenProvider.generateToken(USER_ID, "alice", "USER");
+        String stranger = tokenProvider.generateToken("7", "bob", "USER");
+        when(valueOps.get("jwt:" + USER_ID)).thenReturn(token);
+        cache.isActive(USER_ID, claims(token));
+        Thread.sleep(5);
+
+        when(valueOps.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(cache.isActive(USER_ID, claims(token)));
+        assertFalse(cache.isActive("7", claims(stranger)));
+    }
+
+    @Test
+    void redisDown_allowAndDenyModes() {
+        String token = tokenProvider.generateToken(USER_ID, "alice", "USER");
+        when(valueOps.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(cache(ActiveTokenCache.FallbackMode.ALLOW).isActive(USER_ID, claims(token)));
+        assertFalse(cache(ActiveTokenCache.FallbackMode.DENY).isActive(USER_ID, claims(token)));
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private ActiveTokenCache cache(ActiveTokenCache.FallbackMode mode) {
+        return new ActiveTokenCache(redisTemplate, tokenProvider, new SimpleMeterRegistry(),
+                100, Duration.ofSeconds(10), Duration.ofMinutes(5), mode);
+    }
+
+    private Claims claims(String token) {
+        return tokenProvider.parseToken(token).orElseThrow();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.retailplatform.auth.jwt.security;
+
+import com.example.retailplatform.auth.jwt.verifier.JwksTokenVerifier;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-42";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SigningKeys signingKeys;
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        signingKeys = new SigningKeys("", Duration.ofMinutes(1), Duration.ZERO, true);
+        provider = new JwtTokenProvider(signingKeys, SECRET, 60_000, 100, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    @Test
+    void generateToken_signsWithCurrentKeyAndNamesIt() throws Exception {
+        String token = provider.generateRefreshToken("42");
+
+        JsonNode header = new ObjectMapper().readTree(Base64.getUrlDecoder().decode(token.split("\\.")[0]));
+
+        assertEquals("ES256", header.get("alg").asText());
+        assertEquals(signingKeys.current().id(), header.get("kid").asText());
+    }
+
+    @Test
+    void parseToken_returnsClaimsOfGeneratedToken() {
+        String token = provider.generateToken("42", "alice", "ADMIN");
+
+        Claims claims = provider.parseToken(token).orElseThrow();
+
+        assertEquals("42", claims.getSubject());
+        assertEquals("alice", claims.get("username", String.class));
+        assertEquals("ADMIN", provider.getRoleFromToken(token));
+        assertEquals(JwksTokenVerifier.ACCESS_TOKEN, claims.get(JwksTokenVerifier.TOKEN_USE_CLAIM, String.class));
+    }
+
+    @Test
+    void generateRefreshToken_isMarkedAsRefreshToken() {
+        Claims claims = provider.parseToken(provider.generateRefreshToken("42")).orElseThrow();
+
+        assertEquals("42", claims.getSubject());
+        assertEquals(JwksTokenVerifier.REFRESH_TOKEN, claims.get(JwksTokenVerifier.TOKEN_USE_CLAIM, String.class));
+    }
+
+    @Test
+    void parseToken_repeatCallsAreServedFromCache() {
+        String token = provider.generateToken("42", "alice", "USER");
+
+        Claims first = provider.parseToken(token).orElseThrow();
+        Claims second = provider.parseToken(token).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "jwt.verified-tokens", "result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void parseToken_rejectsTamperedAndForeignTokens() {
+        String token = provider.generateToken("42", "alice", "USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String foreign = Jwts.builder()
+                .setSubject("42")
+                .signWith(Keys.hmacShaKeyFor("another-secret-another-secret-another".getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(provider.parseToken(tampered).isEmpty());
+        assertTrue(provider.parseToken(foreign).isEmpty());
+        assertFalse(provider.validateToken(null));
+    }
+
+    @Test
+    void parseToken_rejectsTokensOfUnpublishedKeysAndAlgorithmConfusion() {
+        String unpublished = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKeys.current().id())
+                .setSubject("42")
+                .signWith(Keys.keyPairFor(SignatureAlgorithm.ES256).getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+        // HS256 "signed" with the published key bytes must not be checked against that key
+        String confused = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKeys.current().id())
+                .setSubject("42")
+                .signWith(Keys.hmacShaKeyFor(signingKeys.publicKey(signingKeys.current().id()).getEncoded()),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(provider.parseToken(unpublished).isEmpty());
+        assertTrue(provider.parseToken(confused).isEmpty());
+    }
+
+    @Test
+    void parseToken_acceptsLegacyHmacTokensOnlyWhileSecretIsSet() {
+        String legacy = Jwts.builder()
+                .setSubject("42")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+        JwtTokenProvider withoutSecret = new JwtTokenProvider(signingKeys, "", 60_000, 100, Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+
+        assertTrue(provider.parseToken(legacy).isPresent());
+        assertTrue(withoutSecret.parseToken(legacy).isEmpty());
+        assertTrue(withoutSecret.parseToken(provider.generateToken("42", "alice", "USER")).isPresent());
+    }
+
+    @Test
+    void parseToken_cachedEntryDoesNotOutliveTokenExpiry() throws InterruptedException {
+        String token = Jwts.builder()
+                .setSubject("42")
+                .setExpiration(new Date(System.currentTimeMillis() + 1_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(provider.parseToken(token).isPresent());
+        Thread.sleep(1_100);
+
+        assertTrue(provider.parseToken(token).isEmpty());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.retailplatform.auth.jwt.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SigningKeysTest {
+
+    private static final Duration PUBLISH_AHEAD = Duration.ofMinutes(10);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void signsWithGreatestKeyPublishedLongEnough() throws Exception {
+        writePair("2026-10", generate(), Instant.now().minus(Duration.ofDays(30)));
+        writePair("2026-11", generate(), Instant.now());
+
+        SigningKeys keys = signingKeys();
+
+        // 2026-11 is announced, but verifiers get PUBLISH_AHEAD to pick it up before it signs
+        assertEquals("2026-10", keys.current().id());
+        assertEquals(Set.of("2026-10", "2026-11"), keys.published().keySet());
+
+        Files.setLastModifiedTime(directory.resolve("2026-11.key"),
+                FileTime.from(Instant.now().minus(PUBLISH_AHEAD)));
+        keys.reloadQuietly();
+
+        assertEquals("2026-11", keys.current().id());
+    }
+
+    @Test
+    void signsWithGreatestKeyWhenEveryKeyIsNew() throws Exception {
+        writePair("a", generate(), Instant.now());
+        writePair("b", generate(), Instant.now());
+
+        assertEquals("b", signingKeys().current().id());
+    }
+
+    @Test
+    void keepsPublishingRetiredKeysWithoutSigningWithThem() throws Exception {
+        writePair("2026-10", generate(), Instant.now().minus(Duration.ofDays(30)));
+        writePair("2026-11", generate(), Instant.now().minus(Duration.ofDays(1)));
+        Files.delete(directory.resolve("2026-11.key"));
+
+        SigningKeys keys = signingKeys();
+
+        assertEquals("2026-10", keys.current().id());
+        assertNotNull(keys.publicKey("2026-11"));
+        assertNull(keys.publicKey("2026-12"));
+    }
+
+    @Test
+    void rejectsPrivateKeyThatDoesNotMatchItsPublicKey() throws Exception {
+        KeyPair pair = generate();
+        writePem(directory.resolve("a.key"), "PRIVATE KEY", pair.getPrivate().getEncoded(), Instant.now());
+        writePem(directory.resolve("a.pub"), "PUBLIC KEY", generate().getPublic().getEncoded(), Instant.now());
+
+        assertThrows(IllegalStateException.class, this::signingKeys);
+    }
+
+    @Test
+    void rejectsDirectoryWithoutSigningKey() throws Exception {
+        KeyPair pair = generate();
+        writePem(directory.resolve("a.pub"), "PUBLIC KEY", pair.getPublic().getEncoded(), Instant.now());
+
+        assertThrows(IllegalStateException.class, this::signingKeys);
+    }
+
+    @Test
+    void reload_keepsCurrentKeysWhenDirectoryIsBroken() throws Exception {
+        writePair("a", generate(), Instant.now().minus(Duration.ofDays(1)));
+        SigningKeys keys = signingKeys();
+
+        Files.writeString(directory.resolve("b.pub"), "-----BEGIN PUBLIC KEY-----\nhalf-copied");
+        keys.reloadQuietly();
+
+        assertEquals("a", keys.current().id());
+        assertEquals(Set.of("a"), keys.published().keySet());
+    }
+
+    @Test
+    void generatesKeyWithoutDirectoryOnlyWhenAllowed() {
+        SigningKeys keys = new SigningKeys("", Duration.ofMinutes(1), PUBLISH_AHEAD, true);
+
+        assertTrue(keys.current().id().startsWith("generated-"));
+        assertNotNull(keys.publicKey(keys.current().id()));
+        assertThrows(IllegalStateException.class,
+                () -> new SigningKeys("", Duration.ofMinutes(1), PUBLISH_AHEAD, false));
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private SigningKeys signingKeys() {
+        return new SigningKeys(directory.toString(), Duration.ofMinutes(1), PUBLISH_AHEAD, false);
+    }
+
+    private static KeyPair generate() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    // Same layout as `openssl ecparam -genkey | openssl pkcs8 -topk8 -nocrypt` and `openssl ec -pubout`
+    private void writePair(String keyId, KeyPair pair, Instant modified) throws Exception {
+        writePem(directory.resolve(keyId + ".pub"), "PUBLIC KEY", pair.getPublic().getEncoded(), modified);
+        writePem(directory.resolve(keyId + ".key"), "PRIVATE KEY", pair.getPrivate().getEncoded(), modified);
+    }
+
+    private static void writePem(Path file, String label, byte[] der, Instant modified) throws Exception {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der);
+        Files.writeString(file, "-----BEGIN " + label + "-----\n" + body + "\n-----END " + label + "-----\n");
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+    }
+}
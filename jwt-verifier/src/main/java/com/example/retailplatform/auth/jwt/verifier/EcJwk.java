@@ -0,0 +1,108 @@
+package com.example.retailplatform.auth.jwt.verifier;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECFieldFp;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * P-256 public keys as JSON Web Keys (RFC 7517 / 7518), the only kind jwt-service signs with (ES256).
+ * <p>
+ * jwt-service publishes its keys with {@link #toJwk}; {@link JwksTokenVerifier} reads them back with
+ * {@link #toPublicKey}, so both sides share one encoding.
+ */
+public final class EcJwk {
+
+    public static final String ALGORITHM = "ES256";
+    static final String KEY_TYPE = "EC";
+    static final String CURVE = "P-256";
+
+    // P-256 coordinates are 32 bytes; JWK requires them unsigned and left-padded to that length
+    private static final int COORDINATE_LENGTH = 32;
+    private static final ECParameterSpec P256 = p256();
+
+    private EcJwk() {
+        throw new UnsupportedOperationException("EcJwk is a utility class and should not be instantiated");
+    }
+
+    public static Map<String, Object> toJwk(String keyId, ECPublicKey key) {
+        ECPoint point = key.getW();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", KEY_TYPE);
+        jwk.put("crv", CURVE);
+        jwk.put("kid", keyId);
+        jwk.put("use", "sig");
+        jwk.put("alg", ALGORITHM);
+        jwk.put("x", encode(point.getAffineX()));
+        jwk.put("y", encode(point.getAffineY()));
+        return jwk;
+    }
+
+    /** @throws IllegalArgumentException if {@code jwk} is not a P-256 signing key */
+    public static ECPublicKey toPublicKey(Map<String, ?> jwk) {
+        if (!KEY_TYPE.equals(jwk.get("kty")) || !CURVE.equals(jwk.get("crv"))) {
+            throw new IllegalArgumentException("Not a " + CURVE + " key: " + jwk.get("kid"));
+        }
+        try {
+            ECPoint point = new ECPoint(decode(jwk.get("x")), decode(jwk.get("y")));
+            if (!onCurve(point)) {
+                throw new IllegalArgumentException("Point is not on " + CURVE + ": " + jwk.get("kid"));
+            }
+            return (ECPublicKey) KeyFactory.getInstance(KEY_TYPE).generatePublic(new ECPublicKeySpec(point, P256));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid " + CURVE + " key: " + jwk.get("kid"), e);
+        }
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private static String encode(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] padded = new byte[COORDINATE_LENGTH];
+        int length = Math.min(bytes.length, COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, padded, COORDINATE_LENGTH - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+    }
+
+    private static BigInteger decode(Object coordinate) {
+        if (!(coordinate instanceof String value)) {
+            throw new IllegalArgumentException("Missing EC coordinate");
+        }
+        byte[] bytes = Base64.getUrlDecoder().decode(value);
+        if (bytes.length != COORDINATE_LENGTH) {
+            throw new IllegalArgumentException("EC coordinate must be " + COORDINATE_LENGTH + " bytes");
+        }
+        return new BigInteger(1, bytes);
+    }
+
+    // y² = x³ + ax + b (mod p); the JDK key factory does not check it
+    private static boolean onCurve(ECPoint point) {
+        BigInteger p = ((ECFieldFp) P256.getCurve().getField()).getP();
+        BigInteger x = point.getAffineX();
+        BigInteger y = point.getAffineY();
+        if (x.compareTo(p) >= 0 || y.compareTo(p) >= 0) {
+            return false;
+        }
+        BigInteger right = x.pow(3).add(P256.getCurve().getA().multiply(x)).add(P256.getCurve().getB()).mod(p);
+        return y.modPow(BigInteger.TWO, p).equals(right);
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance(KEY_TYPE);
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.retailplatform.auth.jwt.verifier;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies jwt-service access tokens locally against the keys jwt-service publishes at
+ * {@code /.well-known/jwks.json}; a token check is CPU work only, with no call to jwt-service.
+ * <p>
+ * The key set is fetched on {@link #start()} and refreshed in the background every {@code refreshInterval}. A token
+ * signed with a key id that is not cached yet (jwt-service rotated) triggers one immediate refresh, at most once per
+ * {@code minRefreshGap} → tokens with made-up key ids cannot turn into a request flood. When a refresh fails, the
+ * last fetched keys stay in use.
+ * <p>
+ * Only ES256 is accepted, so neither {@code alg: none} nor an HMAC token "signed" with a public key gets through.
+ * Only access tokens are accepted: a refresh token is signed with the same keys but carries nothing but the subject,
+ * so {@value #TOKEN_USE_CLAIM} must be {@value #ACCESS_TOKEN}.
+ * Thread-safe; create one per JWKS and {@link #close()} it on shutdown, e.g. as
+ * {@code @Bean(initMethod = "start", destroyMethod = "close")}.
+ */
+public class JwksTokenVerifier implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksTokenVerifier.class);
+
+    /** Set by jwt-service on every token it issues: {@link #ACCESS_TOKEN} or {@link #REFRESH_TOKEN}. */
+    public static final String TOKEN_USE_CLAIM = "token_use";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
+    static final Duration DEFAULT_MIN_REFRESH_GAP = Duration.ofSeconds(30);
+    private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(2);
+
+    private final URI jwksUri;
+    private final Duration refreshInterval;
+    private final Duration minRefreshGap;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JwtParser parser;
+    private final Object refreshLock = new Object();
+
+    // kid → key; replaced as a whole on every successful refresh
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshAttempt = System.nanoTime() - Long.MAX_VALUE / 2;
+    private ScheduledExecutorService refresher;
+
+    public JwksTokenVerifier(URI jwksUri, Duration refreshInterval) {
+        this(jwksUri, refreshInterval, DEFAULT_MIN_REFRESH_GAP,
+                HttpClient.newBuilder().connectTimeout(HTTP_TIMEOUT).build());
+    }
+
+    JwksTokenVerifier(URI jwksUri, Duration refreshInterval, Duration minRefreshGap, HttpClient httpClient) {
+        this.jwksUri = jwksUri;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshGap = minRefreshGap;
+        this.httpClient = httpClient;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolve(header);
+                    }
+                })
+                .require(TOKEN_USE_CLAIM, ACCESS_TOKEN)
+                .build();
+    }
+
+    /** Fetches the key set once, then keeps it fresh in the background. A failed first fetch is retried there. */
+    public void start() {
+        synchronized (refreshLock) {
+            refreshQuietly();
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            synchronized (refreshLock) {
+                refreshQuietly();
+            }
+        }, refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Verifying tokens against {} ({} keys), refreshing every {}", jwksUri, keys.size(), refreshInterval);
+    }
+
+    @Override
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Claims of an access token with a valid ES256 signature from a published key that has not expired; empty
+     * otherwise.
+     */
+    public Optional<Claims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    Set<String> keyIds() {
+        return keys.keySet();
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private Key resolve(JwsHeader<?> header) {
+        if (!EcJwk.ALGORITHM.equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("Unsupported algorithm " + header.getAlgorithm());
+        }
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            throw new UnsupportedJwtException("Token has no key id");
+        }
+        PublicKey key = keys.get(keyId);
+        if (key == null) {
+            refreshForUnknownKey();
+            key = keys.get(keyId);
+        }
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown key id " + keyId);
+        }
+        return key;
+    }
+
+    private void refreshForUnknownKey() {
+        synchronized (refreshLock) {
+            // Callers that queued behind a refresh find its keys without fetching again
+            if (System.nanoTime() - lastRefreshAttempt < minRefreshGap.toNanos()) {
+                return;
+            }
+            refreshQuietly();
+        }
+    }
+
+    // Callers hold refreshLock
+    private void refreshQuietly() {
+        lastRefreshAttempt = System.nanoTime();
+        try {
+            Map<String, PublicKey> fetched = fetch();
+            if (fetched.isEmpty()) {
+                log.warn("JWKS at {} has no usable keys, keeping the {} cached ones", jwksUri, keys.size());
+                return;
+            }
+            keys = Map.copyOf(fetched);
+        } catch (IOException | RuntimeException e) {
+            log.warn("JWKS refresh from {} failed, keeping the {} cached keys: {}", jwksUri, keys.size(), e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, PublicKey> fetch() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                .timeout(HTTP_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+
+        Map<String, PublicKey> fetched = new HashMap<>();
+        for (JsonNode jwk : objectMapper.readTree(response.body()).path("keys")) {
+            String keyId = jwk.path("kid").asText(null);
+            // Keys for other algorithms may share the set; they are not ours to use
+            if (keyId == null || !EcJwk.ALGORITHM.equals(jwk.path("alg").asText(EcJwk.ALGORITHM))) {
+                continue;
+            }
+            try {
+                fetched.put(keyId, EcJwk.toPublicKey(
+                        objectMapper.convertValue(jwk, new TypeReference<Map<String, Object>>() {})));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping unusable JWK {}: {}", keyId, e.getMessage());
+            }
+        }
+        return fetched;
+    }
+}
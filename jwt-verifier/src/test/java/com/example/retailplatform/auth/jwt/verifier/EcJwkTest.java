@@ -0,0 +1,48 @@
+package com.example.retailplatform.auth.jwt.verifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EcJwkTest {
+
+    @Test
+    void toJwk_roundTripsThroughToPublicKey() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            ECPublicKey key = newKey();
+
+            Map<String, Object> jwk = EcJwk.toJwk("2026-10", key);
+
+            assertEquals("EC", jwk.get("kty"));
+            assertEquals("ES256", jwk.get("alg"));
+            assertEquals("2026-10", jwk.get("kid"));
+            // Fixed-length coordinates even when the leading byte is zero
+            assertEquals(43, ((String) jwk.get("x")).length());
+            assertEquals(43, ((String) jwk.get("y")).length());
+            assertEquals(key.getW(), EcJwk.toPublicKey(jwk).getW());
+        }
+    }
+
+    @Test
+    void toPublicKey_rejectsOtherCurvesAndPointsOffTheCurve() throws Exception {
+        Map<String, Object> otherCurve = new HashMap<>(EcJwk.toJwk("k", newKey()));
+        otherCurve.put("crv", "P-384");
+        Map<String, Object> offCurve = new HashMap<>(EcJwk.toJwk("k", newKey()));
+        offCurve.put("y", offCurve.get("x"));
+
+        assertThrows(IllegalArgumentException.class, () -> EcJwk.toPublicKey(otherCurve));
+        assertThrows(IllegalArgumentException.class, () -> EcJwk.toPublicKey(offCurve));
+    }
+
+    private static ECPublicKey newKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return (ECPublicKey) generator.generateKeyPair().getPublic();
+    }
+}
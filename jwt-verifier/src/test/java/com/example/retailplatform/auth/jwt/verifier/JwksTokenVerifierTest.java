@@ -0,0 +1,183 @@
+package com.example.retailplatform.auth.jwt.verifier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksTokenVerifierTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final List<Map<String, Object>> published = new ArrayList<>();
+    private volatile int status = 200;
+
+    private HttpServer server;
+    private JwksTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = objectMapper.writeValueAsString(Map.of("keys", List.copyOf(published)))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (verifier != null) verifier.close();
+        server.stop(0);
+    }
+
+    @Test
+    void verify_acceptsTokenSignedWithPublishedKey() {
+        KeyPair key = publish("k1");
+        verifier = start(Duration.ZERO);
+
+        String token = sign("k1", key, new Date(System.currentTimeMillis() + 60_000));
+
+        assertEquals("42", verifier.verify(token).orElseThrow().getSubject());
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void verify_rejectsExpiredForeignAndUnsignedTokens() {
+        KeyPair key = publish("k1");
+        KeyPair unpublished = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        verifier = start(Duration.ofHours(1));
+
+        assertTrue(verifier.verify(sign("k1", key, new Date(System.currentTimeMillis() - 1_000))).isEmpty());
+        assertTrue(verifier.verify(sign("k1", unpublished, new Date(System.currentTimeMillis() + 60_000))).isEmpty());
+        assertTrue(verifier.verify(Jwts.builder().setSubject("42").compact()).isEmpty());
+        assertTrue(verifier.verify(null).isEmpty());
+    }
+
+    @Test
+    void verify_rejectsRefreshTokensAndTokensWithoutTokenUse() {
+        KeyPair key = publish("k1");
+        verifier = start(Duration.ofHours(1));
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+
+        String refreshToken = Jwts.builder()
+                .setHeaderParam("kid", "k1")
+                .setSubject("42")
+                .claim(JwksTokenVerifier.TOKEN_USE_CLAIM, JwksTokenVerifier.REFRESH_TOKEN)
+                .setExpiration(expiration)
+                .signWith(key.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+        String untyped = Jwts.builder()
+                .setHeaderParam("kid", "k1")
+                .setSubject("42")
+                .setExpiration(expiration)
+                .signWith(key.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+
+        assertTrue(verifier.verify(refreshToken).isEmpty());
+        assertTrue(verifier.verify(untyped).isEmpty());
+    }
+
+    @Test
+    void verify_rejectsHmacTokenKeyedWithThePublicKey() {
+        KeyPair key = publish("k1");
+        verifier = start(Duration.ofHours(1));
+
+        // Classic confusion attack: HS256 with the published key bytes as the shared secret
+        String forged = Jwts.builder()
+                .setHeaderParam("kid", "k1")
+                .setSubject("42")
+                .signWith(Keys.hmacShaKeyFor(key.getPublic().getEncoded()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(verifier.verify(forged).isEmpty());
+    }
+
+    @Test
+    void verify_unknownKeyIdRefreshesOnceThenPicksUpRotatedKey() {
+        publish("k1");
+        verifier = start(Duration.ZERO);
+
+        KeyPair rotated = publish("k2");
+        String token = sign("k2", rotated, new Date(System.currentTimeMillis() + 60_000));
+
+        assertTrue(verifier.verify(token).isPresent());
+        assertEquals(Set.of("k1", "k2"), verifier.keyIds());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void verify_unknownKeyIdsDoNotRefreshMoreThanOncePerGap() {
+        publish("k1");
+        verifier = start(Duration.ofHours(1));
+        KeyPair stranger = Keys.keyPairFor(SignatureAlgorithm.ES256);
+
+        for (int i = 0; i < 5; i++) {
+            verifier.verify(sign("made-up-" + i, stranger, new Date(System.currentTimeMillis() + 60_000)));
+        }
+
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void failedRefresh_keepsCachedKeys() {
+        KeyPair key = publish("k1");
+        verifier = start(Duration.ZERO);
+        status = 503;
+
+        verifier.verify(sign("unknown", key, new Date(System.currentTimeMillis() + 60_000)));
+
+        assertEquals(2, fetches.get());
+        assertTrue(verifier.verify(sign("k1", key, new Date(System.currentTimeMillis() + 60_000))).isPresent());
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private JwksTokenVerifier start(Duration minRefreshGap) {
+        JwksTokenVerifier started = new JwksTokenVerifier(
+                URI.create("http://localhost:" + server.getAddress().getPort() + "/.well-known/jwks.json"),
+                Duration.ofHours(1), minRefreshGap, HttpClient.newHttpClient());
+        started.start();
+        return started;
+    }
+
+    private KeyPair publish(String keyId) {
+        KeyPair key = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        published.add(EcJwk.toJwk(keyId, (ECPublicKey) key.getPublic()));
+        return key;
+    }
+
+    private static String sign(String keyId, KeyPair key, Date expiration) {
+        return Jwts.builder()
+                .setHeaderParam("kid", keyId)
+                .setSubject("42")
+                .claim(JwksTokenVerifier.TOKEN_USE_CLAIM, JwksTokenVerifier.ACCESS_TOKEN)
+                .setExpiration(expiration)
+                .signWith(key.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+    }
+}
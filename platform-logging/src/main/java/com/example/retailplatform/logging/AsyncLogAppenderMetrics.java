@@ -0,0 +1,65 @@
+package com.example.retailplatform.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Exposes queue depth, lost-event and bypass counts of every {@link MeteredAsyncAppender} configured in logback.
+ * Register it as a bean in each service so Spring Boot binds it to the meter registry.
+ */
+public class AsyncLogAppenderMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        // The same appender is usually referenced by several loggers → bind each instance once
+        Set<MeteredAsyncAppender> appenders = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Logger logger : context.getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                if (it.next() instanceof MeteredAsyncAppender appender && appenders.add(appender)) {
+                    bind(appender, registry);
+                }
+            }
+        }
+    }
+
+    private static void bind(MeteredAsyncAppender appender, MeterRegistry registry) {
+        String name = appender.getName();
+        Gauge.builder("logback.async.queue.depth", appender, MeteredAsyncAppender::getNumberOfElementsInQueue)
+                .description("Events waiting in the async appender queue")
+                .tag("appender", name)
+                .register(registry);
+        Gauge.builder("logback.async.queue.capacity", appender, MeteredAsyncAppender::getQueueSize)
+                .description("Size of the async appender queue")
+                .tag("appender", name)
+                .register(registry);
+        FunctionCounter.builder("logback.async.events.lost", appender, MeteredAsyncAppender::getDiscardedCount)
+                .description("Events that never reached the async appender queue")
+                .tag("appender", name)
+                .tag("reason", "discarded")
+                .register(registry);
+        FunctionCounter.builder("logback.async.events.lost", appender, MeteredAsyncAppender::getDroppedCount)
+                .description("Events that never reached the async appender queue")
+                .tag("appender", name)
+                .tag("reason", "queue-full")
+                .register(registry);
+        FunctionCounter.builder("logback.async.events.bypassed", appender, MeteredAsyncAppender::getBypassedCount)
+                .description("ERROR events written on the caller's thread because the async appender queue was full")
+                .tag("appender", name)
+                .register(registry);
+    }
+}
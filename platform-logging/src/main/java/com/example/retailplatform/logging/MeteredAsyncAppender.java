@@ -0,0 +1,76 @@
+package com.example.retailplatform.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded async appender: callers only enqueue, a single worker writes to the attached appenders.
+ * <p>
+ * Differs from the stock {@link AsyncAppender} in two ways: only TRACE/DEBUG are discarded once the queue runs
+ * below {@code discardingThreshold} (INFO and above keep the remaining headroom), and every event that never
+ * reaches the queue is counted so it can be exported as a metric. With {@code neverBlock=true} a full queue drops
+ * the event instead of parking the request thread, except for ERROR: those are written to the attached appenders
+ * on the caller's thread → an overloaded service still records its failures, at the cost of one synchronous write.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= Level.DEBUG_INT;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!isStarted()) {
+            return;
+        }
+        if (isQueueBelowDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        // Racy by nature → the count is an approximation, which is all a metric needs
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            if (event.getLevel().isGreaterOrEqual(Level.ERROR)) {
+                bypassed.increment();
+                appendDirectly(event);
+            } else {
+                dropped.increment();
+            }
+            return;
+        }
+        super.append(event);
+    }
+
+    /** @return TRACE/DEBUG events discarded because the queue was under pressure */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /** @return events below ERROR dropped because the queue was full */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** @return ERROR events written on the caller's thread because the queue was full */
+    public long getBypassedCount() {
+        return bypassed.sum();
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    // The attached appenders lock their own output, so the worker writing at the same time is fine
+    private void appendDirectly(ILoggingEvent event) {
+        for (Iterator<Appender<ILoggingEvent>> it = iteratorForAppenders(); it.hasNext(); ) {
+            it.next().doAppend(event);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.retailplatform.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch writerReleased = new CountDownLatch(1);
+    private final List<ILoggingEvent> written = new CopyOnWriteArrayList<>();
+    private final MeteredAsyncAppender appender = new MeteredAsyncAppender();
+    private final Thread testThread = Thread.currentThread();
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+
+        // Stands in for a slow disk: the worker is stuck on the first event until released, direct writes are not
+        UnsynchronizedAppenderBase<ILoggingEvent> slowWriter = new UnsynchronizedAppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    if (Thread.currentThread() != testThread) {
+                        writerReleased.await(10, TimeUnit.SECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.add(event);
+            }
+        };
+        slowWriter.setContext(context);
+        slowWriter.start();
+
+        appender.setContext(context);
+        appender.setName("ASYNC_TEST");
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(2);
+        appender.setNeverBlock(true);
+        appender.addAppender(slowWriter);
+        appender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writerReleased.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void underPressure_discardsDebugButKeepsInfo() throws Exception {
+        fillUntilRemaining(1);
+
+        appender.doAppend(event(Level.DEBUG));
+        appender.doAppend(event(Level.TRACE));
+        appender.doAppend(event(Level.INFO));
+
+        assertEquals(2, appender.getDiscardedCount());
+        assertEquals(0, appender.getDroppedCount());
+        assertEquals(0, appender.getRemainingCapacity());
+    }
+
+    @Test
+    void fullQueue_dropsInfoAndWritesErrorDirectly() throws Exception {
+        fillUntilRemaining(0);
+
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.ERROR));
+
+        assertEquals(1, appender.getDroppedCount());
+        assertEquals(1, appender.getBypassedCount());
+        assertEquals(0, appender.getDiscardedCount());
+        assertEquals(List.of(Level.ERROR), written.stream().map(ILoggingEvent::getLevel).toList());
+    }
+
+    @Test
+    void noPressure_writesEveryLevel() throws Exception {
+        writerReleased.countDown();
+
+        appender.doAppend(event(Level.DEBUG));
+        appender.doAppend(event(Level.ERROR));
+        appender.stop();
+
+        assertEquals(2, written.size());
+        assertEquals(0, appender.getDiscardedCount() + appender.getDroppedCount());
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    /** Parks the worker on one event, then queues INFO events until {@code remaining} slots are left. */
+    private void fillUntilRemaining(int remaining) throws InterruptedException {
+        appender.doAppend(event(Level.INFO));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (appender.getNumberOfElementsInQueue() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        for (int i = appender.getRemainingCapacity() - remaining; i > 0; i--) {
+            appender.doAppend(event(Level.INFO));
+        }
+        assertEquals(remaining, appender.getRemainingCapacity());
+    }
+
+    private LoggingEvent event(Level level) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, "message", null, null);
+    }
+}
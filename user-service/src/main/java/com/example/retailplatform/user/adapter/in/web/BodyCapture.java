@@ -0,0 +1,63 @@
+package com.example.retailplatform.user.adapter.in.web;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Keeps the first {@code limit} bytes of a body that streams past; everything beyond is counted, not stored.
+ * The buffer is allocated on the first byte and grows up to the limit, so an empty body costs nothing.
+ */
+final class BodyCapture {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int limit;
+    private byte[] buffer;
+    private int size;
+    private boolean truncated;
+
+    BodyCapture(int limit) {
+        this.limit = limit;
+    }
+
+    void write(int b) {
+        if (ensureCapacity(1) > 0) {
+            buffer[size++] = (byte) b;
+        }
+    }
+
+    void write(byte[] bytes, int offset, int length) {
+        int accepted = ensureCapacity(length);
+        if (accepted > 0) {
+            System.arraycopy(bytes, offset, buffer, size, accepted);
+            size += accepted;
+        }
+    }
+
+    String toString(Charset charset) {
+        if (size == 0) {
+            return "";
+        }
+        String body = new String(buffer, 0, size, charset);
+        return truncated ? body + "...[truncated]" : body;
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    /** @return how many of {@code length} bytes fit, after growing the buffer as needed */
+    private int ensureCapacity(int length) {
+        int accepted = Math.min(length, limit - size);
+        if (accepted < length) {
+            truncated = true;
+        }
+        if (accepted <= 0) {
+            return 0;
+        }
+        if (buffer == null) {
+            buffer = new byte[Math.min(limit, Math.max(INITIAL_CAPACITY, accepted))];
+        } else if (size + accepted > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(limit, Math.max(buffer.length * 2, size + accepted)));
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.retailplatform.user.adapter.in.web;
+
+import com.example.retailplatform.user.adapter.in.web.dto.AuthRequest;
+import com.example.retailplatform.user.adapter.in.web.dto.AuthResponse;
+import com.example.retailplatform.user.adapter.in.web.dto.UserBatchGetRequest;
+import com.example.retailplatform.user.adapter.in.web.dto.UserDtoMapper;
+import com.example.retailplatform.user.adapter.in.web.dto.UserResponse;
+import com.example.retailplatform.user.adapter.in.web.dto.UserSearchRequest;
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserSearchPage;
+import com.example.retailplatform.user.domain.port.in.UserUseCase;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * The calls jwt-service makes on every login and token refresh, in Smile (binary JSON) instead of JSON.
+ * <p>
+ * Same use cases and access rules as their {@code /api/users} counterparts, minus everything only a public client
+ * needs: no HATEOAS links and no OpenAPI description. Smile keeps the Jackson DTOs, so both sides share one schema
+ * and a field added to a DTO needs no codec change.
+ */
+@Hidden
+@RestController
+@RequestMapping(value = UserConstants.INTERNAL_REQUEST_URI,
+        consumes = UserConstants.SMILE_VALUE, produces = UserConstants.SMILE_VALUE)
+@RequiredArgsConstructor
+public class InternalUserController {
+
+    private final UserUseCase userUseCase;
+    private final UserDtoMapper userDtoMapper;
+
+    // ------------------ AUTHENTICATE ------------------
+    @PostMapping("/authenticate")
+    public ResponseEntity<AuthResponse> authenticate(@RequestBody AuthRequest request) {
+        return ResponseEntity.ok(userUseCase.authenticate(request));
+    }
+
+    // ------------------ SEARCH USERS ------------------
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @PostMapping("/search")
+    public ResponseEntity<List<UserResponse>> search(@RequestBody UserSearchRequest searchRequest) {
+        UserSearchPage page = userUseCase.searchUsers(
+                userDtoMapper.toCriteria(searchRequest),
+                searchRequest.getAfter(),
+                searchRequest.getLimit()
+        );
+
+        return ResponseEntity.ok()
+                .headers(UserController.continuationHeaders(page))
+                .body(toResponses(page.users()));
+    }
+
+    // ------------------ BATCH GET USERS ------------------
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @PostMapping("/batch-get")
+    public ResponseEntity<List<UserResponse>> batchGet(@Valid @RequestBody UserBatchGetRequest request) {
+        return ResponseEntity.ok(toResponses(userUseCase.getUsersByIds(request.getIds())));
+    }
+
+    // ------------------ Helper Methods ------------------
+
+    private List<UserResponse> toResponses(List<User> users) {
+        return users.stream()
+                .map(userDtoMapper::toResponse)
+                .toList();
+    }
+}
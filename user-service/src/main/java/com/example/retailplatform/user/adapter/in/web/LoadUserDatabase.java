@@ -42,16 +42,17 @@
                 if (existingAdminOpt.isPresent()) {
                     User adminUser = existingAdminOpt.get();
                     log.info("Existing admin found with ID: {}", adminUser.getId());
-                    log.debug("Before update: {}", toLogString(adminUser));
+                    debug("Before update", adminUser);
 
                     // Update password and passwordChangeRequired
-                    adminUser.setPassword(passwordEncoder.encode(adminPassword));
-                    adminUser.setPasswordChangeRequired(true);
-                    adminUser.setStatus(Status.ACTIVE);
-                    adminUser.setRole(Role.ADMIN);
-
-                    User updatedAdmin = userRepository.patch(adminUser);
-                    log.debug("After update: {}", toLogString(updatedAdmin));
+                    String encodedPassword = passwordEncoder.encode(adminPassword);
+                    User updatedAdmin = userRepository.modify(adminUser.getId(), admin -> {
+                        admin.setPassword(encodedPassword);
+                        admin.setPasswordChangeRequired(true);
+                        admin.setStatus(Status.ACTIVE);
+                        admin.setRole(Role.ADMIN);
+                    });
+                    debug("After update", updatedAdmin);
                     log.info("Admin user updated successfully: {}", adminUsername);
 
                 } else {
@@ -67,9 +68,9 @@
                             .passwordChangeRequired(true)
                             .build();
 
-                    log.debug("Creating new admin user: {}", toLogString(adminUser));
+                    debug("Creating new admin user", adminUser);
                     User savedAdmin = userRepository.save(adminUser);
-                    log.debug("After save: {}", toLogString(savedAdmin));
+                    debug("After save", savedAdmin);
                     log.info("Admin user created successfully: {}", adminUsername);
                 }
 
@@ -77,11 +78,15 @@
             };
         }
 
-        /** Helper method to log user fields excluding password **/
-        private String toLogString(User user) {
-            if (user == null) return "null";
-            return String.format(
-                    "id=%s, username=%s, firstName=%s, lastName=%s, email=%s, phoneNumber=%s, status=%s, role=%s, active=%s, passwordChangeRequired=%s",
+        /** Helper method to log user fields excluding password; formatted by SLF4J only when DEBUG is on **/
+        private void debug(String event, User user) {
+            if (!log.isDebugEnabled()) return;
+            if (user == null) {
+                log.debug("{}: null", event);
+                return;
+            }
+            log.debug("{}: id={}, username={}, firstName={}, lastName={}, email={}, phoneNumber={}, status={}, role={}, active={}, passwordChangeRequired={}",
+                    event,
                     user.getId(),
                     user.getUsername(),
                     user.getFirstName(),
@@ -1,8 +1,12 @@
 package com.example.retailplatform.user.adapter.in.web;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,47 +14,85 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+import static net.logstash.logback.argument.StructuredArguments.v;
+
+/**
+ * Correlation id / trace MDC for every request, plus request/response logging for the exchanges worth it.
+ * <p>
+ * Exchanges are logged with bodies when sampled by {@code body-sample-rate}, and error responses (4xx/5xx) always.
+ * The status is only known once the request has been read → the request body of every exchange is teed into a
+ * buffer of at most {@code max-body-length} bytes (allocated on the first byte, so body-less requests cost nothing)
+ * and dropped unless the exchange is logged. The response body is captured on the fly when the status calls for it.
+ * Log fields are handed to the Logstash encoder as structured arguments rather than pre-serialized JSON.
+ * <p>
+ * When the request goes async (e.g. a {@code StreamingResponseBody}), the body is still being written on another
+ * thread after the chain returns → the exchange is logged from an {@link AsyncListener} once it has completed.
+ * <p>
+ * The time the filter itself adds (excluding the rest of the chain) is recorded as
+ * {@code observability.filter.overhead}.
+ */
 @Component
 @Order(1)
 public class ObservabilityFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger("com.example.retailplatform");
     private static final String CORRELATION_HEADER = "X-Correlation-ID";
-    private static final int MAX_BODY_LENGTH = 2000;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String MASKED = "***";
+
+    private final double bodySampleRate;
+    private final int maxBodyLength;
+    private final Timer capturedOverhead;
+    private final Timer plainOverhead;
+
+    @Autowired
+    public ObservabilityFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                               @Value("${user.observability.body-sample-rate:0.01}") double bodySampleRate,
+                               @Value("${user.observability.max-body-length:2000}") int maxBodyLength) {
+        this(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), bodySampleRate, maxBodyLength);
+    }
+
+    public ObservabilityFilter(MeterRegistry meterRegistry, double bodySampleRate, int maxBodyLength) {
+        this.bodySampleRate = bodySampleRate;
+        this.maxBodyLength = maxBodyLength;
+        this.capturedOverhead = overheadTimer(meterRegistry, true);
+        this.plainOverhead = overheadTimer(meterRegistry, false);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
 
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        boolean sampled = isSampled();
+        TeeRequestWrapper teeRequest = new TeeRequestWrapper(request, maxBodyLength);
+        TeeResponseWrapper teeResponse = new TeeResponseWrapper(response, maxBodyLength, sampled);
 
         // Generate or fetch Correlation ID
-        String correlationId = wrappedRequest.getHeader(CORRELATION_HEADER);
+        String correlationId = request.getHeader(CORRELATION_HEADER);
         if (correlationId == null || correlationId.isEmpty()) {
             correlationId = UUID.randomUUID().toString();
         }
 
         // Trace & Span IDs from OpenTelemetry
-        Span currentSpan = Span.current();
-        SpanContext spanContext = currentSpan.getSpanContext();
+        SpanContext spanContext = Span.current().getSpanContext();
 
         // Put observability fields in MDC
         MDC.put("correlationId", correlationId);
@@ -58,89 +100,141 @@ public class ObservabilityFilter extends OncePerRequestFilter {
         MDC.put("spanId", spanContext.getSpanId());
 
         // Add Correlation ID to response headers
-        wrappedResponse.setHeader(CORRELATION_HEADER, correlationId);
+        response.setHeader(CORRELATION_HEADER, correlationId);
 
+        long chainStartNanos = System.nanoTime();
         try {
-            filterChain.doFilter(wrappedRequest, wrappedResponse);
+            filterChain.doFilter(teeRequest, teeResponse);
         } finally {
-            long durationMs = System.currentTimeMillis() - startTime;
-            String path = wrappedRequest.getRequestURI();
-
-            // --- Conditional logging for requests ---
-            if (shouldLogRequest(wrappedRequest)) {
-                Map<String, Object> incomingLog = new HashMap<>();
-                incomingLog.put("timestamp", OffsetDateTime.now().toString());
-                incomingLog.put("service", "user-service");
-                incomingLog.put("direction", "incoming");
-                incomingLog.put("method", wrappedRequest.getMethod());
-                incomingLog.put("uri", path);
-                incomingLog.put("headers", getRequestHeaders(wrappedRequest));
-
-                // Only read body if necessary
-                if (wrappedRequest.getContentLength() > 0) {
-                    incomingLog.put("body", truncateAndSanitize(
-                            new String(wrappedRequest.getContentAsByteArray(), StandardCharsets.UTF_8)
-                    ));
-                }
-
-                log.info(objectMapper.writeValueAsString(incomingLog));
+            long setupNanos = chainStartNanos - startNanos;
+            if (request.isAsyncStarted()) {
+                // Response still being written elsewhere → reading it now would race the writer
+                request.getAsyncContext().addListener(new CompletionListener(
+                        request, teeRequest, teeResponse, sampled, startNanos, setupNanos, MDC.getCopyOfContextMap()));
+            } else {
+                complete(request, teeRequest, teeResponse, sampled, startNanos, System.nanoTime(), setupNanos);
             }
+            MDC.clear();
+        }
+    }
 
-            // --- Conditional logging for responses ---
-            if (shouldLogResponse(wrappedResponse)) {
-                Map<String, Object> outgoingLog = new HashMap<>();
-                outgoingLog.put("timestamp", OffsetDateTime.now().toString());
-                outgoingLog.put("service", "user-service");
-                outgoingLog.put("direction", "outgoing");
-                outgoingLog.put("status", wrappedResponse.getStatus());
-                outgoingLog.put("durationMs", durationMs);
-                outgoingLog.put("headers", getResponseHeaders(wrappedResponse));
-
-                // Only read body if necessary
-                if (wrappedResponse.getContentSize() > 0) {
-                    outgoingLog.put("body", truncateAndSanitize(
-                            new String(wrappedResponse.getContentAsByteArray(), StandardCharsets.UTF_8)
-                    ));
-                }
-
-                log.info(objectMapper.writeValueAsString(outgoingLog));
-            }
+    private void complete(HttpServletRequest request, TeeRequestWrapper teeRequest, TeeResponseWrapper teeResponse,
+                          boolean sampled, long startNanos, long chainEndNanos, long setupNanos) {
+        teeResponse.flushWriter();
 
-            wrappedResponse.copyBodyToResponse();
-            MDC.clear();
+        boolean logged = shouldLog(request, teeResponse, sampled) && log.isInfoEnabled();
+        if (logged) {
+            logExchange(request, teeRequest, teeResponse, TimeUnit.NANOSECONDS.toMillis(chainEndNanos - startNanos));
         }
+
+        long overheadNanos = setupNanos + (System.nanoTime() - chainEndNanos);
+        (logged ? capturedOverhead : plainOverhead).record(overheadNanos, TimeUnit.NANOSECONDS);
     }
 
     // ----------------- Conditional methods -----------------
-    private boolean shouldLogRequest(HttpServletRequest request) {
-        String method = request.getMethod();
-        String path = request.getRequestURI();
-        // Skip OPTIONS requests and actuator endpoints
-        return !"OPTIONS".equalsIgnoreCase(method) && !path.startsWith("/actuator");
+    private boolean isSampled() {
+        return bodySampleRate > 0 && (bodySampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < bodySampleRate);
     }
 
-    private boolean shouldLogResponse(HttpServletResponse response) {
-        int status = response.getStatus();
-        // Log only errors (4xx/5xx) or optionally all responses
-        return status >= 400;
+    private boolean shouldLog(HttpServletRequest request, HttpServletResponse response, boolean sampled) {
+        // Skip OPTIONS requests and actuator endpoints; otherwise errors always, the rest when sampled
+        if ("OPTIONS".equalsIgnoreCase(request.getMethod()) || request.getRequestURI().startsWith("/actuator")) {
+            return false;
+        }
+        return sampled || response.getStatus() >= 400;
     }
 
     // ----------------- Helper methods -----------------
+    private void logExchange(HttpServletRequest request, TeeRequestWrapper teeRequest,
+                             TeeResponseWrapper teeResponse, long durationMs) {
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+
+        log.info("incoming {} {}",
+                v("method", method),
+                v("uri", uri),
+                kv("direction", "incoming"),
+                kv("headers", getRequestHeaders(request)),
+                kv("body", teeRequest.capturedBody()));
+
+        log.info("outgoing {} {} {} in {} ms",
+                v("status", teeResponse.getStatus()),
+                method,
+                uri,
+                v("durationMs", durationMs),
+                kv("direction", "outgoing"),
+                kv("headers", getResponseHeaders(teeResponse)),
+                kv("body", teeResponse.capturedBody()));
+    }
+
     private Map<String, String> getRequestHeaders(HttpServletRequest request) {
         Map<String, String> headers = new HashMap<>();
-        request.getHeaderNames().asIterator().forEachRemaining(name -> headers.put(name, request.getHeader(name)));
+        request.getHeaderNames().asIterator().forEachRemaining(name -> headers.put(name, mask(name, request.getHeader(name))));
         return headers;
     }
 
     private Map<String, String> getResponseHeaders(HttpServletResponse response) {
         Map<String, String> headers = new HashMap<>();
-        response.getHeaderNames().forEach(name -> headers.put(name, response.getHeader(name)));
+        response.getHeaderNames().forEach(name -> headers.put(name, mask(name, response.getHeader(name))));
         return headers;
     }
 
-    private String truncateAndSanitize(String str) {
-        if (str == null) return null;
-        str = str.replace("\n", "\\n").replace("\r", "\\r").replace("\t", " ");
-        return str.length() <= MAX_BODY_LENGTH ? str : str.substring(0, MAX_BODY_LENGTH) + "...[truncated]";
+    private static String mask(String headerName, String value) {
+        boolean secret = HttpHeaders.AUTHORIZATION.equalsIgnoreCase(headerName)
+                || HttpHeaders.COOKIE.equalsIgnoreCase(headerName)
+                || HttpHeaders.SET_COOKIE.equalsIgnoreCase(headerName);
+        return secret ? MASKED : value;
+    }
+
+    // Logs the exchange once an async request has completed, under the MDC of the request that started it
+    private final class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final TeeRequestWrapper teeRequest;
+        private final TeeResponseWrapper teeResponse;
+        private final boolean sampled;
+        private final long startNanos;
+        private final long setupNanos;
+        private final Map<String, String> mdc;
+
+        private CompletionListener(HttpServletRequest request, TeeRequestWrapper teeRequest,
+                                   TeeResponseWrapper teeResponse, boolean sampled, long startNanos,
+                                   long setupNanos, Map<String, String> mdc) {
+            this.request = request;
+            this.teeRequest = teeRequest;
+            this.teeResponse = teeResponse;
+            this.sampled = sampled;
+            this.startNanos = startNanos;
+            this.setupNanos = setupNanos;
+            this.mdc = mdc;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                complete(request, teeRequest, teeResponse, sampled, startNanos, System.nanoTime(), setupNanos);
+            } finally {
+                MDC.clear();
+            }
+        }
+
+        // A restarted async cycle drops its listeners → stay registered until the final completion
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        // Timeouts and errors end in onComplete as well
+        @Override public void onTimeout(AsyncEvent event) {}
+        @Override public void onError(AsyncEvent event) {}
+    }
+
+    private static Timer overheadTimer(MeterRegistry meterRegistry, boolean logged) {
+        return Timer.builder("observability.filter.overhead")
+                .description("Time ObservabilityFilter adds to a request, excluding the rest of the filter chain")
+                .tag("logged", String.valueOf(logged))
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,135 @@
+package com.example.retailplatform.user.adapter.in.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Passes the response body straight through to the client and, when asked to, keeps a bounded copy of it.
+ * <p>
+ * Whether to capture is decided on the first write, once the status is known: always for sampled exchanges,
+ * otherwise only for 4xx/5xx. Successful, unsampled responses are never copied, and nothing is ever held back,
+ * so streamed (NDJSON) responses keep flowing.
+ */
+final class TeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int captureLimit;
+    private final boolean sampled;
+    private BodyCapture capture;
+    private boolean captureDecided;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    TeeResponseWrapper(HttpServletResponse response, int captureLimit, boolean sampled) {
+        super(response);
+        this.captureLimit = captureLimit;
+        this.sampled = sampled;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset()), false);
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /** Pushes characters still buffered in {@link #getWriter()} to the client; call once the chain is done. */
+    void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /** @return the start of the body written so far, or null if this response is not being captured */
+    String capturedBody() {
+        return capture == null ? null : capture.toString(charset());
+    }
+
+    private Charset charset() {
+        String encoding = getCharacterEncoding();
+        return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private BodyCapture captureForWrite() {
+        if (!captureDecided) {
+            captureDecided = true;
+            if (sampled || getStatus() >= 400) {
+                capture = new BodyCapture(captureLimit);
+            }
+        }
+        return capture;
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            BodyCapture target = captureForWrite();
+            if (target != null) {
+                target.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            BodyCapture target = captureForWrite();
+            if (target != null) {
+                target.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.retailplatform.user.adapter.in.web;
 
+import com.example.retailplatform.user.adapter.in.web.dto.UserBatchGetRequest;
 import com.example.retailplatform.user.adapter.in.web.dto.UserRequest;
 import com.example.retailplatform.user.adapter.in.web.dto.UserResponse;
 import com.example.retailplatform.user.adapter.in.web.dto.UserSearchRequest;
@@ -7,18 +8,30 @@ import com.example.retailplatform.user.adapter.in.web.dto.AuthRequest;
 import com.example.retailplatform.user.adapter.in.web.dto.AuthResponse;
 import com.example.retailplatform.user.adapter.in.web.dto.UserDtoMapper;
 import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserSearchPage;
 import com.example.retailplatform.user.domain.port.in.UserUseCase;
 import com.example.retailplatform.user.common.ErrorResponse;
+import com.example.retailplatform.user.domain.UserConstants;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
@@ -38,10 +51,22 @@ public class UserController {
     private final UserUseCase userUseCase;
     private final UserDtoMapper userDtoMapper;
     private final UserModelAssembler assembler;
+    private final ObjectMapper objectMapper;
+
+    private ObjectWriter ndjsonWriter;
+
+    @PostConstruct
+    void initWriters() {
+        ndjsonWriter = objectMapper.writerFor(UserResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
 
     // ------------------ GET ALL USERS ------------------
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all users", description = "Retrieve all users in the system.")
+    @Operation(summary = "Get all users",
+            description = "Retrieve active users one keyset page at a time. Follow the 'next' link (or pass the last "
+                    + "seen id as 'after') to continue. X-Total-Count carries a cached estimate of the total.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved users"),
             @ApiResponse(responseCode = "400", description = "Invalid request",
@@ -54,8 +79,11 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
-    public ResponseEntity<CollectionModel<EntityModel<UserResponse>>> all() {
-        List<User> users = userUseCase.getAllUsers();
+    public ResponseEntity<CollectionModel<EntityModel<UserResponse>>> all(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + UserConstants.DEFAULT_PAGE_SIZE) int limit) {
+
+        List<User> users = userUseCase.getUsersPage(after, limit);
         List<EntityModel<UserResponse>> userModels = users.stream()
                 .map(userDtoMapper::toResponse)
                 .map(assembler::toModel)
@@ -63,17 +91,50 @@ public class UserController {
 
         CollectionModel<EntityModel<UserResponse>> body = CollectionModel.of(
                 userModels,
-                linkTo(methodOn(UserController.class).all()).withSelfRel()
+                linkTo(methodOn(UserController.class).all(after, limit)).withSelfRel()
         );
 
+        // A full page means there may be more → hand out the continuation link. The service caps the page size, so
+        // a limit above the cap is full at the cap
+        if (!users.isEmpty() && users.size() >= Math.min(limit, UserConstants.MAX_PAGE_SIZE)) {
+            String lastId = users.get(users.size() - 1).getId();
+            body.add(linkTo(methodOn(UserController.class).all(lastId, limit)).withRel(IanaLinkRelations.NEXT));
+        }
+
         HttpHeaders headers = new HttpHeaders();
-        headers.add("X-Total-Count", String.valueOf(users.size()));
+        headers.add(UserConstants.HEADER_TOTAL_COUNT, String.valueOf(userUseCase.estimateUserCount()));
 
         return ResponseEntity.ok()
                 .headers(headers)
                 .body(body);
     }
 
+    // ------------------ STREAM ALL USERS ------------------
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Stream all users",
+            description = "Stream every active user as newline-delimited JSON straight from a database cursor.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users streamed"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = ndjsonWriter.writeValues(outputStream)) {
+                userUseCase.streamAllUsers(user -> writeLine(writer, userDtoMapper.toResponse(user)));
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     // ------------------ GET USER BY ID ------------------
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @Operation(summary = "Get user by ID", description = "Retrieve a user by their ID.")
@@ -97,6 +158,69 @@ public class UserController {
         return ResponseEntity.ok(entityModel);
     }
 
+    // ------------------ GET USER BY ID (PLAIN JSON) ------------------
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @Operation(summary = "Get user by ID without links",
+            description = "Same as GET /api/users/{id} as plain JSON without _links, for internal callers. "
+                    + "Selected with Accept: " + UserConstants.USER_JSON_VALUE)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/{id:\\d+}", produces = UserConstants.USER_JSON_VALUE)
+    public ResponseEntity<UserResponse> onePlain(@PathVariable String id) {
+        return ResponseEntity.ok(userDtoMapper.toResponse(userUseCase.getUserById(id)));
+    }
+
+    // ------------------ BATCH GET USERS ------------------
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @Operation(summary = "Get users by ID",
+            description = "Fetch up to " + UserConstants.MAX_BATCH_GET_SIZE + " users in one call. Users come back "
+                    + "in request order; unknown or deleted ids are left out rather than failing the request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users found"),
+            @ApiResponse(responseCode = "400", description = "Validation failed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/batch-get")
+    public ResponseEntity<CollectionModel<EntityModel<UserResponse>>> batchGet(
+            @Valid @RequestBody UserBatchGetRequest request) {
+
+        List<EntityModel<UserResponse>> userModels = userUseCase.getUsersByIds(request.getIds()).stream()
+                .map(userDtoMapper::toResponse)
+                .map(assembler::toModel)
+                .toList();
+
+        return ResponseEntity.ok(CollectionModel.of(
+                userModels,
+                linkTo(methodOn(UserController.class).batchGet(request)).withSelfRel()
+        ));
+    }
+
+    // ------------------ BATCH GET USERS (PLAIN JSON) ------------------
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @Operation(summary = "Get users by ID without links",
+            description = "Same as POST /api/users/batch-get as a plain JSON array without _links, for internal "
+                    + "callers. Selected with Accept: " + UserConstants.USER_JSON_VALUE)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users found"),
+            @ApiResponse(responseCode = "400", description = "Validation failed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/batch-get", produces = UserConstants.USER_JSON_VALUE)
+    public ResponseEntity<List<UserResponse>> batchGetPlain(@Valid @RequestBody UserBatchGetRequest request) {
+        return ResponseEntity.ok(userUseCase.getUsersByIds(request.getIds()).stream()
+                .map(userDtoMapper::toResponse)
+                .toList());
+    }
+
     // ------------------ CREATE NEW USER ------------------
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Create a new user", description = "Create a new user in the system.")
@@ -137,6 +261,8 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Username, email or phone taken, or the user changed concurrently",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
@@ -162,6 +288,8 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Username, email or phone taken, or the user changed concurrently",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
@@ -178,15 +306,13 @@ public class UserController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete user", description = "Soft delete a user by ID.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "User deleted successfully"),
+            @ApiResponse(responseCode = "204", description = "User deleted, or no active user with this ID"),
             @ApiResponse(responseCode = "400", description = "Invalid ID",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-            @ApiResponse(responseCode = "404", description = "User not found",
-                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
@@ -199,7 +325,10 @@ public class UserController {
     // ------------------ SEARCH USERS ------------------
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @Operation(summary = "Search users",
-            description = "Search users by username, email, or phone number. All parameters are optional.")
+            description = "Search active users by username, email or phone number; only the filters sent are applied. "
+                    + "'match' is EXACT (default), IGNORE_CASE or PREFIX; 'sort' is ID (default), USERNAME or EMAIL. "
+                    + "Returns at most 'limit' users; when more follow, send X-Continuation-Token back as 'after'. "
+                    + "No X-Total-Count is sent.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Users found"),
             @ApiResponse(responseCode = "400", description = "Invalid search parameters",
@@ -215,13 +344,9 @@ public class UserController {
     public ResponseEntity<CollectionModel<EntityModel<UserResponse>>> search(
             @RequestBody UserSearchRequest searchRequest) {
 
-        List<User> users = userUseCase.searchUsers(
-                searchRequest.getUsername(),
-                searchRequest.getEmail(),
-                searchRequest.getPhoneNumber()
-        );
+        UserSearchPage page = searchPage(searchRequest);
 
-        List<EntityModel<UserResponse>> userModels = users.stream()
+        List<EntityModel<UserResponse>> userModels = page.users().stream()
                 .map(userDtoMapper::toResponse)
                 .map(assembler::toModel)
                 .toList();
@@ -231,13 +356,33 @@ public class UserController {
                 linkTo(methodOn(UserController.class).search(searchRequest)).withSelfRel()
         );
 
-        HttpHeaders headers = new HttpHeaders();
-
         return ResponseEntity.ok()
-                .headers(headers)
+                .headers(continuationHeaders(page))
                 .body(body);
     }
 
+    // ------------------ SEARCH USERS (PLAIN JSON) ------------------
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @Operation(summary = "Search users without links",
+            description = "Same as POST /api/users/search as a plain JSON array without _links, for internal callers. "
+                    + "Selected with Accept: " + UserConstants.USER_JSON_VALUE)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users found"),
+            @ApiResponse(responseCode = "400", description = "Invalid search parameters",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/search", produces = UserConstants.USER_JSON_VALUE)
+    public ResponseEntity<List<UserResponse>> searchPlain(@RequestBody UserSearchRequest searchRequest) {
+        UserSearchPage page = searchPage(searchRequest);
+        List<UserResponse> users = page.users().stream()
+                .map(userDtoMapper::toResponse)
+                .toList();
+
+        return ResponseEntity.ok()
+                .headers(continuationHeaders(page))
+                .body(users);
+    }
+
     // ------------------ AUTHENTICATE ------------------
     @Operation(summary = "Authenticate user", description = "Login endpoint to obtain access and refresh tokens.")
     @ApiResponses(value = {
@@ -253,4 +398,30 @@ public class UserController {
     public ResponseEntity<AuthResponse> authenticate(@RequestBody AuthRequest request) {
         return ResponseEntity.ok(userUseCase.authenticate(request));
     }
+
+    // ------------------ Helper Methods ------------------
+
+    private UserSearchPage searchPage(UserSearchRequest searchRequest) {
+        return userUseCase.searchUsers(
+                userDtoMapper.toCriteria(searchRequest),
+                searchRequest.getAfter(),
+                searchRequest.getLimit()
+        );
+    }
+
+    static HttpHeaders continuationHeaders(UserSearchPage page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.next() != null) {
+            headers.add(UserConstants.HEADER_CONTINUATION_TOKEN, page.next());
+        }
+        return headers;
+    }
+
+    private static void writeLine(SequenceWriter writer, UserResponse response) {
+        try {
+            writer.write(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
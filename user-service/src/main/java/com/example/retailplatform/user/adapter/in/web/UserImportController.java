@@ -0,0 +1,151 @@
+package com.example.retailplatform.user.adapter.in.web;
+
+import com.example.retailplatform.user.adapter.in.web.dto.BulkImportResultResponse;
+import com.example.retailplatform.user.adapter.in.web.dto.BulkImportSummaryResponse;
+import com.example.retailplatform.user.adapter.in.web.dto.UserDtoMapper;
+import com.example.retailplatform.user.adapter.in.web.dto.UserRequest;
+import com.example.retailplatform.user.common.ErrorResponse;
+import com.example.retailplatform.user.domain.model.BulkImportResult;
+import com.example.retailplatform.user.domain.model.BulkImportSummary;
+import com.example.retailplatform.user.domain.port.in.UserImportUseCase;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserImportController {
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final UserImportUseCase userImportUseCase;
+    private final UserDtoMapper userDtoMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MessageSource messageSource;
+
+    private ObjectReader ndjsonReader;
+    private ObjectReader csvReader;
+    private ObjectWriter ndjsonWriter;
+
+    @PostConstruct
+    void initReaders() {
+        ndjsonReader = objectMapper.readerFor(UserRequest.class);
+        csvReader = CsvMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build()
+                .readerFor(UserRequest.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    // ------------------ BULK IMPORT USERS ------------------
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk import users",
+            description = "Create users from a streamed NDJSON (one user per line) or CSV (header row with user "
+                    + "field names) upload. The response streams one NDJSON result per row as rows are written, "
+                    + "followed by a final {\"summary\": ...} line with totals and rows/sec.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import ran; see the per-row results"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "415", description = "Neither NDJSON nor CSV",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void bulkImport(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportReader rows = isCsv(request)
+                ? UserImportReader.csv(request.getInputStream(), csvReader, validator, userDtoMapper)
+                : UserImportReader.ndjson(request.getInputStream(), ndjsonReader, validator, userDtoMapper);
+        Locale locale = LocaleContextHolder.getLocale();
+
+        // Results go out while the upload is still being read; the container flushes as its buffer fills
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (SequenceWriter writer = ndjsonWriter.writeValues(response.getOutputStream())) {
+            BulkImportSummary summary = userImportUseCase.importUsers(rows,
+                    result -> writeLine(writer, toResponse(result, locale)));
+            writer.write(Map.of("summary", toResponse(summary)));
+        }
+    }
+
+    // ------------------ Helper Methods ------------------
+
+    private static boolean isCsv(HttpServletRequest request) {
+        return request.getContentType() != null
+                && MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE));
+    }
+
+    private BulkImportResultResponse toResponse(BulkImportResult result, Locale locale) {
+        if (result.isCreated()) {
+            return BulkImportResultResponse.builder()
+                    .line(result.line())
+                    .status(BulkImportResultResponse.CREATED)
+                    .id(result.id())
+                    .build();
+        }
+        return BulkImportResultResponse.builder()
+                .line(result.line())
+                .status(BulkImportResultResponse.REJECTED)
+                .field(result.field())
+                .message(messageSource.getMessage(result.messageKey(), result.messageArgs(), result.messageKey(), locale))
+                .build();
+    }
+
+    private static BulkImportSummaryResponse toResponse(BulkImportSummary summary) {
+        return BulkImportSummaryResponse.builder()
+                .rows(summary.rows())
+                .created(summary.created())
+                .rejected(summary.rejected())
+                .elapsedMs(summary.elapsedMillis())
+                .rowsPerSecond(summary.rowsPerSecond())
+                .build();
+    }
+
+    private static void writeLine(SequenceWriter writer, BulkImportResultResponse response) {
+        try {
+            writer.write(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.retailplatform.user.adapter.in.web;
+
+import com.example.retailplatform.user.adapter.in.web.dto.UserDtoMapper;
+import com.example.retailplatform.user.adapter.in.web.dto.UserRequest;
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.model.BulkImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Turns an NDJSON or CSV upload into {@link BulkImportRow}s one row at a time; nothing beyond the current row is
+ * held in memory. Rows that cannot be parsed or fail {@link UserRequest} validation become rejected rows, so one
+ * bad line never aborts the import.
+ */
+final class UserImportReader implements Iterator<BulkImportRow> {
+
+    private final RowSource source;
+    private final Validator validator;
+    private final UserDtoMapper userDtoMapper;
+    private BulkImportRow next;
+    private boolean exhausted;
+
+    private UserImportReader(RowSource source, Validator validator, UserDtoMapper userDtoMapper) {
+        this.source = source;
+        this.validator = validator;
+        this.userDtoMapper = userDtoMapper;
+    }
+
+    /** One JSON object per line; blank lines are skipped but still counted. */
+    static UserImportReader ndjson(InputStream body, ObjectReader requestReader,
+                                   Validator validator, UserDtoMapper userDtoMapper) {
+        BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        long[] lineNumber = {0};
+
+        RowSource source = () -> {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber[0]++;
+                if (line.isBlank()) continue;
+                try {
+                    return new ParsedRow(lineNumber[0], requestReader.readValue(line), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow(lineNumber[0], null, e.getOriginalMessage());
+                }
+            }
+            return null;
+        };
+        return new UserImportReader(source, validator, userDtoMapper);
+    }
+
+    /** Header row with {@link UserRequest} property names, then one user per record; line 1 is the header. */
+    static UserImportReader csv(InputStream body, ObjectReader csvReader,
+                                Validator validator, UserDtoMapper userDtoMapper) throws IOException {
+        MappingIterator<UserRequest> records = csvReader.readValues(body);
+
+        RowSource source = () -> {
+            if (!records.hasNextValue()) return null;
+            try {
+                UserRequest request = records.nextValue();
+                return new ParsedRow(currentLine(records), request, null);
+            } catch (JsonProcessingException e) {
+                // MappingIterator skips the rest of the broken record before the next read
+                return new ParsedRow(currentLine(records), null, e.getOriginalMessage());
+            }
+        };
+        return new UserImportReader(source, validator, userDtoMapper);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !exhausted) {
+            next = readNext();
+            exhausted = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public BulkImportRow next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        BulkImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    // ------------------ Helper Methods ------------------
+
+    private BulkImportRow readNext() {
+        ParsedRow parsed;
+        try {
+            parsed = source.read();
+        } catch (JsonProcessingException e) {
+            // The stream itself is broken (e.g. unbalanced quotes) → report it and stop reading
+            exhausted = true;
+            return BulkImportRow.rejected(e.getLocation() != null ? e.getLocation().getLineNr() : -1,
+                    null, UserConstants.BULK_IMPORT_MALFORMED_ROW_KEY, e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (parsed == null) return null;
+
+        if (parsed.request() == null) {
+            return BulkImportRow.rejected(parsed.line(), null,
+                    UserConstants.BULK_IMPORT_MALFORMED_ROW_KEY, parsed.error());
+        }
+
+        // Report one violation per row, always the same one for the same input
+        ConstraintViolation<UserRequest> violation = validator.validate(parsed.request()).stream()
+                .min(Comparator.comparing((ConstraintViolation<UserRequest> v) -> v.getPropertyPath().toString())
+                        .thenComparing(ConstraintViolation::getMessage))
+                .orElse(null);
+        if (violation != null) {
+            String field = violation.getPropertyPath().toString();
+            return BulkImportRow.rejected(parsed.line(), field,
+                    UserConstants.BULK_IMPORT_INVALID_FIELD_KEY, field, violation.getMessage());
+        }
+
+        return BulkImportRow.of(parsed.line(), userDtoMapper.toModel(parsed.request()));
+    }
+
+    private static long currentLine(MappingIterator<?> records) {
+        return records.getParser().currentTokenLocation().getLineNr();
+    }
+
+    private record ParsedRow(long line, UserRequest request, String error) {
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        /** @return the next row, or null at the end of the upload */
+        ParsedRow read() throws IOException;
+    }
+}
@@ -1,19 +1,59 @@
 package com.example.retailplatform.user.adapter.in.web;
 
 import com.example.retailplatform.user.adapter.in.web.dto.UserResponse;
+import com.example.retailplatform.user.domain.UserConstants;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
+/**
+ * Adds {@code self} and {@code users} links to a user.
+ * <p>
+ * The {@code /api/users} base URI (scheme, host, forwarded headers, context path) is resolved once per request and
+ * kept as a request attribute together with the {@code users} link, which is the same for every user. Each user's
+ * self link is then plain string concatenation instead of a {@code methodOn} proxy plus URI template expansion.
+ */
 @Component
 public class UserModelAssembler implements RepresentationModelAssembler<UserResponse, EntityModel<UserResponse>> {
 
+    private static final String LINKS_ATTRIBUTE = UserModelAssembler.class.getName() + ".links";
+    // Same templated href as linkTo(methodOn(UserController.class).all(null, DEFAULT_PAGE_SIZE))
+    private static final String USERS_QUERY = "?limit=" + UserConstants.DEFAULT_PAGE_SIZE + "{&after}";
+
     @Override
     public EntityModel<UserResponse> toModel(UserResponse user) {
-        return EntityModel.of(user,
-                linkTo(methodOn(UserController.class).one(user.getId())).withSelfRel(),
-                linkTo(methodOn(UserController.class).all()).withRel("users"));
+        RequestLinks links = requestLinks();
+        // Ids are numeric → nothing to encode
+        return EntityModel.of(user, Link.of(links.selfPrefix() + user.getId(), IanaLinkRelations.SELF), links.users());
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private static RequestLinks requestLinks() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return RequestLinks.resolve();
+        }
+        RequestLinks links = (RequestLinks) attributes.getAttribute(LINKS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (links == null) {
+            links = RequestLinks.resolve();
+            attributes.setAttribute(LINKS_ATTRIBUTE, links, RequestAttributes.SCOPE_REQUEST);
+        }
+        return links;
+    }
+
+    private record RequestLinks(String selfPrefix, Link users) {
+
+        // Reads the controller's @RequestMapping only; no method proxy
+        static RequestLinks resolve() {
+            String baseUri = linkTo(UserController.class).toUri().toString();
+            return new RequestLinks(baseUri + "/", Link.of(baseUri + USERS_QUERY, "users"));
+        }
     }
 }
@@ -0,0 +1,120 @@
+package com.example.retailplatform.user.adapter.in.web;
+
+import com.example.retailplatform.user.adapter.in.web.dto.UserDtoMapper;
+import com.example.retailplatform.user.adapter.in.web.dto.UserResponse;
+import com.example.retailplatform.user.common.ErrorResponse;
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.model.UserSearchPage;
+import com.example.retailplatform.user.domain.port.in.UserSearchUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserSearchController {
+
+    private final UserSearchUseCase userSearchUseCase;
+    private final UserDtoMapper userDtoMapper;
+    private final UserModelAssembler assembler;
+
+    // ------------------ FIND USERS (FULL TEXT) ------------------
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Find users by free text",
+            description = "Ranked search over first / last name, username, email and phone number for support tooling. "
+                    + "'q' (3-100 characters) matches word prefixes ('ali smi') and substrings (middle digits of a "
+                    + "phone number); when nothing matches, near misses such as typos are returned instead. Best "
+                    + "matches come first; follow the 'next' link or send X-Continuation-Token back as 'after'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users found"),
+            @ApiResponse(responseCode = "400", description = "Invalid search text or continuation token",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/search")
+    public ResponseEntity<CollectionModel<EntityModel<UserResponse>>> find(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + UserConstants.DEFAULT_PAGE_SIZE) int limit) {
+
+        UserSearchPage page = userSearchUseCase.findUsers(q, after, limit);
+
+        List<EntityModel<UserResponse>> userModels = page.users().stream()
+                .map(userDtoMapper::toResponse)
+                .map(assembler::toModel)
+                .toList();
+
+        CollectionModel<EntityModel<UserResponse>> body = CollectionModel.of(
+                userModels,
+                linkTo(methodOn(UserSearchController.class).find(q, after, limit)).withSelfRel()
+        );
+        if (page.next() != null) {
+            body.add(linkTo(methodOn(UserSearchController.class).find(q, page.next(), limit))
+                    .withRel(IanaLinkRelations.NEXT));
+        }
+
+        return ResponseEntity.ok()
+                .headers(continuationHeaders(page))
+                .body(body);
+    }
+
+    // ------------------ FIND USERS (PLAIN JSON) ------------------
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Find users by free text without links",
+            description = "Same as GET /api/users/search as a plain JSON array without _links. "
+                    + "Selected with Accept: " + UserConstants.USER_JSON_VALUE)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users found"),
+            @ApiResponse(responseCode = "400", description = "Invalid search text or continuation token",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/search", produces = UserConstants.USER_JSON_VALUE)
+    public ResponseEntity<List<UserResponse>> findPlain(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + UserConstants.DEFAULT_PAGE_SIZE) int limit) {
+
+        UserSearchPage page = userSearchUseCase.findUsers(q, after, limit);
+        List<UserResponse> users = page.users().stream()
+                .map(userDtoMapper::toResponse)
+                .toList();
+
+        return ResponseEntity.ok()
+                .headers(continuationHeaders(page))
+                .body(users);
+    }
+
+    // ------------------ Helper Methods ------------------
+
+    private static HttpHeaders continuationHeaders(UserSearchPage page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.next() != null) {
+            headers.add(UserConstants.HEADER_CONTINUATION_TOKEN, page.next());
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.retailplatform.user.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkImportResultResponse {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    @Schema(description = "Line of the upload the result refers to (CSV header is line 1)", example = "42")
+    private final long line;
+
+    @Schema(description = "Outcome of the row", example = "CREATED", allowableValues = {CREATED, REJECTED})
+    private final String status;
+
+    @Schema(description = "Id of the created user", example = "1051")
+    private final String id;
+
+    @Schema(description = "Field that caused the rejection", example = "email")
+    private final String field;
+
+    @Schema(description = "Why the row was rejected", example = "Email \"alice@example.com\" already exists")
+    private final String message;
+}
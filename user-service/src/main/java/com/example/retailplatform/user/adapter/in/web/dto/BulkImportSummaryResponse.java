@@ -0,0 +1,25 @@
+package com.example.retailplatform.user.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BulkImportSummaryResponse {
+
+    @Schema(description = "Rows read from the upload", example = "500000")
+    private final long rows;
+
+    @Schema(description = "Users created", example = "499990")
+    private final long created;
+
+    @Schema(description = "Rows rejected", example = "10")
+    private final long rejected;
+
+    @Schema(description = "Wall-clock time of the import in milliseconds", example = "41250")
+    private final long elapsedMs;
+
+    @Schema(description = "Import throughput", example = "12121")
+    private final long rowsPerSecond;
+}
@@ -0,0 +1,25 @@
+package com.example.retailplatform.user.adapter.in.web.dto;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchGetRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = UserConstants.MAX_BATCH_GET_SIZE)
+    @Schema(description = "Ids of the users to fetch; duplicates are ignored", example = "[\"1\", \"42\"]")
+    private List<@Pattern(regexp = "\\d+", message = "Id must be numeric") String> ids;
+}
@@ -1,6 +1,7 @@
 package com.example.retailplatform.user.adapter.in.web.dto;
 
 import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -50,6 +51,24 @@ public class UserDtoMapper {
                 .build();
     }
 
+    /**
+     * Map UserSearchRequest DTO to search criteria; blank filters count as not set
+     */
+    public UserSearchCriteria toCriteria(UserSearchRequest request) {
+        return UserSearchCriteria.builder()
+                .username(blankToNull(request.getUsername()))
+                .email(blankToNull(request.getEmail()))
+                .phoneNumber(blankToNull(request.getPhoneNumber()))
+                .match(request.getMatch())
+                .sort(request.getSort())
+                .direction(request.getDirection())
+                .build();
+    }
+
+    private String blankToNull(String value) {
+        return value != null && !value.isBlank() ? value : null;
+    }
+
     /** Helper to safely get enum name or null */
     private String enumName(Enum<?> e) {
         return e != null ? e.name() : null;
@@ -1,5 +1,6 @@
 package com.example.retailplatform.user.adapter.in.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -15,6 +16,7 @@ import org.springframework.hateoas.server.core.Relation;
 @EqualsAndHashCode(callSuper = false)
 @ToString(callSuper = true)
 @Relation(collectionRelation = "userList", itemRelation = "user")
+@JsonIgnoreProperties("links") // plain (non-HAL) JSON carries no empty links array; HAL renders _links itself
 
 public class UserResponse extends RepresentationModel<UserResponse> {
 
@@ -1,5 +1,7 @@
 package com.example.retailplatform.user.adapter.in.web.dto;
 
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,4 +15,16 @@ public class UserSearchRequest {
     private String username;
     private String email;
     private String phoneNumber;
+
+    // EXACT (default) | IGNORE_CASE | PREFIX (case-insensitive starts-with)
+    private UserSearchCriteria.Match match;
+    // ID (default) | USERNAME | EMAIL, ties broken by id
+    private UserSearchCriteria.SortField sort;
+    private UserSearchCriteria.Direction direction;
+
+    // Page size, capped at MAX_PAGE_SIZE
+    @Builder.Default
+    private int limit = UserConstants.DEFAULT_PAGE_SIZE;
+    // X-Continuation-Token of the previous page; must be sent with the same sort and direction
+    private String after;
 }
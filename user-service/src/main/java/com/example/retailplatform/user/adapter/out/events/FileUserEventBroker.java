@@ -0,0 +1,145 @@
+package com.example.retailplatform.user.adapter.out.events;
+
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+import com.example.retailplatform.user.domain.port.out.UserEventPublisher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Append-only event log on a shared directory: one NDJSON segment per UTC day,
+ * {@code user-events-YYYY-MM-DD.ndjson}. Readers tail the segments in name order and remember a byte offset.
+ * <p>
+ * A batch is written with one {@code write} and made durable with {@code force} before {@link #publish} returns,
+ * so the relay only deletes outbox rows that are on disk. A line torn by a crash mid-write is unparseable and
+ * skipped by readers; its batch is still in the outbox and is written again on a fresh line.
+ * <p>
+ * Readers move on once a newer segment exists, so every instance appends to the newest one: today's by its own
+ * clock, or a later day's another instance has already opened → a lagging clock cannot write behind the readers.
+ * <p>
+ * Segments older than {@code retention} are deleted when a new day's segment is opened.
+ */
+@Component
+@ConditionalOnProperty(name = "user.events.broker", havingValue = "file", matchIfMissing = true)
+public class FileUserEventBroker implements UserEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(FileUserEventBroker.class);
+
+    static final String SEGMENT_PREFIX = "user-events-";
+    static final String SEGMENT_SUFFIX = ".ndjson";
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Duration retention;
+    private LocalDate openDay;
+
+    public FileUserEventBroker(ObjectMapper objectMapper,
+                               @Value("${user.events.file.directory:./user-events}") Path directory,
+                               @Value("${user.events.file.retention:P7D}") Duration retention) {
+        // ISO-8601 instants whatever the application mapper is configured with → the wire format is stable
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.directory = directory;
+        this.retention = retention;
+    }
+
+    @Override
+    public synchronized void publish(List<UserChangeEvent> events) {
+        if (events.isEmpty()) return;
+
+        try {
+            Files.createDirectories(directory);
+            LocalDate day = newestDay(LocalDate.now(ZoneOffset.UTC));
+            if (!day.equals(openDay)) {
+                deleteExpiredSegments(day);
+                openDay = day;
+            }
+            try (FileChannel channel = FileChannel.open(segment(day),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // Only this broker appends → writing at the current end is an append
+                ByteBuffer batch = ByteBuffer.wrap(toLines(events, endsTorn(channel)));
+                channel.position(channel.size());
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append user events to " + directory, e);
+        }
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    Path segment(LocalDate day) {
+        return directory.resolve(SEGMENT_PREFIX + day + SEGMENT_SUFFIX);
+    }
+
+    // Clocks drift by far less than a day → usually one failed stat for tomorrow's segment
+    private LocalDate newestDay(LocalDate today) {
+        LocalDate day = openDay != null && openDay.isAfter(today) ? openDay : today;
+        while (Files.exists(segment(day.plusDays(1)))) {
+            day = day.plusDays(1);
+        }
+        return day;
+    }
+
+    private byte[] toLines(List<UserChangeEvent> events, boolean afterTornLine) throws JsonProcessingException {
+        StringBuilder lines = new StringBuilder(events.size() * 384);
+        // Terminate the torn line → it stays one bad line instead of swallowing the first event of this batch
+        if (afterTornLine) lines.append('\n');
+        for (UserChangeEvent event : events) {
+            lines.append(objectMapper.writeValueAsString(UserChangeMessage.from(event))).append('\n');
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean endsTorn(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size == 0) return false;
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        return last.get(0) != '\n';
+    }
+
+    private void deleteExpiredSegments(LocalDate today) throws IOException {
+        LocalDate oldestKept = today.minusDays(retention.toDays());
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : segments) {
+                LocalDate day = dayOf(segment);
+                if (day != null && day.isBefore(oldestKept)) {
+                    Files.deleteIfExists(segment);
+                    log.info("Deleted expired user event segment {}", segment.getFileName());
+                }
+            }
+        }
+    }
+
+    private static LocalDate dayOf(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return LocalDate.parse(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (DateTimeParseException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.retailplatform.user.adapter.out.events;
+
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+import com.example.retailplatform.user.domain.port.out.UserEventPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * In-process broker: each event becomes a Spring application event, delivered synchronously to
+ * {@code @EventListener}s in this JVM. Nothing is kept → for tests and single-process setups only.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "user.events.broker", havingValue = "memory")
+public class InMemoryUserEventBroker implements UserEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(List<UserChangeEvent> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
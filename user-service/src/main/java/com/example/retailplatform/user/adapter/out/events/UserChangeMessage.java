@@ -0,0 +1,46 @@
+package com.example.retailplatform.user.adapter.out.events;
+
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+
+import java.time.Instant;
+
+/**
+ * Wire format of a user change event, one JSON object per line. jwt-service reads it with its own copy of this
+ * shape → add fields, never rename or remove them.
+ */
+public record UserChangeMessage(long eventId,
+                                UserChangeEvent.Type type,
+                                String userId,
+                                boolean revokeSessions,
+                                Instant occurredAt,
+                                Snapshot user) {
+
+    public static UserChangeMessage from(UserChangeEvent event) {
+        User user = event.user();
+        return new UserChangeMessage(
+                event.sequence(),
+                event.type(),
+                user.getId(),
+                event.revokeSessions(),
+                event.occurredAt(),
+                new Snapshot(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+                        user.getEmail(), user.getPhoneNumber(), user.getRole(), user.getStatus(),
+                        Boolean.TRUE.equals(user.getActive()), Boolean.TRUE.equals(user.getPasswordChangeRequired())));
+    }
+
+    /** The user after the change; never carries the password hash. */
+    public record Snapshot(String id,
+                           String username,
+                           String firstName,
+                           String lastName,
+                           String email,
+                           String phoneNumber,
+                           Role role,
+                           Status status,
+                           boolean active,
+                           boolean passwordChangeRequired) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.retailplatform.user.adapter.out.monitoring;
+
+import com.example.retailplatform.user.adapter.out.persistence.ReplicaRoutingDataSource;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Availability and lag of each read replica, as the {@code replica} health component.
+ * <p>
+ * Not critical: a lagging or unreachable replica only moves reads to the primary, so this never reports DOWN and
+ * cannot take the instance out of rotation. With no replica serving reads it reports UNKNOWN, which the default
+ * status aggregation ranks below UP.
+ */
+@Component
+@ConditionalOnProperty(name = "user.datasource.replica.enabled", havingValue = "true")
+public class ReplicaHealthIndicator implements HealthIndicator {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    public ReplicaHealthIndicator(ReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public Health health() {
+        List<ReplicaRoutingDataSource.ReplicaState> states = routingDataSource.replicaStates();
+        boolean anyAvailable = states.stream().anyMatch(ReplicaRoutingDataSource.ReplicaState::available);
+
+        Health.Builder builder = anyAvailable ? Health.up() : Health.unknown();
+        builder.withDetail("reads", anyAvailable ? "replicas" : "primary");
+        for (ReplicaRoutingDataSource.ReplicaState state : states) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("available", state.available());
+            details.put("lagSeconds", Double.isNaN(state.lagSeconds()) ? null : state.lagSeconds());
+            builder.withDetail(state.name(), details);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.retailplatform.user.adapter.out.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Surfaces virtual threads that pin their carrier (typically a {@code synchronized} block around blocking I/O in
+ * a driver) as {@code jvm.threads.virtual.pinned}, tagged with the first non-JDK class on the pinned stack.
+ * <p>
+ * Listens to the JFR {@code jdk.VirtualThreadPinned} event in-process, so no recording file is needed. The first
+ * pinning seen for each culprit is logged with its stack. Only active when virtual threads are enabled.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMetrics implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMetrics.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+    static final String UNKNOWN_CULPRIT = "unknown";
+    static final String OTHER_CULPRIT = "other";
+
+    // Culprit is a tag value → cap how many distinct ones are registered
+    private static final int MAX_CULPRITS = 32;
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final String pinnedEvent;
+    private final Map<String, Timer> pinnedTimers = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+    private MeterRegistry registry;
+
+    @Autowired
+    public VirtualThreadPinningMetrics(@Value("${user.threads.pinning-threshold:PT0.02S}") Duration threshold) {
+        this(threshold, PINNED_EVENT);
+    }
+
+    VirtualThreadPinningMetrics(Duration threshold, String pinnedEvent) {
+        this.threshold = threshold;
+        this.pinnedEvent = pinnedEvent;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        if (stream != null) {
+            return;
+        }
+        this.registry = registry;
+        Counter submitFailed = Counter.builder("jvm.threads.virtual.submit.failed")
+                .description("Virtual threads that could not be started or unparked")
+                .register(registry);
+
+        stream = new RecordingStream();
+        stream.enable(pinnedEvent).withThreshold(threshold).withStackTrace();
+        stream.enable(SUBMIT_FAILED_EVENT);
+        stream.onEvent(pinnedEvent, this::onPinned);
+        stream.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailed.increment());
+        stream.startAsync();
+        log.info("Recording virtual thread pinning longer than {}", threshold);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private void onPinned(RecordedEvent event) {
+        String culprit = culprit(event.getStackTrace());
+        Timer timer = pinnedTimers.get(culprit);
+        if (timer == null) {
+            if (pinnedTimers.size() >= MAX_CULPRITS) {
+                culprit = OTHER_CULPRIT;
+            } else {
+                log.warn("Virtual thread pinned its carrier for {} ms in {}:\n{}",
+                        event.getDuration().toMillis(), culprit, frames(event.getStackTrace()));
+            }
+            timer = pinnedTimers.computeIfAbsent(culprit, this::pinnedTimer);
+        }
+        timer.record(event.getDuration());
+    }
+
+    private Timer pinnedTimer(String culprit) {
+        return Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("culprit", culprit)
+                .register(registry);
+    }
+
+    /** The first frame outside the JDK is the code that pinned the carrier (e.g. a driver's synchronized block). */
+    static String culprit(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return UNKNOWN_CULPRIT;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String className = frame.getMethod().getType().getName();
+            if (!isJdkClass(className)) {
+                return className;
+            }
+        }
+        return UNKNOWN_CULPRIT;
+    }
+
+    private static boolean isJdkClass(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.")
+                || className.startsWith("sun.") || className.startsWith("com.sun.");
+    }
+
+    private static String frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t<no stack trace>";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + "(line " + frame.getLineNumber() + ")")
+                .collect(Collectors.joining("\n"));
+    }
+}
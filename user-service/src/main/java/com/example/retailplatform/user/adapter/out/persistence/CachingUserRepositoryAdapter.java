@@ -0,0 +1,357 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
+import com.example.retailplatform.user.domain.model.UserSearchCursor;
+import com.example.retailplatform.user.domain.port.out.UserRepositoryPort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache in front of {@link UserRepositoryAdapter} for active-user lookups.
+ * <p>
+ * Tier one is a bounded, TTL-evicted in-process Caffeine cache. Tier two is an optional shared
+ * Spring {@link org.springframework.cache.Cache} (e.g. Redis) looked up from the context's {@link CacheManager}.
+ * <p>
+ * Users are stored once under {@code id:<id>}; {@code username:}, {@code email:} and {@code phone:} keys only
+ * point at that id. Invalidating the id entry therefore invalidates every identifier key of the user, including
+ * ones that no longer match after a rename.
+ * <p>
+ * A write evicts both tiers, but only this instance's local tier: another instance keeps serving its local copy until
+ * it expires. With the shared tier enabled the local tier is therefore a short near-cache
+ * ({@code user.cache.shared.local-ttl}, capped by {@code user.cache.ttl}), which bounds that staleness. Without the
+ * shared tier, several instances may each serve a user for up to {@code user.cache.ttl} after another one changed it.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "user.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingUserRepositoryAdapter implements UserRepositoryPort {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingUserRepositoryAdapter.class);
+
+    static final String CACHE_NAME = "users";
+    private static final String ID_PREFIX = "id:";
+    private static final String USERNAME_PREFIX = "username:";
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String PHONE_PREFIX = "phone:";
+
+    private final UserRepositoryAdapter delegate;
+    private final Cache<String, Object> local;
+    private final org.springframework.cache.Cache shared;
+
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+
+    // Bumped on every invalidation → loads that raced with a write are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public CachingUserRepositoryAdapter(UserRepositoryAdapter delegate,
+                                        MeterRegistry meterRegistry,
+                                        ObjectProvider<CacheManager> cacheManagers,
+                                        @Value("${user.cache.maximum-size:10000}") long maximumSize,
+                                        @Value("${user.cache.ttl:PT60S}") Duration ttl,
+                                        @Value("${user.cache.shared.enabled:false}") boolean sharedEnabled,
+                                        @Value("${user.cache.shared.local-ttl:PT5S}") Duration sharedLocalTtl) {
+        this(delegate, meterRegistry, maximumSize, sharedEnabled ? min(ttl, sharedLocalTtl) : ttl,
+                sharedEnabled ? resolveSharedCache(cacheManagers.getIfAvailable()) : null);
+    }
+
+    CachingUserRepositoryAdapter(UserRepositoryAdapter delegate,
+                                 MeterRegistry meterRegistry,
+                                 long maximumSize,
+                                 Duration ttl,
+                                 org.springframework.cache.Cache shared) {
+        this.delegate = delegate;
+        this.shared = shared;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size ...
+        CaffeineCacheMetrics.monitor(meterRegistry, local, CACHE_NAME, "tier", "local");
+        this.sharedHits = Counter.builder("cache.gets").tags("cache", CACHE_NAME, "tier", "shared", "result", "hit")
+                .register(meterRegistry);
+        this.sharedMisses = Counter.builder("cache.gets").tags("cache", CACHE_NAME, "tier", "shared", "result", "miss")
+                .register(meterRegistry);
+
+        log.info("User cache enabled: maximumSize={}, localTtl={}, sharedTier={}", maximumSize, ttl, shared != null);
+    }
+
+    // -------------------- Cached Reads --------------------
+
+    @Override
+    public Optional<User> findActiveById(String id) {
+        String key = ID_PREFIX + id;
+        User cached = lookupUser(key);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        return load(() -> delegate.findActiveById(id));
+    }
+
+    // Cached users are served as they are; only the misses go to the database, as one batch
+    @Override
+    public List<User> findActiveByIds(Collection<String> ids) {
+        List<User> users = new ArrayList<>(ids.size());
+        List<String> misses = new ArrayList<>();
+        for (String id : ids) {
+            User cached = lookupUser(ID_PREFIX + id);
+            if (cached != null) {
+                users.add(copy(cached));
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            users.addAll(loadAll(() -> delegate.findActiveByIds(misses)));
+        }
+        return users;
+    }
+
+    @Override
+    public Optional<User> findActiveByUsername(String username) {
+        return findByIdentifier(USERNAME_PREFIX, username, User::getUsername, delegate::findActiveByUsername);
+    }
+
+    @Override
+    public Optional<User> findActiveByEmail(String email) {
+        return findByIdentifier(EMAIL_PREFIX, email, User::getEmail, delegate::findActiveByEmail);
+    }
+
+    @Override
+    public Optional<User> findActiveByPhoneNumber(String phoneNumber) {
+        return findByIdentifier(PHONE_PREFIX, phoneNumber, User::getPhoneNumber, delegate::findActiveByPhoneNumber);
+    }
+
+    // -------------------- Writes (invalidate) --------------------
+
+    @Override
+    public User save(User user) {
+        User saved = delegate.save(user);
+        invalidate(saved);
+        return saved;
+    }
+
+    @Override
+    public User modify(String id, Consumer<User> changes) {
+        try {
+            User modified = delegate.modify(id, changes);
+            invalidate(modified);
+            return modified;
+        } finally {
+            // Covers failed writes; pointers left under old identifiers no longer match the user → ignored on read
+            invalidate(User.builder().id(id).build());
+        }
+    }
+
+    @Override
+    public void softDelete(String id) {
+        try {
+            delegate.softDelete(id);
+        } finally {
+            invalidate(User.builder().id(id).build());
+        }
+    }
+
+    // -------------------- Pass-through --------------------
+
+    @Override
+    public List<User> findActivePage(String afterId, int limit) {
+        return delegate.findActivePage(afterId, limit);
+    }
+
+    @Override
+    public void forEachActive(Consumer<User> action) {
+        delegate.forEachActive(action);
+    }
+
+    @Override
+    public long estimateActiveCount() {
+        return delegate.estimateActiveCount();
+    }
+
+    // Credentials are always read from the database → a changed password takes effect immediately
+    @Override
+    public Optional<User> findLoginByUsername(String username) {
+        return delegate.findLoginByUsername(username);
+    }
+
+    @Override
+    public Optional<User> findLoginByEmail(String email) {
+        return delegate.findLoginByEmail(email);
+    }
+
+    @Override
+    public Optional<User> findLoginByPhoneNumber(String phoneNumber) {
+        return delegate.findLoginByPhoneNumber(phoneNumber);
+    }
+
+    // Cached users carry no password hash → nothing to invalidate
+    @Override
+    public void rehashPassword(String id, String encodedPassword) {
+        delegate.rehashPassword(id, encodedPassword);
+    }
+
+    @Override
+    public List<User> searchActiveUsers(UserSearchCriteria criteria, UserSearchCursor after, int limit) {
+        return delegate.searchActiveUsers(criteria, after, limit);
+    }
+
+    // ------------------ Helper Methods ------------------
+
+    private Optional<User> findByIdentifier(String prefix, String value,
+                                            Function<User, String> field,
+                                            Function<String, Optional<User>> loader) {
+        if (value == null) {
+            return loader.apply(null);
+        }
+
+        Object id = lookup(prefix + value);
+        if (id != null) {
+            User cached = lookupUser(ID_PREFIX + id);
+            // The pointer may outlive a rename → only trust it if the user still carries the identifier
+            if (cached != null && value.equals(field.apply(cached))) {
+                return Optional.of(copy(cached));
+            }
+        }
+        return load(() -> loader.apply(value));
+    }
+
+    private Optional<User> load(Supplier<Optional<User>> loader) {
+        long observedGeneration = generation.get();
+        // A lagging replica could hand back a row older than the last invalidation and pin it for the whole TTL
+        Optional<User> loaded = ReplicaRoutingDataSource.onPrimary(loader);
+        loaded.ifPresent(user -> store(user, observedGeneration));
+        return loaded.map(CachingUserRepositoryAdapter::copy);
+    }
+
+    private List<User> loadAll(Supplier<List<User>> loader) {
+        long observedGeneration = generation.get();
+        List<User> loaded = ReplicaRoutingDataSource.onPrimary(loader);
+        loaded.forEach(user -> store(user, observedGeneration));
+        return loaded.stream().map(CachingUserRepositoryAdapter::copy).toList();
+    }
+
+    /** Caches a user read at {@code observedGeneration}, unless an invalidation has happened since. */
+    private void store(User user, long observedGeneration) {
+        if (user.getId() == null) return;
+
+        String idKey = ID_PREFIX + user.getId();
+        if (!putLocalIfCurrent(idKey, copy(user), observedGeneration)) return;
+        if (shared != null) {
+            shared.put(idKey, copy(user));
+            // The shared tier has no compare-and-put → an invalidation that landed in between evicts it again here
+            if (generation.get() != observedGeneration) {
+                shared.evict(idKey);
+            }
+        }
+        // Pointers are checked against the cached user on read → a stale one only costs a load
+        if (user.getUsername() != null) put(USERNAME_PREFIX + user.getUsername(), user.getId());
+        if (user.getEmail() != null) put(EMAIL_PREFIX + user.getEmail(), user.getId());
+        if (user.getPhoneNumber() != null) put(PHONE_PREFIX + user.getPhoneNumber(), user.getId());
+    }
+
+    /**
+     * Compare-and-put: the generation check runs under the entry's lock. {@link #invalidate} bumps the generation
+     * before it evicts, so a put either sees the bump and is skipped or lands before the eviction and is removed by it.
+     */
+    private boolean putLocalIfCurrent(String key, Object value, long observedGeneration) {
+        boolean[] stored = new boolean[1];
+        local.asMap().compute(key, (k, current) -> {
+            if (generation.get() != observedGeneration) return current;
+            stored[0] = true;
+            return value;
+        });
+        return stored[0];
+    }
+
+    private void invalidate(User user) {
+        if (user == null || user.getId() == null) return;
+
+        generation.incrementAndGet();
+        evict(ID_PREFIX + user.getId());
+        if (user.getUsername() != null) evict(USERNAME_PREFIX + user.getUsername());
+        if (user.getEmail() != null) evict(EMAIL_PREFIX + user.getEmail());
+        if (user.getPhoneNumber() != null) evict(PHONE_PREFIX + user.getPhoneNumber());
+    }
+
+    private User lookupUser(String key) {
+        return lookup(key) instanceof User user ? user : null;
+    }
+
+    private Object lookup(String key) {
+        Object value = local.getIfPresent(key);
+        if (value != null || shared == null) {
+            return value;
+        }
+
+        long observedGeneration = generation.get();
+        org.springframework.cache.Cache.ValueWrapper wrapper = shared.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            sharedMisses.increment();
+            return null;
+        }
+        sharedHits.increment();
+        // Same race as a database load: the shared entry may have been evicted right after it was read
+        putLocalIfCurrent(key, wrapper.get(), observedGeneration);
+        return wrapper.get();
+    }
+
+    private void put(String key, Object value) {
+        local.put(key, value);
+        if (shared != null) {
+            shared.put(key, value);
+        }
+    }
+
+    private void evict(String key) {
+        local.invalidate(key);
+        if (shared != null) {
+            shared.evict(key);
+        }
+    }
+
+    /** Callers mutate the users they get back → never hand out or keep the cached instance itself. */
+    private static User copy(User user) {
+        return user.toBuilder().build();
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static org.springframework.cache.Cache resolveSharedCache(CacheManager cacheManager) {
+        if (cacheManager == null) {
+            log.warn("user.cache.shared.enabled=true but no CacheManager is configured; using the local tier only");
+            return null;
+        }
+        return Objects.requireNonNull(cacheManager.getCache(CACHE_NAME),
+                () -> "CacheManager has no cache named '" + CACHE_NAME + "'");
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the primary.
+ * <p>
+ * A background probe runs {@code lagQuery} against every replica each {@code checkInterval}. A replica that lags
+ * more than {@code maxLag}, or cannot be reached, gets no reads until a later probe finds it caught up. If no replica
+ * is usable, reads fall back to the primary.
+ * <p>
+ * Read-your-writes: after a read-write transaction, the writing principal reads from the primary for
+ * {@code readYourWritesWindow}. A PATCH followed by a GET therefore sees its own change, even though the replicas
+ * apply it later. A request without a principal (e.g. login) is keyed by its correlation id, which a client can
+ * carry over to its follow-up request; work outside a request (startup jobs, the outbox relay) is not tracked.
+ * Neither sends other anonymous callers to the primary. Code that must never see replica lag (credential checks,
+ * cache fills) runs in {@link #onPrimary(Supplier)}.
+ * <p>
+ * Must sit behind a {@link LazyConnectionDataSourceProxy}. The transaction manager asks for a connection before
+ * the transaction's read-only flag is published, and the proxy defers the physical connection (and so the routing
+ * decision) until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+    static final String REASON_WRITE = "write";
+    static final String REASON_READ = "read";
+    static final String REASON_READ_YOUR_WRITES = "read-your-writes";
+    static final String REASON_PINNED = "pinned";
+    static final String REASON_REPLICA_UNAVAILABLE = "replica-unavailable";
+
+    // Put in the MDC by ObservabilityFilter for every request
+    static final String CORRELATION_ID_MDC_KEY = "correlationId";
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final Duration checkInterval;
+    // Principal name, or AnonymousWriter for a request without one
+    private final Cache<Object, Boolean> recentWriters;
+    private final Map<String, Counter> routeCounters = new HashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private ScheduledExecutorService lagProbe;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, DataSource> replicas,
+                                    Duration maxLag,
+                                    String lagQuery,
+                                    Duration checkInterval,
+                                    Duration readYourWritesWindow,
+                                    MeterRegistry meterRegistry) {
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.checkInterval = checkInterval;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            this.replicas.add(new Replica(name, dataSource));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        // user.datasource.route{route=primary|<replica>, reason=...}
+        registerRoute(meterRegistry, PRIMARY, REASON_WRITE);
+        registerRoute(meterRegistry, PRIMARY, REASON_READ_YOUR_WRITES);
+        registerRoute(meterRegistry, PRIMARY, REASON_PINNED);
+        registerRoute(meterRegistry, PRIMARY, REASON_REPLICA_UNAVAILABLE);
+        for (Replica replica : this.replicas) {
+            registerRoute(meterRegistry, replica.name, REASON_READ);
+            Gauge.builder("user.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag seen by the last probe (NaN when the replica is unreachable)")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("user.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("1 while the replica receives reads, 0 while it lags or is unreachable")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /** Runs {@code work} against the primary, whatever its transactions' read-only flag. */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            return work.get();
+        }
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PINNED_TO_PRIMARY.remove();
+        }
+    }
+
+    /** Availability and last probed lag of every replica, in configuration order. */
+    public List<ReplicaState> replicaStates() {
+        return replicas.stream().map(r -> new ReplicaState(r.name, r.available, r.lagSeconds)).toList();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (replicas.isEmpty()) {
+            log.warn("Replica routing enabled without replicas; every query goes to the primary");
+            return;
+        }
+        probeReplicas();
+        lagProbe = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagProbe.scheduleWithFixedDelay(this::probeReplicas,
+                checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Routing read-only transactions to replicas {} (maxLag={}, checkInterval={})",
+                replicas.stream().map(r -> r.name).toList(), maxLag, checkInterval);
+    }
+
+    @Override
+    public void destroy() {
+        if (lagProbe != null) {
+            lagProbe.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica {}: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // Outside a transaction (Flyway, JdbcTemplate, health checks) the intent is unknown → primary
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Object writer = writer();
+            if (writer != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recentWriters.put(writer, Boolean.TRUE);
+            }
+            return route(PRIMARY, REASON_WRITE);
+        }
+        if (Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            return route(PRIMARY, REASON_PINNED);
+        }
+        Object writer = writer();
+        if (writer != null && recentWriters.getIfPresent(writer) != null) {
+            return route(PRIMARY, REASON_READ_YOUR_WRITES);
+        }
+
+        // Round-robin over the replicas that passed their last probe
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return route(replica.name, REASON_READ);
+            }
+        }
+        return route(PRIMARY, REASON_REPLICA_UNAVAILABLE);
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    void probeReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                double lag = rs.next() ? rs.getDouble(1) : 0;
+                replica.lagSeconds = lag;
+                replica.available = lag * 1000 <= maxLag.toMillis();
+                if (wasAvailable && !replica.available) {
+                    log.warn("Replica {} lags {} s (max {}); reads go elsewhere until it catches up",
+                            replica.name, lag, maxLag);
+                }
+            } catch (Exception e) {
+                replica.lagSeconds = Double.NaN;
+                replica.available = false;
+                if (wasAvailable) {
+                    log.warn("Replica {} is unreachable; reads go elsewhere: {}", replica.name, e.getMessage());
+                }
+            }
+            if (!wasAvailable && replica.available) {
+                log.info("Replica {} is serving reads (lag {} s)", replica.name, replica.lagSeconds);
+            }
+        }
+    }
+
+    private String route(String target, String reason) {
+        Counter counter = routeCounters.get(target + '|' + reason);
+        if (counter != null) {
+            counter.increment();
+        }
+        return target;
+    }
+
+    private void registerRoute(MeterRegistry meterRegistry, String target, String reason) {
+        routeCounters.put(target + '|' + reason, Counter.builder("user.datasource.route")
+                .description("Connections handed out per target database and routing reason")
+                .tags("route", target, "reason", reason)
+                .register(meterRegistry));
+    }
+
+    /** Null when the work cannot be told apart from other anonymous work → it gets no read-your-writes slot. */
+    private static Object writer() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getName() != null) {
+            return authentication.getName();
+        }
+        String correlationId = MDC.get(CORRELATION_ID_MDC_KEY);
+        return correlationId != null ? new AnonymousWriter(correlationId) : null;
+    }
+
+    /** @param lagSeconds NaN while the replica is unreachable or not probed yet */
+    public record ReplicaState(String name, boolean available, double lagSeconds) {}
+
+    // A type of its own → can never collide with a username
+    private record AnonymousWriter(String correlationId) {}
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile double lagSeconds = Double.NaN;
+        private volatile boolean available;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -11,22 +11,54 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.Builder.Default;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+// Schema is owned by the Flyway migrations in db/migration; Hibernate only validates it
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = UserEntity.UK_USERNAME, columnNames = "username")
+})
+// UPDATE lists only the columns that changed → a name edit does not rewrite credentials or touch their indexes
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserEntity {
 
+    // Named so duplicate-key violations can be mapped back to the offending field
+    public static final String UK_USERNAME = "uk_users_username";
+    public static final String UX_EMAIL_ACTIVE = "ux_users_email_active";
+    // Unique among active users (V8__unique_active_phone_number.sql)
+    public static final String UX_PHONE_ACTIVE = "ux_users_phone_number_active";
+
+    // Partial indexes (WHERE active = true) created by V2__active_user_indexes.sql
+    public static final String IX_LOGIN_USERNAME = "ix_users_login_username";
+    public static final String IX_ACTIVE_ID = "ix_users_active_id";
+
+    // Case-insensitive / prefix search (V4__user_search_indexes.sql)
+    public static final String IX_USERNAME_LOWER = "ix_users_username_lower";
+    public static final String IX_EMAIL_LOWER = "ix_users_email_lower";
+    public static final String IX_PHONE_NUMBER_PREFIX = "ix_users_phone_number_prefix";
+
+    // Full-text / trigram search (V5__user_full_text_search.sql); search_vector is a generated column, not mapped
+    public static final String IX_SEARCH_VECTOR = "ix_users_search_vector";
+    public static final String IX_SEARCH_TEXT_TRGM = "ix_users_search_text_trgm";
+
+    // Sequence behind the id column; its INCREMENT BY must match the allocation size
+    public static final String ID_SEQUENCE = "users_id_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence (V3): ids are known before the INSERT, so Hibernate can batch inserts
+    // and only calls nextval once per ID_ALLOCATION_SIZE rows
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
     @Column(nullable = false)
@@ -35,7 +67,7 @@ public class UserEntity {
     @Column(nullable = false)
     private String lastName;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
@@ -75,6 +107,11 @@ public class UserEntity {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // Optimistic lock (V7): a write based on a stale read fails instead of overwriting a concurrent one
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
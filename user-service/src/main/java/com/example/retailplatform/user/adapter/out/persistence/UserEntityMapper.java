@@ -10,10 +10,13 @@ public class UserEntityMapper {
 
     private static final Logger log = LoggerFactory.getLogger(UserEntityMapper.class);
 
+    // Fields are handed to SLF4J as arguments → nothing is formatted unless DEBUG is on
+    private static final String FIELDS = "{}: id={}, username={}, firstName={}, lastName={}, email={}, phone={}, status={}, role={}, active={}, passwordChangeRequired={}";
+
     public User toModel(UserEntity entity) {
         if (entity == null) return null;
 
-        log.debug("toModel - entity: {}", toLogString(entity));
+        debug("toModel - entity", entity);
 
         User user = User.builder()
                 .id(entity.getId() != null ? entity.getId().toString() : null)
@@ -24,12 +27,32 @@ public class UserEntityMapper {
                 .phoneNumber(entity.getPhoneNumber())
                 .status(entity.getStatus())
                 .role(entity.getRole())
-                .password(entity.getPassword()) // <-- Add this line to set password
+                // No password → the hash only leaves the database through the login projection
                 .active(entity.isActive())
                 .passwordChangeRequired(entity.isPasswordChangeRequired())
                 .build();
 
-        log.debug("toModel - mapped user: {}", toLogString(user));
+        debug("toModel - mapped user", user);
+        return user;
+    }
+
+    public User toModel(UserJpaRepository.UserView view) {
+        if (view == null) return null;
+
+        User user = User.builder()
+                .id(view.getId() != null ? view.getId().toString() : null)
+                .firstName(view.getFirstName())
+                .lastName(view.getLastName())
+                .username(view.getUsername())
+                .email(view.getEmail())
+                .phoneNumber(view.getPhoneNumber())
+                .status(view.getStatus())
+                .role(view.getRole())
+                .active(view.isActive())
+                .passwordChangeRequired(view.isPasswordChangeRequired())
+                .build();
+
+        debug("toModel - mapped view", user);
         return user;
     }
 
@@ -50,12 +73,12 @@ public class UserEntityMapper {
                 .passwordChangeRequired(defaultTrue(user.getPasswordChangeRequired()))
                 .build();
 
-        log.debug("toEntity - mapped entity: {}", toLogString(entity));
+        debug("toEntity - mapped entity", entity);
         return entity;
     }
 
     public void updateEntityFromModel(User user, UserEntity entity) {
-        log.debug("updateEntityFromModel - before update: {}", toLogString(entity));
+        debug("updateEntityFromModel - before update", entity);
 
         copyIfNotNull(user.getFirstName(), entity::setFirstName);
         copyIfNotNull(user.getLastName(), entity::setLastName);
@@ -70,9 +93,10 @@ public class UserEntityMapper {
             entity.setPassword(user.getPassword());
         }
 
-        entity.setPasswordChangeRequired(user.getPasswordChangeRequired() != null ? user.getPasswordChangeRequired() : true);
+        // Left alone when absent → an unchanged value is not dirty and stays out of the dynamic UPDATE
+        copyIfNotNull(user.getPasswordChangeRequired(), entity::setPasswordChangeRequired);
 
-        log.debug("updateEntityFromModel - after update: {}", toLogString(entity));
+        debug("updateEntityFromModel - after update", entity);
     }
 
     private Long parseId(String id) {
@@ -91,17 +115,25 @@ public class UserEntityMapper {
         if (value != null) setter.accept(value);
     }
 
-    private String toLogString(UserEntity entity) {
-        if (entity == null) return "null";
-        return String.format("id=%s, username=%s, firstName=%s, lastName=%s, email=%s, phone=%s, status=%s, role=%s, active=%s, passwordChangeRequired=%s",
-                entity.getId(), entity.getUsername(), entity.getFirstName(), entity.getLastName(), entity.getEmail(),
-                entity.getPhoneNumber(), entity.getStatus(), entity.getRole(), entity.isActive(), entity.isPasswordChangeRequired());
+    private void debug(String event, UserEntity entity) {
+        if (!log.isDebugEnabled()) return;
+        if (entity == null) {
+            log.debug("{}: null", event);
+            return;
+        }
+        log.debug(FIELDS, event, entity.getId(), entity.getUsername(), entity.getFirstName(), entity.getLastName(),
+                entity.getEmail(), entity.getPhoneNumber(), entity.getStatus(), entity.getRole(), entity.isActive(),
+                entity.isPasswordChangeRequired());
     }
 
-    private String toLogString(User user) {
-        if (user == null) return "null";
-        return String.format("id=%s, username=%s, firstName=%s, lastName=%s, email=%s, phone=%s, status=%s, role=%s, active=%s, passwordChangeRequired=%s",
-                user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(), user.getEmail(),
-                user.getPhoneNumber(), user.getStatus(), user.getRole(), user.getActive(), user.getPasswordChangeRequired());
+    private void debug(String event, User user) {
+        if (!log.isDebugEnabled()) return;
+        if (user == null) {
+            log.debug("{}: null", event);
+            return;
+        }
+        log.debug(FIELDS, event, user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+                user.getEmail(), user.getPhoneNumber(), user.getStatus(), user.getRole(), user.getActive(),
+                user.getPasswordChangeRequired());
     }
 }
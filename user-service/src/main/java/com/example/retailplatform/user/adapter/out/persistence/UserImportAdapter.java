@@ -0,0 +1,163 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.ResourceAlreadyExistsException;
+import com.example.retailplatform.user.domain.model.BulkInsertOutcome;
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+import com.example.retailplatform.user.domain.port.out.UserImportPort;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Chunked user inserts for bulk imports.
+ * <p>
+ * The chunk's keys go into a session-local staging table and are checked against {@code users} with one query per
+ * unique field, instead of one conflict probe per user. The surviving users are persisted through JPA: ids come
+ * from the pooled {@code users_id_seq} and {@code hibernate.jdbc.batch_size} groups the INSERTs. Their CREATED
+ * events go to {@code user_outbox} in one JDBC batch of the same transaction, as {@link UserRepositoryAdapter#save}
+ * does for a single user.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserImportAdapter implements UserImportPort {
+
+    // Cleared on commit → every chunk starts from an empty table on whichever pooled connection it gets
+    static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE IF NOT EXISTS user_import_keys (
+                idx          INT          NOT NULL,
+                username     VARCHAR(255),
+                email        VARCHAR(255),
+                phone_number VARCHAR(255),
+                active       BOOLEAN      NOT NULL
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    static final String INSERT_STAGING_ROW =
+            "INSERT INTO user_import_keys (idx, username, email, phone_number, active) VALUES (?, ?, ?, ?, ?)";
+
+    // Same rules as UserJpaRepository#findConflicts: username is unique globally, email / phone among active users
+    static final String FIND_CONFLICTS = """
+            SELECT k.idx, 'username' AS field FROM user_import_keys k
+             WHERE EXISTS (SELECT 1 FROM users u WHERE u.username = k.username)
+            UNION ALL
+            SELECT k.idx, 'email' FROM user_import_keys k
+             WHERE k.active AND EXISTS (SELECT 1 FROM users u WHERE u.active AND u.email = k.email)
+            UNION ALL
+            SELECT k.idx, 'phoneNumber' FROM user_import_keys k
+             WHERE k.active AND EXISTS (SELECT 1 FROM users u WHERE u.active AND u.phone_number = k.phone_number)
+            """;
+
+    // Reported in a stable order: username → email → phone
+    private static final List<String> FIELD_PRECEDENCE =
+            List.of(UserConstants.FIELD_USERNAME, UserConstants.FIELD_EMAIL, UserConstants.FIELD_PHONE);
+
+    private final UserJpaRepository jpaRepository;
+    private final UserEntityMapper entityMapper;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserOutbox outbox;
+
+    @Override
+    @Transactional
+    public BulkInsertOutcome insertAll(List<User> users) {
+        String[] conflicts = findConflicts(users);
+
+        List<UserEntity> entities = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            if (conflicts[i] == null) {
+                entities.add(entityMapper.toEntity(users.get(i)));
+            }
+        }
+
+        try {
+            jpaRepository.saveAll(entities);
+            jpaRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // Only a unique index can be cured by redoing the chunk row by row; NOT NULL, length or FK failures
+            // fail the chunk with their own cause
+            String field = UserRepositoryAdapter.conflictingField(e);
+            if (field == null) throw e;
+            throw new ResourceAlreadyExistsException("User", field, null, UserConstants.USER_ALREADY_EXISTS_KEY);
+        }
+        outbox.appendAll(UserChangeEvent.Type.CREATED, entities, false);
+        // Nothing of the chunk is read back → keep the persistence context from growing across chunks
+        entityManager.clear();
+
+        String[] ids = new String[users.size()];
+        int next = 0;
+        for (int i = 0; i < users.size(); i++) {
+            if (conflicts[i] == null) {
+                ids[i] = String.valueOf(entities.get(next++).getId());
+            }
+        }
+        return new BulkInsertOutcome(ids, conflicts);
+    }
+
+    // ------------------ Helper Methods ------------------
+
+    private String[] findConflicts(List<User> users) {
+        String[] conflicts = new String[users.size()];
+        markDuplicatesWithinChunk(users, conflicts);
+
+        List<Object[]> keys = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            if (conflicts[i] != null) continue;
+            User user = users.get(i);
+            keys.add(new Object[]{i, user.getUsername(), user.getEmail(), user.getPhoneNumber(), isActive(user)});
+        }
+        if (keys.isEmpty()) {
+            return conflicts;
+        }
+
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+        jdbcTemplate.batchUpdate(INSERT_STAGING_ROW, keys);
+        jdbcTemplate.query(FIND_CONFLICTS, rs -> {
+            int idx = rs.getInt(1);
+            String field = rs.getString(2);
+            if (conflicts[idx] == null
+                    || FIELD_PRECEDENCE.indexOf(field) < FIELD_PRECEDENCE.indexOf(conflicts[idx])) {
+                conflicts[idx] = field;
+            }
+        });
+        return conflicts;
+    }
+
+    /** Later rows repeating a key of an earlier row in the same chunk lose; the first one goes on to the DB check. */
+    private static void markDuplicatesWithinChunk(List<User> users, String[] conflicts) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> phoneNumbers = new HashSet<>();
+
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            boolean active = isActive(user);
+            if (usernames.contains(user.getUsername())) {
+                conflicts[i] = UserConstants.FIELD_USERNAME;
+            } else if (active && emails.contains(user.getEmail())) {
+                conflicts[i] = UserConstants.FIELD_EMAIL;
+            } else if (active && phoneNumbers.contains(user.getPhoneNumber())) {
+                conflicts[i] = UserConstants.FIELD_PHONE;
+            } else {
+                usernames.add(user.getUsername());
+                if (active) {
+                    emails.add(user.getEmail());
+                    phoneNumbers.add(user.getPhoneNumber());
+                }
+            }
+        }
+    }
+
+    private static boolean isActive(User user) {
+        return user.getActive() == null || user.getActive();
+    }
+}
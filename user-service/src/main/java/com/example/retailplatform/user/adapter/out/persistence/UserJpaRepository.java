@@ -1,51 +1,116 @@
 package com.example.retailplatform.user.adapter.out.persistence;
 
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface UserJpaRepository extends JpaRepository<UserEntity, Long> {
+// Search → UserSearchRepository (Criteria-built, only the predicates a request sets)
+public interface UserJpaRepository extends JpaRepository<UserEntity, Long>, UserSearchRepository {
+
+    // Read model → only the columns a response needs: no password hash, no audit columns, no managed entity
+    String SELECT_USER_VIEW = "SELECT u.id AS id, u.username AS username, u.firstName AS firstName, "
+            + "u.lastName AS lastName, u.email AS email, u.phoneNumber AS phoneNumber, u.status AS status, "
+            + "u.role AS role, u.active AS active, u.passwordChangeRequired AS passwordChangeRequired "
+            + "FROM UserEntity u ";
 
     // For service lookups → active users only
-    @Query("SELECT u FROM UserEntity u WHERE u.username = :username AND u.active = true")
-    Optional<UserEntity> findActiveByUsername(@Param("username") String username);
+    @Query(SELECT_USER_VIEW + "WHERE u.username = :username AND u.active = true")
+    Optional<UserView> findActiveByUsername(@Param("username") String username);
 
-    @Query("SELECT u FROM UserEntity u WHERE u.email = :email AND u.active = true")
-    Optional<UserEntity> findActiveByEmail(@Param("email") String email);
+    @Query(SELECT_USER_VIEW + "WHERE u.email = :email AND u.active = true")
+    Optional<UserView> findActiveByEmail(@Param("email") String email);
 
-    @Query("SELECT u FROM UserEntity u WHERE u.phoneNumber = :phoneNumber AND u.active = true")
-    Optional<UserEntity> findActiveByPhoneNumber(@Param("phoneNumber") String phoneNumber);
+    @Query(SELECT_USER_VIEW + "WHERE u.phoneNumber = :phoneNumber AND u.active = true")
+    Optional<UserView> findActiveByPhoneNumber(@Param("phoneNumber") String phoneNumber);
 
-    @Query("SELECT u FROM UserEntity u WHERE u.active = true")
-    List<UserEntity> findAllActive();
+    @Query(SELECT_USER_VIEW + "WHERE u.id = :id AND u.active = true")
+    Optional<UserView> findActiveViewById(@Param("id") Long id);
 
-    @Query("SELECT u FROM UserEntity u WHERE u.id = :id AND u.active = true")
-    Optional<UserEntity> findActiveById(@Param("id") Long id);
+    // Callers pad the list → see UserRepositoryAdapter#padded
+    @Query(SELECT_USER_VIEW + "WHERE u.id IN :ids AND u.active = true")
+    List<UserView> findActiveViewsByIds(@Param("ids") Collection<Long> ids);
+
+    interface UserView {
+        Long getId();
+        String getUsername();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        String getPhoneNumber();
+        Status getStatus();
+        Role getRole();
+        boolean isActive();
+        boolean isPasswordChangeRequired();
+    }
+
+    // Login projection → answered from the covering partial indexes without touching the table
+    @Query("SELECT u.username AS username, u.password AS password, u.role AS role, u.status AS status "
+            + "FROM UserEntity u WHERE u.username = :username AND u.active = true")
+    Optional<LoginView> findLoginByUsername(@Param("username") String username);
+
+    @Query("SELECT u.username AS username, u.password AS password, u.role AS role, u.status AS status "
+            + "FROM UserEntity u WHERE u.email = :email AND u.active = true")
+    Optional<LoginView> findLoginByEmail(@Param("email") String email);
 
-    // For uniqueness check (global username, including inactive users)
-    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM UserEntity u WHERE u.username = :username")
-    boolean existsByUsername(@Param("username") String username);
+    @Query("SELECT u.username AS username, u.password AS password, u.role AS role, u.status AS status "
+            + "FROM UserEntity u WHERE u.phoneNumber = :phoneNumber AND u.active = true")
+    Optional<LoginView> findLoginByPhoneNumber(@Param("phoneNumber") String phoneNumber);
 
-    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM UserEntity u WHERE u.email = :email AND u.active = true")
-    boolean existsByActiveEmail(@Param("email") String email);
+    interface LoginView {
+        String getUsername();
+        String getPassword();
+        Role getRole();
+        Status getStatus();
+    }
 
-    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM UserEntity u WHERE u.phoneNumber = :phoneNumber AND u.active = true")
-    boolean existsByActivePhoneNumber(@Param("phoneNumber") String phoneNumber);
+    // Keyset pagination → seeks on the primary key instead of OFFSET scans
+    @Query(SELECT_USER_VIEW + "WHERE u.active = true AND u.id > :lastId ORDER BY u.id")
+    List<UserView> findActiveAfter(@Param("lastId") Long lastId, Limit limit);
 
-    // -------------------- ✨ Flexible Search (Dynamic) --------------------
+    // Cursor-backed stream → must be consumed inside a transaction; rows are projections, so nothing is
+    // attached to the persistence context while walking it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_USER_VIEW + "WHERE u.active = true ORDER BY u.id")
+    Stream<UserView> streamAllActive();
+
+    @Query("SELECT COUNT(u) FROM UserEntity u WHERE u.active = true")
+    long countActive();
+
+    // Full entity → only for writes (modify / soft delete)
+    @Query("SELECT u FROM UserEntity u WHERE u.id = :id AND u.active = true")
+    Optional<UserEntity> findActiveById(@Param("id") Long id);
+
+    // Single conflict probe → which of username (global) / email / phone (active users) are already taken
     @Query("""
-        SELECT u FROM UserEntity u
-        WHERE u.active = true
-          AND (:username IS NULL OR u.username = :username)
-          AND (:email IS NULL OR u.email = :email)
-          AND (:phoneNumber IS NULL OR u.phoneNumber = :phoneNumber)
+        SELECT u.id AS id, u.username AS username, u.email AS email, u.phoneNumber AS phoneNumber, u.active AS active
+        FROM UserEntity u
+        WHERE u.id <> :excludeId
+          AND (u.username = :username
+               OR (u.active = true AND (u.email = :email OR u.phoneNumber = :phoneNumber)))
     """)
-    List<UserEntity> searchActiveUsers(
+    List<UniqueFieldsView> findConflicts(
+            @Param("excludeId") Long excludeId,
             @Param("username") String username,
             @Param("email") String email,
             @Param("phoneNumber") String phoneNumber
     );
+
+    interface UniqueFieldsView {
+        Long getId();
+        String getUsername();
+        String getEmail();
+        String getPhoneNumber();
+        boolean isActive();
+    }
 }
@@ -0,0 +1,76 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records user changes in {@code user_outbox} as part of the caller's transaction: the event exists exactly when
+ * the change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserOutbox {
+
+    static final String INSERT_ROW = """
+            INSERT INTO user_outbox (user_id, event_type, revoke_sessions, payload, occurred_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final UserOutboxJpaRepository outboxRepository;
+    private final UserEntityMapper entityMapper;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Call after the user write is flushed → the users row is locked before the outbox id is drawn, so a
+     * concurrent change to the same user always gets the higher id.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(UserChangeEvent.Type type, UserEntity user, boolean revokeSessions) {
+        outboxRepository.save(UserOutboxEntity.builder()
+                .userId(user.getId())
+                .eventType(type)
+                .revokeSessions(revokeSessions)
+                .payload(snapshot(user))
+                .occurredAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * {@link #append} for many users in one JDBC batch, e.g. a bulk import chunk; rows get ids in list order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(UserChangeEvent.Type type, List<UserEntity> users, boolean revokeSessions) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Timestamp occurredAt = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(users.size());
+        for (UserEntity user : users) {
+            rows.add(new Object[]{user.getId(), type.name(), revokeSessions, snapshot(user), occurredAt});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ROW, rows);
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    // toModel never copies the password → the snapshot carries no hash
+    private String snapshot(UserEntity user) {
+        try {
+            return objectMapper.writeValueAsString(entityMapper.toModel(user));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize user " + user.getId() + " for the outbox", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Pending user change event (V6__user_outbox.sql). Rows only live until {@link UserOutboxRelay} publishes them.
+ */
+@Entity
+@Table(name = "user_outbox")
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOutboxEntity {
+
+    // IDENTITY → inserted on persist, so the id is drawn after the users row was flushed
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private UserChangeEvent.Type eventType;
+
+    @Column(nullable = false)
+    private boolean revokeSessions;
+
+    // User snapshot as JSON, without the password hash
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+}
@@ -0,0 +1,6 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserOutboxJpaRepository extends JpaRepository<UserOutboxEntity, Long> {
+}
@@ -0,0 +1,200 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+import com.example.retailplatform.user.domain.port.out.UserEventPublisher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@code user_outbox} rows through the {@link UserEventPublisher} and deletes them once published.
+ * <p>
+ * Each batch runs in one transaction on the primary: take the relay advisory lock (other instances skip the round),
+ * read the oldest {@code batchSize} rows, publish them, delete them. A crash between publish and commit publishes the
+ * batch again → delivery is at-least-once, in id order; consumers dedupe on the event id.
+ * <p>
+ * Rows are deleted by id, never by range: a transaction that drew a lower id may still be in flight and commit
+ * after a higher id was relayed. Per user that cannot happen → the users row lock orders the outbox inserts.
+ * <p>
+ * A row that cannot be turned into an event (unreadable payload, unknown type) would fail every retry and block
+ * the rows behind it, so it is moved to {@code user_outbox_dead_letter} in the same transaction and the batch goes on.
+ */
+@Component
+@ConditionalOnProperty(name = "user.events.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class UserOutboxRelay implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(UserOutboxRelay.class);
+
+    // Arbitrary, but shared by every user-service instance on the database
+    static final long RELAY_LOCK_KEY = 0x75736572_6f757462L;
+
+    static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(?)";
+    static final String SELECT_BATCH = """
+            SELECT id, event_type, revoke_sessions, payload, occurred_at
+            FROM user_outbox
+            ORDER BY id
+            LIMIT ?
+            """;
+    static final String DELETE_ONE = "DELETE FROM user_outbox WHERE id = ?";
+    static final String DEAD_LETTER_ONE = """
+            INSERT INTO user_outbox_dead_letter
+                (id, user_id, event_type, revoke_sessions, payload, occurred_at, error, failed_at)
+            SELECT id, user_id, event_type, revoke_sessions, payload, occurred_at, ?, CURRENT_TIMESTAMP
+            FROM user_outbox
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserEventPublisher publisher;
+    private final ObjectMapper objectMapper;
+    private final Duration interval;
+    private final int batchSize;
+    private final Counter published;
+    private final Counter failures;
+    private final Counter deadLettered;
+    private ScheduledExecutorService relay;
+
+    public UserOutboxRelay(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           UserEventPublisher publisher,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${user.events.relay.interval:PT1S}") Duration interval,
+                           @Value("${user.events.relay.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publisher = publisher;
+        this.objectMapper = objectMapper;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.published = Counter.builder("user.events.published")
+                .description("User change events handed to the broker")
+                .register(meterRegistry);
+        this.failures = Counter.builder("user.events.relay.failures")
+                .description("Relay rounds that failed and will be retried")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("user.events.dead-lettered")
+                .description("Outbox rows that could not be read and were moved to user_outbox_dead_letter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relay.scheduleWithFixedDelay(this::drain, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Relaying user change events every {} in batches of {}", interval, batchSize);
+    }
+
+    @Override
+    public void destroy() {
+        if (relay != null) {
+            relay.shutdownNow();
+        }
+    }
+
+    /** Relays full batches back to back → a burst drains in one round instead of one batch per interval. */
+    void drain() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            // Rows stay in the outbox → retried next round
+            failures.increment();
+            log.warn("User outbox relay failed, retrying in {}: {}", interval, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns how many rows left the outbox (published or dead-lettered), 0 when the outbox is empty or another
+     * instance holds the lock.
+     */
+    int relayBatch() {
+        // [published, dead-lettered] → counted once the transaction commits, not on a rolled-back attempt
+        int[] counts = new int[2];
+        Integer relayed = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class, RELAY_LOCK_KEY))) {
+                return 0;
+            }
+
+            List<OutboxRow> rows = jdbcTemplate.query(SELECT_BATCH, this::toRow, batchSize);
+            if (rows.isEmpty()) return 0;
+
+            List<UserChangeEvent> events = new ArrayList<>(rows.size());
+            for (OutboxRow row : rows) {
+                if (row.event() != null) {
+                    events.add(row.event());
+                } else {
+                    deadLetter(row);
+                    counts[1]++;
+                }
+            }
+
+            if (!events.isEmpty()) {
+                publisher.publish(events);
+                jdbcTemplate.batchUpdate(DELETE_ONE, events.stream()
+                        .map(event -> new Object[]{event.sequence()})
+                        .toList());
+            }
+            counts[0] = events.size();
+            return rows.size();
+        });
+        published.increment(counts[0]);
+        deadLettered.increment(counts[1]);
+        return relayed != null ? relayed : 0;
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    /** Either the event, or why the row could not become one. */
+    private record OutboxRow(long id, UserChangeEvent event, String error) {
+    }
+
+    private OutboxRow toRow(ResultSet rs, int rowNum) throws SQLException {
+        long id = rs.getLong("id");
+        try {
+            UserChangeEvent event = new UserChangeEvent(
+                    id,
+                    UserChangeEvent.Type.valueOf(rs.getString("event_type")),
+                    objectMapper.readValue(rs.getString("payload"), User.class),
+                    rs.getBoolean("revoke_sessions"),
+                    rs.getTimestamp("occurred_at").toInstant());
+            return new OutboxRow(id, event, null);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return new OutboxRow(id, null, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private void deadLetter(OutboxRow row) {
+        jdbcTemplate.update(DEAD_LETTER_ONE, row.error(), row.id());
+        jdbcTemplate.update(DELETE_ONE, row.id());
+        log.error("Moved unreadable user_outbox row {} to user_outbox_dead_letter: {}", row.id(), row.error());
+    }
+}
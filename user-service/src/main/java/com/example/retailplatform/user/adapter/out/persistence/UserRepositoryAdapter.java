@@ -1,111 +1,206 @@
 package com.example.retailplatform.user.adapter.out.persistence;
 
 import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.ConcurrentUpdateException;
 import com.example.retailplatform.user.domain.exception.ResourceAlreadyExistsException;
 import com.example.retailplatform.user.domain.exception.ResourceNotFoundException;
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
 import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
+import com.example.retailplatform.user.domain.model.UserSearchCursor;
 import com.example.retailplatform.user.domain.port.out.UserRepositoryPort;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class UserRepositoryAdapter implements UserRepositoryPort {
 
+    // Ids are positive → "exclude nobody" without an IS NULL branch in the conflict query
+    private static final Long NO_ID = -1L;
+
+    // Postgres unique_violation, and the unique indexes it can name
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final Map<String, String> FIELD_BY_UNIQUE_INDEX = Map.of(
+            UserEntity.UK_USERNAME, UserConstants.FIELD_USERNAME,
+            UserEntity.UX_EMAIL_ACTIVE, UserConstants.FIELD_EMAIL,
+            UserEntity.UX_PHONE_ACTIVE, UserConstants.FIELD_PHONE);
+
     private final UserJpaRepository jpaRepository;
     private final UserEntityMapper entityMapper;
+    private final UserOutbox outbox;
+
+    @Value("${user.uniqueness.precheck.enabled:true}")
+    private boolean uniquenessPrecheckEnabled;
+
+    @Value("${user.count-estimate.ttl:PT30S}")
+    private Duration countEstimateTtl;
+
+    private final AtomicBoolean countRefreshing = new AtomicBoolean();
+    private volatile CountSnapshot activeCount;
 
+    // Writes run in one read-write transaction → conflict probe, INSERT / UPDATE and outbox row all hit the primary
     @Override
+    @Transactional
     public User save(User user) {
-        // Check uniqueness before saving
-        checkUniqueFields(user);
+        ensureNoConflicts(user, null);
 
         UserEntity entity = entityMapper.toEntity(user);
-        UserEntity saved = jpaRepository.save(entity);
+        UserEntity saved = saveAndFlush(entity, user);
+        outbox.append(UserChangeEvent.Type.CREATED, saved, false);
         return entityMapper.toModel(saved);
     }
 
     @Override
-    public List<User> findAllActive() {
-        return jpaRepository.findAllActive()
+    @Transactional(readOnly = true)
+    public List<User> findActivePage(String afterId, int limit) {
+        Long lastId = afterId == null ? 0L : parseId(afterId);
+        return jpaRepository.findActiveAfter(lastId, Limit.of(limit))
                 .stream()
                 .map(entityMapper::toModel)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void forEachActive(Consumer<User> action) {
+        try (Stream<UserJpaRepository.UserView> views = jpaRepository.streamAllActive()) {
+            views.forEach(view -> action.accept(entityMapper.toModel(view)));
+        }
+    }
+
+    @Override
+    public long estimateActiveCount() {
+        CountSnapshot snapshot = activeCount;
+        boolean stale = snapshot == null || snapshot.isOlderThan(countEstimateTtl);
+
+        // One caller refreshes; everyone else keeps serving the previous value
+        if (stale && countRefreshing.compareAndSet(false, true)) {
+            try {
+                snapshot = new CountSnapshot(jpaRepository.countActive(), System.nanoTime());
+                activeCount = snapshot;
+            } finally {
+                countRefreshing.set(false);
+            }
+        }
+        return snapshot != null ? snapshot.value() : jpaRepository.countActive();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<User> findActiveById(String id) {
-        return jpaRepository.findActiveById(parseId(id))
+        return jpaRepository.findActiveViewById(parseId(id))
                 .map(entityMapper::toModel);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<User> findActiveByIds(Collection<String> ids) {
+        if (ids.isEmpty()) return List.of();
+        List<Long> pks = ids.stream().map(this::parseId).toList();
+        return jpaRepository.findActiveViewsByIds(padded(pks))
+                .stream()
+                .map(entityMapper::toModel)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<User> findActiveByUsername(String username) {
         return jpaRepository.findActiveByUsername(username)
                 .map(entityMapper::toModel);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findActiveByEmail(String email) {
         return jpaRepository.findActiveByEmail(email)
                 .map(entityMapper::toModel);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findActiveByPhoneNumber(String phoneNumber) {
         return jpaRepository.findActiveByPhoneNumber(phoneNumber)
                 .map(entityMapper::toModel);
     }
 
+    // Credentials never come from a replica → a changed password or a new user can log in at once
     @Override
-    public boolean existsByUsername(String username) {
-        return jpaRepository.existsByUsername(username);
+    public Optional<User> findLoginByUsername(String username) {
+        return ReplicaRoutingDataSource.onPrimary(
+                () -> jpaRepository.findLoginByUsername(username).map(this::toLoginModel));
     }
 
     @Override
-    public boolean existsByActiveEmail(String email) {
-        return jpaRepository.existsByActiveEmail(email);
+    public Optional<User> findLoginByEmail(String email) {
+        return ReplicaRoutingDataSource.onPrimary(
+                () -> jpaRepository.findLoginByEmail(email).map(this::toLoginModel));
     }
 
     @Override
-    public boolean existsByActivePhoneNumber(String phoneNumber) {
-        return jpaRepository.existsByActivePhoneNumber(phoneNumber);
+    public Optional<User> findLoginByPhoneNumber(String phoneNumber) {
+        return ReplicaRoutingDataSource.onPrimary(
+                () -> jpaRepository.findLoginByPhoneNumber(phoneNumber).map(this::toLoginModel));
     }
 
+    /**
+     * One SELECT for the entity, the conflict probe only when an identifier changed, then a dynamic UPDATE of the
+     * changed columns guarded by the version read here → no window in which a concurrent write is overwritten.
+     */
     @Override
-    public User patch(User user) {
-        Long pk = parseId(user.getId());
-        UserEntity entity = jpaRepository.findActiveById(pk)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "User",                   // resourceName
-                        user.getId(),             // resourceId
-                        UserConstants.USER_NOT_FOUND_KEY // messageKey
-                ));
-
-        // Check uniqueness for fields being updated
-        checkUniqueFields(user, entity.getId());
+    @Transactional
+    public User modify(String id, Consumer<User> changes) {
+        return update(id, changes, true);
+    }
 
-        entityMapper.updateEntityFromModel(user, entity);
-        UserEntity saved = jpaRepository.save(entity);
-        return entityMapper.toModel(saved);
+    // Same password, new hash → nothing a token was issued against changed
+    @Override
+    @Transactional
+    public void rehashPassword(String id, String encodedPassword) {
+        update(id, user -> user.setPassword(encodedPassword), false);
     }
 
     @Override
+    @Transactional
     public void softDelete(String id) {
         Long pk = parseId(id);
         jpaRepository.findActiveById(pk).ifPresent(entity -> {
             entity.softDelete();
-            jpaRepository.save(entity);
+            UserEntity saved;
+            try {
+                saved = jpaRepository.saveAndFlush(entity);
+            } catch (OptimisticLockingFailureException e) {
+                throw concurrentUpdate(id);
+            }
+            outbox.append(UserChangeEvent.Type.DELETED, saved, true);
         });
     }
 
     @Override
-    public List<User> searchActiveUsers(String username, String email, String phoneNumber) {
-        // Delegate to JPA repository method, mapping entities to domain models
-        return jpaRepository.searchActiveUsers(username, email, phoneNumber)
+    @Transactional(readOnly = true)
+    public List<User> searchActiveUsers(UserSearchCriteria criteria, UserSearchCursor after, int limit) {
+        // Delegate to JPA repository method, mapping projections to domain models
+        return jpaRepository.searchActive(criteria, after, limit)
                 .stream()
                 .map(entityMapper::toModel)
                 .toList();
@@ -113,6 +208,61 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
 
     // ------------------ Helper Methods ------------------
 
+    private User update(String id, Consumer<User> changes, boolean revokeOnSessionChange) {
+        UserEntity entity = jpaRepository.findActiveById(parseId(id))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "User",                   // resourceName
+                        id,                       // resourceId
+                        UserConstants.USER_NOT_FOUND_KEY // messageKey
+                ));
+
+        User before = entityMapper.toModel(entity);
+        User after = before.toBuilder().build();
+        changes.accept(after);
+        if (after.equals(before)) return before;
+
+        // A name, role or status edit cannot collide with another user → no probe
+        if (identifiersChanged(before, after)) {
+            ensureNoConflicts(after, entity.getId());
+        }
+
+        SessionFields sessionBefore = SessionFields.of(entity);
+        entityMapper.updateEntityFromModel(after, entity);
+        UserEntity saved = saveAndFlush(entity, after);
+
+        // Deactivating through a PATCH / PUT {active: false} is reported like softDelete
+        UserChangeEvent.Type type = saved.isActive() ? UserChangeEvent.Type.UPDATED : UserChangeEvent.Type.DELETED;
+        outbox.append(type, saved, revokeOnSessionChange && !sessionBefore.equals(SessionFields.of(saved)));
+        return entityMapper.toModel(saved);
+    }
+
+    private record CountSnapshot(long value, long takenAtNanos) {
+        boolean isOlderThan(Duration ttl) {
+            return System.nanoTime() - takenAtNanos > ttl.toNanos();
+        }
+    }
+
+    /**
+     * What issued tokens depend on: a change to any of these revokes the user's sessions. Not
+     * passwordChangeRequired → it is part of the jwt-user snapshot the UPDATED event refreshes.
+     */
+    private record SessionFields(String username, String password, Role role, Status status, boolean active) {
+        static SessionFields of(UserEntity entity) {
+            return new SessionFields(entity.getUsername(), entity.getPassword(), entity.getRole(),
+                    entity.getStatus(), entity.isActive());
+        }
+    }
+
+    private User toLoginModel(UserJpaRepository.LoginView view) {
+        return User.builder()
+                .username(view.getUsername())
+                .password(view.getPassword())
+                .role(view.getRole())
+                .status(view.getStatus())
+                .active(true)
+                .build();
+    }
+
     private Long parseId(String id) {
         try {
             return Long.parseLong(id);
@@ -122,57 +272,98 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
     }
 
     /**
-     * Checks for uniqueness before creating a new user.
+     * Hibernate expands {@code IN :ids} into one bind marker per element, so every list length is a statement of
+     * its own for the driver's statement cache and Postgres' plan cache. Padding to the next power of two
+     * (repeating the last id) leaves at most ten shapes up to MAX_BATCH_GET_SIZE.
      */
-    private void checkUniqueFields(User user) {
-        checkUsername(user.getUsername(), null);
-        checkEmail(user.getEmail(), null);
-        checkPhone(user.getPhoneNumber(), null);
+    static List<Long> padded(List<Long> ids) {
+        int size = ids.size();
+        int target = size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+        target = Math.max(size, Math.min(target, UserConstants.MAX_BATCH_GET_SIZE));
+        if (target == size) return ids;
+
+        List<Long> padded = new ArrayList<>(target);
+        padded.addAll(ids);
+        Long last = ids.get(size - 1);
+        while (padded.size() < target) padded.add(last);
+        return padded;
+    }
+
+    private boolean identifiersChanged(User before, User after) {
+        return !Objects.equals(before.getUsername(), after.getUsername())
+                || !Objects.equals(before.getEmail(), after.getEmail())
+                || !Objects.equals(before.getPhoneNumber(), after.getPhoneNumber());
     }
 
     /**
-     * Checks for uniqueness before updating an existing user.
-     * Skips the current user's own record using currentUserId.
+     * Fast path: one query tells which of username / email / phone already belong to another user.
+     * The database constraints stay authoritative → see {@link #saveAndFlush(UserEntity, User)}.
      */
-    private void checkUniqueFields(User user, Long currentUserId) {
-        checkUsername(user.getUsername(), currentUserId);
-        checkEmail(user.getEmail(), currentUserId);
-        checkPhone(user.getPhoneNumber(), currentUserId);
-    }
-
-    private void checkUsername(String username, Long currentUserId) {
-        Optional<UserEntity> existing = jpaRepository.findActiveByUsername(username);
-        if (existing.isPresent() && !existing.get().getId().equals(currentUserId)) {
-            throw new ResourceAlreadyExistsException(
-                    "User",
-                    UserConstants.FIELD_USERNAME,
-                    username,
-                    UserConstants.USERNAME_ALREADY_EXISTS_KEY
-            );
+    private void ensureNoConflicts(User user, Long currentUserId) {
+        if (!uniquenessPrecheckEnabled) return;
+
+        List<UserJpaRepository.UniqueFieldsView> conflicts = jpaRepository.findConflicts(
+                currentUserId != null ? currentUserId : NO_ID,
+                user.getUsername(),
+                user.getEmail(),
+                user.getPhoneNumber()
+        );
+        if (conflicts.isEmpty()) return;
+
+        // Report in a stable order: username → email → phone
+        if (conflicts.stream().anyMatch(c -> Objects.equals(c.getUsername(), user.getUsername()))) {
+            throw alreadyExists(UserConstants.FIELD_USERNAME, user);
+        }
+        if (conflicts.stream().anyMatch(c -> c.isActive() && Objects.equals(c.getEmail(), user.getEmail()))) {
+            throw alreadyExists(UserConstants.FIELD_EMAIL, user);
+        }
+        if (conflicts.stream().anyMatch(c -> c.isActive() && Objects.equals(c.getPhoneNumber(), user.getPhoneNumber()))) {
+            throw alreadyExists(UserConstants.FIELD_PHONE, user);
         }
     }
 
-    private void checkEmail(String email, Long currentUserId) {
-        Optional<UserEntity> existing = jpaRepository.findActiveByEmail(email);
-        if (existing.isPresent() && !existing.get().getId().equals(currentUserId)) {
-            throw new ResourceAlreadyExistsException(
-                    "User",
-                    UserConstants.FIELD_EMAIL,
-                    email,
-                    UserConstants.EMAIL_ALREADY_EXISTS_KEY
-            );
+    /**
+     * Writes immediately so a duplicate key raised by a unique index (e.g. a concurrent insert that slipped
+     * past the pre-check) surfaces here and is reported like any other conflict; likewise an UPDATE whose
+     * version no longer matches.
+     */
+    private UserEntity saveAndFlush(UserEntity entity, User user) {
+        try {
+            return jpaRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            String field = conflictingField(e);
+            if (field == null) throw e;
+            throw alreadyExists(field, user);
+        } catch (OptimisticLockingFailureException e) {
+            throw concurrentUpdate(user.getId());
         }
     }
 
-    private void checkPhone(String phoneNumber, Long currentUserId) {
-        Optional<UserEntity> existing = jpaRepository.findActiveByPhoneNumber(phoneNumber);
-        if (existing.isPresent() && !existing.get().getId().equals(currentUserId)) {
-            throw new ResourceAlreadyExistsException(
-                    "User",
-                    UserConstants.FIELD_PHONE,
-                    phoneNumber,
-                    UserConstants.PHONE_ALREADY_EXISTS_KEY
-            );
+    private ConcurrentUpdateException concurrentUpdate(String id) {
+        return new ConcurrentUpdateException("User", id, UserConstants.USER_CONCURRENT_UPDATE_KEY);
+    }
+
+    /**
+     * The field whose unique index rejected the write, or null when {@code e} is anything else (NOT NULL, length,
+     * check or foreign-key failures) → those must surface as what they are, not as a duplicate.
+     */
+    static String conflictingField(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException cve
+                && UNIQUE_VIOLATION.equals(cve.getSQLState())
+                && cve.getConstraintName() != null) {
+            return FIELD_BY_UNIQUE_INDEX.get(cve.getConstraintName());
         }
+        return null;
+    }
+
+    private ResourceAlreadyExistsException alreadyExists(String field, User user) {
+        return switch (field) {
+            case UserConstants.FIELD_USERNAME -> new ResourceAlreadyExistsException(
+                    "User", field, user.getUsername(), UserConstants.USERNAME_ALREADY_EXISTS_KEY);
+            case UserConstants.FIELD_EMAIL -> new ResourceAlreadyExistsException(
+                    "User", field, user.getEmail(), UserConstants.EMAIL_ALREADY_EXISTS_KEY);
+            default -> new ResourceAlreadyExistsException(
+                    "User", field, user.getPhoneNumber(), UserConstants.PHONE_ALREADY_EXISTS_KEY);
+        };
     }
 }
@@ -0,0 +1,60 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Refuses to start against a {@code users} table that lacks the indexes the repository queries rely on.
+ * <p>
+ * Without them every active-user lookup silently degrades to a sequential scan, so a missed or failed
+ * migration is treated as a startup error rather than a slow production.
+ */
+@Component
+@ConditionalOnProperty(name = "user.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class UserSchemaVerifier implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSchemaVerifier.class);
+
+    static final List<String> REQUIRED_INDEXES = List.of(
+            UserEntity.UK_USERNAME,
+            UserEntity.UX_EMAIL_ACTIVE,
+            UserEntity.UX_PHONE_ACTIVE,
+            UserEntity.IX_LOGIN_USERNAME,
+            UserEntity.IX_ACTIVE_ID,
+            UserEntity.IX_USERNAME_LOWER,
+            UserEntity.IX_EMAIL_LOWER,
+            UserEntity.IX_PHONE_NUMBER_PREFIX,
+            UserEntity.IX_SEARCH_VECTOR,
+            UserEntity.IX_SEARCH_TEXT_TRGM
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserSchemaVerifier(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Set<String> present = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() AND tablename = 'users'",
+                String.class));
+
+        List<String> missing = REQUIRED_INDEXES.stream()
+                .filter(index -> !present.contains(index))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Table 'users' is missing required indexes " + missing
+                    + " → run the Flyway migrations (db/migration) before starting user-service");
+        }
+        log.info("Verified users table indexes: {}", REQUIRED_INDEXES);
+    }
+}
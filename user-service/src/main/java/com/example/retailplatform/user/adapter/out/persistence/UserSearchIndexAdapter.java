@@ -0,0 +1,158 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
+import com.example.retailplatform.user.domain.model.UserMatch;
+import com.example.retailplatform.user.domain.model.UserMatchCursor;
+import com.example.retailplatform.user.domain.port.out.UserSearchIndexPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Postgres full-text / trigram implementation of {@link UserSearchIndexPort} (indexes from V5).
+ * <p>
+ * Each search pages through at most {@code max-candidates} matches: the best-scoring ones (ties by id), plus any exact
+ * username hit. Every match is scored to pick them, but only the top {@code max-candidates} are sorted and carried
+ * through the keyset paging; a broader query loses its weakest hits and should be refined. (score, id) is a total
+ * order → keyset pages recompute the same set and continue below the cursor without repeating or skipping users.
+ */
+@Component
+public class UserSearchIndexAdapter implements UserSearchIndexPort {
+
+    private static final String COLUMNS = "id, username, first_name, last_name, email, phone_number, status, role, "
+            + "active, password_change_required";
+    private static final String SEARCH_TEXT =
+            "user_search_text(u.username, u.first_name, u.last_name, u.email, u.phone_number)";
+
+    // ts_rank weighs name / username (A) over email (B) over phone (C); substring-only hits score 0 → ranked last.
+    // The exact username (ix_users_username_lower) is added on top → a broad query cannot push it out of the set
+    static final String RANK = "ts_rank(u.search_vector, to_tsquery('simple', :tsquery))::float8";
+    static final String FIND_MATCHING = """
+            SELECT %1$s, score FROM (
+                (SELECT %1$s, %3$s AS score
+                   FROM users u
+                  WHERE u.active = true
+                    AND (u.search_vector @@ to_tsquery('simple', :tsquery) OR %2$s LIKE :contains)
+                  ORDER BY score DESC, u.id
+                  LIMIT :maxCandidates)
+                UNION
+                SELECT %1$s, %3$s AS score
+                  FROM users u
+                 WHERE u.active = true AND lower(u.username) = lower(:query)
+            ) hits
+            """.formatted(COLUMNS, SEARCH_TEXT, RANK);
+
+    // <% compares against pg_trgm.word_similarity_threshold, set for the transaction from similarity-threshold
+    static final String FIND_SIMILAR = """
+            SELECT %1$s, score FROM (
+                SELECT %1$s, word_similarity(:query, %2$s)::float8 AS score
+                  FROM users u
+                 WHERE u.active = true
+                   AND :query <%% %2$s
+                 ORDER BY score DESC, u.id
+                 LIMIT :maxCandidates
+            ) hits
+            """.formatted(COLUMNS, SEARCH_TEXT);
+
+    static final String SET_SIMILARITY_THRESHOLD =
+            "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)";
+
+    static final String AFTER_CURSOR = " WHERE score < :afterScore OR (score = :afterScore AND id > :afterId)\n";
+    static final String ORDER_BY_RANK = " ORDER BY score DESC, id LIMIT :limit";
+
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserEntityMapper entityMapper;
+    private final int maxCandidates;
+    private final String similarityThreshold;
+
+    public UserSearchIndexAdapter(NamedParameterJdbcTemplate jdbcTemplate,
+                                  UserEntityMapper entityMapper,
+                                  @Value("${user.search.max-candidates:1000}") int maxCandidates,
+                                  @Value("${user.search.similarity-threshold:0.3}") double similarityThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityMapper = entityMapper;
+        this.maxCandidates = Math.max(1, maxCandidates);
+        this.similarityThreshold = String.valueOf(Math.min(1.0, Math.max(0.0, similarityThreshold)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserMatch> findMatching(String query, UserMatchCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("query", query)
+                .addValue("tsquery", prefixQuery(query))
+                .addValue("contains", containsPattern(query));
+        return search(FIND_MATCHING, params, after, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserMatch> findSimilar(String query, UserMatchCursor after, int limit) {
+        // is_local = true → reset at commit, the pooled connection keeps the server default
+        jdbcTemplate.queryForObject(SET_SIMILARITY_THRESHOLD,
+                new MapSqlParameterSource("threshold", similarityThreshold), String.class);
+
+        MapSqlParameterSource params = new MapSqlParameterSource("query", query);
+        return search(FIND_SIMILAR, params, after, limit);
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private List<UserMatch> search(String candidates, MapSqlParameterSource params, UserMatchCursor after, int limit) {
+        params.addValue("maxCandidates", maxCandidates).addValue("limit", limit);
+
+        // Separate statements with and without the cursor → no (:after IS NULL OR ...) generic plan
+        String sql = candidates;
+        if (after != null) {
+            sql += AFTER_CURSOR;
+            params.addValue("afterScore", after.score()).addValue("afterId", after.id());
+        }
+        return jdbcTemplate.query(sql + ORDER_BY_RANK, params, this::mapRow);
+    }
+
+    private UserMatch mapRow(ResultSet rs, int rowNum) throws SQLException {
+        UserSearchRepositoryImpl.UserViewRow view = new UserSearchRepositoryImpl.UserViewRow(
+                rs.getLong("id"),
+                rs.getString("username"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("email"),
+                rs.getString("phone_number"),
+                Status.valueOf(rs.getString("status")),
+                Role.valueOf(rs.getString("role")),
+                rs.getBoolean("active"),
+                rs.getBoolean("password_change_required"));
+        return new UserMatch(entityMapper.toModel(view), rs.getDouble("score"));
+    }
+
+    /** {@code "alice sm"} → {@code "alice:* & sm:*"}; words hold letters and digits only → no tsquery syntax. */
+    static String prefixQuery(String query) {
+        return Arrays.stream(WORD_SEPARATORS.split(query))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    /** {@code "50%_off"} → {@code "%50\%\_off%"} */
+    static String containsPattern(String query) {
+        StringBuilder pattern = new StringBuilder(query.length() + 2).append('%');
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) pattern.append(LIKE_ESCAPE);
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
+import com.example.retailplatform.user.domain.model.UserSearchCursor;
+
+import java.util.List;
+
+/**
+ * Criteria-built user search, mixed into {@link UserJpaRepository}.
+ */
+public interface UserSearchRepository {
+
+    List<UserJpaRepository.UserView> searchActive(UserSearchCriteria criteria, UserSearchCursor after, int limit);
+}
@@ -0,0 +1,70 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
+import com.example.retailplatform.user.domain.model.UserSearchCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Runs the {@link UserSpecifications} search and selects the {@link UserJpaRepository.UserView} columns only,
+ * ordered by the requested sort column with id as tie-breaker → a stable keyset order.
+ */
+@RequiredArgsConstructor
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<UserJpaRepository.UserView> searchActive(UserSearchCriteria criteria, UserSearchCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserViewRow> query = cb.createQuery(UserViewRow.class);
+        Root<UserEntity> root = query.from(UserEntity.class);
+
+        query.select(cb.construct(UserViewRow.class,
+                root.get("id"), root.get("username"), root.get("firstName"), root.get("lastName"),
+                root.get("email"), root.get("phoneNumber"), root.get("status"), root.get("role"),
+                root.get("active"), root.get("passwordChangeRequired")));
+
+        Predicate where = UserSpecifications.matching(criteria, after).toPredicate(root, query, cb);
+        if (where != null) query.where(where);
+
+        boolean descending = criteria.direction() == UserSearchCriteria.Direction.DESC;
+        String sortAttribute = UserSpecifications.sortAttribute(criteria.sort());
+        Order bySort = descending ? cb.desc(root.get(sortAttribute)) : cb.asc(root.get(sortAttribute));
+        if (criteria.sort() == UserSearchCriteria.SortField.ID) {
+            query.orderBy(bySort);
+        } else {
+            Order byId = descending ? cb.desc(root.get(UserSpecifications.ID)) : cb.asc(root.get(UserSpecifications.ID));
+            query.orderBy(bySort, byId);
+        }
+
+        return List.copyOf(entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    /** Constructor-expression target → rows are never managed entities. */
+    @Value
+    public static class UserViewRow implements UserJpaRepository.UserView {
+        Long id;
+        String username;
+        String firstName;
+        String lastName;
+        String email;
+        String phoneNumber;
+        Status status;
+        Role role;
+        boolean active;
+        boolean passwordChangeRequired;
+    }
+}
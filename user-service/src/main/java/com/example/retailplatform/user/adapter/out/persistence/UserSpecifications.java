@@ -0,0 +1,105 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
+import com.example.retailplatform.user.domain.model.UserSearchCursor;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search predicates on {@link UserEntity}. Only the filters a request sets become SQL, so Postgres plans each
+ * combination on its own instead of one generic {@code (:x IS NULL OR ...)} plan that can use no index.
+ * <p>
+ * Every predicate has a matching partial index (V2 / V4): {@code =} on the plain columns, {@code lower(col) = ?}
+ * and {@code lower(col) LIKE 'prefix%'} on the {@code text_pattern_ops} expression indexes.
+ */
+final class UserSpecifications {
+
+    static final String ID = "id";
+    static final String USERNAME = "username";
+    static final String EMAIL = "email";
+    static final String PHONE_NUMBER = "phoneNumber";
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private UserSpecifications() {
+    }
+
+    static Specification<UserEntity> matching(UserSearchCriteria criteria, UserSearchCursor after) {
+        List<Specification<UserEntity>> specs = new ArrayList<>(5);
+        specs.add(active());
+        if (criteria.username() != null) specs.add(text(USERNAME, criteria.username(), criteria.match()));
+        if (criteria.email() != null) specs.add(text(EMAIL, criteria.email(), criteria.match()));
+        // Digits only → case does not matter, but a prefix still does
+        if (criteria.phoneNumber() != null) specs.add(phone(criteria.phoneNumber(), criteria.match()));
+        if (after != null) specs.add(after(criteria, after));
+        return Specification.allOf(specs);
+    }
+
+    static String sortAttribute(UserSearchCriteria.SortField sort) {
+        return switch (sort) {
+            case ID -> ID;
+            case USERNAME -> USERNAME;
+            case EMAIL -> EMAIL;
+        };
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private static Specification<UserEntity> active() {
+        return (root, query, cb) -> cb.isTrue(root.get("active"));
+    }
+
+    private static Specification<UserEntity> text(String attribute, String value, UserSearchCriteria.Match match) {
+        return (root, query, cb) -> {
+            Path<String> path = root.get(attribute);
+            return switch (match) {
+                case EXACT -> cb.equal(path, value);
+                case IGNORE_CASE -> cb.equal(cb.lower(path), value.toLowerCase(Locale.ROOT));
+                case PREFIX -> cb.like(cb.lower(path), prefixPattern(value.toLowerCase(Locale.ROOT)), LIKE_ESCAPE);
+            };
+        };
+    }
+
+    private static Specification<UserEntity> phone(String value, UserSearchCriteria.Match match) {
+        return (root, query, cb) -> {
+            Path<String> path = root.get(PHONE_NUMBER);
+            return match == UserSearchCriteria.Match.PREFIX
+                    ? cb.like(path, prefixPattern(value), LIKE_ESCAPE)
+                    : cb.equal(path, value);
+        };
+    }
+
+    /**
+     * Rows after the cursor in the page order (sort column, then id):
+     * {@code col > :value OR (col = :value AND id > :id)}, flipped for descending.
+     */
+    private static Specification<UserEntity> after(UserSearchCriteria criteria, UserSearchCursor cursor) {
+        boolean descending = criteria.direction() == UserSearchCriteria.Direction.DESC;
+        return (root, query, cb) -> {
+            Expression<Long> id = root.get(ID);
+            if (criteria.sort() == UserSearchCriteria.SortField.ID) {
+                return descending ? cb.lessThan(id, cursor.id()) : cb.greaterThan(id, cursor.id());
+            }
+            Expression<String> column = root.get(sortAttribute(criteria.sort()));
+            return cb.or(
+                    descending ? cb.lessThan(column, cursor.value()) : cb.greaterThan(column, cursor.value()),
+                    cb.and(cb.equal(column, cursor.value()),
+                            descending ? cb.lessThan(id, cursor.id()) : cb.greaterThan(id, cursor.id())));
+        };
+    }
+
+    private static String prefixPattern(String prefix) {
+        StringBuilder pattern = new StringBuilder(prefix.length() + 2);
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) pattern.append(LIKE_ESCAPE);
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
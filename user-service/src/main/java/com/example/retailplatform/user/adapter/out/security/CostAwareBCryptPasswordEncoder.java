@@ -0,0 +1,41 @@
+package com.example.retailplatform.user.adapter.out.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link BCryptPasswordEncoder} that asks for a rehash whenever the stored cost differs from the configured one.
+ * <p>
+ * The stock encoder only upgrades weaker hashes; lowering the cost (e.g. after moving to slower hardware) would
+ * otherwise leave every existing user on the expensive setting. Spring Security's
+ * {@code DaoAuthenticationProvider} performs the rehash after a successful login through
+ * {@link UserDetailsServiceAdapter#updatePassword}.
+ */
+public class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    // $2a$10$<22 chars salt><31 chars hash>
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    public CostAwareBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        // Not a BCrypt hash at all → leave it to matches() to reject
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.retailplatform.user.adapter.out.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} that runs the delegate's {@code encode} and {@code matches} on the hashing pool.
+ * <p>
+ * Only the hash itself is offloaded: {@code DaoAuthenticationProvider} keeps loading the user and storing a
+ * rehashed password on the caller thread, so no JDBC call ever waits on (or blocks) a hashing thread. A full
+ * pool surfaces as {@link com.example.retailplatform.user.domain.exception.TooManyRequestsException}.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordVerificationExecutor hashingPool;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, PasswordVerificationExecutor hashingPool) {
+        this.delegate = delegate;
+        this.hashingPool = hashingPool;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingPool.verify(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashingPool.verify(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Reads the cost out of the stored hash → cheap, stays on the caller thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.retailplatform.user.adapter.out.security;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing (BCrypt) on a dedicated pool instead of the servlet worker thread.
+ * <p>
+ * The pool is sized to the CPU count with a bounded queue. When both are full the task is rejected at once
+ * with {@link TooManyRequestsException} (→ 429 + Retry-After), so a login storm costs the rest of the API
+ * nothing but a little queueing instead of every Tomcat thread. Only pure CPU work belongs here, see
+ * {@link OffloadingPasswordEncoder}; a task blocked on I/O would hold a thread sized for a core.
+ */
+@Component
+public class PasswordVerificationExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordVerificationExecutor.class);
+
+    static final String METRIC_PREFIX = "auth.password";
+
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private final Timer hashTimer;
+
+    public PasswordVerificationExecutor(MeterRegistry meterRegistry,
+                                        @Value("${user.auth.hashing.threads:0}") int threads,
+                                        @Value("${user.auth.hashing.queue-capacity:64}") int queueCapacity,
+                                        @Value("${user.auth.hashing.timeout:PT5S}") Duration timeout,
+                                        @Value("${user.auth.hashing.retry-after:PT1S}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.timeout = timeout;
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        // auth.password.executor.queued, .queue.remaining, .active, .completed ...
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing", METRIC_PREFIX, Tags.empty());
+        this.hashTimer = Timer.builder(METRIC_PREFIX + ".verification")
+                .description("Time spent hashing or verifying a password on the hashing pool")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        log.info("Password hashing pool: threads={}, queueCapacity={}, timeout={}", poolSize, queueCapacity, timeout);
+    }
+
+    /**
+     * Runs {@code task} on the hashing pool and waits for its result.
+     *
+     * @throws TooManyRequestsException if the queue is full or the task did not finish within the timeout
+     */
+    public <T> T verify(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.record(task));
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue full ({} queued), rejecting login", executor.getQueue().size());
+            throw tooManyRequests();
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Drops a still queued task; a running hash ignores interrupts and just finishes
+            future.cancel(false);
+            log.warn("Password verification did not finish within {}", timeout);
+            throw tooManyRequests();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password verification", e);
+        } catch (ExecutionException e) {
+            // Surface the task's own exception (e.g. BadCredentialsException) unchanged
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // ------------------ Helper Methods ------------------
+
+    private TooManyRequestsException tooManyRequests() {
+        return new TooManyRequestsException(retryAfter, UserConstants.ERROR_TOO_MANY_REQUESTS);
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.retailplatform.user.adapter.out.security;
 
+import com.example.retailplatform.user.domain.exception.ConcurrentUpdateException;
+import com.example.retailplatform.user.domain.exception.ResourceNotFoundException;
 import com.example.retailplatform.user.domain.model.User;
 import com.example.retailplatform.user.domain.port.out.UserRepositoryPort;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +10,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -18,7 +21,7 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceAdapter implements UserDetailsService {
+public class UserDetailsServiceAdapter implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger log = LoggerFactory.getLogger(UserDetailsServiceAdapter.class);
 
@@ -43,16 +46,40 @@ public class UserDetailsServiceAdapter implements UserDetailsService {
         );
     }
 
+    /**
+     * Called by Spring Security after a successful login when the stored hash uses a different cost
+     * than the configured encoder → persists the re-encoded password.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.findActiveByUsername(userDetails.getUsername()).ifPresentOrElse(user -> {
+            try {
+                userRepository.rehashPassword(user.getId(), newPassword);
+                log.info("Rehashed password for user {} with the configured cost", user.getUsername());
+            } catch (ResourceNotFoundException | ConcurrentUpdateException e) {
+                // The login itself succeeded → the rehash is simply attempted again on the next one
+                log.warn("Skipping password rehash for user {}: {}", user.getUsername(), e.getClass().getSimpleName());
+            }
+        }, () -> log.warn("Skipping password rehash, user no longer active: {}", userDetails.getUsername()));
+
+        return new CustomUserDetails(
+                userDetails.getUsername(),
+                newPassword,
+                userDetails.getAuthorities(),
+                userDetails.isEnabled()
+        );
+    }
+
     private Optional<User> resolveUser(String identifier) {
         if (identifier.contains("@")) {
             // Looks like email
-            return userRepository.findActiveByEmail(identifier);
+            return userRepository.findLoginByEmail(identifier);
         } else if (identifier.matches("\\d+")) {
             // Looks like phone number (digits only)
-            return userRepository.findActiveByPhoneNumber(identifier);
+            return userRepository.findLoginByPhoneNumber(identifier);
         } else {
             // Default to username
-            return userRepository.findActiveByUsername(identifier);
+            return userRepository.findLoginByUsername(identifier);
         }
     }
 
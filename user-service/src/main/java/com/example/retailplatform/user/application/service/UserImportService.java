@@ -0,0 +1,138 @@
+package com.example.retailplatform.user.application.service;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.ResourceAlreadyExistsException;
+import com.example.retailplatform.user.domain.model.BulkImportResult;
+import com.example.retailplatform.user.domain.model.BulkImportRow;
+import com.example.retailplatform.user.domain.model.BulkImportSummary;
+import com.example.retailplatform.user.domain.model.BulkInsertOutcome;
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.port.in.UserImportUseCase;
+import com.example.retailplatform.user.domain.port.out.UserImportPort;
+import com.example.retailplatform.user.domain.port.out.UserRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bulk user creation: rows are written {@code chunk-size} at a time, one transaction and one set-based
+ * uniqueness check per chunk, instead of one round trip per user.
+ */
+@Service
+public class UserImportService implements UserImportUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger("com.example.retailplatform");
+
+    private final UserImportPort importPort;
+    private final UserRepositoryPort repositoryPort;
+    private final int chunkSize;
+
+    public UserImportService(UserImportPort importPort,
+                             UserRepositoryPort repositoryPort,
+                             @Value("${user.bulk-import.chunk-size:1000}") int chunkSize) {
+        this.importPort = importPort;
+        this.repositoryPort = repositoryPort;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public BulkImportSummary importUsers(Iterator<BulkImportRow> rows, Consumer<BulkImportResult> results) {
+        long startNanos = System.nanoTime();
+        long total = 0;
+        long created = 0;
+
+        List<BulkImportRow> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            BulkImportRow row = rows.next();
+            total++;
+            if (row.isRejected()) {
+                results.accept(row.rejection());
+                continue;
+            }
+            applyDefaults(row.user());
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                created += writeChunk(chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += writeChunk(chunk, results);
+        }
+
+        BulkImportSummary summary = new BulkImportSummary(total, created, total - created,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        log.info("Bulk import finished: {} rows, {} created, {} rejected in {} ms ({} rows/s)",
+                summary.rows(), summary.created(), summary.rejected(), summary.elapsedMillis(), summary.rowsPerSecond());
+        return summary;
+    }
+
+    // ------------------- Helper Methods -------------------
+
+    private long writeChunk(List<BulkImportRow> chunk, Consumer<BulkImportResult> results) {
+        List<User> users = chunk.stream().map(BulkImportRow::user).toList();
+
+        BulkInsertOutcome outcome;
+        try {
+            outcome = importPort.insertAll(users);
+        } catch (ResourceAlreadyExistsException e) {
+            // A concurrent writer took a key after the set-based check → redo this chunk one user at a time
+            log.warn("Bulk import chunk of {} rows hit a concurrent conflict, retrying row by row", chunk.size());
+            return writeOneByOne(chunk, results);
+        }
+
+        long created = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            long line = chunk.get(i).line();
+            String id = outcome.ids()[i];
+            if (id != null) {
+                results.accept(BulkImportResult.created(line, id));
+                created++;
+            } else {
+                results.accept(conflict(line, outcome.conflicts()[i], users.get(i)));
+            }
+        }
+        return created;
+    }
+
+    private long writeOneByOne(List<BulkImportRow> chunk, Consumer<BulkImportResult> results) {
+        long created = 0;
+        for (BulkImportRow row : chunk) {
+            try {
+                User saved = repositoryPort.save(row.user());
+                results.accept(BulkImportResult.created(row.line(), saved.getId()));
+                created++;
+            } catch (ResourceAlreadyExistsException e) {
+                results.accept(BulkImportResult.rejected(row.line(), e.getFieldName(), e.getMessageKey(), e.getFieldValue()));
+            }
+        }
+        return created;
+    }
+
+    // Same defaults as UserService#createUser
+    private static void applyDefaults(User user) {
+        if (user.getStatus() == null) user.setStatus(Status.INACTIVE);
+        if (user.getRole() == null) user.setRole(Role.USER);
+        if (user.getActive() == null) user.setActive(true);
+    }
+
+    private static BulkImportResult conflict(long line, String field, User user) {
+        return switch (field) {
+            case UserConstants.FIELD_USERNAME ->
+                    BulkImportResult.rejected(line, field, UserConstants.USERNAME_ALREADY_EXISTS_KEY, user.getUsername());
+            case UserConstants.FIELD_EMAIL ->
+                    BulkImportResult.rejected(line, field, UserConstants.EMAIL_ALREADY_EXISTS_KEY, user.getEmail());
+            default ->
+                    BulkImportResult.rejected(line, field, UserConstants.PHONE_ALREADY_EXISTS_KEY, user.getPhoneNumber());
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.retailplatform.user.application.service;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.InvalidRequestException;
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserMatch;
+import com.example.retailplatform.user.domain.model.UserMatchCursor;
+import com.example.retailplatform.user.domain.model.UserSearchPage;
+import com.example.retailplatform.user.domain.port.in.UserSearchUseCase;
+import com.example.retailplatform.user.domain.port.out.UserSearchIndexPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Free-text user search in two tiers: prefix / substring matches first; only when a query matches nothing is it
+ * retried as a similarity (typo) search. The continuation token remembers the tier, so later pages stay in it.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSearchService implements UserSearchUseCase {
+
+    private final UserSearchIndexPort searchIndex;
+
+    @Override
+    public UserSearchPage findUsers(String query, String after, int limit) {
+        String text = normalize(query);
+        int pageSize = Math.max(1, Math.min(limit, UserConstants.MAX_PAGE_SIZE));
+        UserMatchCursor cursor = UserMatchCursor.decode(after);
+
+        // One extra hit tells whether another page follows → no token on the last page
+        UserMatchCursor.Tier tier = cursor != null ? cursor.tier() : UserMatchCursor.Tier.MATCHING;
+        List<UserMatch> matches = find(tier, text, cursor, pageSize + 1);
+        if (matches.isEmpty() && cursor == null) {
+            tier = UserMatchCursor.Tier.SIMILAR;
+            matches = find(tier, text, null, pageSize + 1);
+        }
+
+        List<User> users = matches.stream().limit(pageSize).map(UserMatch::user).toList();
+        if (matches.size() <= pageSize) {
+            return new UserSearchPage(users, null);
+        }
+        return new UserSearchPage(users, UserMatchCursor.after(tier, matches.get(pageSize - 1)).encode());
+    }
+
+    // ------------------- Helper Methods -------------------
+
+    private List<UserMatch> find(UserMatchCursor.Tier tier, String text, UserMatchCursor after, int limit) {
+        return switch (tier) {
+            case MATCHING -> searchIndex.findMatching(text, after, limit);
+            case SIMILAR -> searchIndex.findSimilar(text, after, limit);
+        };
+    }
+
+    // Trimmed, lower-cased, inner whitespace collapsed; shorter than 3 characters has no trigram to search by
+    private static String normalize(String query) {
+        String text = query == null ? "" : query.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (text.length() < UserConstants.SEARCH_QUERY_MIN_LENGTH
+                || text.length() > UserConstants.SEARCH_QUERY_MAX_LENGTH
+                || text.codePoints().noneMatch(Character::isLetterOrDigit)) {
+            throw new InvalidRequestException("q", query, UserConstants.SEARCH_QUERY_INVALID_KEY);
+        }
+        return text;
+    }
+}
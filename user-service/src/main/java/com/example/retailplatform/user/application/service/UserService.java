@@ -4,11 +4,15 @@ import com.example.retailplatform.user.adapter.in.web.dto.AuthRequest;
 import com.example.retailplatform.user.adapter.in.web.dto.AuthResponse;
 import com.example.retailplatform.user.adapter.in.web.dto.JwtUserResponse;
 import com.example.retailplatform.user.domain.UserConstants;
-import com.example.retailplatform.user.domain.exception.ResourceAlreadyExistsException;
+import com.example.retailplatform.user.domain.exception.ConcurrentUpdateException;
 import com.example.retailplatform.user.domain.exception.ResourceNotFoundException;
+import com.example.retailplatform.user.domain.exception.TooManyRequestsException;
 import com.example.retailplatform.user.domain.model.Role;
 import com.example.retailplatform.user.domain.model.Status;
 import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
+import com.example.retailplatform.user.domain.model.UserSearchCursor;
+import com.example.retailplatform.user.domain.model.UserSearchPage;
 import com.example.retailplatform.user.domain.port.in.UserUseCase;
 import com.example.retailplatform.user.domain.port.out.UserRepositoryPort;
 
@@ -19,15 +23,23 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class UserService implements UserUseCase {
 
+    // Each attempt re-reads the user and re-applies the request → only a hot row exhausts them
+    static final int MAX_WRITE_ATTEMPTS = 3;
+
     private final UserRepositoryPort repositoryPort;
     private final AuthenticationManager authenticationManager;
 
@@ -39,10 +51,7 @@ public class UserService implements UserUseCase {
         if (user.getRole() == null) user.setRole(Role.USER);
         if (user.getActive() == null) user.setActive(true);
 
-        ensureUniqueGlobal(user.getUsername(), UserConstants.FIELD_USERNAME, UserConstants.USERNAME_ALREADY_EXISTS_KEY);
-        ensureUniqueActive(user.getEmail(), UserConstants.FIELD_EMAIL, repositoryPort::existsByActiveEmail, UserConstants.EMAIL_ALREADY_EXISTS_KEY);
-        ensureUniqueActive(user.getPhoneNumber(), UserConstants.FIELD_PHONE, repositoryPort::existsByActivePhoneNumber, UserConstants.PHONE_ALREADY_EXISTS_KEY);
-
+        // Uniqueness is enforced by the repository (single conflict query + DB constraints)
         return repositoryPort.save(user);
     }
 
@@ -54,54 +63,67 @@ public class UserService implements UserUseCase {
                 ));
     }
 
+    // Request order, duplicates and unknown / deleted ids dropped; one query per MAX_BATCH_GET_SIZE ids
     @Override
-    public List<User> getAllUsers() {
-        return repositoryPort.findAllActive();
+    public List<User> getUsersByIds(Collection<String> ids) {
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        Map<String, User> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += UserConstants.MAX_BATCH_GET_SIZE) {
+            int to = Math.min(from + UserConstants.MAX_BATCH_GET_SIZE, distinct.size());
+            repositoryPort.findActiveByIds(distinct.subList(from, to))
+                    .forEach(user -> found.put(user.getId(), user));
+        }
+        return distinct.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
-    public User updateUser(String id, User update) {
-        User existing = getUserById(id);
-        update.setId(id);
-
-        ensureUniqueGlobalForUpdate(update.getUsername(), existing.getId(), UserConstants.FIELD_USERNAME, UserConstants.USERNAME_ALREADY_EXISTS_KEY);
-        ensureUniqueActiveForUpdate(update.getEmail(), existing.getId(), repositoryPort::findActiveByEmail, UserConstants.FIELD_EMAIL, UserConstants.EMAIL_ALREADY_EXISTS_KEY);
-        ensureUniqueActiveForUpdate(update.getPhoneNumber(), existing.getId(), repositoryPort::findActiveByPhoneNumber, UserConstants.FIELD_PHONE, UserConstants.PHONE_ALREADY_EXISTS_KEY);
-
-        copyFields(existing, update);
+    public List<User> getUsersPage(String afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, UserConstants.MAX_PAGE_SIZE));
+        return repositoryPort.findActivePage(afterId, pageSize);
+    }
 
-        return repositoryPort.patch(existing);
+    @Override
+    public void streamAllUsers(Consumer<User> action) {
+        repositoryPort.forEachActive(action);
     }
 
     @Override
-    public User patchUser(String id, User patch) {
-        User existing = getUserById(id);
-        boolean changed = false;
+    public long estimateUserCount() {
+        return repositoryPort.estimateActiveCount();
+    }
 
-        changed |= patchField(existing::getUsername, existing::setUsername, patch.getUsername(),
-                val -> ensureUniqueGlobalForUpdate(val, existing.getId(), UserConstants.FIELD_USERNAME, UserConstants.USERNAME_ALREADY_EXISTS_KEY));
-        changed |= patchField(existing::getEmail, existing::setEmail, patch.getEmail(),
-                val -> ensureUniqueActiveForUpdate(val, existing.getId(), repositoryPort::findActiveByEmail, UserConstants.FIELD_EMAIL, UserConstants.EMAIL_ALREADY_EXISTS_KEY));
-        changed |= patchField(existing::getPhoneNumber, existing::setPhoneNumber, patch.getPhoneNumber(),
-                val -> ensureUniqueActiveForUpdate(val, existing.getId(), repositoryPort::findActiveByPhoneNumber, UserConstants.FIELD_PHONE, UserConstants.PHONE_ALREADY_EXISTS_KEY));
-        changed |= patchField(existing::getFirstName, existing::setFirstName, patch.getFirstName(), null);
-        changed |= patchField(existing::getLastName, existing::setLastName, patch.getLastName(), null);
-        changed |= patchField(existing::getStatus, existing::setStatus, patch.getStatus(), null);
-        changed |= patchField(existing::getRole, existing::setRole, patch.getRole(), null);
-        changed |= patchField(existing::getActive, existing::setActive, patch.getActive(), null);
+    // The repository loads the user itself, inside the write transaction → no separate read beforehand
 
-        return changed ? repositoryPort.patch(existing) : existing;
+    @Override
+    public User updateUser(String id, User update) {
+        return retryOnConcurrentUpdate(() -> repositoryPort.modify(id, existing -> copyFields(existing, update)));
     }
 
+    @Override
+    public User patchUser(String id, User patch) {
+        // Nothing changed → the repository returns the user without writing
+        return retryOnConcurrentUpdate(() -> repositoryPort.modify(id, existing -> {
+            patchField(existing::setUsername, patch.getUsername());
+            patchField(existing::setEmail, patch.getEmail());
+            patchField(existing::setPhoneNumber, patch.getPhoneNumber());
+            patchField(existing::setFirstName, patch.getFirstName());
+            patchField(existing::setLastName, patch.getLastName());
+            patchField(existing::setStatus, patch.getStatus());
+            patchField(existing::setRole, patch.getRole());
+            patchField(existing::setActive, patch.getActive());
+        }));
+    }
+
+    // Idempotent: an unknown or already deleted id is not an error
     @Override
     public void softDeleteUser(String id) {
-        User existing = repositoryPort.findActiveById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "User", id, UserConstants.USER_NOT_FOUND_KEY
-                ));
-
-        existing.setActive(false);
-        repositoryPort.patch(existing);
+        retryOnConcurrentUpdate(() -> {
+            repositoryPort.softDelete(id);
+            return null;
+        });
     }
 
     public AuthResponse authenticate(AuthRequest request) {
@@ -111,6 +133,7 @@ public class UserService implements UserUseCase {
         }
 
         try {
+            // The PasswordEncoder runs BCrypt on the bounded hashing pool; user lookup stays on this thread
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(identifier, request.getPassword())
             );
@@ -135,6 +158,8 @@ public class UserService implements UserUseCase {
                     .user(jwtUser)
                     .build();
 
+        } catch (TooManyRequestsException e) {
+            throw e; // shed load → 429, not a failed login
         } catch (Exception e) {
             //log.warn("Authentication failed for identifier {}: {}", identifier, e.getMessage());
             return AuthResponse.builder().authenticated(false).build();
@@ -144,41 +169,20 @@ public class UserService implements UserUseCase {
     
     // ------------------- Search Method -------------------
     @Override
-    public List<User> searchUsers(String username, String email, String phoneNumber) {
-        return repositoryPort.searchActiveUsers(username, email, phoneNumber);
-    }
-
-    // ------------------- Helper Methods -------------------
-
-    private void ensureUniqueGlobal(String value, String fieldName, String key) {
-        if (value != null && repositoryPort.existsByUsername(value)) {
-            throw new ResourceAlreadyExistsException("User", fieldName, value, key);
+    public UserSearchPage searchUsers(UserSearchCriteria criteria, String after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, UserConstants.MAX_PAGE_SIZE));
+        UserSearchCursor cursor = UserSearchCursor.decode(after, criteria);
+
+        // One extra row tells whether another page follows → no token on the last page
+        List<User> users = repositoryPort.searchActiveUsers(criteria, cursor, pageSize + 1);
+        if (users.size() <= pageSize) {
+            return new UserSearchPage(users, null);
         }
+        List<User> page = users.subList(0, pageSize);
+        return new UserSearchPage(page, UserSearchCursor.after(page.get(pageSize - 1), criteria).encode());
     }
 
-    private void ensureUniqueActive(String value, String fieldName, Predicate<String> existsChecker, String key) {
-        if (value != null && existsChecker.test(value)) {
-            throw new ResourceAlreadyExistsException("User", fieldName, value, key);
-        }
-    }
-
-    private void ensureUniqueGlobalForUpdate(String value, String currentUserId, String fieldName, String key) {
-        if (value != null) {
-            repositoryPort.findActiveByUsername(value)
-                    .filter(u -> !u.getId().equals(currentUserId))
-                    .ifPresent(u -> { throw new ResourceAlreadyExistsException("User", fieldName, value, key); });
-        }
-    }
-
-    private void ensureUniqueActiveForUpdate(String value, String currentUserId,
-                                             Function<String, Optional<User>> finder,
-                                             String fieldName, String key) {
-        if (value != null) {
-            finder.apply(value)
-                    .filter(u -> !u.getId().equals(currentUserId))
-                    .ifPresent(u -> { throw new ResourceAlreadyExistsException("User", fieldName, value, key); });
-        }
-    }
+    // ------------------- Helper Methods -------------------
 
     private void copyFields(User existing, User update) {
         existing.setUsername(update.getUsername());
@@ -191,16 +195,18 @@ public class UserService implements UserUseCase {
         existing.setActive(update.getActive() != null ? update.getActive() : existing.getActive());
     }
 
-    private <T> boolean patchField(java.util.function.Supplier<T> getter,
-                                   java.util.function.Consumer<T> setter,
-                                   T newValue,
-                                   java.util.function.Consumer<T> uniquenessCheck) {
-        if (newValue != null && !newValue.equals(getter.get())) {
-            if (uniquenessCheck != null) uniquenessCheck.accept(newValue);
-            setter.accept(newValue);
-            return true;
+    private <T> void patchField(Consumer<T> setter, T newValue) {
+        if (newValue != null) setter.accept(newValue);
+    }
+
+    private <T> T retryOnConcurrentUpdate(Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return write.get();
+            } catch (ConcurrentUpdateException e) {
+                if (attempt >= MAX_WRITE_ATTEMPTS) throw e;
+            }
         }
-        return false;
     }
 
      private String getIdentifier(AuthRequest request) {
@@ -1,17 +1,23 @@
 package com.example.retailplatform.user.common;
 
 import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.ConcurrentUpdateException;
+import com.example.retailplatform.user.domain.exception.InvalidRequestException;
 import com.example.retailplatform.user.domain.exception.ResourceAlreadyExistsException;
 import com.example.retailplatform.user.domain.exception.ResourceNotFoundException;
+import com.example.retailplatform.user.domain.exception.TooManyRequestsException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -19,12 +25,14 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.validation.FieldError;
 
+import java.time.Duration;
 import java.util.List;
 
 @ControllerAdvice
 public class UserExceptionHandler {
 
     private static final Logger log = LogManager.getLogger(UserExceptionHandler.class);
+    private static final Duration DATABASE_BUSY_RETRY_AFTER = Duration.ofSeconds(1);
     private final MessageSource messageSource;
 
     public UserExceptionHandler(MessageSource messageSource) {
@@ -77,6 +85,75 @@ public class UserExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    // The service already retried on a fresh read → the resource is hot, let the client decide
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentUpdate(ConcurrentUpdateException ex, HttpServletRequest request) {
+        String message = getMessage(ex.getMessageKey(), ex.getResourceName(), ex.getResourceId());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.CONFLICT.value(),
+                "CONCURRENT_UPDATE",
+                ex.getMessageKey(),
+                request.getRequestURI(),
+                message,
+                ex.getResourceName(),
+                List.of(ErrorResponse.Error.builder()
+                        .fieldName("id")
+                        .fieldValue(ex.getResourceId())
+                        .message("Concurrent update")
+                        .build())
+        );
+
+        log.warn("Concurrent update: {}", error);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex, HttpServletRequest request) {
+        // Retry-After is whole seconds → never advertise 0
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        String message = getMessage(ex.getMessageKey(), retryAfterSeconds);
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "TOO_MANY_REQUESTS",
+                ex.getMessageKey(),
+                request.getRequestURI(),
+                message,
+                null,
+                List.of()
+        );
+
+        log.warn("Request rejected, retry after {}s: {}", retryAfterSeconds, error);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error);
+    }
+
+    // ------------------ Connection Pool ------------------
+
+    // No connection within the pool's connection-timeout → shed the request, the pool is the backpressure point
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseBusy(RuntimeException ex, HttpServletRequest request) {
+        long retryAfterSeconds = DATABASE_BUSY_RETRY_AFTER.toSeconds();
+        String message = getMessage(UserConstants.ERROR_DATABASE_BUSY, retryAfterSeconds);
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "DATABASE_BUSY",
+                UserConstants.ERROR_DATABASE_BUSY,
+                request.getRequestURI(),
+                message,
+                null,
+                List.of()
+        );
+
+        log.warn("No database connection available, retry after {}s: {}", retryAfterSeconds, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error);
+    }
+
     // ------------------ Validation ------------------
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -101,6 +178,28 @@ public class UserExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(InvalidRequestException ex, HttpServletRequest request) {
+        String message = getMessage(ex.getMessageKey(), ex.getFieldValue());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "INVALID_REQUEST",
+                ex.getMessageKey(),
+                request.getRequestURI(),
+                message,
+                null,
+                List.of(ErrorResponse.Error.builder()
+                        .fieldName(ex.getFieldName())
+                        .fieldValue(ex.getFieldValue())
+                        .message(message)
+                        .build())
+        );
+
+        log.warn("Invalid request: {}", error);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     private ErrorResponse.Error mapFieldError(FieldError fieldError) {
         return ErrorResponse.Error.builder()
                 .fieldName(fieldError.getField())
@@ -0,0 +1,83 @@
+package com.example.retailplatform.user.config;
+
+import com.example.retailplatform.user.adapter.out.persistence.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with primary + read replicas when {@code user.datasource.replica.enabled}
+ * is set. JPA, Flyway and JdbcTemplate all get the routing proxy; see {@link ReplicaRoutingDataSource} for the rules.
+ */
+@Configuration
+@ConditionalOnProperty(name = "user.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    // Same spring.datasource.* / spring.datasource.hikari.* settings the auto-configured pool would use
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("user-primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${user.datasource.replica.urls:}") List<String> urls,
+            @Value("${user.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${user.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${user.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${user.datasource.replica.max-lag:PT2S}") Duration maxLag,
+            @Value("${user.datasource.replica.lag-query}") String lagQuery,
+            @Value("${user.datasource.replica.check-interval:PT1S}") Duration checkInterval,
+            @Value("${user.datasource.replica.read-your-writes-window:PT5S}") Duration readYourWritesWindow) {
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) continue;
+            String name = "replica-" + replicas.size();
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("user-" + name);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(primary.getConnectionTimeout());
+            replica.setReadOnly(true);
+            // Don't fail startup on a replica that is down; the lag probe keeps it out of rotation instead
+            replica.setInitializationFailTimeout(-1);
+            // hikaricp.connections.*{pool=user-replica-N}; the primary pool is bound by Spring Boot
+            replica.setMetricRegistry(meterRegistry);
+            replicas.put(name, replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, maxLag, lagQuery, checkInterval,
+                readYourWritesWindow, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
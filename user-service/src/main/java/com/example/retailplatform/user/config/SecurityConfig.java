@@ -1,10 +1,14 @@
 package com.example.retailplatform.user.config;
 
+import com.example.retailplatform.user.adapter.out.security.CostAwareBCryptPasswordEncoder;
+import com.example.retailplatform.user.adapter.out.security.OffloadingPasswordEncoder;
+import com.example.retailplatform.user.adapter.out.security.PasswordVerificationExecutor;
 import com.example.retailplatform.user.common.ErrorResponse;
 import com.example.retailplatform.user.domain.UserConstants;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,7 +18,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -33,9 +36,12 @@ public class SecurityConfig {
         this.messageSource = messageSource;
     }
 
+    // Stored hashes with a different cost are rehashed on the next successful login;
+    // hashing runs on the bounded pool while user lookups and rehash writes stay on the request thread
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${user.auth.bcrypt.strength:10}") int strength,
+                                           PasswordVerificationExecutor hashingPool) {
+        return new OffloadingPasswordEncoder(new CostAwareBCryptPasswordEncoder(strength), hashingPool);
     }
 
     @Bean
@@ -54,7 +60,8 @@ public class SecurityConfig {
                         "/v3/api-docs/**",
                         "/swagger-ui/**",
                         "/swagger-ui.html",
-                        "/api/users/authenticate"
+                        "/api/users/authenticate",
+                        "/internal/users/authenticate"
                 ).permitAll()
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,39 @@
+package com.example.retailplatform.user.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings that only apply while requests run on virtual threads ({@code spring.threads.virtual.enabled}).
+ * <p>
+ * Cheap threads no longer cap concurrency, the connection pool does → instead of the regular
+ * {@code spring.datasource.hikari.connection-timeout}, a request waits at most
+ * {@code user.threads.virtual.connection-timeout} for a connection and then gets 503 + Retry-After.
+ * Platform-thread deployments keep the regular timeout.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    // Static → registered before the pools are created; runs after spring.datasource.hikari.* has been bound
+    @Bean
+    public static BeanPostProcessor virtualThreadConnectionTimeout(
+            @Value("${user.threads.virtual.connection-timeout:PT2S}") Duration connectionTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -12,12 +12,20 @@ public final class UserConstants {
     public static final String USERNAME_ALREADY_EXISTS_KEY = "username.already.exists";
     public static final String EMAIL_ALREADY_EXISTS_KEY = "email.already.exists";
     public static final String PHONE_ALREADY_EXISTS_KEY = "phone.already.exists";
+    public static final String USER_CONCURRENT_UPDATE_KEY = "user.concurrent.update";
 
     public static final String VALIDATION_FAILED_KEY = "validation.failed";
     public static final String CONSTRAINT_VIOLATION_KEY = "constraint.violation";
     public static final String PERSISTENCE_EXCEPTION_KEY = "persistence.exception";
     public static final String RUNTIME_EXCEPTION_KEY = "runtime.exception";
 
+    // ---------------- Bulk Import ----------------
+    public static final String BULK_IMPORT_MALFORMED_ROW_KEY = "bulk.import.malformed.row";
+    public static final String BULK_IMPORT_INVALID_FIELD_KEY = "bulk.import.invalid.field";
+
+    // ---------------- Search ----------------
+    public static final String SEARCH_CURSOR_INVALID_KEY = "search.cursor.invalid";
+
     // ---------------- Security Errors ----------------
     public static final String ERROR_AUTH_FAILED = "auth.failed";
     public static final String ERROR_ACCESS_DENIED = "access.denied";
@@ -28,13 +36,35 @@ public final class UserConstants {
     public static final String FIELD_EMAIL = "email";
     public static final String FIELD_PHONE = "phoneNumber";
 
+    // ---------------- Paging ----------------
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    // Ids per batch-get request and per IN list
+    public static final int MAX_BATCH_GET_SIZE = 500;
+
+    // ---------------- Full-text search ----------------
+    public static final int SEARCH_QUERY_MIN_LENGTH = 3;
+    public static final int SEARCH_QUERY_MAX_LENGTH = 100;
+    public static final String SEARCH_QUERY_INVALID_KEY = "search.query.invalid";
+
     // ---------------- Misc ----------------
     public static final String REQUEST_URI = "/api/users";
+    // Estimated total on GET /api/users only; keyset-paged search does not count its matches
+    public static final String HEADER_TOTAL_COUNT = "X-Total-Count";
+    // Next-page token of the search endpoints; POST search has no query string to put it in a 'next' link
+    public static final String HEADER_CONTINUATION_TOKEN = "X-Continuation-Token";
+    // Plain JSON without _links, for internal callers such as jwt-service
+    public static final String USER_JSON_VALUE = "application/vnd.retailplatform.user+json";
+    // Service-to-service endpoints: Smile (binary JSON) bodies, no links, not in the OpenAPI document
+    public static final String INTERNAL_REQUEST_URI = "/internal/users";
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
     public static final String MESSAGE_PLACEHOLDER = "mockMessage";
     public static final String SYSTEM = "System";
 
     public static final String ERROR_METHOD_NOT_ALLOWED = "error.method.not.allowed";
     public static final String ERROR_UNSUPPORTED_MEDIA_TYPE = "error.unsupported.media.type";
+    public static final String ERROR_TOO_MANY_REQUESTS = "error.too.many.requests";
+    public static final String ERROR_DATABASE_BUSY = "error.database.busy";
 
     // Private constructor to prevent instantiation
     private UserConstants() {
@@ -0,0 +1,29 @@
+package com.example.retailplatform.user.domain.exception;
+
+import java.io.Serializable;
+
+import lombok.Getter;
+
+@Getter
+public class ConcurrentUpdateException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String resourceName;
+    private final transient Serializable resourceId;
+    private final String messageKey;
+
+    /**
+     * Raised when a write lost the optimistic-locking race against a concurrent write of the same resource.
+     *
+     * @param resourceName Name of the resource (e.g., "User")
+     * @param resourceId   ID of the contended resource, must be Serializable
+     * @param messageKey   Key from messages.properties for i18n
+     */
+    public ConcurrentUpdateException(String resourceName, Serializable resourceId, String messageKey) {
+        super(); // message will be resolved in GlobalExceptionHandler
+        this.resourceName = resourceName;
+        this.resourceId = resourceId;
+        this.messageKey = messageKey;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.retailplatform.user.domain.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidRequestException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String fieldName;
+    private final String fieldValue;
+    private final String messageKey;
+
+    /**
+     * Constructs an exception for a request value the domain cannot act on (→ 400).
+     *
+     * @param fieldName  Name of the offending request field
+     * @param fieldValue Value that was rejected
+     * @param messageKey Key from messages.properties for i18n
+     */
+    public InvalidRequestException(String fieldName, String fieldValue, String messageKey) {
+        super(); // message will be resolved in GlobalExceptionHandler
+        this.fieldName = fieldName;
+        this.fieldValue = fieldValue;
+        this.messageKey = messageKey;
+    }
+}
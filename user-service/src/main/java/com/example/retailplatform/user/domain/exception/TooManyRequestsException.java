@@ -0,0 +1,26 @@
+package com.example.retailplatform.user.domain.exception;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Duration retryAfter;
+    private final String messageKey;
+
+    /**
+     * Constructs an exception for work that was shed instead of queued.
+     *
+     * @param retryAfter How long the client should wait before retrying
+     * @param messageKey Key from messages.properties for i18n
+     */
+    public TooManyRequestsException(Duration retryAfter, String messageKey) {
+        super(); // message will be resolved in GlobalExceptionHandler
+        this.retryAfter = retryAfter;
+        this.messageKey = messageKey;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.retailplatform.user.domain.model;
+
+/**
+ * Outcome of one bulk-import row: the id of the created user, or the offending field plus a message key
+ * (resolved by the web layer) explaining why the row was rejected.
+ */
+public record BulkImportResult(long line, String id, String field, String messageKey, Object... messageArgs) {
+
+    public static BulkImportResult created(long line, String id) {
+        return new BulkImportResult(line, id, null, null);
+    }
+
+    public static BulkImportResult rejected(long line, String field, String messageKey, Object... messageArgs) {
+        return new BulkImportResult(line, null, field, messageKey, messageArgs);
+    }
+
+    public boolean isCreated() {
+        return id != null;
+    }
+}
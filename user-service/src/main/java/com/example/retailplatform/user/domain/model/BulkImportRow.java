@@ -0,0 +1,20 @@
+package com.example.retailplatform.user.domain.model;
+
+/**
+ * One row of a bulk import as handed to the use case: either a user to create, or a row the reader already
+ * rejected (unparseable or invalid), carried along so it is reported in order with the others.
+ */
+public record BulkImportRow(long line, User user, BulkImportResult rejection) {
+
+    public static BulkImportRow of(long line, User user) {
+        return new BulkImportRow(line, user, null);
+    }
+
+    public static BulkImportRow rejected(long line, String field, String messageKey, Object... messageArgs) {
+        return new BulkImportRow(line, null, BulkImportResult.rejected(line, field, messageKey, messageArgs));
+    }
+
+    public boolean isRejected() {
+        return rejection != null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.retailplatform.user.domain.model;
+
+/** Totals of a finished bulk import. */
+public record BulkImportSummary(long rows, long created, long rejected, long elapsedMillis) {
+
+    public long rowsPerSecond() {
+        return elapsedMillis > 0 ? rows * 1000 / elapsedMillis : rows;
+    }
+}
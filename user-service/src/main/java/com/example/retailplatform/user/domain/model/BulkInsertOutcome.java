@@ -0,0 +1,8 @@
+package com.example.retailplatform.user.domain.model;
+
+/**
+ * Result of inserting one chunk, index-aligned with the users passed in: {@code ids[i]} is set for an inserted
+ * user, {@code conflicts[i]} names the field ({@code UserConstants.FIELD_*}) that kept user {@code i} out.
+ */
+public record BulkInsertOutcome(String[] ids, String[] conflicts) {
+}
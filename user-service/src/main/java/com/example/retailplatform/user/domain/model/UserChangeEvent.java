@@ -0,0 +1,19 @@
+package com.example.retailplatform.user.domain.model;
+
+import java.time.Instant;
+
+/**
+ * A committed change to a user, as relayed from the outbox. {@code sequence} increases with commit order per user;
+ * {@code user} is the state after the change, without the password hash.
+ * {@code revokeSessions} is set when tokens issued before the change must stop working (credentials, role, status,
+ * username or active changed).
+ */
+public record UserChangeEvent(long sequence, Type type, User user, boolean revokeSessions, Instant occurredAt) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        /** Soft-deleted or deactivated. */
+        DELETED
+    }
+}
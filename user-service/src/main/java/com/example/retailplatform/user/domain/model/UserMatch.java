@@ -0,0 +1,7 @@
+package com.example.retailplatform.user.domain.model;
+
+/**
+ * A full-text search hit: the user and its relevance, higher is better.
+ */
+public record UserMatch(User user, double score) {
+}
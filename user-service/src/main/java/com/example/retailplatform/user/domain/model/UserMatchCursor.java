@@ -0,0 +1,55 @@
+package com.example.retailplatform.user.domain.model;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in ranked full-text results: the score and id of the last hit, and which tier produced it.
+ * Pages are ordered by score descending, then id.
+ */
+public record UserMatchCursor(Tier tier, double score, long id) {
+
+    public enum Tier {
+        /** Word prefixes and substrings. */
+        MATCHING,
+        /** Trigram similarity, used when nothing matches. */
+        SIMILAR
+    }
+
+    private static final String SEPARATOR = "|";
+
+    public static UserMatchCursor after(Tier tier, UserMatch last) {
+        return new UserMatchCursor(tier, last.score(), Long.parseLong(last.user().getId()));
+    }
+
+    /**
+     * @return the cursor in {@code token}, or null for the first page
+     * @throws InvalidRequestException if the token is malformed
+     */
+    public static UserMatchCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR);
+            if (parts.length == 3) {
+                double score = Double.parseDouble(parts[1]);
+                if (Double.isFinite(score)) {
+                    return new UserMatchCursor(Tier.valueOf(parts[0]), score, Long.parseLong(parts[2]));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new InvalidRequestException("after", token, UserConstants.SEARCH_CURSOR_INVALID_KEY);
+    }
+
+    // Double.toString round-trips exactly → the next page resumes at the very same score
+    public String encode() {
+        String raw = tier + SEPARATOR + score + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.retailplatform.user.domain.model;
+
+import lombok.Builder;
+
+/**
+ * What to search for and in which order. Only the filters that are set become predicates; with none set every
+ * active user matches.
+ */
+@Builder
+public record UserSearchCriteria(String username, String email, String phoneNumber,
+                                 Match match, SortField sort, Direction direction) {
+
+    public enum Match {
+        /** Equal, case-sensitive. */
+        EXACT,
+        /** Equal, ignoring case. */
+        IGNORE_CASE,
+        /** Starts with, ignoring case. */
+        PREFIX
+    }
+
+    public enum SortField {
+        ID, USERNAME, EMAIL
+    }
+
+    public enum Direction {
+        ASC, DESC
+    }
+
+    public UserSearchCriteria {
+        match = match != null ? match : Match.EXACT;
+        sort = sort != null ? sort : SortField.ID;
+        direction = direction != null ? direction : Direction.ASC;
+    }
+
+    /** The value {@code user} is ordered by, i.e. the keyset position it leaves behind. */
+    public String sortValue(User user) {
+        return switch (sort) {
+            case ID -> user.getId();
+            case USERNAME -> user.getUsername();
+            case EMAIL -> user.getEmail();
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.retailplatform.user.domain.model;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position of a search page: the sort value and id of its last user. The continuation token handed to clients
+ * is this cursor, Base64url-encoded. It also records the sort it was issued for, so it cannot be replayed against
+ * another order.
+ */
+public record UserSearchCursor(UserSearchCriteria.SortField sort, UserSearchCriteria.Direction direction,
+                               long id, String value) {
+
+    private static final String SEPARATOR = "|";
+
+    public static UserSearchCursor after(User last, UserSearchCriteria criteria) {
+        return new UserSearchCursor(criteria.sort(), criteria.direction(),
+                Long.parseLong(last.getId()), criteria.sortValue(last));
+    }
+
+    /**
+     * @return the cursor in {@code token}, or null for the first page
+     * @throws InvalidRequestException if the token is malformed or was issued for another sort order
+     */
+    public static UserSearchCursor decode(String token, UserSearchCriteria criteria) {
+        if (token == null || token.isBlank()) return null;
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // sort|direction|id|value → the value goes last and may itself contain the separator
+            String[] parts = decoded.split("\\" + SEPARATOR, 4);
+            UserSearchCursor cursor = new UserSearchCursor(
+                    UserSearchCriteria.SortField.valueOf(parts[0]),
+                    UserSearchCriteria.Direction.valueOf(parts[1]),
+                    Long.parseLong(parts[2]),
+                    parts[3]);
+            if (cursor.sort() == criteria.sort() && cursor.direction() == criteria.direction()) {
+                return cursor;
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            // reported below
+        }
+        throw new InvalidRequestException("after", token, UserConstants.SEARCH_CURSOR_INVALID_KEY);
+    }
+
+    public String encode() {
+        String raw = sort + SEPARATOR + direction + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.retailplatform.user.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of search results. {@code next} is the continuation token for the following page, or null on the last one.
+ */
+public record UserSearchPage(List<User> users, String next) {
+}
@@ -0,0 +1,17 @@
+package com.example.retailplatform.user.domain.port.in;
+
+import com.example.retailplatform.user.domain.model.BulkImportResult;
+import com.example.retailplatform.user.domain.model.BulkImportRow;
+import com.example.retailplatform.user.domain.model.BulkImportSummary;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+public interface UserImportUseCase {
+
+    /**
+     * Creates the users of {@code rows} chunk by chunk; every row is reported through {@code results} once its
+     * chunk is written, so callers can stream results while the upload is still being read.
+     */
+    BulkImportSummary importUsers(Iterator<BulkImportRow> rows, Consumer<BulkImportResult> results);
+}
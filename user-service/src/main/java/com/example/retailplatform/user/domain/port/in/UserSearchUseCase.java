@@ -0,0 +1,12 @@
+package com.example.retailplatform.user.domain.port.in;
+
+import com.example.retailplatform.user.domain.model.UserSearchPage;
+
+public interface UserSearchUseCase {
+
+    /**
+     * Ranked free-text search for support tooling: partial names, emails and phone numbers, with typo-tolerant
+     * matches when nothing matches exactly. {@code after} is the previous page's continuation token.
+     */
+    UserSearchPage findUsers(String query, String after, int limit);
+}
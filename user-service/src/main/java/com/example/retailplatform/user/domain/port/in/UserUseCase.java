@@ -3,17 +3,24 @@ package com.example.retailplatform.user.domain.port.in;
 import com.example.retailplatform.user.adapter.in.web.dto.AuthRequest;
 import com.example.retailplatform.user.adapter.in.web.dto.AuthResponse;
 import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
+import com.example.retailplatform.user.domain.model.UserSearchPage;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserUseCase {
 
     User createUser(User user);
     User getUserById(String id);
-    List<User> getAllUsers();
+    List<User> getUsersByIds(Collection<String> ids);
+    List<User> getUsersPage(String afterId, int limit);
+    void streamAllUsers(Consumer<User> action);
+    long estimateUserCount();
     User patchUser(String id, User user);   
     User updateUser(String id, User user);
     void softDeleteUser(String id);
-    List<User> searchUsers(String username, String email, String phoneNumber);
+    UserSearchPage searchUsers(UserSearchCriteria criteria, String after, int limit);
 
     AuthResponse authenticate(AuthRequest authRequest);
 
@@ -0,0 +1,14 @@
+package com.example.retailplatform.user.domain.port.out;
+
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+
+import java.util.List;
+
+public interface UserEventPublisher {
+
+    /**
+     * Hands a batch of events, in sequence order, to the broker. Returns once they are durable there; throws if
+     * they may not be, in which case the whole batch is published again later → consumers must be idempotent.
+     */
+    void publish(List<UserChangeEvent> events);
+}
@@ -0,0 +1,18 @@
+package com.example.retailplatform.user.domain.port.out;
+
+import com.example.retailplatform.user.domain.model.BulkInsertOutcome;
+import com.example.retailplatform.user.domain.model.User;
+
+import java.util.List;
+
+public interface UserImportPort {
+
+    /**
+     * Inserts a chunk of new users in one transaction with batched INSERTs.
+     * Username / email / phone uniqueness is checked for the whole chunk in one set-based query (and within the
+     * chunk itself); conflicting users are left out and reported in the outcome instead of failing the chunk.
+     * A conflict that only the database catches (a concurrent insert) → ResourceAlreadyExistsException, nothing
+     * from the chunk is written.
+     */
+    BulkInsertOutcome insertAll(List<User> users);
+}
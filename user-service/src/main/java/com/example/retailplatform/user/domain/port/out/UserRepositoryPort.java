@@ -1,32 +1,69 @@
 package com.example.retailplatform.user.domain.port.out;
 
 import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
+import com.example.retailplatform.user.domain.model.UserSearchCursor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserRepositoryPort {
 
-    // -------------------- Create / Existence Checks --------------------
-    boolean existsByUsername(String username);
-    boolean existsByActiveEmail(String email);
-    boolean existsByActivePhoneNumber(String phoneNumber);
-
     // -------------------- Read --------------------
+    // Users returned here (and by save / modify) never carry the password hash → see Authentication below
     Optional<User> findActiveById(String id);
-    List<User> findAllActive();
+
+    /** Active users among {@code ids} (at most MAX_BATCH_GET_SIZE) in one query, in no particular order. */
+    List<User> findActiveByIds(Collection<String> ids);
+
+    /** Keyset page: active users with id greater than {@code afterId} (null = first page), ordered by id. */
+    List<User> findActivePage(String afterId, int limit);
+
+    /** Streams every active user through {@code action} from a database cursor, without materialising the list. */
+    void forEachActive(Consumer<User> action);
+
+    /** Cheap, possibly slightly stale count of active users. */
+    long estimateActiveCount();
 
     // -------------------- Update / Patch --------------------
     Optional<User> findActiveByUsername(String username);
     Optional<User> findActiveByEmail(String email);
     Optional<User> findActiveByPhoneNumber(String phoneNumber);
 
+    // Both enforce username / email / phone uniqueness → ResourceAlreadyExistsException
     User save(User user);      // For create
-    User patch(User user);     // For update / patch
+
+    /**
+     * Loads the active user once, lets {@code changes} edit that copy and writes only what changed, in one
+     * transaction. Returns the user unchanged, without a write, when {@code changes} changed nothing.
+     * A non-blank password set by {@code changes} replaces the stored hash.
+     *
+     * @throws com.example.retailplatform.user.domain.exception.ResourceNotFoundException  no active user with this id
+     * @throws com.example.retailplatform.user.domain.exception.ConcurrentUpdateException another write got there first
+     */
+    User modify(String id, Consumer<User> changes);
+
+    // -------------------- Authentication --------------------
+    // Only username, password, role and status are populated → never cached, never written back
+    Optional<User> findLoginByUsername(String username);
+    Optional<User> findLoginByEmail(String email);
+    Optional<User> findLoginByPhoneNumber(String phoneNumber);
+
+    /**
+     * Replaces the stored hash with {@code encodedPassword}, the same password re-encoded at the configured cost.
+     * Unlike a password change through {@link #modify}, issued tokens stay valid.
+     *
+     * @throws com.example.retailplatform.user.domain.exception.ResourceNotFoundException  no active user with this id
+     * @throws com.example.retailplatform.user.domain.exception.ConcurrentUpdateException another write got there first
+     */
+    void rehashPassword(String id, String encodedPassword);
 
     // -------------------- Delete --------------------
     void softDelete(String id);
 
     // -------------------- Search --------------------
-    List<User> searchActiveUsers(String username, String email, String phoneNumber);
+    /** Active users matching {@code criteria} in its sort order, starting after {@code after} (null = first page). */
+    List<User> searchActiveUsers(UserSearchCriteria criteria, UserSearchCursor after, int limit);
 }
@@ -0,0 +1,20 @@
+package com.example.retailplatform.user.domain.port.out;
+
+import com.example.retailplatform.user.domain.model.UserMatch;
+import com.example.retailplatform.user.domain.model.UserMatchCursor;
+
+import java.util.List;
+
+/**
+ * Free-text search over active users' names, username, email and phone number.
+ * Both methods take a lower-cased query and return at most {@code limit} hits after {@code after} (null → first
+ * page), best score first and ties by id. Returned users never carry the password hash.
+ */
+public interface UserSearchIndexPort {
+
+    /** Users with a word starting with each query word, or containing the query as a substring. */
+    List<UserMatch> findMatching(String query, UserMatchCursor after, int limit);
+
+    /** Users whose text is close to the query (typos, transposed letters), ranked by similarity. */
+    List<UserMatch> findSimilar(String query, UserMatchCursor after, int limit);
+}
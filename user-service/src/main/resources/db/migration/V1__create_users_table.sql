@@ -0,0 +1,22 @@
+-- ===============================
+-- Users table
+-- ===============================
+-- Mirrors UserEntity. IF NOT EXISTS → databases created earlier by
+-- ddl-auto=update are baselined instead of failing here.
+CREATE TABLE IF NOT EXISTS users (
+    id                       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username                 VARCHAR(255) NOT NULL,
+    first_name               VARCHAR(255) NOT NULL,
+    last_name                VARCHAR(255) NOT NULL,
+    email                    VARCHAR(255) NOT NULL,
+    phone_number             VARCHAR(255) NOT NULL,
+    active                   BOOLEAN      NOT NULL,
+    status                   VARCHAR(255) NOT NULL,
+    role                     VARCHAR(255) NOT NULL,
+    password                 VARCHAR(255),
+    password_change_required BOOLEAN      NOT NULL,
+    created_by               VARCHAR(255) NOT NULL,
+    created_at               TIMESTAMP(6) NOT NULL,
+    updated_by               VARCHAR(255) NOT NULL,
+    updated_at               TIMESTAMP(6) NOT NULL
+);
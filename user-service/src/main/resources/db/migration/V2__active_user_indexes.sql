@@ -0,0 +1,53 @@
+-- ===============================
+-- Indexes for active-user lookups
+-- ===============================
+-- Every lookup in UserJpaRepository filters on active = true, so the indexes
+-- only cover active rows: soft-deleted users cost nothing on reads or writes.
+
+-- Drop the unnamed unique constraints Hibernate generated for username/email
+-- (uk_<hash>). Username gets a named one back; email uniqueness moves to the
+-- partial index below so a deleted user no longer blocks the address.
+DO $$
+DECLARE
+    c RECORD;
+BEGIN
+    FOR c IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att
+          ON att.attrelid = con.conrelid AND att.attnum = ANY (con.conkey)
+        WHERE con.conrelid = 'users'::regclass
+          AND con.contype = 'u'
+          AND cardinality(con.conkey) = 1
+          AND att.attname IN ('username', 'email')
+          AND con.conname <> 'uk_users_username'
+    LOOP
+        EXECUTE format('ALTER TABLE users DROP CONSTRAINT %I', c.conname);
+    END LOOP;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'users'::regclass AND conname = 'uk_users_username') THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username);
+    END IF;
+END
+$$;
+
+-- Login projection (username, password, role, status) → index-only scans on /authenticate
+CREATE INDEX IF NOT EXISTS ix_users_login_username
+    ON users (username) INCLUDE (password, role, status)
+    WHERE active = true;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_active
+    ON users (email) INCLUDE (username, password, role, status)
+    WHERE active = true;
+
+CREATE INDEX IF NOT EXISTS ix_users_phone_number_active
+    ON users (phone_number) INCLUDE (username, password, role, status)
+    WHERE active = true;
+
+-- Keyset pagination / streaming: WHERE active = true AND id > ? ORDER BY id
+CREATE INDEX IF NOT EXISTS ix_users_active_id
+    ON users (id)
+    WHERE active = true;
+
+ANALYZE users;
@@ -0,0 +1,21 @@
+-- ===============================
+-- Pooled id allocation for users
+-- ===============================
+-- UserEntity draws ids from users_id_seq with a pooled optimizer
+-- (allocationSize = 50): one nextval reserves a block of 50 ids, so batched
+-- inserts know their keys up front instead of needing one round trip per row.
+--
+-- Identity sequences are not visible to Hibernate's schema validation, so the
+-- column moves to a plain sequence of the same name that steps by 50.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS users_id_seq OWNED BY users.id;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+
+-- Hibernate uses (value - 49 .. value] for each nextval → the first block must
+-- start above every existing id
+SELECT setval('users_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+
+-- Inserts that rely on the column default take a whole block for one row,
+-- which keeps them clear of the blocks Hibernate hands out
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_id_seq');
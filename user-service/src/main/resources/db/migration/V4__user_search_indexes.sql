@@ -0,0 +1,24 @@
+-- ===============================
+-- Indexes for user search
+-- ===============================
+-- UserSpecifications emits only the predicates a search sets:
+--   EXACT       → username = ?          (uk_users_username / ux_users_email_active / ix_users_phone_number_active)
+--   IGNORE_CASE → lower(username) = ?
+--   PREFIX      → lower(username) LIKE 'abc%'
+-- text_pattern_ops serves both = and LIKE 'prefix%' whatever the database
+-- collation, without needing the citext or pg_trgm extensions.
+
+CREATE INDEX IF NOT EXISTS ix_users_username_lower
+    ON users (lower(username) text_pattern_ops)
+    WHERE active = true;
+
+CREATE INDEX IF NOT EXISTS ix_users_email_lower
+    ON users (lower(email) text_pattern_ops)
+    WHERE active = true;
+
+-- Phone numbers are digits → prefix only, no case folding
+CREATE INDEX IF NOT EXISTS ix_users_phone_number_prefix
+    ON users (phone_number text_pattern_ops)
+    WHERE active = true;
+
+ANALYZE users;
@@ -0,0 +1,41 @@
+-- ===============================
+-- Full-text and fuzzy user search
+-- ===============================
+-- UserSearchIndexAdapter matches free text against names, username, email
+-- and phone number in two tiers:
+--   matching → search_vector @@ 'ali:*'            (word prefixes, ranked by ts_rank)
+--              OR user_search_text(...) LIKE '%ali%' (substrings, e.g. middle digits of a phone)
+--   similar  → 'jhonson' <% user_search_text(...)   (typos, only when nothing matches)
+-- pg_trgm is a trusted extension → the database owner can install it.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Word lexemes, weighted so name / username hits rank above email above phone.
+-- Separators are blanked first → 'alice.smith@example.com' yields alice, smith, example, com.
+-- Adding a STORED column rewrites the table once.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', translate(username || ' ' || first_name || ' ' || last_name, '._-+', '    ')), 'A') ||
+        setweight(to_tsvector('simple', translate(email, '@._-+', '     ')), 'B') ||
+        setweight(to_tsvector('simple', phone_number), 'C')
+    ) STORED;
+
+-- The text trigrams are taken from. A function rather than a column → no extra
+-- heap storage, and the index and the queries share one definition.
+CREATE OR REPLACE FUNCTION user_search_text(username TEXT, first_name TEXT, last_name TEXT,
+                                            email TEXT, phone_number TEXT)
+    RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+    SELECT lower(username || ' ' || first_name || ' ' || last_name || ' ' || email || ' ' || phone_number)
+$$;
+
+CREATE INDEX IF NOT EXISTS ix_users_search_vector
+    ON users USING gin (search_vector)
+    WHERE active = true;
+
+CREATE INDEX IF NOT EXISTS ix_users_search_text_trgm
+    ON users USING gin (user_search_text(username, first_name, last_name, email, phone_number) gin_trgm_ops)
+    WHERE active = true;
+
+ANALYZE users;
@@ -0,0 +1,15 @@
+-- ===============================
+-- Transactional outbox for user changes
+-- ===============================
+-- UserRepositoryAdapter inserts a row in the same transaction as the user
+-- write, after the users row is flushed (and locked) → per user, id order
+-- is commit order. UserOutboxRelay publishes rows in id order and deletes
+-- them; the broker keeps the history.
+CREATE TABLE IF NOT EXISTS user_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT                      NOT NULL,
+    event_type      VARCHAR(16)                 NOT NULL,
+    revoke_sessions BOOLEAN                     NOT NULL,
+    payload         TEXT                        NOT NULL,
+    occurred_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
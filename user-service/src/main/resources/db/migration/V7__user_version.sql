@@ -0,0 +1,7 @@
+-- ===============================
+-- Optimistic locking for user writes
+-- ===============================
+-- UserEntity.version is bumped by every UPDATE, which carries
+-- "WHERE id = ? AND version = ?" → a write based on a stale read matches
+-- no row and is rejected instead of silently overwriting the other one.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
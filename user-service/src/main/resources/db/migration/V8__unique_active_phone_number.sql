@@ -0,0 +1,12 @@
+-- ===============================
+-- Unique phone number among active users
+-- ===============================
+-- findLoginByPhoneNumber / findActiveByPhoneNumber expect at most one active
+-- row per phone number. V2 indexed the column without enforcing that, so the
+-- index is rebuilt as unique over the same partial predicate as
+-- ux_users_email_active: a deleted user no longer blocks the number.
+DROP INDEX IF EXISTS ix_users_phone_number_active;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_phone_number_active
+    ON users (phone_number) INCLUDE (username, password, role, status)
+    WHERE active = true;
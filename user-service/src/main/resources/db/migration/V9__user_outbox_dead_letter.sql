@@ -0,0 +1,17 @@
+-- ===============================
+-- Dead letters for the user outbox
+-- ===============================
+-- UserOutboxRelay moves a row here when it cannot be read back as an event
+-- (unreadable payload, unknown event type). Left in user_outbox it would fail
+-- every relay round and hold back every event behind it. Rows keep their
+-- outbox id and columns, plus why they were rejected, for replay by hand.
+CREATE TABLE IF NOT EXISTS user_outbox_dead_letter (
+    id              BIGINT                      PRIMARY KEY,
+    user_id         BIGINT                      NOT NULL,
+    event_type      VARCHAR(16)                 NOT NULL,
+    revoke_sessions BOOLEAN                     NOT NULL,
+    payload         TEXT                        NOT NULL,
+    occurred_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    error           TEXT                        NOT NULL,
+    failed_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
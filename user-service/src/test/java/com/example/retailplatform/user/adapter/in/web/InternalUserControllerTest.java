@@ -0,0 +1,110 @@
+package com.example.retailplatform.user.adapter.in.web;
+
+import com.example.retailplatform.user.adapter.in.web.dto.UserBatchGetRequest;
+import com.example.retailplatform.user.adapter.in.web.dto.UserDtoMapper;
+import com.example.retailplatform.user.adapter.in.web.dto.UserResponse;
+import com.example.retailplatform.user.adapter.in.web.dto.UserSearchRequest;
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
+import com.example.retailplatform.user.domain.model.UserSearchPage;
+import com.example.retailplatform.user.domain.port.in.UserUseCase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class InternalUserControllerTest {
+
+    private final SmileMapper smileMapper = new SmileMapper();
+
+    @Mock
+    private UserUseCase userUseCase;
+
+    @Mock
+    private UserDtoMapper userDtoMapper;
+
+    @InjectMocks
+    private InternalUserController internalUserController;
+
+    private MockMvc mockMvc;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(internalUserController).build();
+
+        user = User.builder().id("1").username("alice.smith").build();
+        when(userDtoMapper.toResponse(user))
+                .thenReturn(UserResponse.builder().id("1").username("alice.smith").build());
+    }
+
+    @Test
+    void batchGet_readsAndWritesSmileWithoutLinks() throws Exception {
+        when(userUseCase.getUsersByIds(List.of("1", "2"))).thenReturn(List.of(user));
+
+        MvcResult result = mockMvc.perform(post(UserConstants.INTERNAL_REQUEST_URI + "/batch-get")
+                        .contentType(UserConstants.SMILE_VALUE)
+                        .accept(UserConstants.SMILE_VALUE)
+                        .content(smileMapper.writeValueAsBytes(
+                                UserBatchGetRequest.builder().ids(List.of("1", "2")).build())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", UserConstants.SMILE_VALUE))
+                .andReturn();
+
+        JsonNode body = smileMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(1, body.size());
+        assertEquals("alice.smith", body.get(0).get("username").asText());
+        assertFalse(body.get(0).has("_links"));
+    }
+
+    @Test
+    void search_returnsArrayAndContinuationToken() throws Exception {
+        UserSearchCriteria criteria = UserSearchCriteria.builder().username("alice.smith").build();
+        when(userDtoMapper.toCriteria(any(UserSearchRequest.class))).thenReturn(criteria);
+        when(userUseCase.searchUsers(eq(criteria), isNull(), anyInt()))
+                .thenReturn(new UserSearchPage(List.of(user), "next-token"));
+
+        UserSearchRequest request = new UserSearchRequest();
+        request.setUsername("alice.smith");
+
+        MvcResult result = mockMvc.perform(post(UserConstants.INTERNAL_REQUEST_URI + "/search")
+                        .contentType(UserConstants.SMILE_VALUE)
+                        .accept(UserConstants.SMILE_VALUE)
+                        .content(smileMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(UserConstants.HEADER_CONTINUATION_TOKEN, "next-token"))
+                .andReturn();
+
+        JsonNode body = smileMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("1", body.get(0).get("id").asText());
+    }
+
+    @Test
+    void jsonRequest_isNotServed() throws Exception {
+        mockMvc.perform(post(UserConstants.INTERNAL_REQUEST_URI + "/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"1\"]}"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(userUseCase);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.retailplatform.user.adapter.in.web;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObservabilityFilterTest {
+
+    private static final String REQUEST_BODY = "{\"username\":\"alice\"}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Logger logger = (Logger) LoggerFactory.getLogger("com.example.retailplatform");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void unsampledSuccess_passesThroughWithoutLogging() throws Exception {
+        ObservabilityFilter filter = new ObservabilityFilter(meterRegistry, 0.0, 2000);
+
+        MockHttpServletResponse response = run(filter, 200, "{\"id\":\"1\"}");
+
+        assertEquals("{\"id\":\"1\"}", response.getContentAsString());
+        assertEquals(REQUEST_BODY, response.getHeader("X-Echo"));
+        assertNotNull(response.getHeader("X-Correlation-ID"));
+        assertTrue(appender.list.isEmpty());
+        assertEquals(1, meterRegistry.get("observability.filter.overhead").tag("logged", "false").timer().count());
+    }
+
+    @Test
+    void unsampledErrorResponse_isLoggedWithBothBodies() throws Exception {
+        ObservabilityFilter filter = new ObservabilityFilter(meterRegistry, 0.0, 2000);
+
+        MockHttpServletResponse response = run(filter, 404, "{\"message\":\"User not found\"}");
+
+        assertEquals("{\"message\":\"User not found\"}", response.getContentAsString());
+        assertEquals(2, appender.list.size());
+        assertTrue(arguments(appender.list.get(0)).contains("body=" + REQUEST_BODY));
+        assertTrue(arguments(appender.list.get(1)).contains("body={\"message\":\"User not found\"}"));
+        assertEquals(1, meterRegistry.get("observability.filter.overhead").tag("logged", "true").timer().count());
+    }
+
+    @Test
+    void sampledExchange_capturesBothBodiesUpToLimit() throws Exception {
+        ObservabilityFilter filter = new ObservabilityFilter(meterRegistry, 1.0, 8);
+
+        MockHttpServletResponse response = run(filter, 200, "{\"id\":\"123456\"}");
+
+        assertEquals("{\"id\":\"123456\"}", response.getContentAsString());
+        assertEquals(REQUEST_BODY, response.getHeader("X-Echo"));
+        assertTrue(arguments(appender.list.get(0)).contains("body={\"userna...[truncated]"));
+        assertTrue(arguments(appender.list.get(1)).contains("body={\"id\":\"1...[truncated]"));
+    }
+
+    @Test
+    void secretHeaders_areMasked() throws Exception {
+        ObservabilityFilter filter = new ObservabilityFilter(meterRegistry, 1.0, 2000);
+
+        run(filter, 200, "{}");
+
+        String incoming = arguments(appender.list.get(0));
+        assertTrue(incoming.contains("Authorization=***"));
+        assertFalse(incoming.contains("Bearer"));
+    }
+
+    @Test
+    void asyncExchange_isLoggedOnceTheStreamedBodyIsComplete() throws Exception {
+        ObservabilityFilter filter = new ObservabilityFilter(meterRegistry, 1.0, 2000);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<AsyncContext> async = new AtomicReference<>();
+
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                async.set(req.startAsync(req, resp));
+                resp.setContentType("application/x-ndjson");
+                resp.getWriter().write("{\"id\":\"1\"}\n");
+            }
+        };
+        new MockFilterChain(servlet, filter).doFilter(request, response);
+
+        assertTrue(appender.list.isEmpty());
+
+        async.get().getResponse().getWriter().write("{\"id\":\"2\"}\n");
+        async.get().complete();
+
+        assertEquals(2, appender.list.size());
+        assertTrue(arguments(appender.list.get(1)).contains("body={\"id\":\"1\"}\n{\"id\":\"2\"}"));
+        assertEquals(1, meterRegistry.get("observability.filter.overhead").tag("logged", "true").timer().count());
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private MockHttpServletResponse run(ObservabilityFilter filter, int status, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/search");
+        request.setContentType("application/json");
+        request.addHeader("Authorization", "Bearer secret-token");
+        request.setContent(REQUEST_BODY.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setHeader("X-Echo", new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+                resp.setStatus(status);
+                resp.setContentType("application/json");
+                resp.getWriter().write(body);
+            }
+        };
+        new MockFilterChain(servlet, filter).doFilter(request, response);
+        return response;
+    }
+
+    private static String arguments(ILoggingEvent event) {
+        return Arrays.toString(event.getArgumentArray());
+    }
+}
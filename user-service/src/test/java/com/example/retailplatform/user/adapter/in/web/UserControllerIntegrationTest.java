@@ -125,7 +125,7 @@ class UserControllerIntegrationTest {
 
     @Test
     void testGetAllUsers() throws Exception {
-        when(userUseCase.getAllUsers()).thenReturn(List.of(user));
+        when(userUseCase.getUsersPage(null, 50)).thenReturn(List.of(user));
         when(userDtoMapper.toResponse(user)).thenReturn(userResponse);
         when(assembler.toModel(userResponse)).thenReturn(entityModel);
 
@@ -134,7 +134,7 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$._embedded.userList[0].id").value("1"))
                 .andExpect(jsonPath("$._embedded.userList[0].firstName").value("Alice"));
 
-        verify(userUseCase, times(1)).getAllUsers();
+        verify(userUseCase, times(1)).getUsersPage(null, 50);
     }
 
     @Test
@@ -1,12 +1,16 @@
 package com.example.retailplatform.user.adapter.in.web;
 
+import com.example.retailplatform.user.adapter.in.web.dto.UserBatchGetRequest;
 import com.example.retailplatform.user.adapter.in.web.dto.UserDtoMapper;
 import com.example.retailplatform.user.adapter.in.web.dto.UserRequest;
 import com.example.retailplatform.user.adapter.in.web.dto.UserResponse;
 import com.example.retailplatform.user.adapter.in.web.dto.UserSearchRequest;
+import com.example.retailplatform.user.domain.UserConstants;
 import com.example.retailplatform.user.domain.model.Role;
 import com.example.retailplatform.user.domain.model.Status;
 import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
+import com.example.retailplatform.user.domain.model.UserSearchPage;
 import com.example.retailplatform.user.domain.port.in.UserUseCase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,10 +20,18 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -87,17 +99,75 @@ class UserControllerTest {
 
     @Test
     void all_returnsCollectionModel() {
-        when(userUseCase.getAllUsers()).thenReturn(List.of(user));
+        when(userUseCase.getUsersPage(null, 50)).thenReturn(List.of(user));
+        when(userUseCase.estimateUserCount()).thenReturn(1L);
         when(userDtoMapper.toResponse(user)).thenReturn(userResponse);
         when(assembler.toModel(userResponse)).thenReturn(entityModel);
 
-        ResponseEntity<CollectionModel<EntityModel<UserResponse>>> response = userController.all();
+        ResponseEntity<CollectionModel<EntityModel<UserResponse>>> response = userController.all(null, 50);
         CollectionModel<EntityModel<UserResponse>> result = response.getBody();
 
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
         assertTrue(result.getContent().iterator().next().getLinks().hasLink("self"));
-        verify(userUseCase, times(1)).getAllUsers();
+        assertFalse(result.getLinks().hasLink("next"));
+        assertEquals("1", response.getHeaders().getFirst("X-Total-Count"));
+        verify(userUseCase, times(1)).getUsersPage(null, 50);
+    }
+
+    @Test
+    void all_fullPage_addsNextLinkFromLastId() {
+        when(userUseCase.getUsersPage("0", 1)).thenReturn(List.of(user));
+        when(userUseCase.estimateUserCount()).thenReturn(42L);
+        when(userDtoMapper.toResponse(user)).thenReturn(userResponse);
+        when(assembler.toModel(userResponse)).thenReturn(entityModel);
+
+        ResponseEntity<CollectionModel<EntityModel<UserResponse>>> response = userController.all("0", 1);
+        CollectionModel<EntityModel<UserResponse>> result = response.getBody();
+
+        assertNotNull(result);
+        assertTrue(result.getLinks().hasLink("next"));
+        assertTrue(result.getRequiredLink("next").getHref().contains("after=1"));
+        assertEquals("42", response.getHeaders().getFirst("X-Total-Count"));
+    }
+
+    @Test
+    void all_pageFullAtCap_addsNextLinkForLimitAboveCap() {
+        List<User> page = Collections.nCopies(UserConstants.MAX_PAGE_SIZE, user);
+        when(userUseCase.getUsersPage(null, 1_000)).thenReturn(page);
+        when(userDtoMapper.toResponse(user)).thenReturn(userResponse);
+        when(assembler.toModel(userResponse)).thenReturn(entityModel);
+
+        CollectionModel<EntityModel<UserResponse>> result = userController.all(null, 1_000).getBody();
+
+        assertNotNull(result);
+        assertTrue(result.getLinks().hasLink("next"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAll_writesOneJsonLinePerUser() throws Exception {
+        UserController streamingController =
+                new UserController(userUseCase, new UserDtoMapper(), assembler, new ObjectMapper());
+        streamingController.initWriters();
+
+        User second = User.builder().id("2").username("bob").active(true).build();
+        doAnswer(invocation -> {
+            Consumer<User> action = invocation.getArgument(0);
+            action.accept(user);
+            action.accept(second);
+            return null;
+        }).when(userUseCase).streamAllUsers(any(Consumer.class));
+
+        ResponseEntity<StreamingResponseBody> response = streamingController.streamAll();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"username\":\"alice.smith\""));
+        assertTrue(lines[1].contains("\"id\":\"2\""));
+        assertFalse(lines[0].contains("links"));
     }
 
     @Test
@@ -182,7 +252,10 @@ class UserControllerTest {
         UserSearchRequest searchRequest = new UserSearchRequest();
         searchRequest.setEmail("alice@example.com");
 
-        when(userUseCase.searchUsers(null, "alice@example.com", null)).thenReturn(List.of(user));
+        UserSearchCriteria criteria = UserSearchCriteria.builder().email("alice@example.com").build();
+        when(userDtoMapper.toCriteria(searchRequest)).thenReturn(criteria);
+        when(userUseCase.searchUsers(criteria, null, UserConstants.DEFAULT_PAGE_SIZE))
+                .thenReturn(new UserSearchPage(List.of(user), "next-page"));
         when(userDtoMapper.toResponse(user)).thenReturn(userResponse);
         when(assembler.toModel(userResponse)).thenReturn(entityModel);
 
@@ -194,8 +267,54 @@ class UserControllerTest {
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
         assertTrue(result.getContent().iterator().next().getLinks().hasLink("self"));
-        assertEquals("1", response.getHeaders().getFirst("X-Total-Count"));
+        assertEquals("next-page", response.getHeaders().getFirst(UserConstants.HEADER_CONTINUATION_TOKEN));
+        assertFalse(response.getHeaders().containsKey(UserConstants.HEADER_TOTAL_COUNT));
+
+        verify(userUseCase, times(1)).searchUsers(criteria, null, UserConstants.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void search_returnsContinuationTokenWhenMoreResultsFollow() {
+        UserSearchRequest searchRequest = UserSearchRequest.builder()
+                .username("al").match(UserSearchCriteria.Match.PREFIX).limit(1).after("prev").build();
+        UserSearchCriteria criteria = UserSearchCriteria.builder()
+                .username("al").match(UserSearchCriteria.Match.PREFIX).build();
+
+        when(userDtoMapper.toCriteria(searchRequest)).thenReturn(criteria);
+        when(userUseCase.searchUsers(criteria, "prev", 1)).thenReturn(new UserSearchPage(List.of(user), "next"));
+        when(userDtoMapper.toResponse(user)).thenReturn(userResponse);
+
+        ResponseEntity<List<UserResponse>> response = userController.searchPlain(searchRequest);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of(userResponse), response.getBody());
+        assertEquals("next", response.getHeaders().getFirst(UserConstants.HEADER_CONTINUATION_TOKEN));
+    }
+
+    @Test
+    void search_omitsContinuationTokenOnLastPage() {
+        UserSearchRequest searchRequest = new UserSearchRequest();
+        UserSearchCriteria criteria = UserSearchCriteria.builder().build();
+
+        when(userDtoMapper.toCriteria(searchRequest)).thenReturn(criteria);
+        when(userUseCase.searchUsers(criteria, null, UserConstants.DEFAULT_PAGE_SIZE))
+                .thenReturn(new UserSearchPage(List.of(), null));
+
+        ResponseEntity<List<UserResponse>> response = userController.searchPlain(searchRequest);
+
+        assertEquals(List.of(), response.getBody());
+        assertFalse(response.getHeaders().containsKey(UserConstants.HEADER_CONTINUATION_TOKEN));
+    }
 
-        verify(userUseCase, times(1)).searchUsers(null, "alice@example.com", null);
+    @Test
+    void batchGetPlain_returnsUsersInServiceOrder() {
+        UserBatchGetRequest request = UserBatchGetRequest.builder().ids(List.of("1", "404")).build();
+        when(userUseCase.getUsersByIds(List.of("1", "404"))).thenReturn(List.of(user));
+        when(userDtoMapper.toResponse(user)).thenReturn(userResponse);
+
+        ResponseEntity<List<UserResponse>> response = userController.batchGetPlain(request);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of(userResponse), response.getBody());
     }
 }
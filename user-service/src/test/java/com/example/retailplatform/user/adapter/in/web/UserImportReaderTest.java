@@ -0,0 +1,128 @@
+package com.example.retailplatform.user.adapter.in.web;
+
+import com.example.retailplatform.user.adapter.in.web.dto.UserDtoMapper;
+import com.example.retailplatform.user.adapter.in.web.dto.UserRequest;
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.model.BulkImportRow;
+import com.example.retailplatform.user.domain.model.Role;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportReaderTest {
+
+    private static final String VALID_JSON =
+            "{\"firstName\":\"Alice\",\"lastName\":\"Smith\",\"username\":\"alice\",\"email\":\"alice@example.com\",\"phoneNumber\":\"1234567890\"}";
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    private final UserDtoMapper userDtoMapper = new UserDtoMapper();
+    private final ObjectReader ndjsonReader = new ObjectMapper().readerFor(UserRequest.class);
+    private final ObjectReader csvReader = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .build()
+            .readerFor(UserRequest.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void ndjson_mapsValidRowsAndSkipsBlankLines() {
+        List<BulkImportRow> rows = ndjson(VALID_JSON + "\n\n" + VALID_JSON.replace("alice", "bob") + "\n");
+
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.get(0).line());
+        assertEquals("alice", rows.get(0).user().getUsername());
+        assertEquals(3, rows.get(1).line());
+        assertEquals("bob", rows.get(1).user().getUsername());
+    }
+
+    @Test
+    void ndjson_malformedRowIsRejectedAndReadingContinues() {
+        List<BulkImportRow> rows = ndjson("{not json}\n" + VALID_JSON);
+
+        assertEquals(2, rows.size());
+        assertTrue(rows.get(0).isRejected());
+        assertEquals(UserConstants.BULK_IMPORT_MALFORMED_ROW_KEY, rows.get(0).rejection().messageKey());
+        assertFalse(rows.get(1).isRejected());
+    }
+
+    @Test
+    void ndjson_invalidRowReportsOffendingField() {
+        List<BulkImportRow> rows = ndjson(VALID_JSON.replace("alice@example.com", "not-an-email"));
+
+        BulkImportRow row = rows.get(0);
+        assertTrue(row.isRejected());
+        assertEquals("email", row.rejection().field());
+        assertEquals(UserConstants.BULK_IMPORT_INVALID_FIELD_KEY, row.rejection().messageKey());
+        assertEquals("email", row.rejection().messageArgs()[0]);
+    }
+
+    @Test
+    void csv_mapsRecordsWithSourceLineNumbers() throws IOException {
+        List<BulkImportRow> rows = csv("""
+                firstName,lastName,username,email,phoneNumber,role
+                Alice,Smith,alice,alice@example.com,1234567890,ADMIN
+                Bob,Jones,bob,bob@example.com,1234567891,KING
+                Carol,White,carol,carol@example.com,1234567892,
+                """);
+
+        assertEquals(3, rows.size());
+        assertEquals(2, rows.get(0).line());
+        assertEquals(Role.ADMIN, rows.get(0).user().getRole());
+        assertEquals(3, rows.get(1).line());
+        assertEquals(UserConstants.BULK_IMPORT_MALFORMED_ROW_KEY, rows.get(1).rejection().messageKey());
+        assertEquals(4, rows.get(2).line());
+        assertNull(rows.get(2).user().getRole());
+    }
+
+    // ------------------ Helper Methods ------------------
+
+    private List<BulkImportRow> ndjson(String body) {
+        return drain(UserImportReader.ndjson(stream(body), ndjsonReader, validator, userDtoMapper));
+    }
+
+    private List<BulkImportRow> csv(String body) throws IOException {
+        return drain(UserImportReader.csv(stream(body), csvReader, validator, userDtoMapper));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<BulkImportRow> drain(Iterator<BulkImportRow> reader) {
+        List<BulkImportRow> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.retailplatform.user.adapter.in.web;
 
 import com.example.retailplatform.user.adapter.in.web.dto.UserResponse;
+import com.example.retailplatform.user.domain.UserConstants;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 class UserModelAssemblerTest {
 
@@ -29,6 +37,11 @@ class UserModelAssemblerTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     void testToModel() {
         EntityModel<UserResponse> model = assembler.toModel(userResponse);
@@ -43,4 +56,35 @@ class UserModelAssemblerTest {
         // Optional: verify URI patterns (just the path contains user ID)
         assertTrue(model.getRequiredLink("self").getHref().contains(userResponse.getId()));
     }
+
+    @Test
+    void toModel_linksMatchMethodOnLinksForCurrentRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.setServerName("users.example.com");
+        request.setServerPort(8443);
+        request.setScheme("https");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        EntityModel<UserResponse> model = assembler.toModel(userResponse);
+
+        Link self = linkTo(methodOn(UserController.class).one("1")).withSelfRel();
+        Link users = linkTo(methodOn(UserController.class).all(null, UserConstants.DEFAULT_PAGE_SIZE)).withRel("users");
+        assertEquals(self.getHref(), model.getRequiredLink("self").getHref());
+        assertEquals(users.getHref(), model.getRequiredLink("users").getHref());
+        assertEquals(users.isTemplated(), model.getRequiredLink("users").isTemplated());
+        assertEquals("https://users.example.com:8443/api/users/1", model.getRequiredLink("self").getHref());
+    }
+
+    @Test
+    void toModel_resolvesBaseUriOncePerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        EntityModel<UserResponse> first = assembler.toModel(userResponse);
+        request.setServerName("changed.example.com");
+        EntityModel<UserResponse> second = assembler.toModel(UserResponse.builder().id("2").build());
+
+        assertEquals("http://localhost/api/users/2", second.getRequiredLink("self").getHref());
+        assertSame(first.getRequiredLink("users"), second.getRequiredLink("users"));
+    }
 }
@@ -0,0 +1,108 @@
+package com.example.retailplatform.user.adapter.out.events;
+
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileUserEventBrokerTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path directory;
+
+    private FileUserEventBroker broker;
+    private Path todaysSegment;
+
+    @BeforeEach
+    void setUp() {
+        broker = new FileUserEventBroker(objectMapper, directory, Duration.ofDays(7));
+        todaysSegment = broker.segment(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    @Test
+    void publish_appendsOneLinePerEventWithoutPassword() throws Exception {
+        broker.publish(List.of(event(1L, UserChangeEvent.Type.UPDATED, true)));
+        broker.publish(List.of(event(2L, UserChangeEvent.Type.DELETED, true)));
+
+        List<String> lines = Files.readAllLines(todaysSegment);
+        assertEquals(2, lines.size());
+
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(1L, first.get("eventId").asLong());
+        assertEquals("UPDATED", first.get("type").asText());
+        assertEquals("7", first.get("userId").asText());
+        assertTrue(first.get("revokeSessions").asBoolean());
+        assertEquals("2026-01-02T03:04:05Z", first.get("occurredAt").asText());
+        assertEquals("ADMIN", first.get("user").get("role").asText());
+        assertFalse(lines.get(0).contains("password\""));
+        assertFalse(lines.get(0).contains("$2a$"));
+    }
+
+    @Test
+    void publish_startsAfterATornLineOnAFreshLine() throws Exception {
+        Files.writeString(todaysSegment, "{\"eventId\":1,\"ty", StandardCharsets.UTF_8);
+
+        broker.publish(List.of(event(1L, UserChangeEvent.Type.UPDATED, false)));
+
+        List<String> lines = Files.readAllLines(todaysSegment);
+        assertEquals(2, lines.size());
+        assertEquals(1L, objectMapper.readTree(lines.get(1)).get("eventId").asLong());
+    }
+
+    @Test
+    void publish_deletesSegmentsPastRetention() throws Exception {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Path expired = Files.writeString(broker.segment(today.minusDays(8)), "{}\n");
+        Path kept = Files.writeString(broker.segment(today.minusDays(7)), "{}\n");
+        Path unrelated = Files.writeString(directory.resolve("notes.txt"), "keep");
+
+        broker.publish(List.of(event(1L, UserChangeEvent.Type.CREATED, false)));
+
+        assertFalse(Files.exists(expired));
+        assertTrue(Files.exists(kept));
+        assertTrue(Files.exists(unrelated));
+    }
+
+    @Test
+    void publish_appendsToTheNewestSegmentWhenAnotherInstanceIsPastMidnight() throws Exception {
+        broker.publish(List.of(event(1L, UserChangeEvent.Type.UPDATED, false)));
+        // An instance whose clock is ahead has rolled over; readers have moved on to its segment
+        Path tomorrowsSegment = Files.writeString(broker.segment(LocalDate.now(ZoneOffset.UTC).plusDays(1)), "{}\n");
+
+        broker.publish(List.of(event(2L, UserChangeEvent.Type.UPDATED, false)));
+
+        assertEquals(1, Files.readAllLines(todaysSegment).size());
+        List<String> lines = Files.readAllLines(tomorrowsSegment);
+        assertEquals(2, lines.size());
+        assertEquals(2L, objectMapper.readTree(lines.get(1)).get("eventId").asLong());
+    }
+
+    private static UserChangeEvent event(long sequence, UserChangeEvent.Type type, boolean revokeSessions) {
+        User user = User.builder()
+                .id("7").username("alice").firstName("Alice").lastName("Smith")
+                .email("alice@example.com").phoneNumber("1234567890")
+                .role(Role.ADMIN).status(Status.ACTIVE).active(true).passwordChangeRequired(false)
+                .password("$2a$10$hash")
+                .build();
+        return new UserChangeEvent(sequence, type, user, revokeSessions, Instant.parse("2026-01-02T03:04:05Z"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.retailplatform.user.adapter.out.monitoring;
+
+import com.example.retailplatform.user.adapter.out.persistence.ReplicaRoutingDataSource;
+import com.example.retailplatform.user.adapter.out.persistence.ReplicaRoutingDataSource.ReplicaState;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaHealthIndicatorTest {
+
+    private final ReplicaRoutingDataSource routingDataSource = mock(ReplicaRoutingDataSource.class);
+    private final ReplicaHealthIndicator indicator = new ReplicaHealthIndicator(routingDataSource);
+
+    @Test
+    void health_isUpWhileAnyReplicaServesReads() {
+        when(routingDataSource.replicaStates()).thenReturn(List.of(
+                new ReplicaState("replica-0", true, 0.2),
+                new ReplicaState("replica-1", false, Double.NaN)));
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(Map.of("available", true, "lagSeconds", 0.2), health.getDetails().get("replica-0"));
+    }
+
+    @Test
+    void health_isNeverDownWhenEveryReplicaIsOut() {
+        when(routingDataSource.replicaStates()).thenReturn(List.of(new ReplicaState("replica-0", false, Double.NaN)));
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UNKNOWN, health.getStatus());
+        assertEquals("primary", health.getDetails().get("reads"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.retailplatform.user.adapter.out.monitoring;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The JVM emits {@code jdk.VirtualThreadPinned} only when a virtual thread really pins its carrier, which a test
+ * cannot trigger reliably → a look-alike event stands in for it here.
+ */
+class VirtualThreadPinningMetricsTest {
+
+    private static final String EVENT_NAME = "retailplatform.test.Pinned";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMetrics metrics =
+            new VirtualThreadPinningMetrics(Duration.ofMillis(10), EVENT_NAME);
+
+    @AfterEach
+    void tearDown() {
+        metrics.destroy();
+    }
+
+    @Test
+    void pinningAboveThreshold_isTimedAndTaggedWithCulprit() throws Exception {
+        FlightRecorder.register(PinnedEvent.class);
+        metrics.bindTo(meterRegistry);
+
+        pin(Duration.ofMillis(1));
+        pin(Duration.ofMillis(40));
+
+        Timer timer = awaitTimer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 40);
+        assertTrue(timer.getId().getTag("culprit").startsWith(VirtualThreadPinningMetricsTest.class.getName()));
+        assertNotNull(meterRegistry.find("jvm.threads.virtual.submit.failed").counter());
+    }
+
+    @Test
+    void missingStackTrace_isUnknownCulprit() {
+        assertEquals(VirtualThreadPinningMetrics.UNKNOWN_CULPRIT, VirtualThreadPinningMetrics.culprit(null));
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private static void pin(Duration duration) throws InterruptedException {
+        PinnedEvent event = new PinnedEvent();
+        event.begin();
+        Thread.sleep(duration.toMillis());
+        event.commit();
+    }
+
+    private Timer awaitTimer() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Timer timer = meterRegistry.find("jvm.threads.virtual.pinned").timer();
+            if (timer != null) {
+                return timer;
+            }
+            Thread.sleep(50);
+        }
+        return fail("No pinning was recorded");
+    }
+
+    @Name(EVENT_NAME)
+    @StackTrace
+    static class PinnedEvent extends Event {
+    }
+}
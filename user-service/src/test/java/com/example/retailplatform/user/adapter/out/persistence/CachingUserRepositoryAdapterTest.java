@@ -0,0 +1,190 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.ConcurrentUpdateException;
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
+import com.example.retailplatform.user.domain.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CachingUserRepositoryAdapterTest {
+
+    private UserRepositoryAdapter delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingUserRepositoryAdapter cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(UserRepositoryAdapter.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CachingUserRepositoryAdapter(delegate, meterRegistry, 100, Duration.ofMinutes(1), null);
+
+        user = User.builder()
+                .id("1")
+                .username("alice")
+                .email("alice@example.com")
+                .phoneNumber("1234567890")
+                .status(Status.ACTIVE)
+                .role(Role.USER)
+                .active(true)
+                .build();
+    }
+
+    @Test
+    void findActiveById_secondCallIsServedFromCache() {
+        when(delegate.findActiveById("1")).thenReturn(Optional.of(user));
+
+        assertEquals("alice", cache.findActiveById("1").orElseThrow().getUsername());
+        assertEquals("alice", cache.findActiveById("1").orElseThrow().getUsername());
+
+        verify(delegate, times(1)).findActiveById("1");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "users", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void identifierLookups_shareTheCachedUser() {
+        when(delegate.findActiveByUsername("alice")).thenReturn(Optional.of(user));
+
+        cache.findActiveByUsername("alice");
+
+        assertEquals("alice", cache.findActiveById("1").orElseThrow().getUsername());
+        assertEquals("alice", cache.findActiveByEmail("alice@example.com").orElseThrow().getUsername());
+        verify(delegate, never()).findActiveById("1");
+        verify(delegate, never()).findActiveByEmail("alice@example.com");
+    }
+
+    @Test
+    void missesAreNotCached() {
+        when(delegate.findActiveByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        cache.findActiveByEmail("nobody@example.com");
+        cache.findActiveByEmail("nobody@example.com");
+
+        verify(delegate, times(2)).findActiveByEmail("nobody@example.com");
+    }
+
+    @Test
+    void returnedUsersAreCopies() {
+        when(delegate.findActiveById("1")).thenReturn(Optional.of(user));
+
+        cache.findActiveById("1").orElseThrow().setRole(Role.ADMIN);
+
+        assertEquals(Role.USER, cache.findActiveById("1").orElseThrow().getRole());
+    }
+
+    @Test
+    void findActiveByIds_servesCachedUsersAndLoadsOnlyMissesInOneBatch() {
+        User bob = user.toBuilder().id("2").username("bob").build();
+        when(delegate.findActiveById("1")).thenReturn(Optional.of(user));
+        cache.findActiveById("1");
+        when(delegate.findActiveByIds(List.of("2"))).thenReturn(List.of(bob));
+
+        List<User> users = cache.findActiveByIds(List.of("1", "2"));
+
+        assertEquals(List.of("alice", "bob"), users.stream().map(User::getUsername).toList());
+        assertEquals("bob", cache.findActiveById("2").orElseThrow().getUsername());
+        verify(delegate, never()).findActiveById("2");
+    }
+
+    @Test
+    void modify_invalidatesAllKeysIncludingRenamedIdentifiers() {
+        when(delegate.findActiveByEmail("alice@example.com")).thenReturn(Optional.of(user));
+        cache.findActiveByEmail("alice@example.com");
+
+        User renamed = user.toBuilder().email("alice@new.example.com").build();
+        when(delegate.modify(eq("1"), any())).thenReturn(renamed);
+        when(delegate.findActiveByEmail("alice@example.com")).thenReturn(Optional.empty());
+
+        cache.modify("1", u -> u.setEmail("alice@new.example.com"));
+
+        assertTrue(cache.findActiveByEmail("alice@example.com").isEmpty());
+        verify(delegate, times(2)).findActiveByEmail("alice@example.com");
+    }
+
+    @Test
+    void modify_failedWriteStillInvalidatesIdEntry() {
+        when(delegate.findActiveById("1")).thenReturn(Optional.of(user));
+        cache.findActiveById("1");
+        when(delegate.modify(eq("1"), any()))
+                .thenThrow(new ConcurrentUpdateException("User", "1", UserConstants.USER_CONCURRENT_UPDATE_KEY));
+
+        assertThrows(ConcurrentUpdateException.class, () -> cache.modify("1", u -> u.setLastName("Jones")));
+        cache.findActiveById("1");
+
+        verify(delegate, times(2)).findActiveById("1");
+    }
+
+    @Test
+    void softDelete_invalidatesIdEntry() {
+        when(delegate.findActiveById("1")).thenReturn(Optional.of(user));
+        cache.findActiveById("1");
+
+        cache.softDelete("1");
+        when(delegate.findActiveById("1")).thenReturn(Optional.empty());
+
+        assertTrue(cache.findActiveById("1").isEmpty());
+        verify(delegate).softDelete("1");
+    }
+
+    @Test
+    void loadThatRacedAWrite_isNotCached() {
+        // The row was read, then the user was deleted before the load got to cache it
+        when(delegate.findActiveById("1")).thenAnswer(inv -> {
+            cache.softDelete("1");
+            return Optional.of(user);
+        });
+
+        cache.findActiveById("1");
+        cache.findActiveById("1");
+
+        verify(delegate, times(2)).findActiveById("1");
+    }
+
+    @Test
+    void sharedTier_writeBetweenLocalAndSharedPutIsEvictedAgain() {
+        CachingUserRepositoryAdapter[] adapter = new CachingUserRepositoryAdapter[1];
+        ConcurrentMapCache shared = new ConcurrentMapCache("users") {
+            @Override
+            public void put(Object key, Object value) {
+                // Another request deletes the user after the local put, before the stale row reaches this tier
+                if ("id:1".equals(key)) adapter[0].softDelete("1");
+                super.put(key, value);
+            }
+        };
+        adapter[0] = new CachingUserRepositoryAdapter(delegate, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), shared);
+        when(delegate.findActiveById("1")).thenReturn(Optional.of(user));
+
+        adapter[0].findActiveById("1");
+
+        assertNull(shared.get("id:1"));
+    }
+
+    @Test
+    void sharedTier_isConsultedOnLocalMiss() {
+        ConcurrentMapCache shared = new ConcurrentMapCache("users");
+        when(delegate.findActiveById("1")).thenReturn(Optional.of(user));
+
+        // Another instance populates the shared tier
+        new CachingUserRepositoryAdapter(delegate, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), shared)
+                .findActiveById("1");
+        CachingUserRepositoryAdapter second =
+                new CachingUserRepositoryAdapter(delegate, meterRegistry, 100, Duration.ofMinutes(1), shared);
+
+        assertEquals("alice", second.findActiveById("1").orElseThrow().getUsername());
+        verify(delegate, times(1)).findActiveById("1");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("tier", "shared", "result", "hit").counter().count());
+    }
+}
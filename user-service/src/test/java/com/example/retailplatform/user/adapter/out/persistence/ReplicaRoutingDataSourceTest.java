@@ -0,0 +1,177 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two H2 in-memory databases stand in for the primary and a replica; each knows its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String WHO_AM_I = "SELECT name FROM node";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JdbcTemplate replicaAdmin;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica-0");
+        replicaAdmin = new JdbcTemplate(replica);
+        replicaAdmin.execute("CREATE TABLE lag (seconds DOUBLE)");
+        replicaAdmin.update("INSERT INTO lag VALUES (0)");
+
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), Duration.ofSeconds(2),
+                "SELECT seconds FROM lag", Duration.ofHours(1), Duration.ofSeconds(30), meterRegistry);
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.destroy();
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+    }
+
+    @Test
+    void readOnlyTransaction_goesToReplica() {
+        assertEquals("replica-0", readOnly.execute(status -> whoAmI()));
+        assertEquals(1, routeCount("replica-0", ReplicaRoutingDataSource.REASON_READ));
+    }
+
+    @Test
+    void readWriteTransactionAndNonTransactionalWork_goToPrimary() {
+        // The proxy's one-off probe for connection defaults also counts as primary work → compare deltas
+        whoAmI();
+        double before = routeCount("primary", ReplicaRoutingDataSource.REASON_WRITE);
+
+        assertEquals("primary", readWrite.execute(status -> whoAmI()));
+        assertEquals("primary", whoAmI());
+        assertEquals(before + 2, routeCount("primary", ReplicaRoutingDataSource.REASON_WRITE));
+    }
+
+    @Test
+    void laggingReplica_isSkippedUntilItCatchesUp() {
+        replicaAdmin.update("UPDATE lag SET seconds = 5");
+        routing.probeReplicas();
+
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+        assertEquals(1, routeCount("primary", ReplicaRoutingDataSource.REASON_REPLICA_UNAVAILABLE));
+        assertEquals(5.0, meterRegistry.get("user.datasource.replica.lag").gauge().value());
+
+        replicaAdmin.update("UPDATE lag SET seconds = 0.5");
+        routing.probeReplicas();
+
+        assertEquals("replica-0", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void writer_readsOwnWritesFromPrimary_othersStayOnReplica() {
+        authenticate("alice");
+        readWrite.execute(status -> whoAmI());
+
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+        assertEquals(1, routeCount("primary", ReplicaRoutingDataSource.REASON_READ_YOUR_WRITES));
+
+        authenticate("bob");
+        assertEquals("replica-0", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void anonymousWriter_readsOwnWritesByCorrelationId_otherAnonymousRequestsStayOnReplica() throws Exception {
+        MDC.put(ReplicaRoutingDataSource.CORRELATION_ID_MDC_KEY, "request-1");
+        readWrite.execute(status -> whoAmI());
+        MDC.clear();
+
+        // The follow-up request carries the same correlation id, on whatever thread serves it
+        String[] followUp = new String[1];
+        Thread thread = new Thread(() -> {
+            MDC.put(ReplicaRoutingDataSource.CORRELATION_ID_MDC_KEY, "request-1");
+            followUp[0] = readOnly.execute(status -> whoAmI());
+            MDC.clear();
+        });
+        thread.start();
+        thread.join();
+        assertEquals("primary", followUp[0]);
+
+        // Same thread, other request
+        MDC.put(ReplicaRoutingDataSource.CORRELATION_ID_MDC_KEY, "request-2");
+        assertEquals("replica-0", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void writeOutsideARequest_isNotTracked() {
+        readWrite.execute(status -> whoAmI());
+
+        assertEquals("replica-0", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void replicaStates_reportAvailabilityAndLag() {
+        replicaAdmin.update("UPDATE lag SET seconds = 5");
+        routing.probeReplicas();
+
+        assertEquals(List.of(new ReplicaRoutingDataSource.ReplicaState("replica-0", false, 5.0)),
+                routing.replicaStates());
+    }
+
+    @Test
+    void onPrimary_pinsReadOnlyTransactions() {
+        String node = ReplicaRoutingDataSource.onPrimary(() -> readOnly.execute(status -> whoAmI()));
+
+        assertEquals("primary", node);
+        assertEquals("replica-0", readOnly.execute(status -> whoAmI()));
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject(WHO_AM_I, String.class);
+    }
+
+    private double routeCount(String route, String reason) {
+        return meterRegistry.get("user.datasource.route").tags("route", route, "reason", reason).counter().count();
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate admin = new JdbcTemplate(dataSource);
+        admin.execute("CREATE TABLE node (name VARCHAR(32))");
+        admin.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
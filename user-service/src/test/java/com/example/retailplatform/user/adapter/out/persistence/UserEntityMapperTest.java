@@ -4,6 +4,7 @@ import com.example.retailplatform.user.domain.model.Role;
 import com.example.retailplatform.user.domain.model.Status;
 import com.example.retailplatform.user.domain.model.User;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -90,6 +91,15 @@ class UserEntityMapperTest {
         }
     }
 
+    @Test
+    void updateEntityFromModel_keepsPasswordChangeRequiredWhenAbsent() {
+        UserEntity entity = UserEntity.builder().passwordChangeRequired(false).build();
+
+        mapper.updateEntityFromModel(User.builder().lastName("Jones").build(), entity);
+
+        assertFalse(entity.isPasswordChangeRequired());
+    }
+
     // Helper class for field/value pairs
     private static class FieldUpdateTestData {
         final String field;
@@ -0,0 +1,118 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.ResourceAlreadyExistsException;
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
+import com.example.retailplatform.user.domain.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserImportAdapterTest {
+
+    @Mock
+    private UserJpaRepository jpaRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UserOutboxJpaRepository outboxRepository;
+
+    private UserImportAdapter adapter;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        UserEntityMapper entityMapper = new UserEntityMapper();
+        UserOutbox outbox = new UserOutbox(outboxRepository, entityMapper, new ObjectMapper(), jdbcTemplate);
+        adapter = new UserImportAdapter(jpaRepository, entityMapper, entityManager, jdbcTemplate, outbox);
+        users = List.of(User.builder()
+                .firstName("Alice")
+                .lastName("Smith")
+                .username("alice.smith")
+                .email("alice@example.com")
+                .phoneNumber("1234567890")
+                .status(Status.ACTIVE)
+                .role(Role.USER)
+                .active(true)
+                .build());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertAll_writesCreatedEventForEveryInsertedUser() {
+        AtomicLong ids = new AtomicLong(100);
+        when(jpaRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<UserEntity> entities = invocation.getArgument(0);
+            entities.forEach(entity -> entity.setId(ids.incrementAndGet()));
+            return entities;
+        });
+        List<User> chunk = List.of(users.get(0), users.get(0).toBuilder()
+                .username("bob.jones").email("bob@example.com").phoneNumber("0987654321").build());
+
+        adapter.insertAll(chunk);
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(UserOutbox.INSERT_ROW), rows.capture());
+        assertEquals(List.of(101L, 102L), rows.getValue().stream().map(row -> row[0]).toList());
+        assertTrue(rows.getValue().stream().allMatch(row -> "CREATED".equals(row[1]) && Boolean.FALSE.equals(row[2])));
+        assertTrue(((String) rows.getValue().get(1)[3]).contains("bob.jones"));
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void insertAll_writesNoEventWhenTheChunkFails() {
+        doThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                        UserEntity.UK_USERNAME)))
+                .when(jpaRepository).flush();
+
+        assertThrows(ResourceAlreadyExistsException.class, () -> adapter.insertAll(users));
+
+        verify(jdbcTemplate, never()).batchUpdate(eq(UserOutbox.INSERT_ROW), anyList());
+    }
+
+    @Test
+    void insertAll_reportsUniqueViolationAsConflict() {
+        doThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                        UserEntity.UK_USERNAME)))
+                .when(jpaRepository).flush();
+
+        ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
+                () -> adapter.insertAll(users));
+
+        assertEquals(UserConstants.FIELD_USERNAME, ex.getFieldName());
+    }
+
+    @Test
+    void insertAll_failsChunkWithRealCauseOfOtherViolations() {
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("null value in column \"email\"",
+                new ConstraintViolationException("not-null", new SQLException("not-null", "23502"), null));
+        doThrow(notNull).when(jpaRepository).flush();
+
+        assertSame(notNull, assertThrows(DataIntegrityViolationException.class, () -> adapter.insertAll(users)));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+import com.example.retailplatform.user.domain.port.out.UserEventPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * H2 stands in for Postgres; {@code pg_try_advisory_xact_lock} is aliased to {@link AdvisoryLock#tryLock(long)}.
+ */
+class UserOutboxRelayTest {
+
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<UserChangeEvent>> batches = new ArrayList<>();
+    private RuntimeException publishFailure;
+    private JdbcTemplate jdbcTemplate;
+    private UserOutboxRelay relay;
+
+    // H2 calls the alias reflectively → public class and method
+    public static class AdvisoryLock {
+        static volatile boolean available;
+
+        public static boolean tryLock(long key) {
+            return available;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        AdvisoryLock.available = true;
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE ALIAS pg_try_advisory_xact_lock FOR \""
+                + AdvisoryLock.class.getName() + ".tryLock\"");
+        jdbcTemplate.execute("""
+                CREATE TABLE user_outbox (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    user_id BIGINT NOT NULL,
+                    event_type VARCHAR(16) NOT NULL,
+                    revoke_sessions BOOLEAN NOT NULL,
+                    payload TEXT NOT NULL,
+                    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL)
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE user_outbox_dead_letter (
+                    id BIGINT PRIMARY KEY,
+                    user_id BIGINT NOT NULL,
+                    event_type VARCHAR(16) NOT NULL,
+                    revoke_sessions BOOLEAN NOT NULL,
+                    payload TEXT NOT NULL,
+                    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                    error TEXT NOT NULL,
+                    failed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL)
+                """);
+
+        UserEventPublisher publisher = events -> {
+            if (publishFailure != null) throw publishFailure;
+            batches.add(List.copyOf(events));
+        };
+        relay = new UserOutboxRelay(jdbcTemplate, new DataSourceTransactionManager(dataSource), publisher,
+                new ObjectMapper(), meterRegistry, Duration.ofHours(1), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.destroy();
+    }
+
+    @Test
+    void relayBatch_publishesOldestRowsInIdOrderAndDeletesThem() {
+        insert(7L, "CREATED", false);
+        insert(7L, "UPDATED", true);
+        insert(8L, "DELETED", true);
+
+        assertEquals(2, relay.relayBatch());
+
+        List<UserChangeEvent> batch = batches.get(0);
+        assertEquals(List.of(UserChangeEvent.Type.CREATED, UserChangeEvent.Type.UPDATED),
+                batch.stream().map(UserChangeEvent::type).toList());
+        assertTrue(batch.get(0).sequence() < batch.get(1).sequence());
+        assertEquals("7", batch.get(1).user().getId());
+        assertEquals("alice", batch.get(1).user().getUsername());
+        assertTrue(batch.get(1).revokeSessions());
+        assertEquals(1, pending());
+        assertEquals(2.0, meterRegistry.counter("user.events.published").count());
+    }
+
+    @Test
+    void drain_relaysFullBatchesBackToBack() {
+        for (int i = 0; i < 5; i++) insert(7L, "UPDATED", false);
+
+        relay.drain();
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(0, pending());
+    }
+
+    @Test
+    void drain_keepsRowsWhenPublishFails() {
+        insert(7L, "UPDATED", true);
+        publishFailure = new IllegalStateException("disk full");
+
+        relay.drain();
+
+        assertEquals(1, pending());
+        assertEquals(1.0, meterRegistry.counter("user.events.relay.failures").count());
+
+        publishFailure = null;
+        relay.drain();
+
+        assertEquals(0, pending());
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void drain_deadLettersUnreadableRowAndPublishesTheRowsBehindIt() {
+        insert(7L, "UPDATED", false, "{not json");
+        insert(8L, "UPDATED", true);
+        insert(9L, "REVIVED", false);
+
+        relay.drain();
+
+        assertEquals(1, batches.size());
+        assertEquals(List.of("8"), batches.get(0).stream().map(event -> event.user().getId()).toList());
+        assertEquals(0, pending());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_outbox_dead_letter", Integer.class));
+        assertEquals(List.of(7L, 9L), jdbcTemplate.queryForList(
+                "SELECT user_id FROM user_outbox_dead_letter ORDER BY id", Long.class));
+        assertEquals(2.0, meterRegistry.counter("user.events.dead-lettered").count());
+        assertEquals(0.0, meterRegistry.counter("user.events.relay.failures").count());
+    }
+
+    @Test
+    void relayBatch_skipsRoundWhileAnotherInstanceHoldsTheLock() {
+        insert(7L, "UPDATED", false);
+        AdvisoryLock.available = false;
+
+        assertEquals(0, relay.relayBatch());
+
+        assertTrue(batches.isEmpty());
+        assertEquals(1, pending());
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private void insert(long userId, String type, boolean revokeSessions) {
+        insert(userId, type, revokeSessions,
+                "{\"id\":\"" + userId + "\",\"username\":\"alice\",\"role\":\"USER\",\"active\":true}");
+    }
+
+    private void insert(long userId, String type, boolean revokeSessions, String payload) {
+        jdbcTemplate.update("""
+                        INSERT INTO user_outbox (user_id, event_type, revoke_sessions, payload, occurred_at)
+                        VALUES (?, ?, ?, ?, ?)
+                        """, userId, type, revokeSessions, payload, Timestamp.from(Instant.now()));
+    }
+
+    private int pending() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_outbox", Integer.class);
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.ConcurrentUpdateException;
+import com.example.retailplatform.user.domain.exception.ResourceAlreadyExistsException;
+import com.example.retailplatform.user.domain.exception.ResourceNotFoundException;
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserChangeEvent;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UserRepositoryAdapterTest {
+
+    @Mock
+    private UserJpaRepository jpaRepository;
+
+    @Mock
+    private UserOutbox outbox;
+
+    private UserRepositoryAdapter adapter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        adapter = new UserRepositoryAdapter(jpaRepository, new UserEntityMapper(), outbox);
+        ReflectionTestUtils.setField(adapter, "uniquenessPrecheckEnabled", true);
+
+        user = User.builder()
+                .firstName("Alice")
+                .lastName("Smith")
+                .username("alice.smith")
+                .email("alice@example.com")
+                .phoneNumber("1234567890")
+                .status(Status.ACTIVE)
+                .role(Role.USER)
+                .build();
+    }
+
+    @Test
+    void save_runsOneConflictQueryBeforeInsert() {
+        when(jpaRepository.findConflicts(-1L, "alice.smith", "alice@example.com", "1234567890")).thenReturn(List.of());
+        when(jpaRepository.saveAndFlush(any(UserEntity.class))).thenAnswer(inv -> {
+            UserEntity entity = inv.getArgument(0);
+            entity.setId(7L);
+            return entity;
+        });
+
+        User saved = adapter.save(user);
+
+        assertEquals("7", saved.getId());
+        verify(jpaRepository, times(1)).findConflicts(anyLong(), anyString(), anyString(), anyString());
+        verify(outbox).append(eq(UserChangeEvent.Type.CREATED), argThat(e -> e.getId() == 7L), eq(false));
+    }
+
+    @Test
+    void save_reportsUsernameBeforeEmail() {
+        when(jpaRepository.findConflicts(anyLong(), anyString(), anyString(), anyString()))
+                .thenReturn(List.of(view(2L, "other", "alice@example.com", "1", true),
+                        view(3L, "alice.smith", "x@example.com", "2", false)));
+
+        ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class, () -> adapter.save(user));
+
+        assertEquals(UserConstants.FIELD_USERNAME, ex.getFieldName());
+        assertEquals(UserConstants.USERNAME_ALREADY_EXISTS_KEY, ex.getMessageKey());
+        verify(jpaRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void save_ignoresEmailOfInactiveUsers() {
+        when(jpaRepository.findConflicts(anyLong(), anyString(), anyString(), anyString()))
+                .thenReturn(List.of(view(2L, "other", "alice@example.com", "1234567890", false)));
+        when(jpaRepository.saveAndFlush(any(UserEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        assertDoesNotThrow(() -> adapter.save(user));
+    }
+
+    @Test
+    void save_mapsDuplicateKeyFromDatabase() {
+        when(jpaRepository.findConflicts(anyLong(), anyString(), anyString(), anyString())).thenReturn(List.of());
+        when(jpaRepository.saveAndFlush(any(UserEntity.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"), UserEntity.UX_EMAIL_ACTIVE)));
+
+        ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class, () -> adapter.save(user));
+
+        assertEquals(UserConstants.FIELD_EMAIL, ex.getFieldName());
+        assertEquals("alice@example.com", ex.getFieldValue());
+    }
+
+    @Test
+    void save_mapsDuplicatePhoneNumberFromDatabase() {
+        // Pre-check passed, then a concurrent insert took the number before this row was flushed
+        when(jpaRepository.findConflicts(anyLong(), anyString(), anyString(), anyString())).thenReturn(List.of());
+        when(jpaRepository.saveAndFlush(any(UserEntity.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"), UserEntity.UX_PHONE_ACTIVE)));
+
+        ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class, () -> adapter.save(user));
+
+        assertEquals(UserConstants.FIELD_PHONE, ex.getFieldName());
+        assertEquals("1234567890", ex.getFieldValue());
+        assertEquals(UserConstants.PHONE_ALREADY_EXISTS_KEY, ex.getMessageKey());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void save_rethrowsUnrelatedIntegrityViolations() {
+        when(jpaRepository.findConflicts(anyLong(), anyString(), anyString(), anyString())).thenReturn(List.of());
+        when(jpaRepository.saveAndFlush(any(UserEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("null value in column \"role\""));
+
+        assertThrows(DataIntegrityViolationException.class, () -> adapter.save(user));
+    }
+
+    @Test
+    void save_rethrowsViolationsThatOnlyMentionAUniqueField() {
+        when(jpaRepository.findConflicts(anyLong(), anyString(), anyString(), anyString())).thenReturn(List.of());
+        when(jpaRepository.saveAndFlush(any(UserEntity.class))).thenThrow(
+                new DataIntegrityViolationException("null value in column \"email\"",
+                        new ConstraintViolationException("not-null", new SQLException("not-null", "23502"), null)),
+                new DataIntegrityViolationException("check",
+                        new ConstraintViolationException("check", new SQLException("check", "23514"),
+                                UserEntity.UK_USERNAME)),
+                new DataIntegrityViolationException("duplicate",
+                        new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                                "users_pkey")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> adapter.save(user));
+        assertThrows(DataIntegrityViolationException.class, () -> adapter.save(user));
+        assertThrows(DataIntegrityViolationException.class, () -> adapter.save(user));
+    }
+
+    @Test
+    void findActiveById_readsProjectionWithoutPassword() {
+        when(jpaRepository.findActiveViewById(7L)).thenReturn(Optional.of(userView(7L, "alice.smith")));
+
+        User found = adapter.findActiveById("7").orElseThrow();
+
+        assertEquals("7", found.getId());
+        assertEquals("alice.smith", found.getUsername());
+        assertEquals(Role.USER, found.getRole());
+        assertNull(found.getPassword());
+        verify(jpaRepository, never()).findActiveById(anyLong());
+    }
+
+    @Test
+    void findActiveByIds_padsIdListToNextPowerOfTwo() {
+        when(jpaRepository.findActiveViewsByIds(List.of(5L, 6L, 7L, 7L)))
+                .thenReturn(List.of(userView(5L, "eve"), userView(7L, "alice.smith")));
+
+        List<User> users = adapter.findActiveByIds(List.of("5", "6", "7"));
+
+        assertEquals(List.of("eve", "alice.smith"), users.stream().map(User::getUsername).toList());
+    }
+
+    @Test
+    void padded_boundsStatementShapes() {
+        assertEquals(List.of(), UserRepositoryAdapter.padded(List.of()));
+        assertEquals(List.of(1L), UserRepositoryAdapter.padded(List.of(1L)));
+        assertEquals(List.of(1L, 2L), UserRepositoryAdapter.padded(List.of(1L, 2L)));
+        assertEquals(8, UserRepositoryAdapter.padded(List.of(1L, 2L, 3L, 4L, 5L)).size());
+
+        List<Long> max = LongStream.rangeClosed(1, 300).boxed().toList();
+        assertEquals(UserConstants.MAX_BATCH_GET_SIZE, UserRepositoryAdapter.padded(max).size());
+    }
+
+    @Test
+    void modify_loadsEntityOnceAndSkipsConflictProbeForNameChange() {
+        UserEntity stored = storedEntity();
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.of(stored));
+        when(jpaRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        User modified = adapter.modify("7", user -> user.setFirstName("Alicia"));
+
+        assertEquals("Alicia", stored.getFirstName());
+        assertEquals("$2a$10$hash", stored.getPassword());
+        assertNull(modified.getPassword());
+        verify(jpaRepository, times(1)).findActiveById(7L);
+        verify(jpaRepository, never()).findConflicts(anyLong(), any(), any(), any());
+        // A name change leaves issued tokens valid
+        verify(outbox).append(UserChangeEvent.Type.UPDATED, stored, false);
+    }
+
+    @Test
+    void modify_identifierChangeRunsOneConflictQuery() {
+        UserEntity stored = storedEntity();
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.of(stored));
+        when(jpaRepository.findConflicts(7L, "alice.smith", "alicia@example.com", "1234567890"))
+                .thenReturn(List.of(view(8L, "bob", "alicia@example.com", "555", true)));
+
+        ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
+                () -> adapter.modify("7", user -> user.setEmail("alicia@example.com")));
+
+        assertEquals(UserConstants.FIELD_EMAIL, ex.getFieldName());
+        verify(jpaRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void modify_withoutChangesWritesNothing() {
+        UserEntity stored = storedEntity();
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.of(stored));
+
+        User unchanged = adapter.modify("7", user -> user.setRole(Role.USER));
+
+        assertEquals("alice.smith", unchanged.getUsername());
+        verify(jpaRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void modify_keepsPasswordChangeRequiredUnlessSet() {
+        UserEntity stored = storedEntity();
+        stored.setPasswordChangeRequired(false);
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.of(stored));
+        when(jpaRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        adapter.modify("7", user -> user.setLastName("Jones"));
+
+        assertFalse(stored.isPasswordChangeRequired());
+    }
+
+    @Test
+    void modify_roleChangeRevokesSessions() {
+        UserEntity stored = storedEntity();
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.of(stored));
+        when(jpaRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        adapter.modify("7", user -> user.setRole(Role.ADMIN));
+
+        verify(outbox).append(UserChangeEvent.Type.UPDATED, stored, true);
+    }
+
+    @Test
+    void modify_passwordReplacesStoredHashAndRevokesSessions() {
+        UserEntity stored = storedEntity();
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.of(stored));
+        when(jpaRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        adapter.modify("7", user -> user.setPassword("$2a$12$rehash"));
+
+        assertEquals("$2a$12$rehash", stored.getPassword());
+        verify(outbox).append(UserChangeEvent.Type.UPDATED, stored, true);
+    }
+
+    @Test
+    void rehashPassword_replacesStoredHashWithoutRevokingSessions() {
+        UserEntity stored = storedEntity();
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.of(stored));
+        when(jpaRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        adapter.rehashPassword("7", "$2a$12$rehash");
+
+        assertEquals("$2a$12$rehash", stored.getPassword());
+        verify(outbox).append(UserChangeEvent.Type.UPDATED, stored, false);
+    }
+
+    @Test
+    void modify_deactivationIsReportedAsDeleted() {
+        UserEntity stored = storedEntity();
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.of(stored));
+        when(jpaRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        adapter.modify("7", user -> user.setActive(false));
+
+        verify(outbox).append(UserChangeEvent.Type.DELETED, stored, true);
+    }
+
+    @Test
+    void modify_staleVersionIsReportedAsConcurrentUpdate() {
+        UserEntity stored = storedEntity();
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.of(stored));
+        when(jpaRepository.saveAndFlush(stored))
+                .thenThrow(new ObjectOptimisticLockingFailureException(UserEntity.class, 7L));
+
+        ConcurrentUpdateException ex = assertThrows(ConcurrentUpdateException.class,
+                () -> adapter.modify("7", user -> user.setLastName("Jones")));
+
+        assertEquals("7", ex.getResourceId());
+        assertEquals(UserConstants.USER_CONCURRENT_UPDATE_KEY, ex.getMessageKey());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void modify_unknownUserThrowsNotFound() {
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> adapter.modify("7", user -> user.setLastName("Jones")));
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void softDelete_flushesBeforeRecordingEvent() {
+        UserEntity stored = storedEntity();
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.of(stored));
+        when(jpaRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        adapter.softDelete("7");
+
+        var order = inOrder(jpaRepository, outbox);
+        order.verify(jpaRepository).saveAndFlush(stored);
+        order.verify(outbox).append(UserChangeEvent.Type.DELETED, stored, true);
+        assertEquals(Status.DELETED, stored.getStatus());
+    }
+
+    @Test
+    void softDelete_unknownUserRecordsNothing() {
+        when(jpaRepository.findActiveById(7L)).thenReturn(Optional.empty());
+
+        adapter.softDelete("7");
+
+        verifyNoInteractions(outbox);
+    }
+
+    private static UserEntity storedEntity() {
+        return UserEntity.builder()
+                .id(7L).username("alice.smith").firstName("Alice").lastName("Smith")
+                .email("alice@example.com").phoneNumber("1234567890")
+                .status(Status.ACTIVE).role(Role.USER).password("$2a$10$hash")
+                .build();
+    }
+
+    private static UserJpaRepository.UserView userView(Long id, String username) {
+        return new UserJpaRepository.UserView() {
+            @Override public Long getId() { return id; }
+            @Override public String getUsername() { return username; }
+            @Override public String getFirstName() { return "Alice"; }
+            @Override public String getLastName() { return "Smith"; }
+            @Override public String getEmail() { return "alice@example.com"; }
+            @Override public String getPhoneNumber() { return "1234567890"; }
+            @Override public Status getStatus() { return Status.ACTIVE; }
+            @Override public Role getRole() { return Role.USER; }
+            @Override public boolean isActive() { return true; }
+            @Override public boolean isPasswordChangeRequired() { return false; }
+        };
+    }
+
+    private static UserJpaRepository.UniqueFieldsView view(Long id, String username, String email,
+                                                           String phoneNumber, boolean active) {
+        return new UserJpaRepository.UniqueFieldsView() {
+            @Override public Long getId() { return id; }
+            @Override public String getUsername() { return username; }
+            @Override public String getEmail() { return email; }
+            @Override public String getPhoneNumber() { return phoneNumber; }
+            @Override public boolean isActive() { return active; }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserSchemaVerifierTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private UserSchemaVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        verifier = new UserSchemaVerifier(jdbcTemplate);
+    }
+
+    @Test
+    void allIndexesPresent_startsNormally() {
+        List<String> indexes = new ArrayList<>(UserSchemaVerifier.REQUIRED_INDEXES);
+        indexes.add("users_pkey");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(indexes);
+
+        assertDoesNotThrow(verifier::afterSingletonsInstantiated);
+    }
+
+    @Test
+    void missingIndex_refusesToStart() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("users_pkey", UserEntity.UK_USERNAME, UserEntity.UX_EMAIL_ACTIVE));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, verifier::afterSingletonsInstantiated);
+
+        assertTrue(ex.getMessage().contains(UserEntity.IX_LOGIN_USERNAME));
+        assertFalse(ex.getMessage().contains(UserEntity.UX_EMAIL_ACTIVE));
+    }
+}
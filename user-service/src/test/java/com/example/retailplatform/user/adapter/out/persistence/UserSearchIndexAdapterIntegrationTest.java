@@ -0,0 +1,146 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import com.example.retailplatform.user.domain.model.UserMatch;
+import com.example.retailplatform.user.domain.model.UserMatchCursor;
+import com.example.retailplatform.user.domain.model.UserMatchCursor.Tier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the search SQL against the database from application-test.properties (migrated by the application);
+ * skipped when it is not reachable. Everything runs in one transaction that is rolled back.
+ */
+class UserSearchIndexAdapterIntegrationTest {
+
+    private static final int MAX_CANDIDATES = 5;
+    private static final int MATCHES = 12;
+    private static final int PAGE_SIZE = 2;
+    private static final String WORD = "zqpaging";
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private UserSearchIndexAdapter adapter;
+
+    private final List<Long> ids = new ArrayList<>();
+    // Phone numbers are unique among active users (ux_users_phone_number_active)
+    private int phoneSequence;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Connection connection = connect();
+        assumeTrue(connection != null, "user database not reachable");
+        connection.setAutoCommit(false);
+        dataSource = new SingleConnectionDataSource(connection, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        adapter = new UserSearchIndexAdapter(new NamedParameterJdbcTemplate(dataSource), new UserEntityMapper(),
+                MAX_CANDIDATES, 0.3);
+
+        // ids come from the sequence → ascending in insert order
+        for (int i = 0; i < MATCHES; i++) {
+            ids.add(insertUser(WORD + i));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (dataSource == null) return;
+        Connection connection = dataSource.getConnection();
+        connection.rollback();
+        connection.close();
+        dataSource.destroy();
+    }
+
+    @Test
+    void findMatching_pagesThroughTheSameCappedCandidateSet() {
+        long exact = insertUser(WORD);
+
+        List<Long> pagedIds = pageThrough(Tier.MATCHING, (after, limit) -> adapter.findMatching(WORD, after, limit));
+
+        // Equal scores → the lowest ids fill the cap; the exact username is ranked although it was inserted last
+        List<Long> expected = new ArrayList<>(ids.subList(0, MAX_CANDIDATES));
+        expected.add(exact);
+        assertEquals(expected.size(), pagedIds.size(), "a user was repeated or skipped: " + pagedIds);
+        assertTrue(pagedIds.containsAll(expected), "expected " + expected + " but paged " + pagedIds);
+        assertEquals(pagedIds, pageThrough(Tier.MATCHING, (after, limit) -> adapter.findMatching(WORD, after, limit)));
+    }
+
+    @Test
+    void findMatching_ranksTheBestMatchAlthoughItsIdIsBeyondTheCap() {
+        // Matches the query in username, first and last name → outscores the earlier users, which match in username only
+        long best = insertUser(WORD + "best", WORD + "first", WORD + "last");
+
+        List<UserMatch> top = adapter.findMatching(WORD, null, 1);
+
+        assertEquals(List.of(best), top.stream().map(match -> Long.parseLong(match.user().getId())).toList());
+        List<Long> pagedIds = pageThrough(Tier.MATCHING, (after, limit) -> adapter.findMatching(WORD, after, limit));
+        assertEquals(MAX_CANDIDATES, pagedIds.size(), "a user was repeated or skipped: " + pagedIds);
+        assertEquals(best, pagedIds.get(0));
+    }
+
+    @Test
+    void findSimilar_pagesThroughTheSameCappedCandidateSet() {
+        String typo = "zqpagimg";
+
+        List<Long> pagedIds = pageThrough(Tier.SIMILAR, (after, limit) -> adapter.findSimilar(typo, after, limit));
+
+        assertEquals(MAX_CANDIDATES, pagedIds.size(), "a user was repeated or skipped: " + pagedIds);
+        assertTrue(pagedIds.containsAll(ids.subList(0, MAX_CANDIDATES)), "paged " + pagedIds);
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private List<Long> pageThrough(Tier tier, BiFunction<UserMatchCursor, Integer, List<UserMatch>> search) {
+        List<Long> pagedIds = new ArrayList<>();
+        UserMatchCursor after = null;
+        List<UserMatch> page;
+        do {
+            page = search.apply(after, PAGE_SIZE);
+            for (UserMatch match : page) {
+                pagedIds.add(Long.parseLong(match.user().getId()));
+            }
+            if (!page.isEmpty()) {
+                after = UserMatchCursor.after(tier, page.get(page.size() - 1));
+            }
+        } while (page.size() == PAGE_SIZE);
+        return pagedIds;
+    }
+
+    private static Connection connect() {
+        try {
+            return DriverManager.getConnection(
+                    System.getenv().getOrDefault("USER_DB_URL", "jdbc:postgresql://localhost:5433/user_db"),
+                    System.getenv().getOrDefault("USER_DB_USER", "user_user"),
+                    System.getenv().getOrDefault("USER_DB_PASSWORD", "user_pass"));
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private long insertUser(String username) {
+        return insertUser(username, "Paging", "Probe");
+    }
+
+    private long insertUser(String username, String firstName, String lastName) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO users (username, first_name, last_name, email, phone_number, active, status, role,
+                                   password_change_required, created_by, created_at, updated_by, updated_at)
+                VALUES (?, ?, ?, ? || '@example.com', ?, true, 'ACTIVE', 'USER',
+                        false, 'test', now(), 'test', now())
+                RETURNING id
+                """, Long.class, username, firstName, lastName, username, "555%04d".formatted(phoneSequence++));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.retailplatform.user.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserSearchIndexAdapterTest {
+
+    @Test
+    void prefixQuery_turnsEveryWordIntoAPrefix() {
+        assertEquals("alice:* & smith:*", UserSearchIndexAdapter.prefixQuery("alice smith"));
+        assertEquals("alice:* & example:* & com:*", UserSearchIndexAdapter.prefixQuery("alice@example.com"));
+    }
+
+    @Test
+    void prefixQuery_dropsTsqueryOperators() {
+        assertEquals("a:* & b:* & c:*", UserSearchIndexAdapter.prefixQuery("!a | (b & c):*"));
+        assertEquals("müller:*", UserSearchIndexAdapter.prefixQuery("müller"));
+    }
+
+    @Test
+    void containsPattern_escapesLikeWildcards() {
+        assertEquals("%555 01%", UserSearchIndexAdapter.containsPattern("555 01"));
+        assertEquals("%50\\%\\_off\\\\%", UserSearchIndexAdapter.containsPattern("50%_off\\"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.retailplatform.user.adapter.out.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CostAwareBCryptPasswordEncoderTest {
+
+    private final CostAwareBCryptPasswordEncoder encoder = new CostAwareBCryptPasswordEncoder(6);
+
+    @Test
+    void sameCost_noRehash() {
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void lowerStoredCost_rehashes() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+    }
+
+    @Test
+    void higherStoredCost_rehashesDownToConfiguredCost() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(8).encode("secret")));
+    }
+
+    @Test
+    void nonBcryptOrMissingHash_noRehash() {
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding("plain-text"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.retailplatform.user.adapter.out.security;
+
+import com.example.retailplatform.user.domain.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffloadingPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordVerificationExecutor hashingPool =
+            new PasswordVerificationExecutor(meterRegistry, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(1));
+    private final List<String> hashingThreads = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        hashingPool.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_runOnTheHashingPool() {
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(recordingThreads(), hashingPool);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(3, hashingThreads.size());
+        assertTrue(hashingThreads.stream().allMatch(name -> name.startsWith("password-hashing-")));
+    }
+
+    @Test
+    void upgradeEncoding_staysOnTheCallerThread() {
+        OffloadingPasswordEncoder encoder =
+                new OffloadingPasswordEncoder(new CostAwareBCryptPasswordEncoder(6), hashingPool);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertEquals(0, meterRegistry.get("auth.password.verification").timer().count());
+    }
+
+    @Test
+    void rejectedHash_isTooManyRequests() {
+        hashingPool.shutdown();
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(recordingThreads(), hashingPool);
+
+        assertThrows(TooManyRequestsException.class, () -> encoder.matches("secret", "$2a$04$hash"));
+        assertTrue(hashingThreads.isEmpty());
+    }
+
+    // ------------------ Helper Methods ------------------
+
+    private PasswordEncoder recordingThreads() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                record();
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                record();
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+
+            private void record() {
+                synchronized (hashingThreads) {
+                    hashingThreads.add(Thread.currentThread().getName());
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.retailplatform.user.adapter.out.security;
+
+import com.example.retailplatform.user.domain.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordVerificationExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private PasswordVerificationExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (executor != null) executor.shutdown();
+    }
+
+    @Test
+    void verify_returnsResultAndRecordsLatency() {
+        executor = new PasswordVerificationExecutor(meterRegistry, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(1));
+
+        assertEquals("ok", executor.verify(() -> "ok"));
+        assertEquals(1, meterRegistry.get("auth.password.verification").timer().count());
+    }
+
+    @Test
+    void verify_propagatesTaskExceptionUnchanged() {
+        executor = new PasswordVerificationExecutor(meterRegistry, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(1));
+
+        assertThrows(BadCredentialsException.class, () -> executor.verify(() -> {
+            throw new BadCredentialsException("bad");
+        }));
+    }
+
+    @Test
+    void verify_rejectsFastWhenPoolAndQueueAreFull() throws Exception {
+        executor = new PasswordVerificationExecutor(meterRegistry, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(2));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Occupy the only worker, then the only queue slot
+        callers.submit(() -> executor.verify(() -> {
+            running.countDown();
+            return await(release);
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> executor.verify(() -> "queued"));
+        waitForQueued(1);
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> executor.verify(() -> "rejected"));
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        release.countDown();
+    }
+
+    @Test
+    void verify_timesOutAsTooManyRequests() {
+        executor = new PasswordVerificationExecutor(meterRegistry, 1, 1, Duration.ofMillis(50), Duration.ofSeconds(1));
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertThrows(TooManyRequestsException.class, () -> executor.verify(() -> await(release)));
+        release.countDown();
+    }
+
+    // ------------------ Helper Methods ------------------
+
+    private void waitForQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.executor.queued").gauge().value() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.retailplatform.user.application.service;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.ResourceAlreadyExistsException;
+import com.example.retailplatform.user.domain.model.BulkImportResult;
+import com.example.retailplatform.user.domain.model.BulkImportRow;
+import com.example.retailplatform.user.domain.model.BulkImportSummary;
+import com.example.retailplatform.user.domain.model.BulkInsertOutcome;
+import com.example.retailplatform.user.domain.model.Role;
+import com.example.retailplatform.user.domain.model.Status;
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.port.out.UserImportPort;
+import com.example.retailplatform.user.domain.port.out.UserRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTest {
+
+    @Mock
+    private UserImportPort importPort;
+
+    @Mock
+    private UserRepositoryPort repositoryPort;
+
+    private UserImportService importService;
+
+    private final List<BulkImportResult> results = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        importService = new UserImportService(importPort, repositoryPort, 2);
+    }
+
+    @Test
+    void importUsers_writesRowsInChunksAndReportsIds() {
+        when(importPort.insertAll(anyList())).thenAnswer(inv -> {
+            List<User> users = inv.getArgument(0);
+            String[] ids = users.stream().map(User::getUsername).toArray(String[]::new);
+            return new BulkInsertOutcome(ids, new String[users.size()]);
+        });
+
+        BulkImportSummary summary = importService.importUsers(
+                List.of(row(1, "u1"), row(2, "u2"), row(3, "u3")).iterator(), results::add);
+
+        verify(importPort, times(2)).insertAll(anyList());
+        assertEquals(3, summary.rows());
+        assertEquals(3, summary.created());
+        assertEquals(0, summary.rejected());
+        assertEquals(List.of("u1", "u2", "u3"), results.stream().map(BulkImportResult::id).toList());
+    }
+
+    @Test
+    void importUsers_appliesCreateUserDefaults() {
+        when(importPort.insertAll(anyList())).thenReturn(new BulkInsertOutcome(new String[]{"1"}, new String[1]));
+        User bare = User.builder().username("bare").email("bare@example.com").phoneNumber("1234567890").build();
+
+        importService.importUsers(List.of(BulkImportRow.of(1, bare)).iterator(), results::add);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(importPort).insertAll(captor.capture());
+        User written = captor.getValue().get(0);
+        assertEquals(Status.INACTIVE, written.getStatus());
+        assertEquals(Role.USER, written.getRole());
+        assertTrue(written.getActive());
+    }
+
+    @Test
+    void importUsers_passesReaderRejectionsThroughInOrder() {
+        when(importPort.insertAll(anyList())).thenReturn(new BulkInsertOutcome(new String[]{"1"}, new String[1]));
+        BulkImportRow malformed = BulkImportRow.rejected(1, null, UserConstants.BULK_IMPORT_MALFORMED_ROW_KEY, "bad json");
+
+        BulkImportSummary summary = importService.importUsers(List.of(malformed, row(2, "u2")).iterator(), results::add);
+
+        assertEquals(2, summary.rows());
+        assertEquals(1, summary.rejected());
+        assertEquals(UserConstants.BULK_IMPORT_MALFORMED_ROW_KEY, results.get(0).messageKey());
+        assertTrue(results.get(1).isCreated());
+    }
+
+    @Test
+    void importUsers_mapsConflictsToAlreadyExistsKeys() {
+        when(importPort.insertAll(anyList())).thenReturn(new BulkInsertOutcome(
+                new String[]{null, null}, new String[]{UserConstants.FIELD_EMAIL, UserConstants.FIELD_USERNAME}));
+
+        importService.importUsers(List.of(row(1, "u1"), row(2, "u2")).iterator(), results::add);
+
+        assertEquals(UserConstants.EMAIL_ALREADY_EXISTS_KEY, results.get(0).messageKey());
+        assertArrayEquals(new Object[]{"u1@example.com"}, results.get(0).messageArgs());
+        assertEquals(UserConstants.USERNAME_ALREADY_EXISTS_KEY, results.get(1).messageKey());
+        assertEquals(UserConstants.FIELD_USERNAME, results.get(1).field());
+    }
+
+    @Test
+    void importUsers_concurrentConflict_fallsBackToRowByRow() {
+        when(importPort.insertAll(anyList()))
+                .thenThrow(new ResourceAlreadyExistsException("User", null, null, UserConstants.USER_ALREADY_EXISTS_KEY));
+        when(repositoryPort.save(any(User.class)))
+                .thenAnswer(inv -> {
+                    User user = inv.getArgument(0);
+                    if (user.getUsername().equals("u2")) {
+                        throw new ResourceAlreadyExistsException("User", UserConstants.FIELD_USERNAME, "u2",
+                                UserConstants.USERNAME_ALREADY_EXISTS_KEY);
+                    }
+                    user.setId("42");
+                    return user;
+                });
+
+        BulkImportSummary summary = importService.importUsers(List.of(row(1, "u1"), row(2, "u2")).iterator(), results::add);
+
+        verify(repositoryPort, times(2)).save(any(User.class));
+        assertEquals(1, summary.created());
+        assertEquals("42", results.get(0).id());
+        assertEquals(UserConstants.USERNAME_ALREADY_EXISTS_KEY, results.get(1).messageKey());
+    }
+
+    // ------------------ Helper Methods ------------------
+
+    private static BulkImportRow row(long line, String username) {
+        return BulkImportRow.of(line, User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .username(username)
+                .email(username + "@example.com")
+                .phoneNumber("1234567890")
+                .build());
+    }
+}
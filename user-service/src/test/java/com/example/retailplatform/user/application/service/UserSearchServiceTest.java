@@ -0,0 +1,124 @@
+package com.example.retailplatform.user.application.service;
+
+import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.InvalidRequestException;
+import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserMatch;
+import com.example.retailplatform.user.domain.model.UserMatchCursor;
+import com.example.retailplatform.user.domain.model.UserSearchPage;
+import com.example.retailplatform.user.domain.port.out.UserSearchIndexPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class UserSearchServiceTest {
+
+    @Mock
+    private UserSearchIndexPort searchIndex;
+
+    @InjectMocks
+    private UserSearchService userSearchService;
+
+    private UserMatch alice;
+    private UserMatch alicia;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        alice = new UserMatch(User.builder().id("1").username("alice.smith").build(), 0.6);
+        alicia = new UserMatch(User.builder().id("2").username("alicia.jones").build(), 0.3);
+    }
+
+    @Test
+    void findUsers_normalizesQueryAndReturnsContinuationToken() {
+        when(searchIndex.findMatching("ali smi", null, 2)).thenReturn(List.of(alice, alicia));
+
+        UserSearchPage page = userSearchService.findUsers("  ALI \t Smi ", null, 1);
+
+        assertEquals(List.of(alice.user()), page.users());
+        assertEquals(new UserMatchCursor(UserMatchCursor.Tier.MATCHING, 0.6, 1), UserMatchCursor.decode(page.next()));
+        verify(searchIndex, never()).findSimilar(any(), any(), anyInt());
+    }
+
+    @Test
+    void findUsers_nothingMatches_fallsBackToSimilar() {
+        when(searchIndex.findMatching("jhonson", null, 2)).thenReturn(List.of());
+        when(searchIndex.findSimilar("jhonson", null, 2)).thenReturn(List.of(alice, alicia));
+
+        UserSearchPage page = userSearchService.findUsers("jhonson", null, 1);
+
+        assertEquals(List.of(alice.user()), page.users());
+        assertEquals(UserMatchCursor.Tier.SIMILAR, UserMatchCursor.decode(page.next()).tier());
+    }
+
+    @Test
+    void findUsers_continuesInTheCursorsTier() {
+        UserMatchCursor cursor = new UserMatchCursor(UserMatchCursor.Tier.SIMILAR, 0.6, 1);
+        when(searchIndex.findSimilar("jhonson", cursor, 11)).thenReturn(List.of(alicia));
+
+        UserSearchPage page = userSearchService.findUsers("jhonson", cursor.encode(), 10);
+
+        assertEquals(List.of(alicia.user()), page.users());
+        assertNull(page.next());
+        verify(searchIndex, never()).findMatching(any(), any(), anyInt());
+    }
+
+    @Test
+    void findUsers_laterPageEmpty_doesNotFallBack() {
+        UserMatchCursor cursor = new UserMatchCursor(UserMatchCursor.Tier.MATCHING, 0.0, 7);
+        when(searchIndex.findMatching("alice", cursor, 11)).thenReturn(List.of());
+
+        UserSearchPage page = userSearchService.findUsers("alice", cursor.encode(), 10);
+
+        assertTrue(page.users().isEmpty());
+        verify(searchIndex, never()).findSimilar(any(), any(), anyInt());
+    }
+
+    @Test
+    void findUsers_clampsLimitToMaxPageSize() {
+        when(searchIndex.findMatching(any(), any(), anyInt())).thenReturn(List.of(alice));
+
+        userSearchService.findUsers("alice", null, 100_000);
+
+        verify(searchIndex).findMatching("alice", null, UserConstants.MAX_PAGE_SIZE + 1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "  ", "al", " a  ", "@@@"})
+    void findUsers_queryTooShortOrWithoutLetters_throwsInvalidRequest(String query) {
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> userSearchService.findUsers(query, null, 10));
+
+        assertEquals("q", ex.getFieldName());
+        assertEquals(UserConstants.SEARCH_QUERY_INVALID_KEY, ex.getMessageKey());
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void findUsers_queryTooLong_throwsInvalidRequest() {
+        String query = "a".repeat(UserConstants.SEARCH_QUERY_MAX_LENGTH + 1);
+
+        assertThrows(InvalidRequestException.class, () -> userSearchService.findUsers(query, null, 10));
+    }
+
+    @Test
+    void findUsers_malformedToken_throwsInvalidRequest() {
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> userSearchService.findUsers("alice", "not-a-token", 10));
+
+        assertEquals("after", ex.getFieldName());
+        assertEquals(UserConstants.SEARCH_CURSOR_INVALID_KEY, ex.getMessageKey());
+    }
+}
@@ -15,7 +15,11 @@ import org.mockito.MockitoAnnotations;
 
 import java.util.Optional;
 
+import static com.example.retailplatform.user.application.service.UserServiceFixtures.conflict;
+import static com.example.retailplatform.user.application.service.UserServiceFixtures.modifyFails;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class UserServiceExceptionTest {
@@ -61,7 +65,8 @@ class UserServiceExceptionTest {
 
     @Test
     void updateUser_notFound_throwsException() {
-        when(repositoryPort.findActiveById("1")).thenReturn(Optional.empty());
+        when(repositoryPort.modify(eq("1"), any()))
+                .thenThrow(new ResourceNotFoundException("User", "1", UserConstants.USER_NOT_FOUND_KEY));
 
         ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
                 () -> userService.updateUser("1", user));
@@ -69,12 +74,14 @@ class UserServiceExceptionTest {
         assertEquals("User", ex.getResourceName());
         assertEquals("1", ex.getResourceId());
         assertEquals(UserConstants.USER_NOT_FOUND_KEY, ex.getMessageKey());
-        verify(repositoryPort).findActiveById("1");
+        verify(repositoryPort).modify(eq("1"), any());
+        verify(repositoryPort, never()).findActiveById(any());
     }
 
     @Test
     void patchUser_notFound_throwsException() {
-        when(repositoryPort.findActiveById("1")).thenReturn(Optional.empty());
+        when(repositoryPort.modify(eq("1"), any()))
+                .thenThrow(new ResourceNotFoundException("User", "1", UserConstants.USER_NOT_FOUND_KEY));
 
         ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
                 () -> userService.patchUser("1", user));
@@ -82,7 +89,8 @@ class UserServiceExceptionTest {
         assertEquals("User", ex.getResourceName());
         assertEquals("1", ex.getResourceId());
         assertEquals(UserConstants.USER_NOT_FOUND_KEY, ex.getMessageKey());
-        verify(repositoryPort).findActiveById("1");
+        verify(repositoryPort).modify(eq("1"), any());
+        verify(repositoryPort, never()).findActiveById(any());
     }
 
     @Test
@@ -95,7 +103,7 @@ class UserServiceExceptionTest {
     // ---------------- ResourceAlreadyExistsException for createUser ----------------
     @Test
     void createUser_usernameAlreadyExists_throwsException() {
-        when(repositoryPort.existsByUsername(user.getUsername())).thenReturn(true);
+        when(repositoryPort.save(user)).thenThrow(conflict(UserConstants.FIELD_USERNAME, user.getUsername(), UserConstants.USERNAME_ALREADY_EXISTS_KEY));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.createUser(user));
@@ -108,7 +116,7 @@ class UserServiceExceptionTest {
 
     @Test
     void createUser_emailAlreadyExists_throwsException() {
-        when(repositoryPort.existsByActiveEmail(user.getEmail())).thenReturn(true);
+        when(repositoryPort.save(user)).thenThrow(conflict(UserConstants.FIELD_EMAIL, user.getEmail(), UserConstants.EMAIL_ALREADY_EXISTS_KEY));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.createUser(user));
@@ -121,7 +129,7 @@ class UserServiceExceptionTest {
 
     @Test
     void createUser_phoneNumberAlreadyExists_throwsException() {
-        when(repositoryPort.existsByActivePhoneNumber(user.getPhoneNumber())).thenReturn(true);
+        when(repositoryPort.save(user)).thenThrow(conflict(UserConstants.FIELD_PHONE, user.getPhoneNumber(), UserConstants.PHONE_ALREADY_EXISTS_KEY));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.createUser(user));
@@ -138,12 +146,7 @@ class UserServiceExceptionTest {
         User existing = new User();
         existing.setId("1");
 
-        User duplicate = new User();
-        duplicate.setId("2");
-        duplicate.setUsername(user.getUsername());
-
-        when(repositoryPort.findActiveById("1")).thenReturn(Optional.of(existing));
-        when(repositoryPort.findActiveByUsername(user.getUsername())).thenReturn(Optional.of(duplicate));
+        when(repositoryPort.modify(eq("1"), any())).thenAnswer(modifyFails(existing, conflict(UserConstants.FIELD_USERNAME, user.getUsername(), UserConstants.USERNAME_ALREADY_EXISTS_KEY)));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.updateUser("1", user));
@@ -160,12 +163,7 @@ class UserServiceExceptionTest {
         existing.setId("1");
         existing.setEmail("old@example.com");
 
-        User duplicate = new User();
-        duplicate.setId("2");
-        duplicate.setEmail(user.getEmail());
-
-        when(repositoryPort.findActiveById("1")).thenReturn(Optional.of(existing));
-        when(repositoryPort.findActiveByEmail(user.getEmail())).thenReturn(Optional.of(duplicate));
+        when(repositoryPort.modify(eq("1"), any())).thenAnswer(modifyFails(existing, conflict(UserConstants.FIELD_EMAIL, user.getEmail(), UserConstants.EMAIL_ALREADY_EXISTS_KEY)));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.updateUser("1", user));
@@ -182,12 +180,7 @@ class UserServiceExceptionTest {
         existing.setId("1");
         existing.setPhoneNumber("1111111111");
 
-        User duplicate = new User();
-        duplicate.setId("2");
-        duplicate.setPhoneNumber(user.getPhoneNumber());
-
-        when(repositoryPort.findActiveById("1")).thenReturn(Optional.of(existing));
-        when(repositoryPort.findActiveByPhoneNumber(user.getPhoneNumber())).thenReturn(Optional.of(duplicate));
+        when(repositoryPort.modify(eq("1"), any())).thenAnswer(modifyFails(existing, conflict(UserConstants.FIELD_PHONE, user.getPhoneNumber(), UserConstants.PHONE_ALREADY_EXISTS_KEY)));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.updateUser("1", user));
@@ -204,15 +197,10 @@ class UserServiceExceptionTest {
         User existing = new User();
         existing.setId("1");
 
-        User duplicate = new User();
-        duplicate.setId("2");
-        duplicate.setUsername(user.getUsername());
-
         User patch = new User();
         patch.setUsername(user.getUsername());
 
-        when(repositoryPort.findActiveById("1")).thenReturn(Optional.of(existing));
-        when(repositoryPort.findActiveByUsername(patch.getUsername())).thenReturn(Optional.of(duplicate));
+        when(repositoryPort.modify(eq("1"), any())).thenAnswer(modifyFails(existing, conflict(UserConstants.FIELD_USERNAME, patch.getUsername(), UserConstants.USERNAME_ALREADY_EXISTS_KEY)));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.patchUser("1", patch));
@@ -228,15 +216,10 @@ class UserServiceExceptionTest {
         User existing = new User();
         existing.setId("1");
 
-        User duplicate = new User();
-        duplicate.setId("2");
-        duplicate.setEmail(user.getEmail());
-
         User patch = new User();
         patch.setEmail(user.getEmail());
 
-        when(repositoryPort.findActiveById("1")).thenReturn(Optional.of(existing));
-        when(repositoryPort.findActiveByEmail(patch.getEmail())).thenReturn(Optional.of(duplicate));
+        when(repositoryPort.modify(eq("1"), any())).thenAnswer(modifyFails(existing, conflict(UserConstants.FIELD_EMAIL, patch.getEmail(), UserConstants.EMAIL_ALREADY_EXISTS_KEY)));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.patchUser("1", patch));
@@ -252,15 +235,10 @@ class UserServiceExceptionTest {
         User existing = new User();
         existing.setId("1");
 
-        User duplicate = new User();
-        duplicate.setId("2");
-        duplicate.setPhoneNumber(user.getPhoneNumber());
-
         User patch = new User();
         patch.setPhoneNumber(user.getPhoneNumber());
 
-        when(repositoryPort.findActiveById("1")).thenReturn(Optional.of(existing));
-        when(repositoryPort.findActiveByPhoneNumber(patch.getPhoneNumber())).thenReturn(Optional.of(duplicate));
+        when(repositoryPort.modify(eq("1"), any())).thenAnswer(modifyFails(existing, conflict(UserConstants.FIELD_PHONE, patch.getPhoneNumber(), UserConstants.PHONE_ALREADY_EXISTS_KEY)));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.patchUser("1", patch));
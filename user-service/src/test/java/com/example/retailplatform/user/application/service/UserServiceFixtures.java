@@ -0,0 +1,30 @@
+package com.example.retailplatform.user.application.service;
+
+import com.example.retailplatform.user.domain.exception.ResourceAlreadyExistsException;
+import com.example.retailplatform.user.domain.model.User;
+import org.mockito.stubbing.Answer;
+
+import java.util.function.Consumer;
+
+/**
+ * Repository failures shared by {@link UserServiceTest} and {@link UserServiceExceptionTest}.
+ */
+final class UserServiceFixtures {
+
+    private UserServiceFixtures() {
+    }
+
+    // Conflicts are detected by the repository (single query + DB constraints) and surface from save / modify
+    static ResourceAlreadyExistsException conflict(String field, String value, String key) {
+        return new ResourceAlreadyExistsException("User", field, value, key);
+    }
+
+    // Applies the requested changes to existing, as the repository does, then fails the write with error
+    static Answer<User> modifyFails(User existing, RuntimeException error) {
+        return invocation -> {
+            Consumer<User> changes = invocation.getArgument(1);
+            changes.accept(existing);
+            throw error;
+        };
+    }
+}
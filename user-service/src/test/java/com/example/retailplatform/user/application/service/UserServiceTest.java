@@ -1,10 +1,15 @@
 package com.example.retailplatform.user.application.service;
 
 import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.ConcurrentUpdateException;
+import com.example.retailplatform.user.domain.exception.InvalidRequestException;
 import com.example.retailplatform.user.domain.exception.ResourceAlreadyExistsException;
 import com.example.retailplatform.user.domain.model.Role;
 import com.example.retailplatform.user.domain.model.Status;
 import com.example.retailplatform.user.domain.model.User;
+import com.example.retailplatform.user.domain.model.UserSearchCriteria;
+import com.example.retailplatform.user.domain.model.UserSearchCursor;
+import com.example.retailplatform.user.domain.model.UserSearchPage;
 import com.example.retailplatform.user.domain.port.out.UserRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,9 +17,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
+import static com.example.retailplatform.user.application.service.UserServiceFixtures.conflict;
+import static com.example.retailplatform.user.application.service.UserServiceFixtures.modifyFails;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 class UserServiceTest {
@@ -47,7 +59,7 @@ class UserServiceTest {
     // -------------------- createUser uniqueness --------------------
     @Test
     void createUser_usernameAlreadyExists_throwsException() {
-        when(repositoryPort.existsByUsername(user.getUsername())).thenReturn(true);
+        when(repositoryPort.save(user)).thenThrow(conflict(UserConstants.FIELD_USERNAME, user.getUsername(), UserConstants.USERNAME_ALREADY_EXISTS_KEY));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.createUser(user));
@@ -60,7 +72,7 @@ class UserServiceTest {
 
     @Test
     void createUser_emailAlreadyExists_throwsException() {
-        when(repositoryPort.existsByActiveEmail(user.getEmail())).thenReturn(true);
+        when(repositoryPort.save(user)).thenThrow(conflict(UserConstants.FIELD_EMAIL, user.getEmail(), UserConstants.EMAIL_ALREADY_EXISTS_KEY));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.createUser(user));
@@ -73,7 +85,7 @@ class UserServiceTest {
 
     @Test
     void createUser_phoneNumberAlreadyExists_throwsException() {
-        when(repositoryPort.existsByActivePhoneNumber(user.getPhoneNumber())).thenReturn(true);
+        when(repositoryPort.save(user)).thenThrow(conflict(UserConstants.FIELD_PHONE, user.getPhoneNumber(), UserConstants.PHONE_ALREADY_EXISTS_KEY));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.createUser(user));
@@ -84,6 +96,17 @@ class UserServiceTest {
         assertEquals(UserConstants.PHONE_ALREADY_EXISTS_KEY, ex.getMessageKey());
     }
 
+    @Test
+    void createUser_leavesUniquenessToRepository() {
+        when(repositoryPort.save(user)).thenReturn(user);
+
+        userService.createUser(user);
+
+        // No exists / findActiveBy* round trips before the INSERT
+        verify(repositoryPort).save(user);
+        verifyNoMoreInteractions(repositoryPort);
+    }
+
     // -------------------- updateUser uniqueness --------------------
     @Test
     void updateUser_usernameAlreadyExists_throwsException() {
@@ -91,13 +114,7 @@ class UserServiceTest {
         existing.setId("1");
         existing.setUsername("oldUsername");
 
-        User conflictingUser = new User();
-        conflictingUser.setId("2"); // different ID
-        conflictingUser.setUsername("alice.smith"); // same username to trigger uniqueness
-
-        when(repositoryPort.findActiveById("1")).thenReturn(Optional.of(existing));
-        when(repositoryPort.existsByUsername("alice.smith")).thenReturn(true);
-        when(repositoryPort.findActiveByUsername("alice.smith")).thenReturn(Optional.of(conflictingUser));
+        when(repositoryPort.modify(eq("1"), any())).thenAnswer(modifyFails(existing, conflict(UserConstants.FIELD_USERNAME, "alice.smith", UserConstants.USERNAME_ALREADY_EXISTS_KEY)));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.updateUser("1", user));
@@ -114,12 +131,7 @@ class UserServiceTest {
         existing.setId("1");
         existing.setEmail("old@example.com");
 
-        User conflictingUser = new User();
-        conflictingUser.setId("2"); // different ID
-        conflictingUser.setEmail(user.getEmail()); // same email to trigger uniqueness
-
-        when(repositoryPort.findActiveById("1")).thenReturn(Optional.of(existing));
-        when(repositoryPort.findActiveByEmail(user.getEmail())).thenReturn(Optional.of(conflictingUser));
+        when(repositoryPort.modify(eq("1"), any())).thenAnswer(modifyFails(existing, conflict(UserConstants.FIELD_EMAIL, user.getEmail(), UserConstants.EMAIL_ALREADY_EXISTS_KEY)));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.updateUser("1", user));
@@ -136,12 +148,7 @@ class UserServiceTest {
         existing.setId("1");
         existing.setPhoneNumber("0987654321");
 
-        User conflictingUser = new User();
-        conflictingUser.setId("2"); // different ID
-        conflictingUser.setPhoneNumber(user.getPhoneNumber()); // same phone to trigger uniqueness
-
-        when(repositoryPort.findActiveById("1")).thenReturn(Optional.of(existing));
-        when(repositoryPort.findActiveByPhoneNumber(user.getPhoneNumber())).thenReturn(Optional.of(conflictingUser));
+        when(repositoryPort.modify(eq("1"), any())).thenAnswer(modifyFails(existing, conflict(UserConstants.FIELD_PHONE, user.getPhoneNumber(), UserConstants.PHONE_ALREADY_EXISTS_KEY)));
 
         ResourceAlreadyExistsException ex = assertThrows(ResourceAlreadyExistsException.class,
                 () -> userService.updateUser("1", user));
@@ -151,4 +158,133 @@ class UserServiceTest {
         assertEquals(user.getPhoneNumber(), ex.getFieldValue());
         assertEquals(UserConstants.PHONE_ALREADY_EXISTS_KEY, ex.getMessageKey());
     }
+
+    // -------------------- getUsersByIds --------------------
+    @Test
+    void getUsersByIds_keepsRequestOrderAndDropsDuplicatesAndUnknownIds() {
+        User bob = user.toBuilder().id("2").username("bob").build();
+        when(repositoryPort.findActiveByIds(List.of("2", "404", "1"))).thenReturn(List.of(user, bob));
+
+        List<User> users = userService.getUsersByIds(List.of("2", "404", "1", "2"));
+
+        assertEquals(List.of("2", "1"), users.stream().map(User::getId).toList());
+        verify(repositoryPort, times(1)).findActiveByIds(any());
+    }
+
+    @Test
+    void getUsersByIds_splitsOversizedRequestsIntoMaxSizedQueries() {
+        List<String> ids = IntStream.rangeClosed(1, UserConstants.MAX_BATCH_GET_SIZE + 1)
+                .mapToObj(String::valueOf)
+                .toList();
+        when(repositoryPort.findActiveByIds(any())).thenReturn(List.of());
+
+        userService.getUsersByIds(ids);
+
+        verify(repositoryPort).findActiveByIds(ids.subList(0, UserConstants.MAX_BATCH_GET_SIZE));
+        verify(repositoryPort).findActiveByIds(List.of(String.valueOf(UserConstants.MAX_BATCH_GET_SIZE + 1)));
+    }
+
+    // -------------------- updateUser / patchUser writes --------------------
+    @Test
+    void patchUser_appliesOnlyGivenFieldsInsideOneRepositoryCall() {
+        User existing = user.toBuilder().build();
+        when(repositoryPort.modify(eq("1"), any())).thenAnswer(invocation -> {
+            Consumer<User> changes = invocation.getArgument(1);
+            changes.accept(existing);
+            return existing;
+        });
+        User patch = User.builder().lastName("Jones").build();
+
+        User patched = userService.patchUser("1", patch);
+
+        assertEquals("Jones", patched.getLastName());
+        assertEquals("alice.smith", patched.getUsername());
+        // The repository loads the user inside the write → no separate lookup first
+        verify(repositoryPort).modify(eq("1"), any());
+        verifyNoMoreInteractions(repositoryPort);
+    }
+
+    @Test
+    void updateUser_retriesAfterConcurrentUpdate() {
+        when(repositoryPort.modify(eq("1"), any()))
+                .thenThrow(concurrentUpdate())
+                .thenReturn(user);
+
+        assertSame(user, userService.updateUser("1", user));
+
+        verify(repositoryPort, times(2)).modify(eq("1"), any());
+    }
+
+    @Test
+    void patchUser_givesUpAfterMaxAttempts() {
+        when(repositoryPort.modify(eq("1"), any())).thenThrow(concurrentUpdate());
+
+        assertThrows(ConcurrentUpdateException.class, () -> userService.patchUser("1", user));
+
+        verify(repositoryPort, times(UserService.MAX_WRITE_ATTEMPTS)).modify(eq("1"), any());
+    }
+
+    // -------------------- searchUsers --------------------
+
+    @Test
+    void searchUsers_moreRowsThanLimit_returnsContinuationToken() {
+        UserSearchCriteria criteria = UserSearchCriteria.builder().sort(UserSearchCriteria.SortField.USERNAME).build();
+        User second = user.toBuilder().id("2").username("bob").build();
+        when(repositoryPort.searchActiveUsers(criteria, null, 2)).thenReturn(List.of(user, second));
+
+        UserSearchPage page = userService.searchUsers(criteria, null, 1);
+
+        assertEquals(List.of(user), page.users());
+        UserSearchCursor next = UserSearchCursor.decode(page.next(), criteria);
+        assertEquals(1L, next.id());
+        assertEquals("alice.smith", next.value());
+    }
+
+    @Test
+    void searchUsers_lastPage_hasNoContinuationToken() {
+        UserSearchCriteria criteria = UserSearchCriteria.builder().build();
+        UserSearchCursor after = new UserSearchCursor(UserSearchCriteria.SortField.ID, UserSearchCriteria.Direction.ASC, 0, "0");
+        when(repositoryPort.searchActiveUsers(criteria, after, 11)).thenReturn(List.of(user));
+
+        UserSearchPage page = userService.searchUsers(criteria, after.encode(), 10);
+
+        assertEquals(List.of(user), page.users());
+        assertNull(page.next());
+    }
+
+    @Test
+    void searchUsers_clampsLimitToMaxPageSize() {
+        UserSearchCriteria criteria = UserSearchCriteria.builder().build();
+        when(repositoryPort.searchActiveUsers(any(), any(), anyInt())).thenReturn(List.of());
+
+        userService.searchUsers(criteria, null, 100_000);
+        userService.searchUsers(criteria, null, 0);
+
+        verify(repositoryPort).searchActiveUsers(criteria, null, UserConstants.MAX_PAGE_SIZE + 1);
+        verify(repositoryPort).searchActiveUsers(criteria, null, 2);
+    }
+
+    @Test
+    void searchUsers_tokenForAnotherSort_throwsInvalidRequest() {
+        UserSearchCriteria byId = UserSearchCriteria.builder().build();
+        UserSearchCriteria byEmail = UserSearchCriteria.builder().sort(UserSearchCriteria.SortField.EMAIL).build();
+        String token = UserSearchCursor.after(user, byId).encode();
+
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> userService.searchUsers(byEmail, token, 10));
+
+        assertEquals("after", ex.getFieldName());
+        assertEquals(UserConstants.SEARCH_CURSOR_INVALID_KEY, ex.getMessageKey());
+        verifyNoInteractions(repositoryPort);
+    }
+
+    @Test
+    void searchUsers_malformedToken_throwsInvalidRequest() {
+        assertThrows(InvalidRequestException.class,
+                () -> userService.searchUsers(UserSearchCriteria.builder().build(), "not a token", 10));
+    }
+
+    private static ConcurrentUpdateException concurrentUpdate() {
+        return new ConcurrentUpdateException("User", "1", UserConstants.USER_CONCURRENT_UPDATE_KEY);
+    }
 }
@@ -1,19 +1,25 @@
 package com.example.retailplatform.user.common;
 
 import com.example.retailplatform.user.domain.UserConstants;
+import com.example.retailplatform.user.domain.exception.InvalidRequestException;
 import com.example.retailplatform.user.domain.exception.ResourceAlreadyExistsException;
 import com.example.retailplatform.user.domain.exception.ResourceNotFoundException;
+import com.example.retailplatform.user.domain.exception.TooManyRequestsException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 
@@ -78,6 +84,48 @@ class GlobalExceptionHandlerTest {
         assertEquals("Duplicate field value", errors.get(0).getMessage());
     }
 
+    // ---------------- TooManyRequestsException (429) ----------------
+    @Test
+    void handleTooManyRequests_setsRetryAfterInWholeSeconds() {
+        var ex = new TooManyRequestsException(Duration.ofMillis(200), UserConstants.ERROR_TOO_MANY_REQUESTS);
+
+        ResponseEntity<ErrorResponse> response = handler.handleTooManyRequests(ex, request);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(UserConstants.ERROR_TOO_MANY_REQUESTS, response.getBody().getMessageKey());
+    }
+
+    // ---------------- InvalidRequestException ----------------
+
+    @Test
+    void handleInvalidRequest_reportsOffendingField() {
+        var ex = new InvalidRequestException("after", "bogus", UserConstants.SEARCH_CURSOR_INVALID_KEY);
+
+        ResponseEntity<ErrorResponse> response = handler.handleInvalidRequest(ex, request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(UserConstants.SEARCH_CURSOR_INVALID_KEY, response.getBody().getMessageKey());
+
+        List<ErrorResponse.Error> errors = response.getBody().getErrors();
+        assertEquals(1, errors.size());
+        assertEquals("after", errors.get(0).getFieldName());
+        assertEquals("bogus", errors.get(0).getFieldValue());
+    }
+
+    // ---------------- Connection pool exhausted (503) ----------------
+    @Test
+    void handleDatabaseBusy_returnsServiceUnavailableWithRetryAfter() {
+        var ex = new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out after 2000ms"));
+
+        ResponseEntity<ErrorResponse> response = handler.handleDatabaseBusy(ex, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(UserConstants.ERROR_DATABASE_BUSY, response.getBody().getMessageKey());
+    }
+
     // ---------------- Validation Exception ----------------
     @Test
     void handleValidationException() {
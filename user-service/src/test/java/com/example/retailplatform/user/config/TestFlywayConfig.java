@@ -0,0 +1,21 @@
+package com.example.retailplatform.user.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+// Fresh schema per test context, like ddl-auto=create-drop used to give. Test classpath only: it drops every
+// table, so it must never be packaged with the service
+@Profile("test")
+public class TestFlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy cleanMigrateStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.retailplatform.user.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadsConfigTest {
+
+    private final BeanPostProcessor postProcessor =
+            VirtualThreadsConfig.virtualThreadConnectionTimeout(Duration.ofSeconds(2));
+
+    @Test
+    void connectionTimeout_replacesPoolSettingInVirtualMode() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setConnectionTimeout(30_000);
+
+        assertSame(dataSource, postProcessor.postProcessAfterInitialization(dataSource, "primaryDataSource"));
+        assertEquals(2_000, dataSource.getConnectionTimeout());
+    }
+
+    @Test
+    void connectionTimeout_leavesOtherBeansAlone() {
+        Object bean = new Object();
+
+        assertSame(bean, postProcessor.postProcessAfterInitialization(bean, "other"));
+    }
+}